@@ -0,0 +1,270 @@
+package br.com.archbase.apt.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Gera, em tempo de compilação, os índices lidos na inicialização no lugar da varredura do
+ * classpath com Reflections:
+ * <ul>
+ *   <li>{@value #HANDLERS_INDEX}: manipuladores de consulta e comando ({@code @QueryMapping},
+ *   {@code @QueryMappings}, {@code @CommandMapping}, {@code @CommandMappings} e métodos públicos
+ *   cujo primeiro parâmetro é um {@code @DomainCommand}), lido pelo {@code AutoScanHandlerFactory};</li>
+ *   <li>{@value #PERMISSIONS_INDEX}: métodos anotados com {@code @HasPermission}, lido pelo
+ *   {@code ArchbaseActionSynchronizationService}.</li>
+ * </ul>
+ * Cada linha tem campos separados por tabulação. Em compilações incrementais as entradas de
+ * classes que não foram recompiladas e ainda existem são preservadas. Os dois índices são sempre
+ * gravados, mesmo vazios, para que um índice anterior com classes removidas não permaneça na saída.
+ *
+ * @author edsonmartins
+ */
+@SupportedAnnotationTypes("*")
+public class ArchbaseHandlerIndexProcessor extends AbstractProcessor {
+
+    public static final String HANDLERS_INDEX = "META-INF/archbase/handlers.idx";
+    public static final String PERMISSIONS_INDEX = "META-INF/archbase/permissions.idx";
+
+    private static final String QUERY_HANDLER = "br.com.archbase.event.driven.spec.query.contracts.QueryHandler";
+    private static final String COMMAND_HANDLER = "br.com.archbase.event.driven.spec.command.contracts.CommandHandler";
+    private static final String QUERY_MAPPING = "br.com.archbase.event.driven.spec.annotations.QueryMapping";
+    private static final String QUERY_MAPPINGS = "br.com.archbase.event.driven.spec.annotations.QueryMappings";
+    private static final String COMMAND_MAPPING = "br.com.archbase.event.driven.spec.annotations.CommandMapping";
+    private static final String COMMAND_MAPPINGS = "br.com.archbase.event.driven.spec.annotations.CommandMappings";
+    private static final String DOMAIN_COMMAND = "br.com.archbase.ddd.domain.annotations.DomainCommand";
+    private static final String HAS_PERMISSION = "br.com.archbase.security.annotation.HasPermission";
+
+    private final Map<String, List<String>> handlerLines = new LinkedHashMap<>();
+    private final Map<String, List<String>> permissionLines = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            indexType(type);
+        }
+        if (roundEnv.processingOver()) {
+            write(HANDLERS_INDEX, handlerLines);
+            write(PERMISSIONS_INDEX, permissionLines);
+        }
+        return false;
+    }
+
+    private void indexType(TypeElement type) {
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        List<String> handlers = new ArrayList<>();
+        if (isSubtype(type, QUERY_HANDLER)) {
+            for (String query : mappedTypes(type, QUERY_MAPPING, QUERY_MAPPINGS)) {
+                handlers.add(line("query", query, className));
+            }
+        }
+        if (isSubtype(type, COMMAND_HANDLER)) {
+            Set<String> commands = new LinkedHashSet<>(mappedTypes(type, COMMAND_MAPPING, COMMAND_MAPPINGS));
+            commands.addAll(domainCommandParameters(type));
+            for (String command : commands) {
+                handlers.add(line("command", command, className));
+            }
+        }
+        handlerLines.put(className, handlers);
+
+        List<String> permissions = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            AnnotationMirror permission = annotation(method, HAS_PERMISSION);
+            if (permission != null) {
+                Map<String, String> values = stringValues(permission);
+                permissions.add(line(className, method.getSimpleName().toString(), values.get("resource"),
+                        values.get("action"), values.get("description")));
+            }
+        }
+        permissionLines.put(className, permissions);
+
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            indexType(nested);
+        }
+    }
+
+    private boolean isSubtype(TypeElement type, String supertypeName) {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        TypeElement supertype = elements.getTypeElement(supertypeName);
+        return supertype != null && !type.equals(supertype)
+                && types.isAssignable(types.erasure(type.asType()), types.erasure(supertype.asType()));
+    }
+
+    /**
+     * Tipos informados em {@code value} da anotação simples ou de cada item da anotação repetida.
+     */
+    private List<String> mappedTypes(TypeElement type, String single, String multiple) {
+        List<String> result = new ArrayList<>();
+        AnnotationMirror multi = annotation(type, multiple);
+        if (multi != null) {
+            Object items = value(multi, "value");
+            if (items instanceof List<?> list) {
+                for (Object item : list) {
+                    Object mapping = ((AnnotationValue) item).getValue();
+                    addClassName(result, value((AnnotationMirror) mapping, "value"));
+                }
+            }
+        } else {
+            AnnotationMirror mapping = annotation(type, single);
+            if (mapping != null) {
+                addClassName(result, value(mapping, "value"));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Equivalente em tempo de compilação de {@code Class.getMethods()}: métodos públicos, inclusive
+     * herdados, cujo primeiro parâmetro é anotado com {@code @DomainCommand}.
+     */
+    private Set<String> domainCommandParameters(TypeElement type) {
+        Set<String> result = new LinkedHashSet<>();
+        Types types = processingEnv.getTypeUtils();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getParameters().isEmpty()) {
+                continue;
+            }
+            TypeMirror parameter = types.erasure(method.getParameters().get(0).asType());
+            if (parameter.getKind() == TypeKind.DECLARED) {
+                TypeElement parameterType = (TypeElement) ((DeclaredType) parameter).asElement();
+                if (annotation(parameterType, DOMAIN_COMMAND) != null) {
+                    result.add(processingEnv.getElementUtils().getBinaryName(parameterType).toString());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addClassName(List<String> result, Object value) {
+        if (value instanceof TypeMirror mirror && mirror.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) mirror).asElement();
+            result.add(processingEnv.getElementUtils().getBinaryName(element).toString());
+        }
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private Map<String, String> stringValues(AnnotationMirror mirror) {
+        Map<String, String> values = new HashMap<>();
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror)
+                .forEach((key, value) -> values.put(key.getSimpleName().toString(), String.valueOf(value.getValue())));
+        return values;
+    }
+
+    private void write(String resource, Map<String, List<String>> linesByClass) {
+        Filer filer = processingEnv.getFiler();
+        Set<String> lines = new LinkedHashSet<>(previousLines(filer, resource, linesByClass.keySet()));
+        linesByClass.values().forEach(lines::addAll);
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            try (Writer writer = file.openWriter()) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Não foi possível gerar " + resource + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Entradas de um índice já existente (compilação incremental) cujas classes não foram
+     * processadas agora e continuam existindo.
+     */
+    private List<String> previousLines(Filer filer, String resource, Set<String> processedClasses) {
+        List<String> lines = new ArrayList<>();
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String owner = ownerOf(resource, line);
+                    if (owner != null && !processedClasses.contains(owner)
+                            && processingEnv.getElementUtils().getTypeElement(owner.replace('$', '.')) != null) {
+                        lines.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Índice ainda não existe
+        }
+        return lines;
+    }
+
+    private static String ownerOf(String resource, String line) {
+        String[] fields = line.split("\t");
+        if (HANDLERS_INDEX.equals(resource)) {
+            return fields.length == 3 ? unescape(fields[2]) : null;
+        }
+        return fields.length == 5 ? unescape(fields[0]) : null;
+    }
+
+    private static String line(String... fields) {
+        StringJoiner joiner = new StringJoiner("\t");
+        for (String field : fields) {
+            joiner.add(escape(field == null ? "" : field));
+        }
+        return joiner.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.archbase.apt.index;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+/**
+ * Compila fontes de exemplo com o {@link ArchbaseHandlerIndexProcessor} e verifica o conteúdo dos
+ * índices de manipuladores e de permissões. Os contratos do barramento e a anotação
+ * {@code @HasPermission} são declarados aqui com os mesmos nomes, pois o processador os identifica
+ * apenas pelo nome qualificado.
+ */
+class ArchbaseHandlerIndexProcessorTest {
+
+    @Test
+    void indexaManipuladoresPorMapeamentoEPorDomainCommand() throws IOException {
+        Compilation compilation = compile(
+                source("app.FindOrder", "package app;",
+                        "import br.com.archbase.event.driven.spec.query.contracts.Query;",
+                        "public class FindOrder implements Query<String> {}"),
+                source("app.PlaceOrder", "package app;",
+                        "import br.com.archbase.event.driven.spec.command.contracts.Command;",
+                        "public class PlaceOrder implements Command<String> {}"),
+                source("app.UpdateOrder", "package app;",
+                        "import br.com.archbase.event.driven.spec.command.contracts.Command;",
+                        "public class UpdateOrder implements Command<String> {}"),
+                source("app.CancelOrder", "package app;",
+                        "import br.com.archbase.ddd.domain.annotations.DomainCommand;",
+                        "import br.com.archbase.event.driven.spec.command.contracts.Command;",
+                        "@DomainCommand",
+                        "public class CancelOrder implements Command<String> {}"),
+                source("app.FindOrderHandler", "package app;",
+                        "import br.com.archbase.event.driven.spec.annotations.QueryMapping;",
+                        "import br.com.archbase.event.driven.spec.query.contracts.QueryHandler;",
+                        "@QueryMapping(FindOrder.class)",
+                        "public class FindOrderHandler implements QueryHandler<FindOrder, String> {",
+                        "  public String handle(FindOrder query) { return \"order\"; }",
+                        "}"),
+                source("app.OrderHandler", "package app;",
+                        "import br.com.archbase.event.driven.spec.annotations.CommandMapping;",
+                        "import br.com.archbase.event.driven.spec.annotations.CommandMappings;",
+                        "import br.com.archbase.event.driven.spec.command.contracts.CommandHandler;",
+                        "@CommandMappings({@CommandMapping(PlaceOrder.class), @CommandMapping(UpdateOrder.class)})",
+                        "public class OrderHandler implements CommandHandler<PlaceOrder, String> {",
+                        "  public String handle(PlaceOrder command) { return \"placed\"; }",
+                        "  public String cancel(CancelOrder command) { return \"cancelled\"; }",
+                        "  public static class Nested implements CommandHandler<CancelOrder, String> {",
+                        "    public String handle(CancelOrder command) { return \"nested\"; }",
+                        "  }",
+                        "}"),
+                source("app.NotAHandler", "package app;",
+                        "public class NotAHandler {",
+                        "  public void cancel(CancelOrder command) {}",
+                        "}"));
+
+        assertThat(compilation).succeeded();
+        assertThat(lines(compilation, ArchbaseHandlerIndexProcessor.HANDLERS_INDEX)).containsExactly(
+                "query\tapp.FindOrder\tapp.FindOrderHandler",
+                "command\tapp.PlaceOrder\tapp.OrderHandler",
+                "command\tapp.UpdateOrder\tapp.OrderHandler",
+                "command\tapp.CancelOrder\tapp.OrderHandler",
+                "command\tapp.CancelOrder\tapp.OrderHandler$Nested");
+    }
+
+    @Test
+    void indexaMetodosComHasPermissionEscapandoSeparadores() throws IOException {
+        Compilation compilation = compile(
+                source("app.OrderService", "package app;",
+                        "import br.com.archbase.security.annotation.HasPermission;",
+                        "public class OrderService {",
+                        "  @HasPermission(resource = \"pedido\", action = \"criar\", description = \"Cria\\tpedido\")",
+                        "  public void create() {}",
+                        "  @HasPermission(resource = \"pedido\", action = \"excluir\", description = \"Exclui pedido\")",
+                        "  public void delete() {}",
+                        "  public void list() {}",
+                        "}"));
+
+        assertThat(compilation).succeeded();
+        assertThat(lines(compilation, ArchbaseHandlerIndexProcessor.PERMISSIONS_INDEX)).containsExactly(
+                "app.OrderService\tcreate\tpedido\tcriar\tCria\\tpedido",
+                "app.OrderService\tdelete\tpedido\texcluir\tExclui pedido");
+        assertThat(lines(compilation, ArchbaseHandlerIndexProcessor.HANDLERS_INDEX)).isEmpty();
+    }
+
+    @Test
+    void gravaIndicesVaziosQuandoNaoHaManipuladoresNemPermissoes() throws IOException {
+        Compilation compilation = compile(source("app.Plain", "package app;", "public class Plain {}"));
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedFile(StandardLocation.CLASS_OUTPUT, ArchbaseHandlerIndexProcessor.HANDLERS_INDEX);
+        assertThat(compilation).generatedFile(StandardLocation.CLASS_OUTPUT, ArchbaseHandlerIndexProcessor.PERMISSIONS_INDEX);
+        assertThat(lines(compilation, ArchbaseHandlerIndexProcessor.HANDLERS_INDEX)).isEmpty();
+        assertThat(lines(compilation, ArchbaseHandlerIndexProcessor.PERMISSIONS_INDEX)).isEmpty();
+    }
+
+    private static Compilation compile(JavaFileObject... sources) {
+        List<JavaFileObject> all = new ArrayList<>(contracts());
+        all.addAll(List.of(sources));
+        return javac().withProcessors(new ArchbaseHandlerIndexProcessor()).compile(all);
+    }
+
+    private static List<String> lines(Compilation compilation, String resource) throws IOException {
+        JavaFileObject file = compilation.generatedFile(StandardLocation.CLASS_OUTPUT, resource).orElseThrow();
+        String content = file.getCharContent(true).toString();
+        return content.isEmpty() ? List.of() : List.of(content.split("\n"));
+    }
+
+    private static JavaFileObject source(String name, String... lines) {
+        return JavaFileObjects.forSourceLines(name, lines);
+    }
+
+    private static List<JavaFileObject> contracts() {
+        return List.of(
+                source("br.com.archbase.event.driven.spec.query.contracts.Query",
+                        "package br.com.archbase.event.driven.spec.query.contracts;",
+                        "public interface Query<R> {}"),
+                source("br.com.archbase.event.driven.spec.query.contracts.QueryHandler",
+                        "package br.com.archbase.event.driven.spec.query.contracts;",
+                        "public interface QueryHandler<Q extends Query<R>, R> { R handle(Q query); }"),
+                source("br.com.archbase.event.driven.spec.command.contracts.Command",
+                        "package br.com.archbase.event.driven.spec.command.contracts;",
+                        "public interface Command<R> {}"),
+                source("br.com.archbase.event.driven.spec.command.contracts.CommandHandler",
+                        "package br.com.archbase.event.driven.spec.command.contracts;",
+                        "public interface CommandHandler<C extends Command<R>, R> { R handle(C command); }"),
+                source("br.com.archbase.event.driven.spec.annotations.QueryMapping",
+                        "package br.com.archbase.event.driven.spec.annotations;",
+                        "public @interface QueryMapping {",
+                        "  Class<? extends br.com.archbase.event.driven.spec.query.contracts.Query> value();",
+                        "}"),
+                source("br.com.archbase.event.driven.spec.annotations.CommandMapping",
+                        "package br.com.archbase.event.driven.spec.annotations;",
+                        "public @interface CommandMapping {",
+                        "  Class<? extends br.com.archbase.event.driven.spec.command.contracts.Command> value();",
+                        "}"),
+                source("br.com.archbase.event.driven.spec.annotations.CommandMappings",
+                        "package br.com.archbase.event.driven.spec.annotations;",
+                        "public @interface CommandMappings { CommandMapping[] value(); }"),
+                source("br.com.archbase.security.annotation.HasPermission",
+                        "package br.com.archbase.security.annotation;",
+                        "public @interface HasPermission {",
+                        "  String action();",
+                        "  String description();",
+                        "  String resource();",
+                        "  String tenantId() default \"\";",
+                        "}"));
+    }
+}
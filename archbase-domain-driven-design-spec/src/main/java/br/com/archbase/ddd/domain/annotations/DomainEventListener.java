@@ -9,5 +9,15 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface DomainEventListener {
+
+    /**
+     * Executa o ouvinte no executor assíncrono do publicador de eventos, sem bloquear quem publicou.
+     */
     boolean asynchronous() default false;
+
+    /**
+     * Adia a execução do ouvinte para depois do commit da transação corrente; o evento é descartado se a
+     * transação for desfeita. Sem transação ativa o ouvinte é executado imediatamente.
+     */
+    boolean afterCommit() default false;
 }
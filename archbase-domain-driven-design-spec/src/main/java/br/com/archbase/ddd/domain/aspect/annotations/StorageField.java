@@ -9,4 +9,10 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface StorageField {
 
+    /**
+     * Nomeia o arquivo pelo hash do conteúdo, de forma que arquivos idênticos sejam enviados uma única vez e
+     * compartilhados. Arquivos compartilhados não são excluídos do armazenamento quando a entidade é excluída
+     * ou o campo é alterado.
+     */
+    boolean deduplicate() default false;
 }
@@ -5,13 +5,16 @@ import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Predicate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.history.RevisionRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositórios são classes ou componentes que encapsulam a lógica necessária para acessar fontes de dados.
@@ -179,4 +182,30 @@ public interface Repository<T, ID, N extends Number & Comparable<N>> extends Que
      * @return Página
      */
     Page<T> findAll(String filter, Pageable pageable);
+
+    /**
+     * Recupera os objetos que atendam ao filtro RSQL usando paginação por chave (keyset). A próxima
+     * janela é lida a partir da posição do último elemento, sem OFFSET e sem consulta de contagem,
+     * o que mantém o custo constante mesmo em páginas profundas.
+     *
+     * @param filter   Filtro RSQL
+     * @param sort     Ordenação; o identificador é adicionado como critério de desempate
+     * @param position Posição a partir da qual ler ({@link ScrollPosition#keyset()} para o início)
+     * @param limit    Quantidade máxima de elementos
+     * @return Janela com os elementos e a posição de cada um
+     */
+    Window<T> findAll(String filter, Sort sort, ScrollPosition position, int limit);
+
+    /**
+     * Lê sob demanda todos os objetos que atendam ao filtro RSQL, sem materializar a lista. Deve ser
+     * chamado dentro de uma transação e o stream deve ser fechado ao final (try-with-resources).
+     * As entidades entregues são destacadas do contexto de persistência a cada bloco de
+     * {@code fetchSize} linhas.
+     *
+     * @param filter    Filtro RSQL
+     * @param sort      Ordenação
+     * @param fetchSize Quantidade de linhas buscadas por ida ao banco
+     * @return Stream das entidades
+     */
+    Stream<T> streamAll(String filter, Sort sort, int fetchSize);
 }
@@ -4,7 +4,6 @@ import br.com.archbase.ddd.domain.aspect.annotations.StorageField;
 import br.com.archbase.ddd.domain.contracts.ArchbaseStoragePort;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Id;
 import jakarta.persistence.PersistenceContext;
 import org.apache.tika.Tika;
 import org.apache.tika.mime.MimeTypes;
@@ -15,35 +14,79 @@ import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Aspecto responsável por processar campos anotados com {@link StorageField} antes de salvar ou deletar entidades.
+ * <p>
+ * Os campos de cada classe são lidos uma única vez ({@link StorageFieldMetadata}). O conteúdo (bytes brutos ou data
+ * URL em Base64) é decodificado em fluxo durante o envio, sem cópias intermediárias, e os arquivos de uma mesma
+ * operação são enviados em paralelo no executor {@code archbaseStorageExecutor} ou, na falta dele, em um pool
+ * limitado a {@value #DEFAULT_UPLOAD_CONCURRENCY} threads, criado sob demanda e encerrado junto com o aspecto.
+ * <p>
+ * Dentro de uma transação o processamento tem duas fases: os arquivos novos são enviados antes do commit, pois a URL
+ * precisa ser gravada na entidade, e são excluídos se a transação for desfeita; arquivos substituídos ou de entidades
+ * removidas só são excluídos depois do commit. Sem transação tudo acontece imediatamente.
  */
 //@Aspect
 //@Component
 //@ConditionalOnBean(ArchbaseStoragePort.class)
-public class ArchbaseStorageFieldAspect {
+public class ArchbaseStorageFieldAspect implements DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(ArchbaseStorageFieldAspect.class);
 
+    private static final String OBJECT_PREFIX = "arquivos_";
+
+    /**
+     * Prefixo dos arquivos nomeados pelo hash do conteúdo ({@link StorageField#deduplicate()}), que podem ser
+     * compartilhados entre entidades e por isso nunca são excluídos pelo aspecto.
+     */
+    private static final String DEDUPLICATED_PREFIX = OBJECT_PREFIX + "sha256_";
+
+    private static final byte[] DATA_URL_PREFIX = "data:".getBytes(StandardCharsets.US_ASCII);
+
+    // Conteúdos maiores não são tratados como URL, evitando converter arquivos inteiros em texto
+    private static final int MAX_URL_LENGTH = 4096;
+
+    private static final int DEFAULT_UPLOAD_CONCURRENCY = 4;
+
+    private static final int DEDUPLICATION_CACHE_SIZE = 1024;
+
     @Autowired
     private ArchbaseStoragePort storagePort;
 
@@ -53,9 +96,28 @@ public class ArchbaseStorageFieldAspect {
     @Autowired
     private EntityManagerFactory entityManagerFactory;
 
+    @Autowired(required = false)
+    @Qualifier("archbaseStorageExecutor")
+    private volatile Executor uploadExecutor;
+
+    // Pool criado pelo próprio aspecto quando não há archbaseStorageExecutor
+    private ThreadPoolTaskExecutor fallbackExecutor;
+
+    // Após o encerramento nenhum pool é criado: envios e exclusões passam a executar na thread chamadora
+    private volatile boolean destroyed;
+
     private final Tika tika = new Tika();
     private final MimeTypes allTypes = MimeTypes.getDefaultMimeTypes();
 
+    // URLs dos arquivos deduplicados já enviados, por hash e extensão
+    private final Map<String, String> deduplicatedUrls = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > DEDUPLICATION_CACHE_SIZE;
+                }
+            });
+
     // ThreadLocal para rastrear entidades já processadas na transação atual
     private final ThreadLocal<Set<ProcessedEntity>> processedEntities = ThreadLocal.withInitial(HashSet::new);
 
@@ -118,40 +180,39 @@ public class ArchbaseStorageFieldAspect {
      */
     @Before("repositorySave() || entityManagerMerge() || entityManagerPersist()")
     public void beforeSave(JoinPoint joinPoint) throws Exception {
-        // Registra início de nova transação se ainda não estiver ativa
-        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
-            logger.debug("Iniciando nova transação para processamento de StorageField");
-            registerTransactionCleanup();
-        }
-
         // Determina o tipo de operação
         String operationType = determineOperationType(joinPoint);
 
-        // Processa os argumentos
+        // Processa os argumentos, reunindo os envios para executá-los em paralelo
+        List<PendingUpload> uploads = new ArrayList<>();
         Object[] args = joinPoint.getArgs();
         for (Object arg : args) {
             if (arg != null) {
                 if (arg instanceof Iterable) {
                     for (Object entity : (Iterable<?>) arg) {
-                        processSingleEntity(entity, operationType);
+                        processSingleEntity(entity, operationType, uploads);
                     }
                 } else {
-                    processSingleEntity(arg, operationType);
+                    processSingleEntity(arg, operationType, uploads);
                 }
             }
         }
+        executeUploads(uploads);
     }
 
     /**
      * Processa uma única entidade, verificando se já foi processada anteriormente.
      */
-    private void processSingleEntity(Object entity, String operationType) throws Exception {
+    private void processSingleEntity(Object entity, String operationType, List<PendingUpload> uploads) throws Exception {
         // Verifica se a entidade já foi processada nesta transação
         ProcessedEntity processedEntity = new ProcessedEntity(entity, operationType);
         if (!processedEntities.get().contains(processedEntity)) {
-            if (hasStorageFields(entity.getClass())) {
+            StorageFieldMetadata metadata = StorageFieldMetadata.forClass(entity.getClass());
+            if (metadata.hasStorageFields()) {
                 logger.debug("Processando entidade {} para operação {}", entity.getClass().getSimpleName(), operationType);
-                processStorageFields(entity, isUpdate(entity));
+                // Garante a limpeza das entidades processadas ao fim da transação
+                currentTransaction();
+                processStorageFields(entity, metadata, uploads);
                 processedEntities.get().add(processedEntity);
             }
         } else {
@@ -159,21 +220,6 @@ public class ArchbaseStorageFieldAspect {
         }
     }
 
-    /**
-     * Verifica rapidamente se a classe possui campos anotados com StorageField.
-     */
-    private boolean hasStorageFields(Class<?> clazz) {
-        while (clazz != null) {
-            for (Field field : clazz.getDeclaredFields()) {
-                if (field.isAnnotationPresent(StorageField.class)) {
-                    return true;
-                }
-            }
-            clazz = clazz.getSuperclass();
-        }
-        return false;
-    }
-
     /**
      * Determina o tipo de operação com base no método interceptado.
      */
@@ -188,18 +234,21 @@ public class ArchbaseStorageFieldAspect {
     }
 
     /**
-     * Registra um callback para limpar o ThreadLocal no final da transação.
+     * Retorna o estado de armazenamento da transação atual, registrando-o na primeira chamada.
+     *
+     * @return {@code null} se não houver sincronização de transação ativa
      */
-    private void registerTransactionCleanup() {
-        if (TransactionSynchronizationManager.isActualTransactionActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
-                @Override
-                public void afterCompletion(int status) {
-                    logger.debug("Limpando cache de entidades processadas após transação");
-                    processedEntities.get().clear();
-                }
-            });
+    private StorageTransaction currentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
         }
+        StorageTransaction transaction = (StorageTransaction) TransactionSynchronizationManager.getResource(this);
+        if (transaction == null) {
+            transaction = new StorageTransaction();
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+        return transaction;
     }
 
     /**
@@ -207,11 +256,6 @@ public class ArchbaseStorageFieldAspect {
      */
     @Before("repositoryDelete() || entityManagerRemove()")
     public void beforeDelete(JoinPoint joinPoint) throws Exception {
-        // Registra início de nova transação se ainda não estiver ativa
-        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
-            registerTransactionCleanup();
-        }
-
         String operationType = "DELETE";
 
         Object[] args = joinPoint.getArgs();
@@ -219,27 +263,27 @@ public class ArchbaseStorageFieldAspect {
             if (arg != null) {
                 if (arg instanceof Iterable) {
                     for (Object entity : (Iterable<?>) arg) {
-                        ProcessedEntity processedEntity = new ProcessedEntity(entity, operationType);
-                        if (!processedEntities.get().contains(processedEntity)) {
-                            if (hasStorageFields(entity.getClass())) {
-                                deleteStorageFiles(entity);
-                                processedEntities.get().add(processedEntity);
-                            }
-                        }
+                        processDeletedEntity(entity, operationType);
                     }
                 } else {
-                    ProcessedEntity processedEntity = new ProcessedEntity(arg, operationType);
-                    if (!processedEntities.get().contains(processedEntity)) {
-                        if (hasStorageFields(arg.getClass())) {
-                            deleteStorageFiles(arg);
-                            processedEntities.get().add(processedEntity);
-                        }
-                    }
+                    processDeletedEntity(arg, operationType);
                 }
             }
         }
     }
 
+    private void processDeletedEntity(Object entity, String operationType) throws IllegalAccessException {
+        ProcessedEntity processedEntity = new ProcessedEntity(entity, operationType);
+        if (!processedEntities.get().contains(processedEntity)) {
+            StorageFieldMetadata metadata = StorageFieldMetadata.forClass(entity.getClass());
+            if (metadata.hasStorageFields()) {
+                currentTransaction();
+                deleteStorageFiles(entity, metadata);
+                processedEntities.get().add(processedEntity);
+            }
+        }
+    }
+
     /**
      * Limpa o ThreadLocal após o fim da execução para evitar vazamentos de memória.
      */
@@ -253,132 +297,148 @@ public class ArchbaseStorageFieldAspect {
     }
 
     /**
-     * Processa os campos anotados com {@link StorageField} na entidade fornecida.
+     * Processa os campos anotados com {@link StorageField} na entidade fornecida. Campos com conteúdo novo são
+     * acrescentados a {@code uploads}; os demais são resolvidos aqui.
      */
-    private void processStorageFields(Object entity, boolean isUpdate) throws Exception {
-        Class<?> clazz = entity.getClass();
-
+    private void processStorageFields(Object entity, StorageFieldMetadata metadata, List<PendingUpload> uploads)
+            throws IllegalAccessException {
         Object oldEntity = null;
-        if (isUpdate) {
-            Object idValue = getEntityId(entity);
-            if (idValue != null) {
-                // Usa um EntityManager separado para evitar desvincular a entidade atual
-                EntityManager tempEntityManager = entityManagerFactory.createEntityManager();
-                try {
-                    oldEntity = tempEntityManager.find(clazz, idValue);
-                } finally {
-                    tempEntityManager.close();
-                }
+        Object idValue = metadata.getId(entity);
+        if (idValue != null) {
+            // Usa um EntityManager separado para evitar desvincular a entidade atual
+            EntityManager tempEntityManager = entityManagerFactory.createEntityManager();
+            try {
+                oldEntity = tempEntityManager.find(entity.getClass(), idValue);
+            } finally {
+                tempEntityManager.close();
             }
         }
 
-        for (Field field : getAllFields(clazz)) {
-            if (field.isAnnotationPresent(StorageField.class)) {
-                field.setAccessible(true);
-                Object newValue = field.get(entity);
-                String oldFileUrl = null;
+        for (StorageFieldMetadata.Entry entry : metadata.getStorageFields()) {
+            Field field = entry.field();
+            Object newValue = field.get(entity);
+            String oldFileUrl = null;
 
-                if (isUpdate && oldEntity != null) {
-                    Field oldField = getFieldFromClassHierarchy(oldEntity.getClass(), field.getName());
-                    oldField.setAccessible(true);
-                    Object oldValue = oldField.get(oldEntity);
-                    if (oldValue instanceof byte[]) {
-                        oldFileUrl = extractFileUrl((byte[]) oldValue);
-                    }
+            if (oldEntity != null) {
+                Object oldValue = field.get(oldEntity);
+                if (oldValue instanceof byte[]) {
+                    oldFileUrl = extractFileUrl((byte[]) oldValue);
                 }
+            }
+
+            if (newValue instanceof byte[]) {
+                byte[] data = (byte[]) newValue;
 
-                if (newValue instanceof byte[]) {
-                    byte[] data = (byte[]) newValue;
-                    boolean isUrl = isUrlData(data);
-
-                    if (isUrl) {
-                        String newFileUrl = new String(data, StandardCharsets.UTF_8);
-
-                        // Se a nova URL é diferente da antiga, deleta o arquivo antigo
-                        if (isUpdate && oldFileUrl != null && !newFileUrl.equals(oldFileUrl)) {
-                            deleteFileFromStorage(oldFileUrl);
-                        }
-
-                        // Mantém a URL como está
-                        field.set(entity, data);
-                    } else {
-                        // É dado binário; processa e faz upload do arquivo
-                        String newFileUrl = processFileData(data, oldFileUrl);
-
-                        // Substitui o conteúdo do campo pela nova URL
-                        if (newFileUrl != null) {
-                            field.set(entity, newFileUrl.getBytes(StandardCharsets.UTF_8));
-                            logger.debug("Campo de armazenamento processado: {} em {}", field.getName(), entity.getClass().getSimpleName());
-                        } else {
-                            field.set(entity, null);
-                        }
+                if (isUrlData(data)) {
+                    String newFileUrl = new String(data, StandardCharsets.UTF_8);
+
+                    // Se a nova URL é diferente da antiga, deleta o arquivo antigo; a URL é mantida como está
+                    if (oldFileUrl != null && !newFileUrl.equals(oldFileUrl)) {
+                        deleteFileFromStorage(oldFileUrl);
+                    }
+                } else if (data.length == 0) {
+                    // Sem novo conteúdo; deleta o arquivo antigo se necessário
+                    if (StringUtils.hasText(oldFileUrl)) {
+                        deleteFileFromStorage(oldFileUrl);
                     }
+                    field.set(entity, null);
+                } else {
+                    uploads.add(new PendingUpload(entity, field, data, entry.deduplicate(), oldFileUrl));
                 }
             }
         }
     }
 
     /**
-     * Recupera o valor do campo ID da entidade, que está anotado com {@link Id}.
+     * Envia os arquivos pendentes, em paralelo se houver mais de um, e substitui o conteúdo dos campos pelas URLs.
+     * Se algum envio falhar, os arquivos já enviados são excluídos e a exceção é propagada.
      */
-    private Object getEntityId(Object entity) throws IllegalAccessException {
-        Class<?> clazz = entity.getClass();
-        while (clazz != null) {
-            for (Field field : clazz.getDeclaredFields()) {
-                if (field.isAnnotationPresent(Id.class)) {
-                    field.setAccessible(true);
-                    return field.get(entity);
+    private void executeUploads(List<PendingUpload> uploads) throws IllegalAccessException {
+        if (uploads.isEmpty()) {
+            return;
+        }
+        // O estado da transação é obtido aqui porque os envios executam em outras threads
+        StorageTransaction transaction = currentTransaction();
+
+        List<String> urls;
+        if (uploads.size() == 1) {
+            urls = List.of(upload(uploads.get(0), transaction));
+        } else {
+            Executor executor = getUploadExecutor();
+            List<CompletableFuture<String>> futures = new ArrayList<>(uploads.size());
+            for (PendingUpload upload : uploads) {
+                futures.add(CompletableFuture.supplyAsync(() -> upload(upload, transaction), executor));
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                for (CompletableFuture<String> future : futures) {
+                    if (!future.isCompletedExceptionally()) {
+                        discardUpload(future.join(), transaction);
+                    }
                 }
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+            urls = new ArrayList<>(futures.size());
+            for (CompletableFuture<String> future : futures) {
+                urls.add(future.join());
             }
-            clazz = clazz.getSuperclass();
         }
-        return null;
-    }
 
-    /**
-     * Determina se a entidade está sendo atualizada ou criada com base na presença de um ID.
-     */
-    private boolean isUpdate(Object entity) {
-        try {
-            Object idValue = getEntityId(entity);
-            return idValue != null;
-        } catch (IllegalAccessException e) {
-            return false;
+        for (int i = 0; i < uploads.size(); i++) {
+            PendingUpload upload = uploads.get(i);
+            String newFileUrl = urls.get(i);
+
+            // Substitui o conteúdo do campo pela nova URL
+            upload.field().set(upload.entity(), newFileUrl.getBytes(StandardCharsets.UTF_8));
+            logger.debug("Campo de armazenamento processado: {} em {}", upload.field().getName(),
+                    upload.entity().getClass().getSimpleName());
+
+            // Deleta o arquivo antigo se necessário
+            if (StringUtils.hasText(upload.oldFileUrl()) && !newFileUrl.equals(upload.oldFileUrl())) {
+                logger.debug("Deletando arquivo antigo: {}", upload.oldFileUrl());
+                deleteFileFromStorage(upload.oldFileUrl());
+            }
         }
     }
 
     /**
-     * Processa os dados do arquivo, fazendo upload para o armazenamento e retornando a URL do arquivo.
+     * Envia o conteúdo para o armazenamento e retorna a URL do arquivo. Arquivos não deduplicados enviados dentro de
+     * uma transação ficam registrados para exclusão caso ela seja desfeita.
      */
-    private String processFileData(byte[] fileData, String oldFileUrl) {
-        if (fileData == null || fileData.length == 0) {
-            // Sem novo conteúdo; deleta o arquivo antigo se necessário
-            if (StringUtils.hasText(oldFileUrl)) {
-                deleteFileFromStorage(oldFileUrl);
-            }
-            return null;
-        }
-
+    private String upload(PendingUpload upload, StorageTransaction transaction) {
         try {
-            String content = new String(fileData, StandardCharsets.UTF_8);
-
-            // Verifica se o conteúdo é uma URL de dados
-            if (content.startsWith("data:")) {
-                return handleDataUrl(content, oldFileUrl);
+            StorageContent content = StorageContent.of(upload.data(), tika);
+            String extension = sanitizeFileName(getExtensionFromContentType(content.contentType()));
+
+            String objectName;
+            String deduplicationKey = null;
+            if (upload.deduplicate()) {
+                deduplicationKey = content.sha256() + extension;
+                String url = deduplicatedUrls.get(deduplicationKey);
+                if (url != null) {
+                    logger.debug("Arquivo idêntico já enviado, reutilizando: {}", url);
+                    return url;
+                }
+                objectName = DEDUPLICATED_PREFIX + deduplicationKey;
+            } else {
+                // Adiciona UUID para garantir unicidade mesmo que o timestamp seja o mesmo
+                objectName = OBJECT_PREFIX + System.currentTimeMillis() + "_" +
+                        UUID.randomUUID().toString().substring(0, 8) + extension;
             }
 
-            // Assume que é dado binário bruto
-            String contentType = tika.detect(fileData);
-            String newFileUrl = uploadContent(fileData, contentType);
-
-            // Deleta o arquivo antigo se necessário
-            if (StringUtils.hasText(oldFileUrl) && !newFileUrl.equals(oldFileUrl)) {
-                logger.debug("Deletando arquivo antigo: {}", oldFileUrl);
-                deleteFileFromStorage(oldFileUrl);
+            String url;
+            try (InputStream inputStream = content.open()) {
+                url = storagePort.uploadFile(objectName, inputStream, content.contentType());
             }
+            logger.debug("Arquivo enviado com sucesso: {} ({})", objectName, content.contentType());
 
-            return newFileUrl;
-
+            if (deduplicationKey != null) {
+                deduplicatedUrls.put(deduplicationKey, url);
+            } else if (transaction != null) {
+                transaction.staged.add(objectName);
+            }
+            return url;
         } catch (Exception e) {
             logger.error("Erro ao processar dados do arquivo", e);
             throw new RuntimeException("Erro ao processar dados do arquivo: " + e.getMessage(), e);
@@ -386,88 +446,79 @@ public class ArchbaseStorageFieldAspect {
     }
 
     /**
-     * Manipula URLs de dados decodificando o conteúdo base64 e fazendo upload do arquivo.
+     * Exclui um arquivo enviado em uma operação que falhou.
      */
-    private String handleDataUrl(String dataUrl, String oldFileUrl) throws Exception {
-        String[] parts = dataUrl.split(",", 2);
-        if (parts.length < 2) {
-            throw new IllegalArgumentException("Data URL inválida");
-        }
-        String metadata = parts[0];
-        String base64Data = parts[1];
-
-        String contentType = "application/octet-stream"; // Tipo de conteúdo padrão
-        if (metadata.contains(":") && metadata.contains(";")) {
-            contentType = metadata.substring(metadata.indexOf(":") + 1, metadata.indexOf(";"));
-        }
-
-        byte[] decodedBytes = Base64.getDecoder().decode(base64Data);
-        String newFileUrl = uploadContent(decodedBytes, contentType);
-
-        // Deleta o arquivo antigo se necessário
-        if (StringUtils.hasText(oldFileUrl) && !newFileUrl.equals(oldFileUrl)) {
-            logger.debug("Deletando arquivo antigo após upload de data URL: {}", oldFileUrl);
-            deleteFileFromStorage(oldFileUrl);
+    private void discardUpload(String fileUrl, StorageTransaction transaction) {
+        String objectName = getObjectNameFromUrl(fileUrl);
+        if (objectName != null && !objectName.startsWith(DEDUPLICATED_PREFIX)) {
+            if (transaction != null) {
+                transaction.staged.remove(objectName);
+            }
+            deleteObject(objectName);
         }
-
-        return newFileUrl;
     }
 
     /**
      * Deleta arquivos associados a campos anotados com {@link StorageField} na entidade fornecida.
      */
-    private void deleteStorageFiles(Object entity) throws IllegalAccessException {
-        Class<?> clazz = entity.getClass();
-        for (Field field : getAllFields(clazz)) {
-            if (field.isAnnotationPresent(StorageField.class)) {
-                field.setAccessible(true);
-                Object value = field.get(entity);
-
-                if (value instanceof byte[]) {
-                    String fileUrl = extractFileUrl((byte[]) value);
-                    if (fileUrl != null) {
-                        logger.debug("Deletando arquivo armazenado para campo {} da entidade {}: {}",
-                                field.getName(), entity.getClass().getSimpleName(), fileUrl);
-                        deleteFileFromStorage(fileUrl);
-                    }
+    private void deleteStorageFiles(Object entity, StorageFieldMetadata metadata) throws IllegalAccessException {
+        for (StorageFieldMetadata.Entry entry : metadata.getStorageFields()) {
+            Object value = entry.field().get(entity);
+
+            if (value instanceof byte[]) {
+                String fileUrl = extractFileUrl((byte[]) value);
+                if (fileUrl != null) {
+                    logger.debug("Deletando arquivo armazenado para campo {} da entidade {}: {}",
+                            entry.field().getName(), entity.getClass().getSimpleName(), fileUrl);
+                    deleteFileFromStorage(fileUrl);
                 }
             }
         }
     }
 
     /**
-     * Deleta um arquivo do armazenamento dado sua URL.
+     * Deleta um arquivo do armazenamento dado sua URL; dentro de uma transação a exclusão só acontece após o commit.
      */
     private void deleteFileFromStorage(String fileUrl) {
         if (isValidUrl(fileUrl)) {
-            try {
-                String objectName = getObjectNameFromUrl(fileUrl);
-                if (objectName != null) {
-                    storagePort.deleteFile(objectName);
-                    logger.debug("Arquivo excluído com sucesso: {}", objectName);
-                }
-            } catch (Exception e) {
-                logger.error("Erro ao deletar arquivo: {}", fileUrl, e);
+            String objectName = getObjectNameFromUrl(fileUrl);
+            if (objectName == null) {
+                return;
+            }
+            if (objectName.startsWith(DEDUPLICATED_PREFIX)) {
+                logger.debug("Arquivo compartilhado mantido no armazenamento: {}", objectName);
+                return;
+            }
+            StorageTransaction transaction = currentTransaction();
+            if (transaction != null) {
+                transaction.deleteAfterCommit.add(objectName);
+            } else {
+                deleteObject(objectName);
             }
         }
     }
 
+    private void deleteObject(String objectName) {
+        try {
+            storagePort.deleteFile(objectName);
+            logger.debug("Arquivo excluído com sucesso: {}", objectName);
+        } catch (Exception e) {
+            logger.error("Erro ao deletar arquivo: {}", objectName, e);
+        }
+    }
+
     /**
      * Determina se os dados byte[] fornecidos representam uma URL.
      */
     private boolean isUrlData(byte[] data) {
-        if (data == null || data.length == 0) {
-            return false;
-        }
-        String content = new String(data, StandardCharsets.UTF_8);
-        return isValidUrl(content);
+        return extractFileUrl(data) != null;
     }
 
     /**
      * Extrai a URL do arquivo dos dados byte[] se representar uma URL válida.
      */
     private String extractFileUrl(byte[] data) {
-        if (data == null || data.length == 0) {
+        if (data == null || data.length == 0 || data.length > MAX_URL_LENGTH) {
             return null;
         }
         String content = new String(data, StandardCharsets.UTF_8);
@@ -530,22 +581,6 @@ public class ArchbaseStorageFieldAspect {
         return null; // Não encontrou um nome de arquivo válido
     }
 
-    /**
-     * Faz upload do conteúdo para o armazenamento e retorna a URL do arquivo.
-     */
-    private String uploadContent(byte[] content, String contentType) throws Exception {
-        String extension = getExtensionFromContentType(contentType);
-        // Adiciona UUID para garantir unicidade mesmo que o timestamp seja o mesmo
-        String objectName = "arquivos_" + System.currentTimeMillis() + "_" +
-                UUID.randomUUID().toString().substring(0, 8) +
-                sanitizeFileName(extension);
-
-        InputStream inputStream = new ByteArrayInputStream(content);
-        String result = storagePort.uploadFile(objectName, inputStream, contentType);
-        logger.debug("Arquivo enviado com sucesso: {} ({})", objectName, contentType);
-        return result;
-    }
-
     /**
      * Sanitiza o nome do arquivo substituindo caracteres inválidos.
      */
@@ -556,7 +591,7 @@ public class ArchbaseStorageFieldAspect {
     /**
      * Recupera a extensão do arquivo com base no tipo de conteúdo.
      */
-    private String getExtensionFromContentType(String contentType) throws Exception {
+    private String getExtensionFromContentType(String contentType) {
         try {
             return allTypes.forName(contentType).getExtension();
         } catch (Exception e) {
@@ -566,32 +601,144 @@ public class ArchbaseStorageFieldAspect {
         }
     }
 
+    private Executor getUploadExecutor() {
+        Executor executor = uploadExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (destroyed) {
+                    return Runnable::run;
+                }
+                if (uploadExecutor == null) {
+                    ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+                    pool.setCorePoolSize(DEFAULT_UPLOAD_CONCURRENCY);
+                    pool.setMaxPoolSize(DEFAULT_UPLOAD_CONCURRENCY);
+                    pool.setQueueCapacity(DEFAULT_UPLOAD_CONCURRENCY * 16);
+                    // Com a fila cheia o envio é feito pela própria thread chamadora
+                    pool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+                    pool.setDaemon(true);
+                    pool.setThreadNamePrefix("archbase-storage-");
+                    pool.initialize();
+                    fallbackExecutor = pool;
+                    uploadExecutor = pool;
+                }
+                executor = uploadExecutor;
+            }
+        }
+        return executor;
+    }
+
     /**
-     * Recupera todos os campos da classe e suas superclasses.
+     * Encerra o pool de envio criado pelo aspecto, aguardando as exclusões já agendadas. O executor
+     * {@code archbaseStorageExecutor} é gerenciado pelo contexto e não é encerrado aqui. Transações concluídas
+     * depois disso executam suas exclusões na própria thread, sem criar um novo pool.
      */
-    private List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        while (clazz != null && !clazz.equals(Object.class)) {
-            Field[] declaredFields = clazz.getDeclaredFields();
-            for (Field field : declaredFields) {
-                fields.add(field);
+    @Override
+    public synchronized void destroy() {
+        destroyed = true;
+        if (fallbackExecutor != null) {
+            if (uploadExecutor == fallbackExecutor) {
+                uploadExecutor = null;
             }
-            clazz = clazz.getSuperclass();
+            fallbackExecutor.setWaitForTasksToCompleteOnShutdown(true);
+            fallbackExecutor.setAwaitTerminationSeconds(10);
+            fallbackExecutor.shutdown();
+            fallbackExecutor = null;
         }
-        return fields;
     }
 
     /**
-     * Recupera um campo da hierarquia de classes pelo nome.
+     * Arquivo a enviar para um campo de uma entidade.
      */
-    private Field getFieldFromClassHierarchy(Class<?> clazz, String fieldName) throws NoSuchFieldException {
-        while (clazz != null && !clazz.equals(Object.class)) {
-            try {
-                return clazz.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                clazz = clazz.getSuperclass();
+    private record PendingUpload(Object entity, Field field, byte[] data, boolean deduplicate, String oldFileUrl) {
+    }
+
+    /**
+     * Conteúdo de um campo: bytes brutos, com o tipo detectado pelo Tika, ou a parte Base64 de uma data URL, com o
+     * tipo declarado nela. O conteúdo é lido sempre a partir do array original.
+     */
+    private record StorageContent(byte[] data, int offset, int length, boolean base64, String contentType) {
+
+        private static final int MAX_DATA_URL_HEADER = 1024;
+
+        static StorageContent of(byte[] data, Tika tika) {
+            if (!startsWith(data, DATA_URL_PREFIX)) {
+                // Assume que é dado binário bruto
+                return new StorageContent(data, 0, data.length, false, tika.detect(data));
+            }
+
+            int comma = -1;
+            for (int i = DATA_URL_PREFIX.length, limit = Math.min(data.length, MAX_DATA_URL_HEADER); i < limit; i++) {
+                if (data[i] == ',') {
+                    comma = i;
+                    break;
+                }
+            }
+            if (comma < 0) {
+                throw new IllegalArgumentException("Data URL inválida");
+            }
+            String metadata = new String(data, 0, comma, StandardCharsets.US_ASCII);
+
+            String contentType = "application/octet-stream"; // Tipo de conteúdo padrão
+            if (metadata.contains(":") && metadata.contains(";")) {
+                contentType = metadata.substring(metadata.indexOf(":") + 1, metadata.indexOf(";"));
+            }
+            return new StorageContent(data, comma + 1, data.length - comma - 1, true, contentType);
+        }
+
+        private static boolean startsWith(byte[] data, byte[] prefix) {
+            if (data.length < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (data[i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        InputStream open() {
+            InputStream raw = new ByteArrayInputStream(data, offset, length);
+            return base64 ? Base64.getDecoder().wrap(raw) : raw;
+        }
+
+        String sha256() throws IOException, NoSuchAlgorithmException {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream inputStream = new DigestInputStream(open(), digest)) {
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    /**
+     * Arquivos enviados e exclusões adiadas de uma transação. Após o commit as exclusões são executadas; se a
+     * transação for desfeita os arquivos enviados nela são excluídos.
+     */
+    private final class StorageTransaction implements TransactionSynchronization {
+
+        private final Queue<String> staged = new ConcurrentLinkedQueue<>();
+        private final Queue<String> deleteAfterCommit = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ArchbaseStorageFieldAspect.this);
+            logger.debug("Limpando cache de entidades processadas após transação");
+            processedEntities.remove();
+
+            List<String> objectNames;
+            if (status == STATUS_COMMITTED) {
+                objectNames = List.copyOf(deleteAfterCommit);
+            } else if (status == STATUS_ROLLED_BACK) {
+                objectNames = List.copyOf(staged);
+            } else {
+                logger.warn("Transação com estado desconhecido; {} arquivos enviados e {} exclusões pendentes mantidos",
+                        staged.size(), deleteAfterCommit.size());
+                return;
+            }
+            if (!objectNames.isEmpty()) {
+                getUploadExecutor().execute(() -> objectNames.forEach(ArchbaseStorageFieldAspect.this::deleteObject));
             }
         }
-        throw new NoSuchFieldException("Campo não encontrado: " + fieldName);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package br.com.archbase.ddd.infraestructure.aspect;
+
+import br.com.archbase.ddd.domain.aspect.annotations.StorageField;
+import jakarta.persistence.Id;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Campos {@link StorageField} e campo {@link Id} de uma classe de entidade, incluindo as superclasses. É
+ * calculado uma única vez por classe, com os campos já acessíveis.
+ */
+final class StorageFieldMetadata {
+
+    private static final ClassValue<StorageFieldMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected StorageFieldMetadata computeValue(Class<?> type) {
+            return new StorageFieldMetadata(type);
+        }
+    };
+
+    private final List<Entry> storageFields;
+    private final Field idField;
+
+    private StorageFieldMetadata(Class<?> type) {
+        List<Entry> fields = new ArrayList<>();
+        Field id = null;
+        for (Class<?> clazz = type; clazz != null && !clazz.equals(Object.class); clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                StorageField storageField = field.getAnnotation(StorageField.class);
+                if (storageField != null) {
+                    field.setAccessible(true);
+                    fields.add(new Entry(field, storageField.deduplicate()));
+                } else if (id == null && field.isAnnotationPresent(Id.class)) {
+                    field.setAccessible(true);
+                    id = field;
+                }
+            }
+        }
+        this.storageFields = List.copyOf(fields);
+        this.idField = id;
+    }
+
+    static StorageFieldMetadata forClass(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    boolean hasStorageFields() {
+        return !storageFields.isEmpty();
+    }
+
+    List<Entry> getStorageFields() {
+        return storageFields;
+    }
+
+    Object getId(Object entity) throws IllegalAccessException {
+        return idField == null ? null : idField.get(entity);
+    }
+
+    /**
+     * @param field       campo anotado, já acessível
+     * @param deduplicate valor de {@link StorageField#deduplicate()}
+     */
+    record Entry(Field field, boolean deduplicate) {
+    }
+}
@@ -1,11 +1,20 @@
 package br.com.archbase.ddd.infraestructure.events;
 
+import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.BeanFactory;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 
+/**
+ * Manipulador que executa o ouvinte no {@link Executor} informado, sem bloquear quem publicou o evento.
+ * Exceções do ouvinte são apenas registradas.
+ */
+@Log4j2
 public class AsynchronousEventHandler extends SpringEventHandler {
 
+    private final Executor executor;
+
     /**
      * @param eventType
      * @param beanName
@@ -14,7 +23,24 @@ public class AsynchronousEventHandler extends SpringEventHandler {
      */
     public AsynchronousEventHandler(Class<?> eventType, String beanName,
                                     Method method, BeanFactory beanFactory) {
-        super(eventType, beanName, method, beanFactory);
+        this(eventType, beanName, method, beanFactory, SimpleEventPublisher.defaultAsyncExecutor(), false);
+    }
+
+    public AsynchronousEventHandler(Class<?> eventType, String beanName, Method method, BeanFactory beanFactory,
+                                    Executor executor, boolean afterCommit) {
+        super(eventType, beanName, method, beanFactory, afterCommit);
+        this.executor = executor;
+    }
+
+    @Override
+    protected void dispatch(Object event) {
+        executor.execute(() -> {
+            try {
+                invoke(event);
+            } catch (Exception e) {
+                log.error("event handling error in {}", this, e);
+            }
+        });
     }
 
-}
\ No newline at end of file
+}
@@ -27,9 +27,11 @@ public class EventListenerBeanPostProcessor implements BeanPostProcessor, BeanFa
                 Class<?> eventType = method.getParameterTypes()[0];
                 EventHandler handler = null;
                 if (listenerAnnotation.asynchronous()) {
-                    handler = new AsynchronousEventHandler(eventType, beanName, method, beanFactory);
+                    handler = new AsynchronousEventHandler(eventType, beanName, method, beanFactory,
+                            eventPublisher::executeAsync, listenerAnnotation.afterCommit());
                 } else {
-                    handler = new SpringEventHandler(eventType, beanName, method, beanFactory);
+                    handler = new SpringEventHandler(eventType, beanName, method, beanFactory,
+                            listenerAnnotation.afterCommit());
                 }
                 eventPublisher.registerEventHandler(handler);
             }
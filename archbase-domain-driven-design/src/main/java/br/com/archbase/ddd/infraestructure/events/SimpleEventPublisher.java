@@ -4,20 +4,71 @@ import br.com.archbase.ddd.domain.contracts.Event;
 import br.com.archbase.ddd.domain.contracts.EventHandler;
 import br.com.archbase.ddd.domain.contracts.EventPublisher;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
+/**
+ * Publicador de eventos de domínio em memória.
+ * <p>
+ * Os manipuladores ficam em um índice imutável por tipo de evento, reconstruído a cada registro. Na publicação,
+ * os supertipos da classe do evento (resolvidos uma vez por classe) selecionam os manipuladores, e a lista
+ * resultante fica em cache por classe de evento até o próximo registro. Manipuladores que não são
+ * {@link SpringEventHandler} continuam sendo consultados via {@link EventHandler#canHandle(Object)}.
+ * <p>
+ * Ouvintes assíncronos são executados no bean {@code archbaseEventExecutor}, se existir, ou em threads
+ * virtuais limitadas a {@code archbase.events.async.concurrency-limit} ouvintes simultâneos (padrão
+ * {@value #DEFAULT_ASYNC_CONCURRENCY_LIMIT}). Ao atingir o limite, quem publica aguarda uma vaga.
+ */
 @Log4j2
 @Component("eventPublisher")
 public class SimpleEventPublisher implements EventPublisher {
 
-    private Set<EventHandler> eventHandlers = new HashSet<>();
+    /**
+     * Máximo padrão de ouvintes assíncronos executando ao mesmo tempo no executor de threads virtuais.
+     */
+    public static final int DEFAULT_ASYNC_CONCURRENCY_LIMIT = 256;
 
-    public void registerEventHandler(EventHandler handler) {
-        eventHandlers.add(handler);
+    /**
+     * Classe, superclasses e interfaces de cada tipo de evento, do mais específico para o mais genérico.
+     */
+    private static final ClassValue<List<Class<?>>> SUPERTYPES = new ClassValue<>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            Set<Class<?>> supertypes = new LinkedHashSet<>();
+            Deque<Class<?>> pending = new ArrayDeque<>();
+            pending.add(type);
+            while (!pending.isEmpty()) {
+                Class<?> current = pending.poll();
+                if (supertypes.add(current)) {
+                    if (current.getSuperclass() != null) {
+                        pending.add(current.getSuperclass());
+                    }
+                    pending.addAll(Arrays.asList(current.getInterfaces()));
+                }
+            }
+            return List.copyOf(supertypes);
+        }
+    };
+
+    private final Set<EventHandler> eventHandlers = new LinkedHashSet<>();
+
+    private volatile HandlerIndex index = HandlerIndex.of(eventHandlers);
+
+    private volatile Executor asyncExecutor = defaultAsyncExecutor();
+
+    private boolean customAsyncExecutor;
+
+    public synchronized void registerEventHandler(EventHandler handler) {
+        if (eventHandlers.add(handler)) {
+            index = HandlerIndex.of(eventHandlers);
+        }
     }
 
     @Override
@@ -26,14 +77,116 @@ public class SimpleEventPublisher implements EventPublisher {
     }
 
     protected void doPublish(Object event) {
-        for (EventHandler handler : new ArrayList<EventHandler>(eventHandlers)) {
+        HandlerIndex current = index;
+        for (EventHandler handler : current.handlersFor(event.getClass())) {
+            handle(handler, event);
+        }
+        for (EventHandler handler : current.untyped()) {
             if (handler.canHandle(event)) {
-                try {
-                    handler.handle(event);
-                } catch (Exception e) {
-                    log.error("event handling error", e);
+                handle(handler, event);
+            }
+        }
+    }
+
+    private void handle(EventHandler handler, Object event) {
+        try {
+            handler.handle(event);
+        } catch (Exception e) {
+            log.error("event handling error", e);
+        }
+    }
+
+    /**
+     * Executa a tarefa no executor dos ouvintes assíncronos.
+     */
+    public void executeAsync(Runnable task) {
+        asyncExecutor.execute(task);
+    }
+
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    @Autowired(required = false)
+    public synchronized void setAsyncExecutor(@Qualifier("archbaseEventExecutor") Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        this.customAsyncExecutor = true;
+    }
+
+    /**
+     * Limite de ouvintes assíncronos simultâneos do executor padrão; ignorado quando há um
+     * {@code archbaseEventExecutor}.
+     *
+     * @param concurrencyLimit máximo de ouvintes simultâneos, maior que zero
+     */
+    @Autowired(required = false)
+    public synchronized void setAsyncConcurrencyLimit(
+            @Value("${archbase.events.async.concurrency-limit:" + DEFAULT_ASYNC_CONCURRENCY_LIMIT + "}") int concurrencyLimit) {
+        if (concurrencyLimit <= 0) {
+            throw new IllegalArgumentException(
+                    "O limite de ouvintes assíncronos deve ser maior que zero, mas foi " + concurrencyLimit);
+        }
+        if (!customAsyncExecutor && concurrencyLimit != DEFAULT_ASYNC_CONCURRENCY_LIMIT) {
+            this.asyncExecutor = createAsyncExecutor(concurrencyLimit);
+        }
+    }
+
+    /**
+     * Executor padrão dos ouvintes assíncronos: uma thread virtual por evento, com no máximo
+     * {@value #DEFAULT_ASYNC_CONCURRENCY_LIMIT} ouvintes simultâneos.
+     */
+    static Executor defaultAsyncExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    private static Executor createAsyncExecutor(int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("archbase-event-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+
+    private static final class DefaultExecutorHolder {
+
+        private static final Executor EXECUTOR = createAsyncExecutor(DEFAULT_ASYNC_CONCURRENCY_LIMIT);
+    }
+
+    /**
+     * @param typed   manipuladores por tipo de evento declarado
+     * @param untyped manipuladores sem tipo conhecido
+     * @param byEvent manipuladores resolvidos por classe concreta de evento
+     */
+    private record HandlerIndex(Map<Class<?>, List<EventHandler>> typed, List<EventHandler> untyped,
+                                Map<Class<?>, List<EventHandler>> byEvent) {
+
+        static HandlerIndex of(Collection<EventHandler> handlers) {
+            Map<Class<?>, List<EventHandler>> typed = new HashMap<>();
+            List<EventHandler> untyped = new ArrayList<>();
+            for (EventHandler handler : handlers) {
+                if (handler instanceof SpringEventHandler springHandler) {
+                    typed.computeIfAbsent(springHandler.getEventType(), type -> new ArrayList<>()).add(handler);
+                } else {
+                    untyped.add(handler);
                 }
             }
+            typed.replaceAll((type, list) -> List.copyOf(list));
+            return new HandlerIndex(Map.copyOf(typed), List.copyOf(untyped), new ConcurrentHashMap<>());
+        }
+
+        List<EventHandler> handlersFor(Class<?> eventClass) {
+            List<EventHandler> handlers = byEvent.get(eventClass);
+            if (handlers == null) {
+                handlers = byEvent.computeIfAbsent(eventClass, this::resolve);
+            }
+            return handlers;
+        }
+
+        private List<EventHandler> resolve(Class<?> eventClass) {
+            List<EventHandler> handlers = new ArrayList<>();
+            for (Class<?> type : SUPERTYPES.get(eventClass)) {
+                handlers.addAll(typed.getOrDefault(type, List.of()));
+            }
+            return List.copyOf(handlers);
         }
     }
 }
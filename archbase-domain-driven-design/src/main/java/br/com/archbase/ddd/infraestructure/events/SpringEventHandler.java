@@ -2,21 +2,66 @@ package br.com.archbase.ddd.infraestructure.events;
 
 import br.com.archbase.ddd.domain.contracts.EventHandler;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 
+/**
+ * Manipulador que entrega o evento a um método anotado com
+ * {@link br.com.archbase.ddd.domain.annotations.DomainEventListener} de um bean do Spring.
+ * <p>
+ * O método é convertido em {@link MethodHandle} no registro. O bean é obtido do {@link BeanFactory} no
+ * primeiro evento e reaproveitado se for singleton, de forma que proxies criados depois do registro sejam
+ * respeitados.
+ */
 public class SpringEventHandler implements EventHandler {
 
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     private final Class<?> eventType;
     private final String beanName;
     private final Method method;
     private final BeanFactory beanFactory;
+    private final MethodHandle invoker;
+    private final boolean afterCommit;
+    private volatile Object singleton;
 
     public SpringEventHandler(Class<?> eventType, String beanName, Method method, BeanFactory beanFactory) {
+        this(eventType, beanName, method, beanFactory, false);
+    }
+
+    public SpringEventHandler(Class<?> eventType, String beanName, Method method, BeanFactory beanFactory,
+                              boolean afterCommit) {
         this.eventType = eventType;
         this.beanName = beanName;
         this.method = method;
         this.beanFactory = beanFactory;
+        this.invoker = unreflect(method);
+        this.afterCommit = afterCommit;
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.publicLookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                // classe declarante não pública: acesso liberado via reflexão
+                method.trySetAccessible();
+                handle = MethodHandles.lookup().unreflect(method);
+            }
+            return handle.asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new ArchbaseEventsException("Não foi possível acessar o método " + method, e);
+        }
+    }
+
+    public Class<?> getEventType() {
+        return eventType;
     }
 
     public boolean canHandle(Object event) {
@@ -25,11 +70,49 @@ public class SpringEventHandler implements EventHandler {
 
     @Override
     public void handle(Object event) {
-        Object bean = beanFactory.getBean(beanName);
+        if (afterCommit && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Entrega o evento ao método do bean; sobrescrito por manipuladores que mudam a thread de execução.
+     */
+    protected void dispatch(Object event) {
+        invoke(event);
+    }
+
+    protected final void invoke(Object event) {
         try {
-            method.invoke(bean, event);
-        } catch (Exception e) {
+            invoker.invokeExact(getBean(), event);
+        } catch (RuntimeException e) {
+            throw e instanceof ArchbaseEventsException ? e : new ArchbaseEventsException(e);
+        } catch (Throwable e) {
             throw new ArchbaseEventsException(e);
         }
     }
-}
\ No newline at end of file
+
+    private Object getBean() {
+        Object bean = singleton;
+        if (bean != null) {
+            return bean;
+        }
+        bean = beanFactory.getBean(beanName);
+        if (beanFactory.isSingleton(beanName)) {
+            singleton = bean;
+        }
+        return bean;
+    }
+
+    @Override
+    public String toString() {
+        return beanName + "." + method.getName() + "(" + eventType.getSimpleName() + ")";
+    }
+}
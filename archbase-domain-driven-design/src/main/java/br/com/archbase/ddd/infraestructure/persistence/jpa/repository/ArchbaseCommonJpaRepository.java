@@ -13,14 +13,22 @@ import com.querydsl.jpa.impl.JPAUpdateClause;
 import com.querydsl.jpa.sql.JPASQLQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.history.Revision;
+import org.springframework.data.history.Revisions;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.lang.NonNull;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Contrato do Reposiório base JPA.
@@ -69,4 +77,46 @@ public interface ArchbaseCommonJpaRepository<T, ID, N extends Number & Comparabl
     <P> List<P> findAll(@NonNull FactoryExpression<P> factoryExpression, @NonNull Predicate predicate);
 
     <P> Page<P> findAll(@NonNull FactoryExpression<P> factoryExpression, @NonNull Predicate predicate, @NonNull Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Recupera as revisões de vários objetos em poucas consultas (uma a cada lote de
+     * {@value EnversRevisionQueries#ID_BATCH_SIZE} identificadores), em vez de uma consulta por objeto.
+     *
+     * @param ids Identificadores dos objetos
+     * @return As revisões de cada identificador, na ordem informada; identificadores sem revisões são mapeados para
+     * {@link Revisions#none()}
+     */
+    Map<ID, Revisions<N, T>> findRevisionsByIds(Collection<ID> ids);
+
+    /**
+     * Recupera a última revisão de cada um dos objetos em uma única consulta por lote de identificadores.
+     *
+     * @param ids Identificadores dos objetos
+     * @return A última revisão de cada identificador que possui revisões
+     */
+    Map<ID, Revision<N, T>> findLastChangeRevisions(Collection<ID> ids);
+
+    /**
+     * Recupera as revisões feitas no intervalo {@code [from, to)} usando paginação por chave (o número da revisão),
+     * sem OFFSET e sem consulta de contagem. Uma revisão nunca é dividida entre janelas.
+     *
+     * @param from     Início do intervalo, inclusivo; {@code null} não limita
+     * @param to       Fim do intervalo, exclusivo; {@code null} não limita
+     * @param position Posição a partir da qual ler ({@link ScrollPosition#keyset()} para o início)
+     * @param limit    Quantidade máxima de revisões, excedida apenas para não dividir uma revisão
+     * @return Janela com as revisões em ordem crescente
+     */
+    Window<Revision<N, T>> findRevisionsBetween(Instant from, Instant to, ScrollPosition position, int limit);
+
+    /**
+     * Lê sob demanda as revisões feitas no intervalo {@code [from, to)}, para exportações de auditoria. Deve ser
+     * chamado dentro de uma transação; a cada bloco de {@code fetchSize} revisões é destacado do contexto de
+     * persistência apenas o que o bloco anterior carregou, sem afetar as entidades já gerenciadas pelo chamador.
+     *
+     * @param from      Início do intervalo, inclusivo; {@code null} não limita
+     * @param to        Fim do intervalo, exclusivo; {@code null} não limita
+     * @param fetchSize Quantidade de revisões buscadas por ida ao banco
+     * @return Stream das revisões em ordem crescente
+     */
+    Stream<Revision<N, T>> streamRevisionsBetween(Instant from, Instant to, int fetchSize);
+}
@@ -0,0 +1,26 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra no Hibernate, para PostgreSQL, a função {@value #FULL_TEXT_FUNCTION}{@code (coluna, valor, 'config')}
+ * usada por {@link PostgresFullTextSearchStrategy}, já que o operador {@code @@} não pode ser escrito em JPQL. A
+ * configuração deve ser um literal para que o índice {@code to_tsvector('config', coluna)} seja utilizado.
+ */
+public class ArchbaseSearchFunctionContributor implements FunctionContributor {
+
+    public static final String FULL_TEXT_FUNCTION = "archbase_fts";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        if (functionContributions.getDialect() instanceof PostgreSQLDialect) {
+            functionContributions.getFunctionRegistry().registerPattern(
+                    FULL_TEXT_FUNCTION,
+                    "(to_tsvector(?3, ?1) @@ plainto_tsquery(?3, ?2))",
+                    functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.Type;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.envers.AuditReader;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.exception.RevisionDoesNotExistException;
+import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.query.AuditQuery;
+import org.hibernate.envers.query.criteria.AuditCriterion;
+import org.hibernate.envers.query.criteria.AuditDisjunction;
+import org.hibernate.envers.query.order.AuditOrder;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.history.Revision;
+import org.springframework.data.history.RevisionMetadata;
+import org.springframework.data.history.RevisionSort;
+import org.springframework.data.history.Revisions;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Consultas de revisões (Hibernate Envers) usadas pelos repositórios base.
+ * <p>
+ * Além das consultas por identificador do {@code RevisionRepository}, busca revisões de vários identificadores em
+ * lotes de até {@value #ID_BATCH_SIZE} por consulta, a última revisão de cada identificador em uma única consulta e
+ * as revisões de um intervalo de tempo paginadas por chave (o número da revisão). As páginas por chave nunca dividem
+ * uma revisão: todas as linhas de uma mesma revisão vêm na mesma janela, mesmo que ultrapassem o limite.
+ *
+ * @param <T>  tipo de entidade
+ * @param <ID> tipo de identificador da entidade
+ * @param <N>  tipo do número da revisão
+ */
+final class EnversRevisionQueries<T, ID, N extends Number & Comparable<N>> {
+
+    /**
+     * Quantidade máxima de identificadores por consulta.
+     */
+    static final int ID_BATCH_SIZE = 1000;
+
+    /**
+     * Chave do número da revisão nas posições de {@link #findRevisionsBetween}.
+     */
+    static final String REVISION_KEY = "revision";
+
+    private final JpaEntityInformation<T, ID> entityInformation;
+    private final EntityManager entityManager;
+    private Boolean basicId;
+
+    EnversRevisionQueries(JpaEntityInformation<T, ID> entityInformation, EntityManager entityManager) {
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+    }
+
+    Optional<Revision<N, T>> findLastChangeRevision(ID id) {
+
+        List<Object[]> singleResult = createBaseQuery(id) //
+                .addOrder(AuditEntity.revisionNumber().desc()) //
+                .setMaxResults(1) //
+                .getResultList();
+
+        Assert.state(singleResult.size() <= 1, "Esperamos no máximo um resultado.");
+
+        return singleResult.isEmpty() ? Optional.empty() : Optional.of(createRevision(singleResult.get(0)));
+    }
+
+    Optional<Revision<N, T>> findRevision(ID id, N revisionNumber) {
+
+        Assert.notNull(id, "O identificador não deve ser nulo!");
+        Assert.notNull(revisionNumber, "O número da revisão não deve ser nulo!");
+
+        List<Object[]> singleResult = createBaseQuery(id) //
+                .add(AuditEntity.revisionNumber().eq(revisionNumber)) //
+                .getResultList();
+
+        Assert.state(singleResult.size() <= 1, "Esperamos no máximo um resultado.");
+
+        return singleResult.isEmpty() ? Optional.empty() : Optional.of(createRevision(singleResult.get(0)));
+    }
+
+    Revisions<N, T> findRevisions(ID id) {
+        return Revisions.of(createRevisions(createBaseQuery(id).getResultList()));
+    }
+
+    Page<Revision<N, T>> findRevisions(ID id, Pageable pageable) {
+
+        AuditOrder sorting = RevisionSort.getRevisionDirection(pageable.getSort()).isDescending() //
+                ? AuditEntity.revisionNumber().desc() //
+                : AuditEntity.revisionNumber().asc();
+
+        List<Object[]> resultList = createBaseQuery(id) //
+                .addOrder(sorting) //
+                .setFirstResult((int) pageable.getOffset()) //
+                .setMaxResults(pageable.getPageSize()) //
+                .getResultList();
+
+        // a contagem só é executada quando não pode ser deduzida da própria página
+        return PageableExecutionUtils.getPage(createRevisions(resultList), pageable, () -> (Long) createBaseQuery(id) //
+                .addProjection(AuditEntity.revisionNumber().count()).getSingleResult());
+    }
+
+    Map<ID, Revisions<N, T>> findRevisionsByIds(Collection<ID> ids) {
+
+        Assert.notNull(ids, "Os identificadores não devem ser nulos!");
+
+        Map<ID, List<Revision<N, T>>> grouped = new LinkedHashMap<>();
+        ids.forEach(id -> grouped.put(id, new ArrayList<>()));
+        AuditReader reader = AuditReaderFactory.get(entityManager);
+        for (List<ID> batch : batches(ids)) {
+            List<Object[]> resultList = revisionsOfEntity(reader) //
+                    .add(idIn(batch)) //
+                    .addOrder(AuditEntity.revisionNumber().asc()) //
+                    .getResultList();
+            for (Object[] row : resultList) {
+                Revision<N, T> revision = createRevision(row);
+                grouped.computeIfAbsent(entityInformation.getId(revision.getEntity()), key -> new ArrayList<>()).add(revision);
+            }
+        }
+
+        Map<ID, Revisions<N, T>> result = new LinkedHashMap<>(grouped.size() * 2);
+        grouped.forEach((id, revisions) -> result.put(id, revisions.isEmpty() ? Revisions.none() : Revisions.of(revisions)));
+        return result;
+    }
+
+    Map<ID, Revision<N, T>> findLastChangeRevisions(Collection<ID> ids) {
+
+        Assert.notNull(ids, "Os identificadores não devem ser nulos!");
+
+        Map<ID, Revision<N, T>> result = new LinkedHashMap<>(ids.size() * 2);
+        AuditReader reader = AuditReaderFactory.get(entityManager);
+        for (List<ID> batch : batches(ids)) {
+            List<Object[]> resultList = revisionsOfEntity(reader) //
+                    .add(idIn(batch)) //
+                    .add(AuditEntity.revisionNumber().maximize().computeAggregationInInstanceContext()) //
+                    .getResultList();
+            for (Object[] row : resultList) {
+                Revision<N, T> revision = createRevision(row);
+                result.put(entityInformation.getId(revision.getEntity()), revision);
+            }
+        }
+        return result;
+    }
+
+    Window<Revision<N, T>> findRevisionsBetween(Instant from, Instant to, ScrollPosition position, int limit) {
+
+        Assert.isTrue(limit > 0, "O limite deve ser maior que zero!");
+
+        AuditReader reader = AuditReaderFactory.get(entityManager);
+        RevisionRange range = RevisionRange.of(reader, from, to);
+        Number after = afterRevision(position);
+        if (range.isEmpty()) {
+            return Window.from(Collections.emptyList(), index -> position, false);
+        }
+
+        RevisionChunk<N, T> chunk = fetchChunk(reader, range, after, limit);
+        List<Revision<N, T>> revisions = chunk.revisions();
+        return Window.from(revisions, index -> ScrollPosition.forward(
+                Map.of(REVISION_KEY, revisions.get(index).getRequiredRevisionNumber())), chunk.hasNext());
+    }
+
+    Stream<Revision<N, T>> streamRevisionsBetween(Instant from, Instant to, int fetchSize) {
+
+        int chunkSize = fetchSize > 0 ? fetchSize : ScrollableResultsStream.DEFAULT_FETCH_SIZE;
+        RevisionRange range = RevisionRange.of(AuditReaderFactory.get(entityManager), from, to);
+        RevisionSpliterator spliterator = new RevisionSpliterator(range, chunkSize);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::detachLoaded);
+    }
+
+    /**
+     * Lê as revisões do intervalo em lotes por chave. Cada lote usa um {@link AuditReader} novo, para que o cache do
+     * Envers não cresça com o stream, e antes do lote seguinte são destacadas apenas as entidades que o lote anterior
+     * acrescentou ao contexto de persistência (linhas de auditoria e entidades de revisão). As entidades que o
+     * chamador já gerenciava continuam gerenciadas, com suas alterações pendentes.
+     */
+    private final class RevisionSpliterator extends Spliterators.AbstractSpliterator<Revision<N, T>> {
+
+        private final RevisionRange range;
+        private final int chunkSize;
+        private final Session session;
+        private Iterator<Revision<N, T>> current = Collections.emptyIterator();
+        private List<Object> loaded = List.of();
+        private Number after;
+        private boolean hasNext;
+
+        RevisionSpliterator(RevisionRange range, int chunkSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.range = range;
+            this.chunkSize = chunkSize;
+            this.session = entityManager.unwrap(Session.class);
+            this.hasNext = !range.isEmpty();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Revision<N, T>> action) {
+            while (!current.hasNext()) {
+                // as revisões do lote anterior já foram entregues
+                detachLoaded();
+                if (!hasNext) {
+                    return false;
+                }
+                Set<Object> managed = managedEntities();
+                RevisionChunk<N, T> chunk = fetchChunk(AuditReaderFactory.get(entityManager), range, after, chunkSize);
+                loaded = loadedSince(managed);
+                List<Revision<N, T>> revisions = chunk.revisions();
+                if (!revisions.isEmpty()) {
+                    after = revisions.get(revisions.size() - 1).getRequiredRevisionNumber();
+                }
+                hasNext = chunk.hasNext();
+                current = revisions.iterator();
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        void detachLoaded() {
+            for (Object entity : loaded) {
+                if (session.contains(entity)) {
+                    session.detach(entity);
+                }
+            }
+            loaded = List.of();
+        }
+
+        private Set<Object> managedEntities() {
+            Set<Object> managed = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Map.Entry<Object, EntityEntry> entry : persistenceContext().reentrantSafeEntityEntries()) {
+                managed.add(entry.getKey());
+            }
+            return managed;
+        }
+
+        private List<Object> loadedSince(Set<Object> managed) {
+            List<Object> added = new ArrayList<>();
+            for (Map.Entry<Object, EntityEntry> entry : persistenceContext().reentrantSafeEntityEntries()) {
+                if (!managed.contains(entry.getKey())) {
+                    added.add(entry.getKey());
+                }
+            }
+            return added;
+        }
+
+        private PersistenceContext persistenceContext() {
+            return entityManager.unwrap(SessionImplementor.class).getPersistenceContext();
+        }
+    }
+
+    /**
+     * Lê até {@code limit} linhas após a revisão {@code after} sem dividir revisões: se a última revisão lida estiver
+     * incompleta ela fica para o próximo lote; se uma única revisão tiver mais linhas que o limite ela é lida
+     * inteira.
+     */
+    private RevisionChunk<N, T> fetchChunk(AuditReader reader, RevisionRange range, Number after, int limit) {
+        List<Revision<N, T>> revisions = createRevisions(range.apply(revisionsOfEntity(reader), after) //
+                .addOrder(AuditEntity.revisionNumber().asc()) //
+                .setMaxResults(limit + 1) //
+                .getResultList());
+        if (revisions.size() <= limit) {
+            return new RevisionChunk<>(revisions, false);
+        }
+
+        N incomplete = revisions.get(limit).getRequiredRevisionNumber();
+        int end = limit;
+        while (end > 0 && incomplete.equals(revisions.get(end - 1).getRequiredRevisionNumber())) {
+            end--;
+        }
+        if (end > 0) {
+            return new RevisionChunk<>(new ArrayList<>(revisions.subList(0, end)), true);
+        }
+        return new RevisionChunk<>(createRevisions(revisionsOfEntity(reader) //
+                .add(AuditEntity.revisionNumber().eq(incomplete)) //
+                .getResultList()), true);
+    }
+
+    private static Number afterRevision(ScrollPosition position) {
+        if (position == null) {
+            return null;
+        }
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Apenas posições por chave (keyset) são suportadas: " + position);
+        }
+        if (keyset.isInitial()) {
+            return null;
+        }
+        Assert.isTrue(keyset.scrollsForward(), "Apenas a navegação para frente é suportada");
+        Object revision = keyset.getKeys().get(REVISION_KEY);
+        if (!(revision instanceof Number number)) {
+            throw new IllegalArgumentException(String.format("A posição deve conter o número da revisão em '%s': %s",
+                    REVISION_KEY, position));
+        }
+        return number;
+    }
+
+    private List<List<ID>> batches(Collection<ID> ids) {
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<ID>> batches = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += ID_BATCH_SIZE) {
+            batches.add(distinct.subList(i, Math.min(i + ID_BATCH_SIZE, distinct.size())));
+        }
+        return batches;
+    }
+
+    private AuditCriterion idIn(List<ID> ids) {
+        if (isBasicId()) {
+            return AuditEntity.id().in(ids);
+        }
+        // identificadores compostos não podem ser usados em 'in'
+        AuditDisjunction disjunction = AuditEntity.disjunction();
+        ids.forEach(id -> disjunction.add(AuditEntity.id().eq(id)));
+        return disjunction;
+    }
+
+    private boolean isBasicId() {
+        if (basicId == null) {
+            basicId = !entityInformation.hasCompositeId() && entityManager.getMetamodel()
+                    .entity(entityInformation.getJavaType()).getIdType().getPersistenceType() == Type.PersistenceType.BASIC;
+        }
+        return basicId;
+    }
+
+    private AuditQuery createBaseQuery(ID id) {
+        return revisionsOfEntity(AuditReaderFactory.get(entityManager)) //
+                .add(AuditEntity.id().eq(id));
+    }
+
+    private AuditQuery revisionsOfEntity(AuditReader reader) {
+        return reader.createQuery() //
+                .forRevisionsOfEntity(entityInformation.getJavaType(), false, true);
+    }
+
+    private List<Revision<N, T>> createRevisions(List<Object[]> resultList) {
+        List<Revision<N, T>> revisions = new ArrayList<>(resultList.size());
+        for (Object[] row : resultList) {
+            revisions.add(createRevision(row));
+        }
+        return revisions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Revision<N, T> createRevision(Object[] data) {
+
+        Assert.notNull(data, "Os dados não devem ser nulos");
+        Assert.isTrue( //
+                data.length == 3, //
+                () -> String.format("Os dados devem ter tamanho 3, mas têm tamanho %d.", data.length));
+        Assert.isTrue( //
+                data[2] instanceof RevisionType, //
+                () -> String.format("O terceiro elemento da matriz deve ser do tipo Revisão, mas é do tipo %s",
+                        data[2].getClass()));
+
+        RevisionMetadata<N> metadata = RevisionMetadataMapper.createMetadata(data[1], (RevisionType) data[2]);
+        return Revision.of(metadata, (T) data[0]);
+    }
+
+    private record RevisionChunk<N extends Number & Comparable<N>, T>(List<Revision<N, T>> revisions, boolean hasNext) {
+    }
+
+    /**
+     * Intervalo de tempo {@code [from, to)} convertido em números de revisão: maior que {@code lower} e até
+     * {@code upper}, ambos opcionais. Supõe, como o Envers, que os números de revisão crescem com o timestamp.
+     */
+    private record RevisionRange(Number lower, Number upper, boolean isEmpty) {
+
+        static RevisionRange of(AuditReader reader, Instant from, Instant to) {
+            Number lower = from != null ? revisionBefore(reader, from) : null;
+            if (to == null) {
+                return new RevisionRange(lower, null, false);
+            }
+            Number upper = revisionBefore(reader, to);
+            return new RevisionRange(lower, upper, upper == null
+                    || (lower != null && upper.longValue() <= lower.longValue()));
+        }
+
+        private static Number revisionBefore(AuditReader reader, Instant instant) {
+            try {
+                return reader.getRevisionNumberForDate(instant.minusMillis(1));
+            } catch (RevisionDoesNotExistException e) {
+                return null;
+            }
+        }
+
+        AuditQuery apply(AuditQuery query, Number after) {
+            if (lower != null) {
+                query.add(AuditEntity.revisionNumber().gt(lower));
+            }
+            if (after != null) {
+                query.add(AuditEntity.revisionNumber().gt(after));
+            }
+            if (upper != null) {
+                query.add(AuditEntity.revisionNumber().le(upper));
+            }
+            return query;
+        }
+    }
+}
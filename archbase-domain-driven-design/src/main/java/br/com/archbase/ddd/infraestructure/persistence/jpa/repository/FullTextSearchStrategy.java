@@ -0,0 +1,28 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.StringPath;
+
+import java.util.List;
+
+/**
+ * Estratégia de busca textual usada pela busca rápida em múltiplos campos
+ * ({@link SimpleMultipleFieldsFilter.SearchMode#FULL_TEXT}) no lugar do {@code LIKE '%valor%'}, que impede o uso de
+ * índices comuns. Configurada via {@link SimpleFilterPredicateFactory#setFullTextSearchStrategy(FullTextSearchStrategy)}.
+ */
+public interface FullTextSearchStrategy {
+
+    /**
+     * Cria o predicado de busca do valor informado no campo texto.
+     */
+    BooleanExpression createPredicate(StringPath field, String value);
+
+    /**
+     * Comandos DDL sugeridos para indexar a coluna de forma que {@link #createPredicate(StringPath, String)} não
+     * precise percorrer a tabela inteira.
+     *
+     * @param table  nome da tabela
+     * @param column nome da coluna
+     */
+    List<String> indexHints(String table, String column);
+}
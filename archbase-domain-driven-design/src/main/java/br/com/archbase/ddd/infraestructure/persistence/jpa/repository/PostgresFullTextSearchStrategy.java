@@ -0,0 +1,45 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
+
+import java.util.List;
+
+/**
+ * Busca textual do PostgreSQL: {@code to_tsvector(config, coluna) @@ plainto_tsquery(config, valor)}, através da
+ * função {@value ArchbaseSearchFunctionContributor#FULL_TEXT_FUNCTION} registrada por
+ * {@link ArchbaseSearchFunctionContributor}. Encontra palavras inteiras (com radicais, conforme a configuração), não
+ * trechos de palavras.
+ */
+public class PostgresFullTextSearchStrategy implements FullTextSearchStrategy {
+
+    private final String configuration;
+
+    public PostgresFullTextSearchStrategy() {
+        this("simple");
+    }
+
+    /**
+     * @param configuration configuração de busca textual do PostgreSQL, como {@code simple} ou {@code portuguese}
+     */
+    public PostgresFullTextSearchStrategy(String configuration) {
+        if (!configuration.matches("[A-Za-z_][A-Za-z0-9_.]*")) {
+            throw new IllegalArgumentException("Configuração de busca textual inválida: " + configuration);
+        }
+        this.configuration = configuration;
+    }
+
+    @Override
+    public BooleanExpression createPredicate(StringPath field, String value) {
+        // a configuração vai como literal para que a expressão coincida com a do índice sugerido
+        return Expressions.booleanTemplate("function('" + ArchbaseSearchFunctionContributor.FULL_TEXT_FUNCTION
+                + "', {0}, {1}, '" + configuration + "') = true", field, Expressions.constant(value));
+    }
+
+    @Override
+    public List<String> indexHints(String table, String column) {
+        return List.of("CREATE INDEX IF NOT EXISTS idx_" + table + "_" + column + "_fts ON " + table
+                + " USING gin (to_tsvector('" + configuration + "', " + column + "))");
+    }
+}
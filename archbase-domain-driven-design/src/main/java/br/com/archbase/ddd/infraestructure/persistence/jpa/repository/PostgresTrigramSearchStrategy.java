@@ -0,0 +1,26 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.StringPath;
+
+import java.util.List;
+
+/**
+ * Mantém a busca por trecho ({@code lower(coluna) like '%valor%'}), que no PostgreSQL passa a usar índice quando a
+ * coluna tem um índice GIN de trigramas ({@code pg_trgm}) sobre {@code lower(coluna)}.
+ */
+public class PostgresTrigramSearchStrategy implements FullTextSearchStrategy {
+
+    @Override
+    public BooleanExpression createPredicate(StringPath field, String value) {
+        return field.containsIgnoreCase(value);
+    }
+
+    @Override
+    public List<String> indexHints(String table, String column) {
+        return List.of(
+                "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+                "CREATE INDEX IF NOT EXISTS idx_" + table + "_" + column + "_trgm ON " + table
+                        + " USING gin (lower(" + column + ") gin_trgm_ops)");
+    }
+}
@@ -0,0 +1,199 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.hibernate.envers.RevisionMapping;
+import org.hibernate.envers.RevisionNumber;
+import org.hibernate.envers.RevisionTimestamp;
+import org.hibernate.envers.RevisionType;
+import org.springframework.data.envers.repository.support.DefaultRevisionMetadata;
+import org.springframework.data.history.RevisionMetadata;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Converte a entidade de revisão do Envers em {@link RevisionMetadata}.
+ * <p>
+ * Para entidades de revisão próprias os campos anotados com {@link RevisionNumber} e {@link RevisionTimestamp} e a
+ * conversão do timestamp são resolvidos uma única vez por classe, em vez de a cada linha como faz o
+ * {@code AnnotationRevisionMetadata} do Spring Data. Subclasses de {@link RevisionMapping} são lidas pelos getters.
+ */
+final class RevisionMetadataMapper {
+
+    private static final ClassValue<RevisionMetadataMapper> MAPPERS = new ClassValue<>() {
+        @Override
+        protected RevisionMetadataMapper computeValue(Class<?> type) {
+            return new RevisionMetadataMapper(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodHandle revisionNumber;
+    private final MethodHandle revisionTimestamp;
+    private final Function<Object, Instant> timestampConverter;
+
+    private RevisionMetadataMapper(Class<?> type) {
+        Field numberField = findField(type, RevisionNumber.class);
+        Field timestampField = findField(type, RevisionTimestamp.class);
+        this.revisionNumber = numberField != null ? getter(numberField) : null;
+        this.revisionTimestamp = timestampField != null ? getter(timestampField) : null;
+        this.timestampConverter = timestampField != null ? converterFor(timestampField.getType()) : null;
+    }
+
+    /**
+     * Cria os metadados de uma linha de {@code forRevisionsOfEntity}.
+     */
+    @SuppressWarnings("unchecked")
+    static <N extends Number & Comparable<N>> RevisionMetadata<N> createMetadata(Object revisionEntity, RevisionType revisionType) {
+        RevisionMetadata.RevisionType type = convertRevisionType(revisionType);
+        if (revisionEntity instanceof DefaultRevisionEntity defaultRevisionEntity) {
+            return (RevisionMetadata<N>) new DefaultRevisionMetadata(defaultRevisionEntity, type);
+        }
+        if (revisionEntity instanceof RevisionMapping mapping) {
+            return new ArchbaseRevisionMetadata<>(mapping, (N) (Integer) mapping.getId(),
+                    Instant.ofEpochMilli(mapping.getTimestamp()), type);
+        }
+        return MAPPERS.get(revisionEntity.getClass()).map(revisionEntity, type);
+    }
+
+    static RevisionMetadata.RevisionType convertRevisionType(RevisionType revisionType) {
+        if (revisionType == null) {
+            return RevisionMetadata.RevisionType.UNKNOWN;
+        }
+        return switch (revisionType) {
+            case ADD -> RevisionMetadata.RevisionType.INSERT;
+            case MOD -> RevisionMetadata.RevisionType.UPDATE;
+            case DEL -> RevisionMetadata.RevisionType.DELETE;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <N extends Number & Comparable<N>> RevisionMetadata<N> map(Object revisionEntity, RevisionMetadata.RevisionType type) {
+        try {
+            Object number = null;
+            Object timestamp = null;
+            if (revisionNumber != null) {
+                number = (Object) revisionNumber.invokeExact(revisionEntity);
+            }
+            if (revisionTimestamp != null) {
+                timestamp = (Object) revisionTimestamp.invokeExact(revisionEntity);
+            }
+            return new ArchbaseRevisionMetadata<>(revisionEntity, (N) number,
+                    timestamp != null ? timestampConverter.apply(timestamp) : null, type);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field findField(Class<?> type, Class<? extends Annotation> annotation) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(annotation)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle getter(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Não foi possível acessar o campo " + field, e);
+        }
+    }
+
+    private static Function<Object, Instant> converterFor(Class<?> type) {
+        if (Instant.class.isAssignableFrom(type)) {
+            return Instant.class::cast;
+        } else if (type == long.class || Long.class.isAssignableFrom(type)) {
+            return value -> Instant.ofEpochMilli((Long) value);
+        } else if (Date.class.isAssignableFrom(type)) {
+            return value -> ((Date) value).toInstant();
+        } else if (LocalDateTime.class.isAssignableFrom(type)) {
+            return value -> ((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant();
+        }
+        throw new IllegalArgumentException(String.format("Tipo de timestamp de revisão não suportado: %s", type));
+    }
+
+    /**
+     * Metadados de revisão com os valores já extraídos da entidade de revisão.
+     */
+    static final class ArchbaseRevisionMetadata<N extends Number & Comparable<N>> implements RevisionMetadata<N> {
+
+        private final Object entity;
+        private final N revisionNumber;
+        private final Instant revisionInstant;
+        private final RevisionType revisionType;
+
+        ArchbaseRevisionMetadata(Object entity, N revisionNumber, Instant revisionInstant, RevisionType revisionType) {
+            Assert.notNull(entity, "A entidade de revisão não deve ser nula");
+            this.entity = entity;
+            this.revisionNumber = revisionNumber;
+            this.revisionInstant = revisionInstant;
+            this.revisionType = revisionType;
+        }
+
+        @Override
+        public Optional<N> getRevisionNumber() {
+            return Optional.ofNullable(revisionNumber);
+        }
+
+        @Override
+        public Optional<Instant> getRevisionInstant() {
+            return Optional.ofNullable(revisionInstant);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getDelegate() {
+            return (T) entity;
+        }
+
+        @Override
+        public RevisionType getRevisionType() {
+            return revisionType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ArchbaseRevisionMetadata<?> that)) {
+                return false;
+            }
+            return Objects.equals(revisionNumber, that.revisionNumber)
+                    && Objects.equals(revisionInstant, that.revisionInstant)
+                    && revisionType == that.revisionType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(revisionNumber, revisionInstant, revisionType);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ArchbaseRevisionMetadata{entity=%s, revisionNumber=%s, revisionInstant=%s, revisionType=%s}",
+                    entity, revisionNumber, revisionInstant, revisionType);
+        }
+    }
+}
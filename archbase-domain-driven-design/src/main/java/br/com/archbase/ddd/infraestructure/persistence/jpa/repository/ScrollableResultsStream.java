@@ -0,0 +1,90 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import org.hibernate.CacheMode;
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Expõe uma consulta JPA como {@link Stream} lido sob demanda por um cursor do Hibernate
+ * ({@link ScrollableResults}), sem materializar a lista de resultados.
+ *
+ * <p>A consulta é somente leitura, ignora o cache de segundo nível e usa o {@code fetchSize}
+ * informado. A cada {@code fetchSize} linhas as entidades entregues pelo stream são destacadas
+ * (detached) do contexto de persistência, de modo que a memória permanece estável
+ * independentemente da quantidade de registros. Somente as linhas carregadas pela consulta, em
+ * modo somente leitura, são destacadas: as demais entidades gerenciadas pela transação, inclusive
+ * as que o chamador já tinha carregado e que também aparecem no resultado, continuam gerenciadas
+ * com suas alterações pendentes. Associações carregadas junto com as linhas seguem as regras de cascata de
+ * {@code DETACH}. O stream precisa ser consumido dentro de uma transação e fechado ao final para
+ * liberar o cursor.
+ */
+final class ScrollableResultsStream {
+
+    static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private ScrollableResultsStream() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Stream<T> of(TypedQuery<T> query, EntityManager entityManager, int fetchSize) {
+        int chunkSize = fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE;
+        Query<T> hibernateQuery = query.unwrap(Query.class);
+        hibernateQuery.setFetchSize(chunkSize);
+        hibernateQuery.setReadOnly(true);
+        hibernateQuery.setCacheMode(CacheMode.IGNORE);
+        ScrollableResults<T> results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY);
+        Session session = entityManager.unwrap(Session.class);
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final List<T> chunk = new ArrayList<>(Math.min(chunkSize, DEFAULT_FETCH_SIZE));
+            private boolean entities = true;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (chunk.size() >= chunkSize) {
+                    detachChunk();
+                }
+                if (!results.next()) {
+                    detachChunk();
+                    return false;
+                }
+                T row = results.get();
+                chunk.add(row);
+                action.accept(row);
+                return true;
+            }
+
+            private void detachChunk() {
+                if (entities) {
+                    for (T row : chunk) {
+                        try {
+                            if (session.isReadOnly(row)) {
+                                session.detach(row);
+                            }
+                        } catch (IllegalArgumentException | HibernateException notAnEntity) {
+                            // projeção: não há nada no contexto de persistência para destacar
+                            entities = false;
+                            break;
+                        }
+                    }
+                }
+                chunk.clear();
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(results::close);
+    }
+}
@@ -5,6 +5,7 @@ import br.com.archbase.ddd.domain.contracts.Identifier;
 import br.com.archbase.ddd.domain.contracts.InsideAssociation;
 import br.com.archbase.ddd.domain.specification.ArchbaseSpecification;
 import br.com.archbase.ddd.infraestructure.persistence.jpa.specification.SpecificationTranslator;
+import br.com.archbase.query.rsql.jpa.ArchbaseKeysetCursor;
 import br.com.archbase.query.rsql.jpa.ArchbaseRSQLJPASupport;
 import com.querydsl.core.types.*;
 import com.querydsl.jpa.JPQLQuery;
@@ -16,15 +17,12 @@ import com.querydsl.jpa.sql.JPASQLQuery;
 import com.querydsl.sql.SQLTemplates;
 import com.querydsl.sql.SQLTemplatesRegistry;
 import org.hibernate.engine.spi.SessionImplementor;
-import org.hibernate.envers.*;
-import org.hibernate.envers.query.AuditEntity;
-import org.hibernate.envers.query.AuditQuery;
-import org.hibernate.envers.query.order.AuditOrder;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.envers.repository.support.DefaultRevisionMetadata;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.history.*;
 import org.springframework.data.jpa.repository.support.*;
 import org.springframework.data.querydsl.EntityPathResolver;
@@ -44,15 +42,18 @@ import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-import static org.springframework.data.history.RevisionMetadata.RevisionType.*;
 
 /**
  * Implementação base do Repositório padrão a ser usada na camada de dominio do negócio para manipulação das entidades.
@@ -73,6 +74,7 @@ public class SimpleArchbaseJpaRepository<T extends AggregateRoot<T, ID>, ID exte
     private final JpaEntityInformation<T, ID> entityInformation;
     private final QuerydslPredicateExecutor<T> querydslPredicateExecutor;
     private final Querydsl querydsl;
+    private final EnversRevisionQueries<T, ID, N> revisionQueries;
     private SpecificationTranslator translator;
 
 
@@ -85,6 +87,7 @@ public class SimpleArchbaseJpaRepository<T extends AggregateRoot<T, ID>, ID exte
         this.entityInformation = entityInformation1;
         this.querydslPredicateExecutor = querydslPredicateExecutor;
         this.querydsl = querydsl;
+        this.revisionQueries = new EnversRevisionQueries<>(this.entityInformation, this.entityManager);
     }
 
     public SimpleArchbaseJpaRepository(Class<T> domainClass, EntityManager em, EntityPath<T> path, JPAQueryFactory jpaQueryFactory, Supplier<JPASQLQuery<T>> jpaSqlFactory, EntityManager entityManager, JpaEntityInformation<T, ID> entityInformation, QuerydslPredicateExecutor<T> querydslPredicateExecutor, Querydsl querydsl) {
@@ -96,6 +99,7 @@ public class SimpleArchbaseJpaRepository<T extends AggregateRoot<T, ID>, ID exte
         this.entityInformation = entityInformation;
         this.querydslPredicateExecutor = querydslPredicateExecutor;
         this.querydsl = querydsl;
+        this.revisionQueries = new EnversRevisionQueries<>(this.entityInformation, this.entityManager);
     }
 
     @SafeVarargs
@@ -163,6 +167,27 @@ public class SimpleArchbaseJpaRepository<T extends AggregateRoot<T, ID>, ID exte
         return this.findAll(ArchbaseRSQLJPASupport.rsql(filter), pageable);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Window<T> findAll(String filter, Sort sort, ScrollPosition position, int limit) {
+        Specification<T> specification = ArchbaseRSQLJPASupport.rsql(filter);
+        ScrollPosition typedPosition = ArchbaseKeysetCursor.bind(position == null ? ScrollPosition.keyset() : position, getDomainClass());
+        Sort keysetSort = sort == null ? Sort.unsorted() : sort;
+        return this.<T, Window<T>>findBy(specification, query -> query.sortBy(keysetSort).limit(limit).scroll(typedPosition));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<T> streamAll(String filter, Sort sort, int fetchSize) {
+        Specification<T> specification = ArchbaseRSQLJPASupport.rsql(filter);
+        TypedQuery<T> query = getQuery(specification, sort == null ? Sort.unsorted() : sort);
+        return ScrollableResultsStream.of(query, entityManager, fetchSize);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -223,21 +248,8 @@ public class SimpleArchbaseJpaRepository<T extends AggregateRoot<T, ID>, ID exte
      * (non-Javadoc)
      * @see org.springframework.data.repository.history.RevisionRepository#findLastChangeRevision(java.io.Serializable)
      */
-    @SuppressWarnings("unchecked")
     public Optional<Revision<N, T>> findLastChangeRevision(ID id) {
-
-        List<Object[]> singleResult = createBaseQuery(id) //
-                .addOrder(AuditEntity.revisionProperty("timestamp").desc()) //
-                .setMaxResults(1) //
-                .getResultList();
-
-        Assert.state(singleResult.size() <= 1, "Esperamos no máximo um resultado.");
-
-        if (singleResult.isEmpty()) {
-            return Optional.empty();
-        }
-
-        return Optional.of(createRevision(new QueryResult<>(singleResult.get(0))));
+        return revisionQueries.findLastChangeRevision(id);
     }
 
     /*
@@ -245,76 +257,48 @@ public class SimpleArchbaseJpaRepository<T extends AggregateRoot<T, ID>, ID exte
      * @see org.springframework.data.envers.repository.support.EnversRevisionRepository#findRevision(java.io.Serializable, java.lang.Number)
      */
     @Override
-    @SuppressWarnings("unchecked")
     public Optional<Revision<N, T>> findRevision(ID id, N revisionNumber) {
-
-        Assert.notNull(id, "O identificador não deve ser nulo!");
-        Assert.notNull(revisionNumber, "O número da revisão não deve ser nulo!");
-
-        List<Object[]> singleResult = createBaseQuery(id) //
-                .add(AuditEntity.revisionNumber().eq(revisionNumber)) //
-                .getResultList();
-
-        Assert.state(singleResult.size() <= 1, "Esperamos no máximo um resultado.");
-
-        if (singleResult.isEmpty()) {
-            return Optional.empty();
-        }
-
-        return Optional.of(createRevision(new QueryResult<>(singleResult.get(0))));
+        return revisionQueries.findRevision(id, revisionNumber);
     }
 
-    @SuppressWarnings("unchecked")
     public Revisions<N, T> findRevisions(ID id) {
-
-        List<Object[]> resultList = createBaseQuery(id).getResultList();
-        List<Revision<N, T>> revisionList = new ArrayList<>(resultList.size());
-
-        for (Object[] objects : resultList) {
-            revisionList.add(createRevision(new QueryResult<>(objects)));
-        }
-
-        return Revisions.of(revisionList);
+        return revisionQueries.findRevisions(id);
     }
 
-    @SuppressWarnings("unchecked")
     public Page<Revision<N, T>> findRevisions(ID id, Pageable pageable) {
-
-        AuditOrder sorting = RevisionSort.getRevisionDirection(pageable.getSort()).isDescending() //
-                ? AuditEntity.revisionNumber().desc() //
-                : AuditEntity.revisionNumber().asc();
-
-        List<Object[]> resultList = createBaseQuery(id) //
-                .addOrder(sorting) //
-                .setFirstResult((int) pageable.getOffset()) //
-                .setMaxResults(pageable.getPageSize()) //
-                .getResultList();
-
-        Long count = (Long) createBaseQuery(id) //
-                .addProjection(AuditEntity.revisionNumber().count()).getSingleResult();
-
-        List<Revision<N, T>> revisions = new ArrayList<>();
-
-        for (Object[] singleResult : resultList) {
-            revisions.add(createRevision(new QueryResult<>(singleResult)));
-        }
-
-        return new PageImpl<>(revisions, pageable, count);
+        return revisionQueries.findRevisions(id, pageable);
     }
 
-    private AuditQuery createBaseQuery(ID id) {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<ID, Revisions<N, T>> findRevisionsByIds(Collection<ID> ids) {
+        return revisionQueries.findRevisionsByIds(ids);
+    }
 
-        Class<T> type = entityInformation.getJavaType();
-        AuditReader reader = AuditReaderFactory.get(entityManager);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<ID, Revision<N, T>> findLastChangeRevisions(Collection<ID> ids) {
+        return revisionQueries.findLastChangeRevisions(ids);
+    }
 
-        return reader.createQuery() //
-                .forRevisionsOfEntity(type, false, true) //
-                .add(AuditEntity.id().eq(id));
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Window<Revision<N, T>> findRevisionsBetween(Instant from, Instant to, ScrollPosition position, int limit) {
+        return revisionQueries.findRevisionsBetween(from, to, position, limit);
     }
 
-    @SuppressWarnings("unchecked")
-    private Revision<N, T> createRevision(QueryResult<T> queryResult) {
-        return Revision.of((RevisionMetadata<N>) queryResult.createRevisionMetadata(), queryResult.entity);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Revision<N, T>> streamRevisionsBetween(Instant from, Instant to, int fetchSize) {
+        return revisionQueries.streamRevisionsBetween(from, to, fetchSize);
     }
 
     @Override
@@ -419,52 +403,6 @@ public class SimpleArchbaseJpaRepository<T extends AggregateRoot<T, ID>, ID exte
         super.deleteInBatch(entities);
     }
 
-    @SuppressWarnings("unchecked")
-    static class QueryResult<T> {
-
-        private final T entity;
-        private final Object metadata;
-        private final RevisionMetadata.RevisionType revisionType;
-
-        QueryResult(Object[] data) {
-
-            Assert.notNull(data, "Os dados não devem ser nulos");
-            Assert.isTrue( //
-                    data.length == 3, //
-                    () -> String.format("Os dados devem ter tamanho 3, mas têm tamanho %d.", data.length));
-            Assert.isTrue( //
-                    data[2] instanceof RevisionType, //
-                    () -> String.format("O terceiro elemento da matriz deve ser do tipo Revisão, mas é do tipo %s",
-                            data[2].getClass()));
-
-            entity = (T) data[0];
-            metadata = data[1];
-            revisionType = convertRevisionType((RevisionType) data[2]);
-        }
-
-        private static RevisionMetadata.RevisionType convertRevisionType(RevisionType datum) {
-
-            switch (datum) {
-
-                case ADD:
-                    return INSERT;
-                case MOD:
-                    return UPDATE;
-                case DEL:
-                    return DELETE;
-                default:
-                    return UNKNOWN;
-            }
-        }
-
-        RevisionMetadata createRevisionMetadata() {
-
-            return metadata instanceof DefaultRevisionEntity //
-                    ? new DefaultRevisionMetadata((DefaultRevisionEntity) metadata, revisionType) //
-                    : new AnnotationRevisionMetadata<>(metadata, RevisionNumber.class, RevisionTimestamp.class, revisionType);
-        }
-    }
-
     private static class QuerydslPredicateExecutor<T> extends QuerydslJpaPredicateExecutor<T> {
         QuerydslPredicateExecutor(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager, EntityPathResolver resolver, CrudMethodMetadata metadata) {
             super(entityInformation, entityManager, resolver, metadata);
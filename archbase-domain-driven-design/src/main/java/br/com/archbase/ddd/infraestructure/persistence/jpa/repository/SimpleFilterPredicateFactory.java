@@ -1,7 +1,11 @@
 package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
 
+import br.com.archbase.ddd.infraestructure.persistence.jpa.repository.SimpleMultipleFieldsFilter.SearchMode;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.*;
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
@@ -12,223 +16,303 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
+/**
+ * Cria os predicados da busca rápida em múltiplos campos ({@link SimpleMultipleFieldsFilter}).
+ * <p>
+ * Os campos de cada entidade e seus tipos são resolvidos uma única vez por classe. Campos numéricos e de data só
+ * recebem predicado quando o valor pesquisado (ou todos os valores de uma lista ou intervalo) pode ser convertido
+ * para o tipo do campo. Campos texto usam o {@link SearchMode} informado; {@link #indexHints(Class, String,
+ * SearchMode)} sugere os índices que evitam a leitura sequencial da tabela em cada modo.
+ */
 public class SimpleFilterPredicateFactory {
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
 
-    public static List<Field> getAllFields(Class<?> type) {
-        List<Field> fields = new ArrayList<>();
-        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
-            for (Field field : c.getDeclaredFields()) {
-                fields.add(field);
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("[+-]?\\d+");
+    private static final Pattern DECIMAL_PATTERN = Pattern.compile("[+-]?(\\d+(\\.\\d*)?|\\.\\d+)([eE][+-]?\\d+)?");
+    private static final Pattern DATE_PATTERN = Pattern.compile("\\d{2}/\\d{2}/\\d{4}");
+    // Regex para uma data no formato dd/MM/yyyy HH:mm:ss
+    private static final String DATE_TIME_REGEX = "\\d{2}/\\d{2}/\\d{4} \\d{2}:\\d{2}:\\d{2}";
+    private static final Pattern DATE_TIME_PATTERN = Pattern.compile(DATE_TIME_REGEX);
+    private static final int DATE_TIME_LENGTH = "dd/MM/yyyy HH:mm:ss".length();
+    // Regex para um intervalo: duas datas separadas por ':'
+    private static final Pattern DATE_TIME_INTERVAL_PATTERN = Pattern.compile(DATE_TIME_REGEX + ":" + DATE_TIME_REGEX);
+
+    private static final ClassValue<EntityFields> ENTITY_FIELDS = new ClassValue<>() {
+        @Override
+        protected EntityFields computeValue(Class<?> type) {
+            return new EntityFields(type);
+        }
+    };
+
+    private static volatile FullTextSearchStrategy fullTextSearchStrategy;
+
+    private SimpleFilterPredicateFactory() {
+    }
+
+    /**
+     * Tipo de predicado gerado para um campo.
+     */
+    enum FieldKind {
+        STRING, INTEGER, LONG, BIG_INTEGER, BIG_DECIMAL, LOCAL_DATE, LOCAL_DATE_TIME, DATE, UNSUPPORTED;
+
+        static FieldKind of(Class<?> type) {
+            if (type.equals(String.class)) {
+                return STRING;
+            } else if (type.equals(Integer.class) || type.equals(int.class)) {
+                return INTEGER;
+            } else if (type.equals(Long.class) || type.equals(long.class)) {
+                return LONG;
+            } else if (type.equals(BigInteger.class)) {
+                return BIG_INTEGER;
+            } else if (type.equals(BigDecimal.class)) {
+                return BIG_DECIMAL;
+            } else if (type.equals(LocalDate.class)) {
+                return LOCAL_DATE;
+            } else if (type.equals(LocalDateTime.class)) {
+                return LOCAL_DATE_TIME;
+            } else if (type.equals(Date.class)) {
+                return DATE;
             }
+            return UNSUPPORTED;
         }
-        fields.sort(new Comparator<Field>() {
-            @Override
-            public int compare(Field o1, Field o2) {
-                return o1.getName().compareTo(o2.getName());
+    }
+
+    /**
+     * Campos de uma classe, incluindo as superclasses, ordenados por nome e indexados pelo nome em minúsculas.
+     */
+    private static final class EntityFields {
+
+        private final List<Field> fields;
+        private final Map<String, FieldKind> kinds = new HashMap<>();
+        private final Map<String, Field> byName = new HashMap<>();
+
+        EntityFields(Class<?> type) {
+            List<Field> all = new ArrayList<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                Collections.addAll(all, c.getDeclaredFields());
             }
-        });
-        return fields;
+            all.sort(Comparator.comparing(Field::getName));
+            for (Field field : all) {
+                String key = field.getName().toLowerCase(Locale.ROOT);
+                if (byName.putIfAbsent(key, field) == null) {
+                    kinds.put(key, FieldKind.of(field.getType()));
+                }
+            }
+            this.fields = List.copyOf(all);
+        }
+    }
+
+    public static List<Field> getAllFields(Class<?> type) {
+        return new ArrayList<>(ENTITY_FIELDS.get(type).fields);
     }
 
     public static Optional<Field> getFieldByName(Class<?> sourceClass, String fieldName) {
-        List<Field> allFields = getAllFields(sourceClass);
-        return allFields.stream().filter((field)->field.getName().equalsIgnoreCase(fieldName)).findFirst();
+        return Optional.ofNullable(ENTITY_FIELDS.get(sourceClass).byName.get(fieldName.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Estratégia usada pelo modo {@link SearchMode#FULL_TEXT}; {@code null} faz o modo se comportar como
+     * {@link SearchMode#CONTAINS}.
+     */
+    public static void setFullTextSearchStrategy(FullTextSearchStrategy strategy) {
+        fullTextSearchStrategy = strategy;
+    }
+
+    public static FullTextSearchStrategy getFullTextSearchStrategy() {
+        return fullTextSearchStrategy;
     }
 
     public static <T> BooleanBuilder createPredicate(PathBuilder<T> entityPath, Class<T> entityClass, String fieldName, String value) {
+        return createPredicate(entityPath, entityClass, fieldName, value, SearchMode.CONTAINS);
+    }
+
+    public static <T> BooleanBuilder createPredicate(PathBuilder<T> entityPath, Class<T> entityClass, String fieldName,
+                                                     String value, SearchMode mode) {
         BooleanBuilder builder = new BooleanBuilder();
         if (fieldName.contains(".")) {
-            processNestedFields(builder, entityPath, fieldName, value);
-        } else {
-            Optional<Field> fieldOptional = getFieldByName(entityClass,fieldName);
-            if (fieldOptional.isPresent()) {
-                Field field = fieldOptional.get();
-                Class<?> fieldType = field.getType();
-
-                if (fieldType.equals(String.class)) {
-                    processString(builder, entityPath.getString(fieldName), value);
-                } else if (Arrays.asList(Integer.class, Long.class, BigInteger.class, BigDecimal.class).contains(fieldType)) {
-
-                    if (fieldType.equals(Integer.class)) {
-                        NumberPath<Integer> numberPath = entityPath.getNumber(fieldName, Integer.class);
-                        processInteger(builder, numberPath, value, fieldType);
-                    } else if (fieldType.equals(Long.class)) {
-                        NumberPath<Long> numberPath = entityPath.getNumber(fieldName, Long.class);
-                        processLong(builder, numberPath, value, fieldType);
-                    } else if (fieldType.equals(BigDecimal.class)) {
-                        NumberPath<BigDecimal> numberPath = entityPath.getNumber(fieldName, BigDecimal.class);
-                        processBigDecimal(builder, numberPath, value, fieldType);
-                    } else if (fieldType.equals(BigInteger.class)) {
-                        NumberPath<BigInteger> numberPath = entityPath.getNumber(fieldName, BigInteger.class);
-                        processBigInteger(builder, numberPath, value, fieldType);
-                    }
-                } else if (fieldType.equals(LocalDate.class)) {
-                    processLocalDate(builder, entityPath.getDate(fieldName, LocalDate.class), value);
-                } else if (fieldType.equals(LocalDateTime.class)) {
-                    processLocalDateTime(builder, entityPath.getDateTime(fieldName, LocalDateTime.class), value);
-                } else if (fieldType.equals(Date.class)) {
-                    processDate(builder, entityPath.getDate(fieldName, Date.class), value);
-                }
-            }
+            processNestedFields(builder, entityPath, fieldName, value, mode);
+            return builder;
         }
 
+        EntityFields entityFields = ENTITY_FIELDS.get(entityClass);
+        String key = fieldName.toLowerCase(Locale.ROOT);
+        Field field = entityFields.byName.get(key);
+        if (field == null) {
+            return builder;
+        }
+
+        String name = field.getName();
+        switch (entityFields.kinds.get(key)) {
+            case STRING -> processString(builder, entityPath.getString(name), value, mode);
+            case INTEGER -> {
+                NumberPath<Integer> campo = entityPath.getNumber(name, Integer.class);
+                process(builder, value, SimpleFilterPredicateFactory::parseInteger, campo::eq, campo::between);
+            }
+            case LONG -> {
+                NumberPath<Long> campo = entityPath.getNumber(name, Long.class);
+                process(builder, value, SimpleFilterPredicateFactory::parseLong, campo::eq, campo::between);
+            }
+            case BIG_INTEGER -> {
+                NumberPath<BigInteger> campo = entityPath.getNumber(name, BigInteger.class);
+                process(builder, value, SimpleFilterPredicateFactory::parseBigInteger, campo::eq, campo::between);
+            }
+            case BIG_DECIMAL -> {
+                NumberPath<BigDecimal> campo = entityPath.getNumber(name, BigDecimal.class);
+                process(builder, value, SimpleFilterPredicateFactory::parseBigDecimal, campo::eq, campo::between);
+            }
+            case LOCAL_DATE -> {
+                DatePath<LocalDate> campo = entityPath.getDate(name, LocalDate.class);
+                process(builder, value, SimpleFilterPredicateFactory::parseLocalDate, campo::eq, campo::between);
+            }
+            case DATE -> {
+                DatePath<Date> campo = entityPath.getDate(name, Date.class);
+                process(builder, value, SimpleFilterPredicateFactory::parseDate, campo::eq, campo::between);
+            }
+            case LOCAL_DATE_TIME -> processLocalDateTime(builder, entityPath.getDateTime(name, LocalDateTime.class), value);
+            default -> {
+                // tipo sem suporte na busca rápida
+            }
+        }
         return builder;
     }
 
-    private static void processString(BooleanBuilder builder, StringPath campo, String valor) {
+    private static void processString(BooleanBuilder builder, StringPath campo, String valor, SearchMode mode) {
         if (valor.contains(",")) {
             Arrays.stream(valor.split(","))
-                    .forEach(str -> builder.or(campo.containsIgnoreCase(str)));
+                    .forEach(str -> builder.or(stringPredicate(campo, str, mode)));
         } else {
-            builder.and(campo.containsIgnoreCase(valor));
+            builder.and(stringPredicate(campo, valor, mode));
         }
     }
 
-    private static void processInteger(BooleanBuilder builder, NumberPath<Integer> campo, String valor, Class<?> fieldType) {
-        try {
-            if (valor.contains(":")) {
-                String[] valores = valor.split(":");
-                Integer inicio = (Integer) convertToNumber(valores[0], fieldType);
-                Integer fim = (Integer) convertToNumber(valores[1], fieldType);
-                builder.and(campo.between(inicio, fim));
-            } else if (valor.contains(",")) {
-                Arrays.stream(valor.split(","))
-                        .map(v -> (Integer) convertToNumber(v, fieldType))
-                        .forEach(num -> builder.or(campo.eq(num)));
-            } else {
-                Integer num = (Integer) convertToNumber(valor, fieldType);
-                builder.and(campo.eq(num));
+    private static BooleanExpression stringPredicate(StringPath campo, String valor, SearchMode mode) {
+        FullTextSearchStrategy strategy = fullTextSearchStrategy;
+        return switch (mode) {
+            case PREFIX -> campo.startsWithIgnoreCase(valor);
+            case FULL_TEXT -> strategy != null ? strategy.createPredicate(campo, valor) : campo.containsIgnoreCase(valor);
+            default -> campo.containsIgnoreCase(valor);
+        };
+    }
+
+    /**
+     * Acrescenta o predicado de um valor único, de uma lista ({@code a,b,c}) ou de um intervalo ({@code a:b}). Nada é
+     * acrescentado se algum dos valores não puder ser convertido.
+     */
+    private static <V> void process(BooleanBuilder builder, String valor, Function<String, V> parser,
+                                    Function<V, Predicate> eq, BiFunction<V, V, Predicate> between) {
+        if (valor.contains(":")) {
+            String[] valores = valor.split(":");
+            if (valores.length == 2) {
+                addBetween(builder, parser.apply(valores[0]), parser.apply(valores[1]), between);
+            }
+        } else if (valor.contains(",")) {
+            addAny(builder, valor.split(","), parser, eq);
+        } else {
+            V parsed = parser.apply(valor);
+            if (parsed != null) {
+                builder.and(eq.apply(parsed));
             }
-        } catch (Exception ex) {
-            //
         }
     }
 
-    private static void processLong(BooleanBuilder builder, NumberPath<Long> campo, String valor, Class<?> fieldType) {
-        try {
-            if (valor.contains(":")) {
-                String[] valores = valor.split(":");
-                Long inicio = (Long) convertToNumber(valores[0], fieldType);
-                Long fim = (Long) convertToNumber(valores[1], fieldType);
-                builder.and(campo.between(inicio, fim));
-            } else if (valor.contains(",")) {
-                Arrays.stream(valor.split(","))
-                        .map(v -> (Long) convertToNumber(v, fieldType))
-                        .forEach(num -> builder.or(campo.eq(num)));
-            } else {
-                Long num = (Long) convertToNumber(valor, fieldType);
-                builder.and(campo.eq(num));
+    private static <V> void addBetween(BooleanBuilder builder, V inicio, V fim, BiFunction<V, V, Predicate> between) {
+        if (inicio != null && fim != null) {
+            builder.and(between.apply(inicio, fim));
+        }
+    }
+
+    private static <V> void addAny(BooleanBuilder builder, String[] valores, Function<String, V> parser,
+                                   Function<V, Predicate> eq) {
+        List<V> parsed = new ArrayList<>(valores.length);
+        for (String v : valores) {
+            V value = parser.apply(v);
+            if (value == null) {
+                return;
             }
-        } catch (Exception ex) {
-            //
+            parsed.add(value);
         }
+        parsed.forEach(value -> builder.or(eq.apply(value)));
     }
 
-    private static void processBigInteger(BooleanBuilder builder, NumberPath<BigInteger> campo, String valor, Class<?> fieldType) {
+    private static Integer parseInteger(String valor) {
+        String v = valor.trim();
+        if (!INTEGER_PATTERN.matcher(v).matches()) {
+            return null;
+        }
         try {
-            if (valor.contains(":")) {
-                String[] valores = valor.split(":");
-                BigInteger inicio = (BigInteger) convertToNumber(valores[0], fieldType);
-                BigInteger fim = (BigInteger) convertToNumber(valores[1], fieldType);
-                builder.and(campo.between(inicio, fim));
-            } else if (valor.contains(",")) {
-                Arrays.stream(valor.split(","))
-                        .map(v -> (BigInteger) convertToNumber(v, fieldType))
-                        .forEach(num -> builder.or(campo.eq(num)));
-            } else {
-                BigInteger num = (BigInteger) convertToNumber(valor, fieldType);
-                builder.and(campo.eq(num));
-            }
-        } catch (Exception ex) {
-            //
+            return Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
-    private static void processBigDecimal(BooleanBuilder builder, NumberPath<BigDecimal> campo, String valor, Class<?> fieldType) {
+    private static Long parseLong(String valor) {
+        String v = valor.trim();
+        if (!INTEGER_PATTERN.matcher(v).matches()) {
+            return null;
+        }
         try {
-            if (valor.contains(":")) {
-                String[] valores = valor.split(":");
-                BigDecimal inicio = (BigDecimal) convertToNumber(valores[0], fieldType);
-                BigDecimal fim = (BigDecimal) convertToNumber(valores[1], fieldType);
-                builder.and(campo.between(inicio, fim));
-            } else if (valor.contains(",")) {
-                Arrays.stream(valor.split(","))
-                        .map(v -> (BigDecimal) convertToNumber(v, fieldType))
-                        .forEach(num -> builder.or(campo.eq(num)));
-            } else {
-                BigDecimal num = (BigDecimal) convertToNumber(valor, fieldType);
-                builder.and(campo.eq(num));
-            }
-        } catch (Exception ex) {
-            //
+            return Long.parseLong(v);
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
-    private static Number convertToNumber(String valor, Class<?> tipo) {
-        if (tipo.equals(Integer.class) || tipo.equals(int.class)) {
-            return Integer.parseInt(valor);
-        } else if (tipo.equals(Long.class) || tipo.equals(long.class)) {
-            return Long.parseLong(valor);
-        } else if (tipo.equals(BigInteger.class)) {
-            return new BigInteger(valor);
-        } else if (tipo.equals(BigDecimal.class)) {
-            return new BigDecimal(valor);
+    private static BigInteger parseBigInteger(String valor) {
+        String v = valor.trim();
+        if (!INTEGER_PATTERN.matcher(v).matches()) {
+            return null;
+        }
+        try {
+            return new BigInteger(v);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
         }
-        throw new IllegalArgumentException("Tipo numérico não suportado: " + tipo);
     }
 
-    private static LocalDate converterLocalDate(String value) {
-        return LocalDate.parse(value, DATE_FORMAT);
+    private static BigDecimal parseBigDecimal(String valor) {
+        String v = valor.trim();
+        if (!DECIMAL_PATTERN.matcher(v).matches()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(v);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
     }
 
-    private static void processLocalDate(BooleanBuilder builder, DatePath<LocalDate> campo, String valor) {
-        if (valor.contains(":")) {
-            String[] datas = valor.split(":");
-            try {
-                LocalDate inicio = converterLocalDate(datas[0]);
-                LocalDate fim = converterLocalDate(datas[1]);
-                builder.and(campo.between(inicio, fim));
-            } catch (DateTimeParseException e) {
-                //
-            }
-        } else if (valor.contains(",")) {
-            Arrays.stream(valor.split(","))
-                    .map(SimpleFilterPredicateFactory::converterLocalDate)
-                    .forEach(num -> builder.or(campo.eq(num)));
-        } else {
-            try {
-                LocalDate data = LocalDate.parse(valor, DATE_FORMAT);
-                builder.and(campo.eq(data));
-            } catch (DateTimeParseException e) {
-                //
-            }
+    private static LocalDate parseLocalDate(String valor) {
+        String v = valor.trim();
+        if (!DATE_PATTERN.matcher(v).matches()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(v, DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
         }
     }
 
-    private static void processDate(BooleanBuilder builder, DatePath<Date> campo, String valor) {
-        if (valor.contains(":")) {
-            String[] datas = valor.split(":");
-            try {
-                LocalDate inicio = LocalDate.parse(datas[0], DATE_FORMAT);
-                LocalDate fim = LocalDate.parse(datas[1], DATE_FORMAT);
-                builder.and(campo.between(convertToDateViaInstant(inicio), convertToDateViaInstant(fim)));
-            } catch (DateTimeParseException e) {
-                //
-            }
-        } else if (valor.contains(",")) {
-            Arrays.stream(valor.split(","))
-                    .map(v -> convertToDateViaInstant(converterLocalDate(v)))
-                    .forEach(num -> builder.or(campo.eq(num)));
-        } else {
-            try {
-                LocalDate data = LocalDate.parse(valor, DATE_FORMAT);
-                builder.and(campo.eq(convertToDateViaInstant(data)));
-            } catch (DateTimeParseException e) {
-                //
-            }
+    private static Date parseDate(String valor) {
+        LocalDate data = parseLocalDate(valor);
+        return data == null ? null : convertToDateViaInstant(data);
+    }
+
+    private static LocalDateTime parseLocalDateTime(String valor) {
+        String v = valor.trim();
+        if (!DATE_TIME_PATTERN.matcher(v).matches()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(v, DATE_TIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
         }
     }
 
@@ -239,38 +323,24 @@ public class SimpleFilterPredicateFactory {
     }
 
     private static void processLocalDateTime(BooleanBuilder builder, DateTimePath<LocalDateTime> field, String valor) {
-        try {
-            if (valor.contains(":") && seemsToBeInterval(valor)) {
-                String[] datas = valor.split(":", 2);
-                LocalDateTime inicio = LocalDateTime.parse(datas[0], DATE_TIME_FORMAT);
-                LocalDateTime fim = LocalDateTime.parse(datas[1], DATE_TIME_FORMAT);
-                builder.and(field.between(inicio, fim));
-            } else if (valor.contains(",")) {
-                Arrays.stream(valor.split(","))
-                        .map(v -> LocalDateTime.parse(v, DATE_TIME_FORMAT))
-                        .forEach(num -> builder.or(field.eq(num)));
-            } else {
-                LocalDateTime dataHora = LocalDateTime.parse(valor, DATE_TIME_FORMAT);
+        String v = valor.trim();
+        if (DATE_TIME_INTERVAL_PATTERN.matcher(v).matches()) {
+            // As horas também usam ':', então o separador do intervalo é o que segue a primeira data
+            int separator = DATE_TIME_LENGTH;
+            addBetween(builder, parseLocalDateTime(v.substring(0, separator)),
+                    parseLocalDateTime(v.substring(separator + 1)), field::between);
+        } else if (v.contains(",")) {
+            addAny(builder, v.split(","), SimpleFilterPredicateFactory::parseLocalDateTime, field::eq);
+        } else {
+            LocalDateTime dataHora = parseLocalDateTime(v);
+            if (dataHora != null) {
                 builder.and(field.eq(dataHora));
             }
-        } catch (DateTimeParseException e) {
-            //
         }
     }
 
-    private static boolean seemsToBeInterval(String value) {
-        // Regex para uma data no formato dd/MM/yyyy HH:mm:ss
-        String regexDateTime = "\\d{2}/\\d{2}/\\d{4} \\d{2}:\\d{2}:\\d{2}";
-
-        // Regex para um intervalo: duas datas separadas por ':'
-        String regexInterval = regexDateTime + ":" + regexDateTime;
-
-        // Retorna verdadeiro se a string corresponder ao padrão de intervalo
-        return value.matches(regexInterval);
-    }
-
-
-    private static <T> void processNestedFields(BooleanBuilder builder, PathBuilder<?> entityPath, String fieldName, String value) {
+    private static void processNestedFields(BooleanBuilder builder, PathBuilder<?> entityPath, String fieldName,
+                                            String value, SearchMode mode) {
         String[] parts = fieldName.split("\\.");
 
         // Começa com o path base
@@ -285,6 +355,43 @@ public class SimpleFilterPredicateFactory {
         String nestedFieldName = parts[parts.length - 1];
 
         // Cria o predicado com o último campo
-        builder.and(nestedPath.getString(nestedFieldName).containsIgnoreCase(value));
+        builder.and(stringPredicate(nestedPath.getString(nestedFieldName), value, mode));
+    }
+
+    /**
+     * Sugere os comandos DDL (PostgreSQL) que permitem à busca rápida no modo informado usar índices nos campos
+     * texto listados. Os nomes de tabela e coluna vêm de {@link Table} e {@link Column} ou, na falta deles, do nome
+     * em {@code snake_case}, como na estratégia de nomes padrão do Spring Boot. Campos aninhados são ignorados.
+     *
+     * @param fields nomes dos campos separados por vírgula, como em {@link SimpleMultipleFieldsFilter#getFields()}
+     * @return os comandos sugeridos; vazio no modo {@link SearchMode#CONTAINS} sem estratégia de busca textual
+     */
+    public static List<String> indexHints(Class<?> entityClass, String fields, SearchMode mode) {
+        Table table = entityClass.getAnnotation(Table.class);
+        String tableName = table != null && !table.name().isEmpty() ? table.name() : toSnakeCase(entityClass.getSimpleName());
+        EntityFields entityFields = ENTITY_FIELDS.get(entityClass);
+        FullTextSearchStrategy strategy = fullTextSearchStrategy;
+
+        Set<String> hints = new LinkedHashSet<>();
+        for (String fieldName : fields.split(",")) {
+            String key = fieldName.trim().toLowerCase(Locale.ROOT);
+            Field field = entityFields.byName.get(key);
+            if (field == null || entityFields.kinds.get(key) != FieldKind.STRING) {
+                continue;
+            }
+            Column column = field.getAnnotation(Column.class);
+            String columnName = column != null && !column.name().isEmpty() ? column.name() : toSnakeCase(field.getName());
+            if (mode == SearchMode.PREFIX) {
+                hints.add("CREATE INDEX IF NOT EXISTS idx_" + tableName + "_" + columnName + "_lower ON " + tableName
+                        + " (lower(" + columnName + ") text_pattern_ops)");
+            } else if (mode == SearchMode.FULL_TEXT && strategy != null) {
+                hints.addAll(strategy.indexHints(tableName, columnName));
+            }
+        }
+        return new ArrayList<>(hints);
+    }
+
+    private static String toSnakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
     }
 }
@@ -1,9 +1,33 @@
 package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
 
+/**
+ * Filtro da busca rápida em múltiplos campos, recebido como JSON:
+ * {@code {"search": "valor", "fields": "nome,codigo", "mode": "PREFIX"}}.
+ */
 public class SimpleMultipleFieldsFilter {
 
+    /**
+     * Como o valor é comparado com campos texto.
+     */
+    public enum SearchMode {
+        /**
+         * Contém o valor, sem diferenciar maiúsculas ({@code like '%valor%'}).
+         */
+        CONTAINS,
+        /**
+         * Começa com o valor, sem diferenciar maiúsculas ({@code like 'valor%'}); pode usar um índice sobre
+         * {@code lower(coluna)}.
+         */
+        PREFIX,
+        /**
+         * Usa a {@link FullTextSearchStrategy} configurada, ou {@link #CONTAINS} se não houver.
+         */
+        FULL_TEXT
+    }
+
     private String search;
     private String fields;
+    private SearchMode mode = SearchMode.CONTAINS;
 
     public SimpleMultipleFieldsFilter() {
     }
@@ -13,6 +37,12 @@ public class SimpleMultipleFieldsFilter {
         this.fields = fields;
     }
 
+    public SimpleMultipleFieldsFilter(String search, String fields, SearchMode mode) {
+        this.search = search;
+        this.fields = fields;
+        setMode(mode);
+    }
+
     public String getSearch() {
         return search;
     }
@@ -28,4 +58,12 @@ public class SimpleMultipleFieldsFilter {
     public void setFields(String fields) {
         this.fields = fields;
     }
+
+    public SearchMode getMode() {
+        return mode;
+    }
+
+    public void setMode(SearchMode mode) {
+        this.mode = mode != null ? mode : SearchMode.CONTAINS;
+    }
 }
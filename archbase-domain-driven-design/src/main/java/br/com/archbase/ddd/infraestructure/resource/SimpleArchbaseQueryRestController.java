@@ -4,21 +4,39 @@ import br.com.archbase.ddd.domain.contracts.AggregateRoot;
 import br.com.archbase.ddd.domain.contracts.Identifier;
 import br.com.archbase.ddd.domain.contracts.Repository;
 import br.com.archbase.ddd.infraestructure.service.SimpleArchbaseService;
+import br.com.archbase.query.rsql.jpa.ArchbaseKeysetCursor;
+import br.com.archbase.query.rsql.jpa.ArchbaseKeysetPage;
 import br.com.archbase.query.rsql.jpa.ArchbasePageableGuard;
 import br.com.archbase.query.rsql.jpa.SortUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 public abstract class SimpleArchbaseQueryRestController<T extends AggregateRoot<T, ID>, ID extends Serializable & Identifier, N extends Number & Comparable<N>> {
 
+    @Autowired(required = false)
+    private ObjectMapper objectMapper;
+
     /**
      * Método abstrato que irá fornecer a classe de serviço para ser usada no
      * controller.
@@ -177,6 +195,69 @@ public abstract class SimpleArchbaseQueryRestController<T extends AggregateRoot<
         return result;
     }
 
+    /**
+     * Busca os objetos da classe de acordo com o filtro usando paginação por chave (keyset). Em vez
+     * do número da página, o cliente envia o {@code nextCursor} da resposta anterior; a consulta usa
+     * os valores da ordenação como ponto de partida e não executa contagem, mantendo o custo estável
+     * em páginas profundas e exportações.
+     *
+     * @param filter String RSQL (opcional)
+     * @param cursor Cursor retornado na página anterior (vazio para a primeira página)
+     * @param size   Tamanho da página
+     * @param sort   Ordenação (opcional); o identificador é sempre usado como desempate
+     * @return Página com o cursor da próxima
+     */
+    @GetMapping(value = "/findWithCursor", params = {"size"})
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public ArchbaseKeysetPage<T> findWithCursor(@RequestParam(value = "filter", required = false) String filter,
+                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                @RequestParam(value = "size", required = true) int size,
+                                                @RequestParam(value = "sort", required = false) String[] sort) {
+        size = ArchbasePageableGuard.clampSize(size);
+        Sort keysetSort = sort == null ? Sort.unsorted() : Sort.by(SortUtils.convertSortToJpa(sort));
+        Window<T> result = getRepository().findAll(filter, keysetSort, ArchbaseKeysetCursor.decode(cursor), size);
+        return ArchbaseKeysetPage.of(result);
+    }
+
+    /**
+     * Exporta os objetos da classe que atendam ao filtro em JSON lines (NDJSON). Cada registro é
+     * escrito diretamente na resposta à medida que é lido do banco, sem montar páginas ou listas em
+     * memória, o que permite exportar milhões de linhas com consumo de memória constante.
+     *
+     * @param filter    String RSQL (opcional)
+     * @param sort      Ordenação (opcional)
+     * @param fetchSize Quantidade de linhas buscadas por ida ao banco, limitada como o tamanho de página
+     * @param response  Resposta HTTP
+     * @throws IOException
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void export(@RequestParam(value = "filter", required = false) String filter,
+                       @RequestParam(value = "sort", required = false) String[] sort,
+                       @RequestParam(value = "fetchSize", required = false, defaultValue = "1000") int fetchSize,
+                       HttpServletResponse response) throws IOException {
+        fetchSize = ArchbasePageableGuard.clampSize(fetchSize);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Sort exportSort = sort == null ? Sort.unsorted() : Sort.by(SortUtils.convertSortToJpa(sort));
+        ObjectWriter writer = (objectMapper != null ? objectMapper : JsonMapper.shared()).writer();
+        OutputStream output = response.getOutputStream();
+        try (Stream<T> stream = getRepository().streamAll(filter, exportSort, fetchSize)) {
+            Iterator<T> iterator = stream.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                output.write(writer.writeValueAsBytes(iterator.next()));
+                output.write('\n');
+                written++;
+                if (fetchSize > 0 && written % fetchSize == 0) {
+                    output.flush();
+                }
+            }
+        }
+        output.flush();
+    }
+
     /**
      * Count
      */
@@ -0,0 +1,86 @@
+package br.com.archbase.ddd.infraestructure.storage;
+
+import br.com.archbase.ddd.domain.contracts.ArchbaseStoragePort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link ArchbaseStoragePort} que grava os arquivos em um diretório local, indicado para testes e desenvolvimento.
+ * A URL de cada arquivo é {@code <baseUrl>/<objectName>}.
+ * <p>
+ * O arquivo é gravado em um temporário e movido para o nome final, de forma que leituras concorrentes nunca vejam
+ * um arquivo incompleto e envios repetidos do mesmo nome substituam o anterior.
+ */
+public class LocalFileSystemStoragePort implements ArchbaseStoragePort {
+
+    private final Path directory;
+    private final String baseUrl;
+
+    /**
+     * @param directory diretório dos arquivos, criado se não existir
+     * @param baseUrl   URL HTTP(S) pela qual o diretório é servido
+     */
+    public LocalFileSystemStoragePort(Path directory, String baseUrl) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public String uploadFile(String objectName, InputStream data, String contentType) {
+        Path target = resolve(objectName);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, ".upload-", ".tmp");
+            try {
+                Files.copy(data, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar o arquivo " + objectName, e);
+        }
+        return baseUrl + "/" + objectName;
+    }
+
+    @Override
+    public InputStream downloadFile(String objectName) {
+        try {
+            return Files.newInputStream(resolve(objectName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o arquivo " + objectName, e);
+        }
+    }
+
+    @Override
+    public void deleteFile(String objectName) {
+        try {
+            Files.deleteIfExists(resolve(objectName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível excluir o arquivo " + objectName, e);
+        }
+    }
+
+    @Override
+    public String getStorageUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public String getStoragePath() {
+        return directory.toString();
+    }
+
+    private Path resolve(String objectName) {
+        Path path = directory.resolve(objectName).normalize();
+        if (!path.getParent().equals(directory)) {
+            throw new IllegalArgumentException("Nome de arquivo inválido: " + objectName);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,264 @@
+package br.com.archbase.ddd.infraestructure.aspect;
+
+import br.com.archbase.ddd.domain.aspect.annotations.StorageField;
+import br.com.archbase.ddd.infraestructure.storage.LocalFileSystemStoragePort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercita os advices do {@link ArchbaseStorageFieldAspect} diretamente, com um
+ * {@link LocalFileSystemStoragePort} em diretório temporário: decodificação de data URLs, envio paralelo,
+ * as duas fases da transação (commit e rollback) e os arquivos deduplicados.
+ */
+class ArchbaseStorageFieldAspectTest {
+
+    private static final String BASE_URL = "http://files.archbase.test/storage";
+
+    @TempDir
+    Path directory;
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ArchbaseStorageFieldAspect aspect = new ArchbaseStorageFieldAspect();
+    private LocalFileSystemStoragePort storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalFileSystemStoragePort(directory, BASE_URL);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        ReflectionTestUtils.setField(aspect, "storagePort", storage);
+        ReflectionTestUtils.setField(aspect, "entityManagerFactory", entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspect.destroy();
+        TransactionSynchronizationManager.unbindResourceIfPossible(aspect);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void decodesDataUrlAndStoresUrlInField() throws Exception {
+        Document document = new Document(null, dataUrl("text/plain", "Olá, Archbase!"));
+
+        aspect.beforeSave(joinPoint("save", document));
+
+        String url = text(document.file);
+        assertThat(url).startsWith(BASE_URL + "/arquivos_").endsWith(".txt");
+        assertThat(Files.readString(fileOf(url))).isEqualTo("Olá, Archbase!");
+    }
+
+    @Test
+    void keepsFieldThatAlreadyHoldsUrl() throws Exception {
+        String url = BASE_URL + "/arquivos_existente.txt";
+        Document document = new Document(null, bytes(url));
+
+        aspect.beforeSave(joinPoint("save", document));
+
+        assertThat(text(document.file)).isEqualTo(url);
+        assertThat(storedFiles()).isEmpty();
+    }
+
+    @Test
+    void uploadsFilesOfAllEntitiesAndShutsDownFallbackPool() throws Exception {
+        Document first = new Document(null, "primeiro".getBytes(StandardCharsets.UTF_8));
+        Document second = new Document(null, dataUrl("text/plain", "segundo"));
+
+        aspect.beforeSave(joinPoint("saveAll", List.of(first, second)));
+
+        assertThat(Files.readString(fileOf(text(first.file)))).isEqualTo("primeiro");
+        assertThat(Files.readString(fileOf(text(second.file)))).isEqualTo("segundo");
+
+        ThreadPoolTaskExecutor pool = (ThreadPoolTaskExecutor) ReflectionTestUtils.getField(aspect, "fallbackExecutor");
+        assertThat(pool).isNotNull();
+        aspect.destroy();
+        assertThat(pool.getThreadPoolExecutor().isShutdown()).isTrue();
+        assertThat(ReflectionTestUtils.getField(aspect, "uploadExecutor")).isNull();
+    }
+
+    @Test
+    void deletesFilesOnCallerThreadWhenTransactionCompletesAfterDestroy() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        Document document = new Document(null, dataUrl("text/plain", "encerrando"));
+        aspect.beforeSave(joinPoint("save", document));
+        assertThat(storedFiles()).hasSize(1);
+
+        aspect.destroy();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(storedFiles()).isEmpty();
+        assertThat(ReflectionTestUtils.getField(aspect, "fallbackExecutor")).isNull();
+    }
+
+    @Test
+    void deletesUploadedFilesWhenTransactionRollsBack() throws Exception {
+        useCallerThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        Document document = new Document(null, dataUrl("text/plain", "temporário"));
+
+        aspect.beforeSave(joinPoint("save", document));
+        assertThat(storedFiles()).hasSize(1);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(storedFiles()).isEmpty();
+    }
+
+    @Test
+    void deletesReplacedFileOnlyAfterCommit() throws Exception {
+        useCallerThreadExecutor();
+        String oldUrl = storage.uploadFile("arquivos_antigo.txt", stream("antigo"), "text/plain");
+        when(entityManager.find(Document.class, 1L)).thenReturn(new Document(1L, bytes(oldUrl)));
+        TransactionSynchronizationManager.initSynchronization();
+        Document document = new Document(1L, dataUrl("text/plain", "novo"));
+
+        aspect.beforeSave(joinPoint("save", document));
+        assertThat(fileOf(oldUrl)).exists();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(fileOf(oldUrl)).doesNotExist();
+        assertThat(Files.readString(fileOf(text(document.file)))).isEqualTo("novo");
+    }
+
+    @Test
+    void keepsFilesOfDeletedEntityWhenTransactionRollsBack() throws Exception {
+        useCallerThreadExecutor();
+        String url = storage.uploadFile("arquivos_documento.txt", stream("conteúdo"), "text/plain");
+        TransactionSynchronizationManager.initSynchronization();
+
+        aspect.beforeDelete(joinPoint("delete", new Document(1L, bytes(url))));
+        assertThat(fileOf(url)).exists();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(fileOf(url)).exists();
+    }
+
+    @Test
+    void deletesFilesOfDeletedEntityAfterCommit() throws Exception {
+        useCallerThreadExecutor();
+        String url = storage.uploadFile("arquivos_documento.txt", stream("conteúdo"), "text/plain");
+        TransactionSynchronizationManager.initSynchronization();
+
+        aspect.beforeDelete(joinPoint("delete", new Document(1L, bytes(url))));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(fileOf(url)).doesNotExist();
+    }
+
+    @Test
+    void sharesDeduplicatedFilesAndNeverDeletesThem() throws Exception {
+        byte[] logo = dataUrl("image/png", "mesmo conteúdo");
+        Document first = new Document(null, null);
+        first.logo = logo;
+        Document second = new Document(null, null);
+        second.logo = logo.clone();
+
+        aspect.beforeSave(joinPoint("saveAll", List.of(first, second)));
+
+        String url = text(first.logo);
+        assertThat(url).contains("/arquivos_sha256_").endsWith(".png");
+        assertThat(text(second.logo)).isEqualTo(url);
+        assertThat(storedFiles()).hasSize(1);
+
+        aspect.beforeDelete(joinPoint("delete", first));
+
+        assertThat(fileOf(url)).exists();
+    }
+
+    private void useCallerThreadExecutor() {
+        ReflectionTestUtils.setField(aspect, "uploadExecutor", (Executor) Runnable::run);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static JoinPoint joinPoint(String methodName, Object... args) {
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn(methodName);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(args);
+        return joinPoint;
+    }
+
+    private List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("arquivos_")).toList();
+        }
+    }
+
+    private Path fileOf(String url) {
+        return directory.resolve(url.substring(BASE_URL.length() + 1));
+    }
+
+    private static byte[] dataUrl(String contentType, String content) {
+        return bytes("data:" + contentType + ";base64,"
+                + Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static class Document {
+
+        @Id
+        Long id;
+
+        @StorageField
+        byte[] file;
+
+        @StorageField(deduplicate = true)
+        byte[] logo;
+
+        Document(Long id, byte[] file) {
+            this.id = id;
+            this.file = file;
+        }
+    }
+}
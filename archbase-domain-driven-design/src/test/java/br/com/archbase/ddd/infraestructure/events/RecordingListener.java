@@ -0,0 +1,76 @@
+package br.com.archbase.ddd.infraestructure.events;
+
+import br.com.archbase.ddd.domain.contracts.Event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bean de teste com ouvintes para cada nível da hierarquia de eventos, que anota as chamadas recebidas.
+ */
+public class RecordingListener {
+
+    final List<String> calls = new CopyOnWriteArrayList<>();
+
+    public void onOrderPlaced(OrderPlaced event) {
+        calls.add("orderPlaced:" + event.id());
+    }
+
+    public void onOrderEvent(OrderEvent event) {
+        calls.add("orderEvent:" + event.id());
+    }
+
+    public void onAuditable(Auditable event) {
+        calls.add("auditable:" + event.id());
+    }
+
+    public void onDomainEvent(Event event) {
+        calls.add("event");
+    }
+
+    public void onOrderCancelled(OrderCancelled event) {
+        calls.add("orderCancelled:" + event.id());
+    }
+
+    public void fail(OrderPlaced event) {
+        throw new IllegalStateException("falha no ouvinte");
+    }
+
+    public interface Auditable {
+
+        String id();
+    }
+
+    public static class OrderEvent implements Event {
+
+        private final String id;
+
+        public OrderEvent(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getEventDate() {
+            return LocalDateTime.now();
+        }
+    }
+
+    public static class OrderPlaced extends OrderEvent implements Auditable {
+
+        public OrderPlaced(String id) {
+            super(id);
+        }
+    }
+
+    public static class OrderCancelled extends OrderEvent {
+
+        public OrderCancelled(String id) {
+            super(id);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.archbase.ddd.infraestructure.events;
+
+import br.com.archbase.ddd.domain.contracts.Event;
+import br.com.archbase.ddd.domain.contracts.EventHandler;
+import br.com.archbase.ddd.infraestructure.events.RecordingListener.Auditable;
+import br.com.archbase.ddd.infraestructure.events.RecordingListener.OrderCancelled;
+import br.com.archbase.ddd.infraestructure.events.RecordingListener.OrderEvent;
+import br.com.archbase.ddd.infraestructure.events.RecordingListener.OrderPlaced;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Valida a seleção de manipuladores pelo índice por tipo do {@link SimpleEventPublisher}: supertipos e
+ * interfaces do evento, manipuladores sem tipo, invalidação do cache a cada registro e o executor padrão
+ * dos ouvintes assíncronos.
+ */
+class SimpleEventPublisherTest {
+
+    private final RecordingListener listener = new RecordingListener();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final SimpleEventPublisher publisher = new SimpleEventPublisher();
+
+    @BeforeEach
+    void setUp() {
+        beanFactory.registerSingleton("listener", listener);
+    }
+
+    @Test
+    void deliversEventToHandlersOfItsSupertypesAndInterfaces() throws Exception {
+        register("onOrderPlaced", OrderPlaced.class);
+        register("onOrderEvent", OrderEvent.class);
+        register("onAuditable", Auditable.class);
+        register("onDomainEvent", Event.class);
+        register("onOrderCancelled", OrderCancelled.class);
+
+        publisher.publish(new OrderPlaced("1"));
+
+        assertThat(listener.calls).containsExactlyInAnyOrder("orderPlaced:1", "orderEvent:1", "auditable:1", "event");
+    }
+
+    @Test
+    void doesNotDeliverEventToHandlersOfSubtypesOrSiblings() throws Exception {
+        register("onOrderPlaced", OrderPlaced.class);
+        register("onOrderEvent", OrderEvent.class);
+        register("onOrderCancelled", OrderCancelled.class);
+
+        publisher.publish(new OrderEvent("2"));
+
+        assertThat(listener.calls).containsExactly("orderEvent:2");
+    }
+
+    @Test
+    void refreshesResolvedHandlersWhenAHandlerIsRegistered() throws Exception {
+        register("onOrderEvent", OrderEvent.class);
+        publisher.publish(new OrderPlaced("1"));
+
+        register("onAuditable", Auditable.class);
+        publisher.publish(new OrderPlaced("2"));
+
+        assertThat(listener.calls).containsExactly("orderEvent:1", "orderEvent:2", "auditable:2");
+    }
+
+    @Test
+    void consultsHandlersWithoutKnownTypeThroughCanHandle() {
+        List<Object> handled = new ArrayList<>();
+        publisher.registerEventHandler(new EventHandler() {
+            @Override
+            public boolean canHandle(Object event) {
+                return event instanceof OrderCancelled;
+            }
+
+            @Override
+            public void handle(Object event) {
+                handled.add(event);
+            }
+        });
+        OrderCancelled cancelled = new OrderCancelled("3");
+
+        publisher.publish(new OrderPlaced("1"));
+        publisher.publish(cancelled);
+
+        assertThat(handled).containsExactly(cancelled);
+    }
+
+    @Test
+    void keepsDeliveringToOtherHandlersWhenOneFails() throws Exception {
+        register("fail", OrderPlaced.class);
+        register("onOrderEvent", OrderEvent.class);
+
+        publisher.publish(new OrderPlaced("1"));
+
+        assertThat(listener.calls).containsExactly("orderEvent:1");
+    }
+
+    @Test
+    void limitsConcurrencyOfDefaultAsyncExecutor() {
+        assertThat(publisher.getAsyncExecutor()).isInstanceOfSatisfying(SimpleAsyncTaskExecutor.class, executor -> {
+            assertThat(executor.isThrottleActive()).isTrue();
+            assertThat(executor.getConcurrencyLimit()).isEqualTo(SimpleEventPublisher.DEFAULT_ASYNC_CONCURRENCY_LIMIT);
+        });
+
+        publisher.setAsyncConcurrencyLimit(8);
+
+        assertThat(publisher.getAsyncExecutor()).isInstanceOfSatisfying(SimpleAsyncTaskExecutor.class,
+                executor -> assertThat(executor.getConcurrencyLimit()).isEqualTo(8));
+        assertThatThrownBy(() -> publisher.setAsyncConcurrencyLimit(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keepsConfiguredAsyncExecutorRegardlessOfConcurrencyLimit() {
+        Executor executor = Runnable::run;
+
+        publisher.setAsyncExecutor(executor);
+        publisher.setAsyncConcurrencyLimit(8);
+
+        assertThat(publisher.getAsyncExecutor()).isSameAs(executor);
+    }
+
+    private void register(String methodName, Class<?> eventType) throws NoSuchMethodException {
+        publisher.registerEventHandler(new SpringEventHandler(eventType, "listener",
+                RecordingListener.class.getMethod(methodName, eventType), beanFactory));
+    }
+}
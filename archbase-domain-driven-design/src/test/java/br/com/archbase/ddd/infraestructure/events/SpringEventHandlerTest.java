@@ -0,0 +1,131 @@
+package br.com.archbase.ddd.infraestructure.events;
+
+import br.com.archbase.ddd.infraestructure.events.RecordingListener.OrderPlaced;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Valida a entrega dos eventos pelo {@link SpringEventHandler} e pelo {@link AsynchronousEventHandler}:
+ * adiamento para o commit da transação e execução no executor informado.
+ */
+class SpringEventHandlerTest {
+
+    private final RecordingListener listener = new RecordingListener();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    @BeforeEach
+    void setUp() {
+        beanFactory.registerSingleton("listener", listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void defersAfterCommitListenerUntilTransactionCommits() throws Exception {
+        SpringEventHandler handler = handler("onOrderPlaced", true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        handler.handle(new OrderPlaced("1"));
+
+        assertThat(listener.calls).isEmpty();
+        commit();
+        assertThat(listener.calls).containsExactly("orderPlaced:1");
+    }
+
+    @Test
+    void deliversAfterCommitListenerImmediatelyWithoutTransaction() throws Exception {
+        handler("onOrderPlaced", true).handle(new OrderPlaced("1"));
+
+        assertThat(listener.calls).containsExactly("orderPlaced:1");
+    }
+
+    @Test
+    void deliversRegularListenerImmediatelyInsideTransaction() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        handler("onOrderPlaced", false).handle(new OrderPlaced("1"));
+
+        assertThat(listener.calls).containsExactly("orderPlaced:1");
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+
+    @Test
+    void wrapsListenerFailureForSynchronousHandler() throws Exception {
+        SpringEventHandler handler = handler("fail", false);
+        OrderPlaced event = new OrderPlaced("1");
+
+        assertThatThrownBy(() -> handler.handle(event))
+                .isInstanceOf(ArchbaseEventsException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void runsAsynchronousListenerOnGivenExecutor() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        AsynchronousEventHandler handler = asyncHandler("onOrderPlaced", tasks::add, false);
+
+        handler.handle(new OrderPlaced("1"));
+
+        assertThat(listener.calls).isEmpty();
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+        assertThat(listener.calls).containsExactly("orderPlaced:1");
+    }
+
+    @Test
+    void submitsAsynchronousAfterCommitListenerOnlyOnCommit() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        AsynchronousEventHandler handler = asyncHandler("onOrderPlaced", tasks::add, true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        handler.handle(new OrderPlaced("1"));
+
+        assertThat(tasks).isEmpty();
+        commit();
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+        assertThat(listener.calls).containsExactly("orderPlaced:1");
+    }
+
+    @Test
+    void doesNotPropagateAsynchronousListenerFailure() throws Exception {
+        AsynchronousEventHandler handler = asyncHandler("fail", Runnable::run, false);
+        OrderPlaced event = new OrderPlaced("1");
+
+        assertThatCode(() -> handler.handle(event)).doesNotThrowAnyException();
+    }
+
+    private SpringEventHandler handler(String methodName, boolean afterCommit) throws NoSuchMethodException {
+        return new SpringEventHandler(OrderPlaced.class, "listener",
+                RecordingListener.class.getMethod(methodName, OrderPlaced.class), beanFactory, afterCommit);
+    }
+
+    private AsynchronousEventHandler asyncHandler(String methodName, Executor executor, boolean afterCommit)
+            throws NoSuchMethodException {
+        return new AsynchronousEventHandler(OrderPlaced.class, "listener",
+                RecordingListener.class.getMethod(methodName, OrderPlaced.class), beanFactory, executor, afterCommit);
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+    }
+}
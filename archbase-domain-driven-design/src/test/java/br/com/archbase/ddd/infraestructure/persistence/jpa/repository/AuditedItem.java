@@ -0,0 +1,35 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import org.hibernate.envers.Audited;
+
+@Entity
+@Audited
+public class AuditedItem {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    protected AuditedItem() {
+    }
+
+    public AuditedItem(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
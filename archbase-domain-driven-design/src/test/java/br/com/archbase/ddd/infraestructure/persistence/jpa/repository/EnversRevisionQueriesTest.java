@@ -0,0 +1,222 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.history.Revision;
+import org.springframework.data.history.RevisionSort;
+import org.springframework.data.history.Revisions;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Valida as consultas de revisões em lote e paginadas do {@link EnversRevisionQueries} contra um H2 real.
+ * <p>
+ * Revisões criadas uma única vez para a classe (itens A=1, B=2, C=3):
+ * <ol>
+ *   <li>cria A, B e C;</li>
+ *   <li>altera A ({@code from});</li>
+ *   <li>altera A, B e C na mesma revisão;</li>
+ *   <li>altera B;</li>
+ *   <li>altera C ({@code to}).</li>
+ * </ol>
+ */
+class EnversRevisionQueriesTest {
+
+    private static final long A = 1L;
+    private static final long B = 2L;
+    private static final long C = 3L;
+
+    private static EntityManagerFactory entityManagerFactory;
+    private static Instant from;
+    private static Instant to;
+
+    private EntityManager entityManager;
+    private EnversRevisionQueries<AuditedItem, Long, Integer> queries;
+
+    @BeforeAll
+    static void createRevisions() throws InterruptedException {
+        entityManagerFactory = Persistence.createEntityManagerFactory("dddPU");
+        inTransaction(em -> {
+            em.persist(new AuditedItem(A, "a0"));
+            em.persist(new AuditedItem(B, "b0"));
+            em.persist(new AuditedItem(C, "c0"));
+        });
+        from = pause();
+        inTransaction(em -> em.find(AuditedItem.class, A).setName("a1"));
+        inTransaction(em -> {
+            em.find(AuditedItem.class, A).setName("a2");
+            em.find(AuditedItem.class, B).setName("b1");
+            em.find(AuditedItem.class, C).setName("c1");
+        });
+        inTransaction(em -> em.find(AuditedItem.class, B).setName("b2"));
+        to = pause();
+        inTransaction(em -> em.find(AuditedItem.class, C).setName("c2"));
+    }
+
+    @AfterAll
+    static void shutdownJpa() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        @SuppressWarnings("unchecked")
+        JpaEntityInformation<AuditedItem, Long> entityInformation = (JpaEntityInformation<AuditedItem, Long>)
+                JpaEntityInformationSupport.getEntityInformation(AuditedItem.class, entityManager);
+        queries = new EnversRevisionQueries<>(entityInformation, entityManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (entityManager.getTransaction().isActive()) {
+            entityManager.getTransaction().rollback();
+        }
+        entityManager.close();
+    }
+
+    @Test
+    void findsRevisionsOfManyIdsAcrossBatches() {
+        List<Long> ids = new ArrayList<>(List.of(C, A, B, A));
+        LongStream.rangeClosed(100, 100 + EnversRevisionQueries.ID_BATCH_SIZE).forEach(ids::add);
+
+        Map<Long, Revisions<Integer, AuditedItem>> revisions = queries.findRevisionsByIds(ids);
+
+        assertThat(revisions).hasSize(3 + EnversRevisionQueries.ID_BATCH_SIZE + 1);
+        assertThat(revisions.keySet()).startsWith(C, A, B);
+        assertThat(numbers(revisions.get(A).getContent())).containsExactly(1, 2, 3);
+        assertThat(numbers(revisions.get(B).getContent())).containsExactly(1, 3, 4);
+        assertThat(numbers(revisions.get(C).getContent())).containsExactly(1, 3, 5);
+        assertThat(revisions.get(A).getLatestRevision().getEntity().getName()).isEqualTo("a2");
+        assertThat(revisions.get(100L + EnversRevisionQueries.ID_BATCH_SIZE).getContent()).isEmpty();
+    }
+
+    @Test
+    void findsLastChangeRevisionOfEachId() {
+        Map<Long, Revision<Integer, AuditedItem>> revisions = queries.findLastChangeRevisions(List.of(A, B, C, 99L));
+
+        assertThat(revisions).containsOnlyKeys(A, B, C);
+        assertThat(revisions.get(A).getRequiredRevisionNumber()).isEqualTo(3);
+        assertThat(revisions.get(B).getRequiredRevisionNumber()).isEqualTo(4);
+        assertThat(revisions.get(C).getRequiredRevisionNumber()).isEqualTo(5);
+        assertThat(revisions.get(C).getEntity().getName()).isEqualTo("c2");
+        assertThat(revisions.get(C).getRequiredRevisionInstant()).isAfterOrEqualTo(to);
+    }
+
+    @Test
+    void pagesRevisionsOfOneId() {
+        Page<Revision<Integer, AuditedItem>> firstPage = queries.findRevisions(A, PageRequest.of(0, 2));
+        Page<Revision<Integer, AuditedItem>> descending = queries.findRevisions(A, PageRequest.of(0, 2, RevisionSort.desc()));
+        Page<Revision<Integer, AuditedItem>> whole = queries.findRevisions(A, PageRequest.of(0, 10));
+
+        assertThat(numbers(firstPage.getContent())).containsExactly(1, 2);
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(numbers(descending.getContent())).containsExactly(3, 2);
+        assertThat(numbers(whole.getContent())).containsExactly(1, 2, 3);
+        assertThat(whole.getTotalElements()).isEqualTo(3);
+        assertThat(queries.findLastChangeRevision(A)).hasValueSatisfying(
+                revision -> assertThat(revision.getRequiredRevisionNumber()).isEqualTo(3));
+    }
+
+    @Test
+    void pagesRevisionsBetweenInstantsWithoutSplittingRevisions() {
+        List<List<Integer>> windows = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Revision<Integer, AuditedItem>> window;
+        do {
+            window = queries.findRevisionsBetween(from, to, position, 2);
+            windows.add(numbers(window.getContent()));
+            position = window.positionAt(window.size() - 1);
+        } while (window.hasNext());
+
+        assertThat(windows).containsExactly(List.of(2), List.of(3, 3, 3), List.of(4));
+    }
+
+    @Test
+    void returnsEmptyWindowForEmptyInterval() {
+        Window<Revision<Integer, AuditedItem>> window = queries.findRevisionsBetween(from, from, ScrollPosition.keyset(), 10);
+
+        assertThat(window.isEmpty()).isTrue();
+        assertThat(window.hasNext()).isFalse();
+    }
+
+    @Test
+    void streamsRevisionsBetweenInstantsInChunks() {
+        try (Stream<Revision<Integer, AuditedItem>> stream = queries.streamRevisionsBetween(from, to, 1)) {
+            assertThat(numbers(stream.toList())).containsExactly(2, 3, 3, 3, 4);
+        }
+        try (Stream<Revision<Integer, AuditedItem>> stream = queries.streamRevisionsBetween(null, null, 2)) {
+            assertThat(numbers(stream.toList())).containsExactly(1, 1, 1, 2, 3, 3, 3, 4, 5);
+        }
+    }
+
+    @Test
+    void streamDetachesOnlyWhatItLoadedAndKeepsCallerEntitiesManaged() {
+        AuditedItem item = entityManager.find(AuditedItem.class, A);
+        item.setName("pendente");
+        int managedBefore = managedEntities();
+
+        try (Stream<Revision<Integer, AuditedItem>> stream = queries.streamRevisionsBetween(from, to, 1)) {
+            assertThat(stream.count()).isEqualTo(5);
+        }
+
+        assertThat(entityManager.contains(item)).isTrue();
+        assertThat(managedEntities()).isEqualTo(managedBefore);
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(entityManager.find(AuditedItem.class, A).getName()).isEqualTo("pendente");
+    }
+
+    private int managedEntities() {
+        return entityManager.unwrap(SessionImplementor.class).getPersistenceContext().getNumberOfManagedEntities();
+    }
+
+    private static List<Integer> numbers(List<Revision<Integer, AuditedItem>> revisions) {
+        return revisions.stream().map(Revision::getRequiredRevisionNumber).toList();
+    }
+
+    private static void inTransaction(Consumer<EntityManager> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            work.accept(em);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Separa os timestamps das revisões vizinhas, gravados em milissegundos.
+     */
+    private static Instant pause() throws InterruptedException {
+        Thread.sleep(20);
+        Instant instant = Instant.now();
+        Thread.sleep(20);
+        return instant;
+    }
+}
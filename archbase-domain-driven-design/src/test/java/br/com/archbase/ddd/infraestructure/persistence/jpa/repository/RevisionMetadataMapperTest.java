@@ -0,0 +1,42 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import org.hibernate.envers.RevisionNumber;
+import org.hibernate.envers.RevisionTimestamp;
+import org.hibernate.envers.RevisionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.history.RevisionMetadata;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevisionMetadataMapperTest {
+
+    @Test
+    void convertsLocalDateTimeTimestampUsingSystemZone() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 10, 14, 30);
+        CustomRevision revision = new CustomRevision(7, timestamp);
+
+        RevisionMetadata<Integer> metadata = RevisionMetadataMapper.createMetadata(revision, RevisionType.MOD);
+
+        assertThat(metadata.getRequiredRevisionNumber()).isEqualTo(7);
+        assertThat(metadata.getRequiredRevisionInstant()).isEqualTo(timestamp.atZone(ZoneId.systemDefault()).toInstant());
+        assertThat(metadata.getRevisionType()).isEqualTo(RevisionMetadata.RevisionType.UPDATE);
+        assertThat((Object) metadata.getDelegate()).isSameAs(revision);
+    }
+
+    static class CustomRevision {
+
+        @RevisionNumber
+        private final int id;
+
+        @RevisionTimestamp
+        private final LocalDateTime createdAt;
+
+        CustomRevision(int id, LocalDateTime createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Valida o streaming em blocos do {@link ScrollableResultsStream} contra um H2 real: todas as linhas
+ * são entregues, as linhas já consumidas são destacadas do contexto de persistência a cada bloco e
+ * as entidades que o chamador já gerenciava (com alterações pendentes) não são afetadas.
+ */
+class ScrollableResultsStreamTest {
+
+    private static final int ROWS = 25;
+
+    private static EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    @BeforeAll
+    static void bootstrapJpa() {
+        entityManagerFactory = Persistence.createEntityManagerFactory("dddPU");
+    }
+
+    @AfterAll
+    static void shutdownJpa() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createQuery("delete from StreamedItem").executeUpdate();
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(new StreamedItem("item-" + i));
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (entityManager.getTransaction().isActive()) {
+            entityManager.getTransaction().rollback();
+        }
+        entityManager.close();
+    }
+
+    @Test
+    void streamsEveryRowAcrossChunks() {
+        entityManager.getTransaction().begin();
+        try (Stream<StreamedItem> stream = ScrollableResultsStream.of(orderedItems(), entityManager, 10)) {
+            List<String> names = stream.map(StreamedItem::getName).toList();
+
+            assertThat(names).hasSize(ROWS).startsWith("item-0").endsWith("item-" + (ROWS - 1));
+        }
+    }
+
+    @Test
+    void detachesStreamedRowsOnceTheirChunkIsConsumed() {
+        entityManager.getTransaction().begin();
+        try (Stream<StreamedItem> stream = ScrollableResultsStream.of(orderedItems(), entityManager, 10)) {
+            Iterator<StreamedItem> iterator = stream.iterator();
+            List<StreamedItem> firstChunk = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                firstChunk.add(iterator.next());
+            }
+            assertThat(firstChunk).allMatch(entityManager::contains);
+
+            StreamedItem firstOfNextChunk = iterator.next();
+
+            assertThat(firstChunk).noneMatch(entityManager::contains);
+            assertThat(entityManager.contains(firstOfNextChunk)).isTrue();
+
+            iterator.forEachRemaining(item -> { });
+            assertThat(entityManager.contains(firstOfNextChunk)).isFalse();
+        }
+    }
+
+    @Test
+    void keepsEntitiesAlreadyManagedByTheCallerWithTheirPendingChanges() {
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+        entityManager.getTransaction().begin();
+        StreamedItem edited = entityManager.createQuery(
+                        "select i from StreamedItem i where i.name = 'item-3'", StreamedItem.class)
+                .getSingleResult();
+        edited.setName("editado");
+
+        try (Stream<StreamedItem> stream = ScrollableResultsStream.of(orderedItems(), entityManager, 4)) {
+            assertThat(stream.count()).isEqualTo(ROWS);
+        }
+
+        assertThat(entityManager.contains(edited)).isTrue();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        assertThat(entityManager.find(StreamedItem.class, edited.getId()).getName()).isEqualTo("editado");
+    }
+
+    @Test
+    void streamsProjectionsWithoutTouchingThePersistenceContext() {
+        entityManager.getTransaction().begin();
+        var query = entityManager.createQuery("select i.name from StreamedItem i order by i.id", String.class);
+
+        try (Stream<String> stream = ScrollableResultsStream.of(query, entityManager, 7)) {
+            assertThat(stream.toList()).hasSize(ROWS).first().isEqualTo("item-0");
+        }
+    }
+
+    private TypedQuery<StreamedItem> orderedItems() {
+        return entityManager.createQuery("select i from StreamedItem i order by i.id", StreamedItem.class);
+    }
+}
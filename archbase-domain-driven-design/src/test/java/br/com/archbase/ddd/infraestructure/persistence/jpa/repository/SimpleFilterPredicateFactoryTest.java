@@ -0,0 +1,205 @@
+package br.com.archbase.ddd.infraestructure.persistence.jpa.repository;
+
+import br.com.archbase.ddd.infraestructure.persistence.jpa.repository.SimpleMultipleFieldsFilter.SearchMode;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.DatePath;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.StringPath;
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Valida os predicados da busca rápida: conversão de números e datas (valor único, lista e intervalo), descarte de
+ * valores que não convertem, modos de busca texto e os índices sugeridos por
+ * {@link SimpleFilterPredicateFactory#indexHints(Class, String, SearchMode)}.
+ */
+class SimpleFilterPredicateFactoryTest {
+
+    private final PathBuilder<Produto> path = new PathBuilder<>(Produto.class, "produto");
+
+    @AfterEach
+    void tearDown() {
+        SimpleFilterPredicateFactory.setFullTextSearchStrategy(null);
+    }
+
+    @Test
+    void parsesIntegerValuesListsAndRanges() {
+        NumberPath<Integer> quantidade = path.getNumber("quantidade", Integer.class);
+
+        assertThat(predicate("quantidade", " 5 ")).isEqualTo(quantidade.eq(5));
+        assertThat(predicate("quantidade", "1,2")).isEqualTo(quantidade.eq(1).or(quantidade.eq(2)));
+        assertThat(predicate("quantidade", "1:10")).isEqualTo(quantidade.between(1, 10));
+    }
+
+    @Test
+    void ignoresNumbersThatDoNotParse() {
+        assertThat(predicate("quantidade", "abc")).isNull();
+        assertThat(predicate("quantidade", "1,abc")).isNull();
+        assertThat(predicate("quantidade", "1:abc")).isNull();
+        assertThat(predicate("quantidade", "99999999999")).isNull();
+        assertThat(predicate("quantidade", "1.5")).isNull();
+        assertThat(predicate("preco", "1e9999999999")).isNull();
+        assertThat(predicate("preco", "1:1e9999999999")).isNull();
+    }
+
+    @Test
+    void parsesLongBigIntegerAndBigDecimal() {
+        assertThat(predicate("codigo", "99999999999"))
+                .isEqualTo(path.getNumber("codigo", Long.class).eq(99_999_999_999L));
+        assertThat(predicate("total", "123456789012345678901234567890"))
+                .isEqualTo(path.getNumber("total", BigInteger.class).eq(new BigInteger("123456789012345678901234567890")));
+
+        NumberPath<BigDecimal> preco = path.getNumber("preco", BigDecimal.class);
+        assertThat(predicate("preco", "10.50")).isEqualTo(preco.eq(new BigDecimal("10.50")));
+        assertThat(predicate("preco", "1e3")).isEqualTo(preco.eq(new BigDecimal("1e3")));
+        assertThat(predicate("preco", "1.5:.75")).isEqualTo(preco.between(new BigDecimal("1.5"), new BigDecimal(".75")));
+        assertThat(predicate("preco", "10,5x")).isNull();
+    }
+
+    @Test
+    void parsesLocalDateValuesListsAndRanges() {
+        DatePath<LocalDate> validade = path.getDate("validade", LocalDate.class);
+        LocalDate natal = LocalDate.of(2024, 12, 25);
+        LocalDate reveillon = LocalDate.of(2024, 12, 31);
+
+        assertThat(predicate("validade", "25/12/2024")).isEqualTo(validade.eq(natal));
+        assertThat(predicate("validade", "25/12/2024,31/12/2024")).isEqualTo(validade.eq(natal).or(validade.eq(reveillon)));
+        assertThat(predicate("validade", "25/12/2024:31/12/2024")).isEqualTo(validade.between(natal, reveillon));
+        assertThat(predicate("validade", "2024-12-25")).isNull();
+        assertThat(predicate("validade", "25/12/2024,ontem")).isNull();
+    }
+
+    @Test
+    void parsesDateListsAtStartOfDay() {
+        DatePath<Date> cadastro = path.getDate("cadastro", Date.class);
+        Date inicio = SimpleFilterPredicateFactory.convertToDateViaInstant(LocalDate.of(2024, 1, 1));
+        Date fim = SimpleFilterPredicateFactory.convertToDateViaInstant(LocalDate.of(2024, 1, 31));
+
+        assertThat(predicate("cadastro", "01/01/2024")).isEqualTo(cadastro.eq(inicio));
+        assertThat(predicate("cadastro", "01/01/2024,31/01/2024")).isEqualTo(cadastro.eq(inicio).or(cadastro.eq(fim)));
+        assertThat(predicate("cadastro", "01/01/2024:31/01/2024")).isEqualTo(cadastro.between(inicio, fim));
+    }
+
+    @Test
+    void parsesLocalDateTimeValuesListsAndRanges() {
+        DateTimePath<LocalDateTime> atualizadoEm = path.getDateTime("atualizadoEm", LocalDateTime.class);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 8, 30, 0);
+        LocalDateTime fim = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+
+        assertThat(predicate("atualizadoEm", "01/01/2024 08:30:00")).isEqualTo(atualizadoEm.eq(inicio));
+        assertThat(predicate("atualizadoEm", "01/01/2024 08:30:00:31/01/2024 23:59:59"))
+                .isEqualTo(atualizadoEm.between(inicio, fim));
+        assertThat(predicate("atualizadoEm", "01/01/2024 08:30:00,31/01/2024 23:59:59"))
+                .isEqualTo(atualizadoEm.eq(inicio).or(atualizadoEm.eq(fim)));
+        assertThat(predicate("atualizadoEm", "01/01/2024")).isNull();
+    }
+
+    @Test
+    void matchesStringFieldsAccordingToSearchMode() {
+        StringPath nome = path.getString("nome");
+
+        assertThat(predicate("nome", "caneta")).isEqualTo(nome.containsIgnoreCase("caneta"));
+        assertThat(predicate("nome", "caneta,lápis")).isEqualTo(nome.containsIgnoreCase("caneta").or(nome.containsIgnoreCase("lápis")));
+        assertThat(predicate("nome", "can", SearchMode.PREFIX)).isEqualTo(nome.startsWithIgnoreCase("can"));
+        assertThat(predicate("nome", "caneta", SearchMode.FULL_TEXT)).isEqualTo(nome.containsIgnoreCase("caneta"));
+    }
+
+    @Test
+    void delegatesFullTextModeToConfiguredStrategy() {
+        PostgresFullTextSearchStrategy strategy = new PostgresFullTextSearchStrategy("portuguese");
+        SimpleFilterPredicateFactory.setFullTextSearchStrategy(strategy);
+        StringPath nome = path.getString("nome");
+
+        assertThat(predicate("nome", "caneta azul", SearchMode.FULL_TEXT)).isEqualTo(strategy.createPredicate(nome, "caneta azul"));
+        assertThat(predicate("nome", "caneta azul", SearchMode.FULL_TEXT).toString())
+                .contains(ArchbaseSearchFunctionContributor.FULL_TEXT_FUNCTION).contains("'portuguese'");
+        assertThat(predicate("nome", "can", SearchMode.PREFIX)).isEqualTo(nome.startsWithIgnoreCase("can"));
+    }
+
+    @Test
+    void resolvesFieldsIgnoringCaseAndSkipsUnknownOrUnsupported() {
+        assertThat(predicate("QUANTIDADE", "5")).isEqualTo(path.getNumber("quantidade", Integer.class).eq(5));
+        assertThat(predicate("inexistente", "5")).isNull();
+        assertThat(predicate("ativo", "true")).isNull();
+    }
+
+    @Test
+    void buildsNestedFieldPredicates() {
+        assertThat(predicate("categoria.nome", "escritório", SearchMode.PREFIX))
+                .isEqualTo(path.get("categoria", Object.class).getString("nome").startsWithIgnoreCase("escritório"));
+    }
+
+    @Test
+    void suggestsLowerTextPatternIndexesForPrefixMode() {
+        assertThat(SimpleFilterPredicateFactory.indexHints(Produto.class, "nome, descricaoCurta,quantidade,categoria.nome", SearchMode.PREFIX))
+                .containsExactly(
+                        "CREATE INDEX IF NOT EXISTS idx_produtos_nome_lower ON produtos (lower(nome) text_pattern_ops)",
+                        "CREATE INDEX IF NOT EXISTS idx_produtos_descricao_curta_lower ON produtos (lower(descricao_curta) text_pattern_ops)");
+        assertThat(SimpleFilterPredicateFactory.indexHints(ItemPedido.class, "nomeProduto", SearchMode.PREFIX))
+                .containsExactly("CREATE INDEX IF NOT EXISTS idx_item_pedido_nome_produto_lower ON item_pedido (lower(nome_produto) text_pattern_ops)");
+    }
+
+    @Test
+    void suggestsIndexesOfFullTextStrategy() {
+        assertThat(SimpleFilterPredicateFactory.indexHints(Produto.class, "nome", SearchMode.FULL_TEXT)).isEmpty();
+        assertThat(SimpleFilterPredicateFactory.indexHints(Produto.class, "nome", SearchMode.CONTAINS)).isEmpty();
+
+        SimpleFilterPredicateFactory.setFullTextSearchStrategy(new PostgresTrigramSearchStrategy());
+        assertThat(SimpleFilterPredicateFactory.indexHints(Produto.class, "nome,descricaoCurta", SearchMode.FULL_TEXT))
+                .containsExactly(
+                        "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+                        "CREATE INDEX IF NOT EXISTS idx_produtos_nome_trgm ON produtos USING gin (lower(nome) gin_trgm_ops)",
+                        "CREATE INDEX IF NOT EXISTS idx_produtos_descricao_curta_trgm ON produtos USING gin (lower(descricao_curta) gin_trgm_ops)");
+
+        SimpleFilterPredicateFactory.setFullTextSearchStrategy(new PostgresFullTextSearchStrategy());
+        assertThat(SimpleFilterPredicateFactory.indexHints(Produto.class, "nome", SearchMode.FULL_TEXT))
+                .containsExactly("CREATE INDEX IF NOT EXISTS idx_produtos_nome_fts ON produtos USING gin (to_tsvector('simple', nome))");
+    }
+
+    @Test
+    void rejectsInvalidTextSearchConfiguration() {
+        assertThatThrownBy(() -> new PostgresFullTextSearchStrategy("simple'); drop table x; --"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Predicate predicate(String field, String value) {
+        return SimpleFilterPredicateFactory.createPredicate(path, Produto.class, field, value).getValue();
+    }
+
+    private Predicate predicate(String field, String value, SearchMode mode) {
+        return SimpleFilterPredicateFactory.createPredicate(path, Produto.class, field, value, mode).getValue();
+    }
+
+    @Table(name = "produtos")
+    static class Produto {
+        String nome;
+        @Column(name = "descricao_curta")
+        String descricaoCurta;
+        Integer quantidade;
+        long codigo;
+        BigInteger total;
+        BigDecimal preco;
+        LocalDate validade;
+        Date cadastro;
+        LocalDateTime atualizadoEm;
+        Boolean ativo;
+        Object categoria;
+    }
+
+    static class ItemPedido {
+        String nomeProduto;
+    }
+}
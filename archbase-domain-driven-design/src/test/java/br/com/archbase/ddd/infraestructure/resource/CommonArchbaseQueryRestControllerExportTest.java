@@ -0,0 +1,90 @@
+package br.com.archbase.ddd.infraestructure.resource;
+
+import br.com.archbase.ddd.domain.contracts.Repository;
+import br.com.archbase.ddd.infraestructure.service.CommonArchbaseService;
+import br.com.archbase.query.rsql.common.RSQLCommonSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Valida a exportação NDJSON do {@link CommonArchbaseQueryRestController}: cada registro do stream
+ * vira uma linha JSON e o {@code fetchSize} informado pelo cliente é limitado como o tamanho de
+ * página.
+ */
+class CommonArchbaseQueryRestControllerExportTest {
+
+    record Item(long id, String name) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private final Repository<Item, Long, Long> repository = mock(Repository.class);
+
+    private final CommonArchbaseQueryRestController<Item, Long, Long> controller =
+            new CommonArchbaseQueryRestController<>() {
+                @Override
+                public CommonArchbaseService<Item, Long, Long> getService() {
+                    return null;
+                }
+
+                @Override
+                public Repository<Item, Long, Long> getRepository() {
+                    return repository;
+                }
+
+                @Override
+                protected Page<Item> createConcretePage(List<Item> content, Pageable pageRequest, long totalElements) {
+                    return new PageImpl<>(content, pageRequest, totalElements);
+                }
+
+                @Override
+                protected List<Item> createConcreteList(List<Item> result) {
+                    return result;
+                }
+            };
+
+    @AfterEach
+    void restoreMaxPageSize() {
+        RSQLCommonSupport.setMaxPageSize(1000);
+    }
+
+    @Test
+    void writesOneJsonLinePerStreamedRow() throws Exception {
+        when(repository.streamAll(any(), any(), anyInt()))
+                .thenReturn(Stream.of(new Item(1, "a"), new Item(2, "b")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.export("name==a,name==b", null, 100, response);
+
+        assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(response.getContentAsString().split("\n"))
+                .containsExactly("{\"id\":1,\"name\":\"a\"}", "{\"id\":2,\"name\":\"b\"}");
+        verify(repository).streamAll("name==a,name==b", Sort.unsorted(), 100);
+    }
+
+    @Test
+    void clampsFetchSizeToTheMaximumPageSize() throws Exception {
+        RSQLCommonSupport.setMaxPageSize(500);
+        when(repository.streamAll(any(), any(), anyInt())).thenReturn(Stream.empty());
+
+        controller.export(null, null, 1_000_000, new MockHttpServletResponse());
+
+        verify(repository).streamAll(eq(null), eq(Sort.unsorted()), eq(500));
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.archbase.event.driven.benchmark;
+
+import br.com.archbase.event.driven.bus.autoscan.AutoScanHandlerFactory;
+import br.com.archbase.event.driven.bus.autoscan.BeanFactory;
+import br.com.archbase.event.driven.bus.command.SimpleCommandBus;
+import br.com.archbase.event.driven.spec.annotations.HandlerLifecycle;
+import br.com.archbase.event.driven.spec.command.contracts.Command;
+import br.com.archbase.event.driven.spec.command.contracts.CommandHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de despacho de um comando pelo {@link SimpleCommandBus} com cada ciclo de vida de
+ * manipulador. {@code PROTOTYPE} reproduz o comportamento anterior, em que o manipulador era criado
+ * pelo {@link BeanFactory} a cada despacho.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl archbase-event-driven-benchmark -am package
+ * java -jar archbase-event-driven-benchmark/target/benchmarks.jar HandlerDispatchBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandlerDispatchBenchmark {
+
+    @Param({"SINGLETON", "PROTOTYPE", "POOLED"})
+    public HandlerLifecycle.Scope lifecycle;
+
+    private AutoScanHandlerFactory factory;
+    private SimpleCommandBus commandBus;
+    private final PlaceOrder command = new PlaceOrder(42);
+
+    @Setup
+    public void setup() {
+        factory = new AutoScanHandlerFactory(new ReflectiveBeanFactory());
+        factory.setDefaultLifecycle(lifecycle);
+        factory.registerCommandHandler(PlaceOrder.class, PlaceOrderHandler.class);
+        commandBus = new SimpleCommandBus(factory, List.of());
+    }
+
+    @Benchmark
+    public Integer dispatch() {
+        return commandBus.dispatch(command);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer dispatchConcurrent() {
+        return commandBus.dispatch(command);
+    }
+
+    @Benchmark
+    public void resolveHandler(Blackhole blackhole) {
+        blackhole.consume(factory.createCommandHandler(PlaceOrder.class.getName()));
+    }
+
+    public record PlaceOrder(int quantity) implements Command<Integer> {
+    }
+
+    public static class PlaceOrderHandler implements CommandHandler<PlaceOrder, Integer> {
+
+        @Override
+        public Integer handle(PlaceOrder command) {
+            return command.quantity() * 2;
+        }
+    }
+
+    static class ReflectiveBeanFactory implements BeanFactory {
+
+        @Override
+        public <R> R createBean(Class<R> beanClass) {
+            try {
+                return beanClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
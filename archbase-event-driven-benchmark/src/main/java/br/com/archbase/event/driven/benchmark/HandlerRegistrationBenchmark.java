@@ -0,0 +1,112 @@
+package br.com.archbase.event.driven.benchmark;
+
+import br.com.archbase.event.driven.bus.autoscan.AutoScanHandlerFactory;
+import br.com.archbase.event.driven.spec.annotations.CommandMapping;
+import br.com.archbase.event.driven.spec.annotations.QueryMapping;
+import br.com.archbase.event.driven.spec.command.contracts.Command;
+import br.com.archbase.event.driven.spec.command.contracts.CommandHandler;
+import br.com.archbase.event.driven.spec.query.contracts.Query;
+import br.com.archbase.event.driven.spec.query.contracts.QueryHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Custo de inicialização do {@link AutoScanHandlerFactory#scanAndRegisterHandlers(String)}: registro
+ * a partir do índice gerado em tempo de compilação ({@code META-INF/archbase/handlers.idx}) contra a
+ * varredura do classpath com Reflections. O índice é gravado em um diretório temporário e exposto
+ * pelo class loader de contexto, como faria o jar da aplicação.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl archbase-event-driven-benchmark -am package
+ * java -jar archbase-event-driven-benchmark/target/benchmarks.jar HandlerRegistrationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandlerRegistrationBenchmark {
+
+    private static final String PACKAGE = HandlerRegistrationBenchmark.class.getPackageName();
+
+    private Path indexDirectory;
+    private URLClassLoader indexClassLoader;
+
+    @Setup
+    public void setup() throws IOException {
+        indexDirectory = Files.createTempDirectory("archbase-index");
+        Path index = indexDirectory.resolve("META-INF/archbase/handlers.idx");
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(
+                "query\t" + FindOrder.class.getName() + "\t" + FindOrderHandler.class.getName(),
+                "command\t" + PlaceOrder.class.getName() + "\t" + PlaceOrderHandler.class.getName()));
+        indexClassLoader = new URLClassLoader(new URL[]{indexDirectory.toUri().toURL()},
+                HandlerRegistrationBenchmark.class.getClassLoader());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        indexClassLoader.close();
+        try (Stream<Path> files = Files.walk(indexDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public AutoScanHandlerFactory index() {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(indexClassLoader);
+        try {
+            return register();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Benchmark
+    public AutoScanHandlerFactory reflections() {
+        return register();
+    }
+
+    private static AutoScanHandlerFactory register() {
+        AutoScanHandlerFactory factory = new AutoScanHandlerFactory(new HandlerDispatchBenchmark.ReflectiveBeanFactory());
+        factory.scanAndRegisterHandlers(PACKAGE);
+        return factory;
+    }
+
+    public static class FindOrder implements Query<String> {
+    }
+
+    public static class PlaceOrder implements Command<String> {
+    }
+
+    @QueryMapping(FindOrder.class)
+    public static class FindOrderHandler implements QueryHandler<FindOrder, String> {
+        @Override
+        public String handle(FindOrder query) {
+            return "order";
+        }
+    }
+
+    @CommandMapping(PlaceOrder.class)
+    public static class PlaceOrderHandler implements CommandHandler<PlaceOrder, String> {
+        @Override
+        public String handle(PlaceOrder command) {
+            return "placed";
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.archbase.event.driven.benchmark;
+
+import br.com.archbase.event.driven.bus.message.SimpleMessageBus;
+import br.com.archbase.event.driven.spec.message.contracts.Message;
+import br.com.archbase.event.driven.spec.message.contracts.MessageBus;
+import br.com.archbase.event.driven.spec.message.contracts.MessageHandler;
+import br.com.archbase.event.driven.spec.message.contracts.MessageHandlerFactory;
+import br.com.archbase.event.driven.spec.middleware.contracts.Middleware;
+import br.com.archbase.event.driven.spec.middleware.contracts.NextMiddlewareFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de despachar uma mensagem por uma cadeia de middlewares no {@link SimpleMessageBus}.
+ * {@code PER_DISPATCH} reproduz o comportamento anterior, em que a cadeia era montada com uma nova
+ * função por middleware a cada despacho; {@code PRECOMPILED} usa a cadeia montada na construção do
+ * barramento. Execute com o profiler de GC para comparar a alocação por mensagem.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl archbase-event-driven-benchmark -am package
+ * java -jar archbase-event-driven-benchmark/target/benchmarks.jar MessageBusDispatchBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageBusDispatchBenchmark {
+
+    public enum Strategy {
+        PRECOMPILED, PER_DISPATCH
+    }
+
+    @Param({"PRECOMPILED", "PER_DISPATCH"})
+    public Strategy strategy;
+
+    @Param({"0", "3"})
+    public int middlewares;
+
+    private MessageBus messageBus;
+    private final Ping ping = new Ping();
+
+    @Setup
+    public void setup() {
+        List<Middleware> pipeline = new ArrayList<>();
+        for (int i = 0; i < middlewares; i++) {
+            pipeline.add(new PassThroughMiddleware());
+        }
+        messageBus = strategy == Strategy.PRECOMPILED
+                ? new SimpleMessageBus(new PongHandlerFactory(), pipeline, true)
+                : new PerDispatchMessageBus(new PongHandlerFactory(), pipeline);
+    }
+
+    @Benchmark
+    public String dispatch() {
+        return messageBus.dispatch(ping);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String dispatchConcurrent() {
+        return messageBus.dispatch(ping);
+    }
+
+    public static class Ping implements Message<String> {
+    }
+
+    static class PongHandlerFactory implements MessageHandlerFactory {
+        private final MessageHandler<Message<Object>, Object> handler = message -> "pong";
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> MessageHandler<Message<R>, R> createHandler(String messageName) {
+            return (MessageHandler<Message<R>, R>) (MessageHandler<?, ?>) handler;
+        }
+    }
+
+    static class PassThroughMiddleware implements Middleware {
+        @Override
+        public <R> R handle(Message<R> message, NextMiddlewareFunction<Message<R>, R> next) {
+            return next.call(message);
+        }
+    }
+
+    /**
+     * Reprodução da estratégia anterior: uma nova função por middleware e o manipulador resolvido na
+     * fábrica a cada despacho.
+     */
+    static class PerDispatchMessageBus implements MessageBus {
+        private final MessageHandlerFactory messageHandlerFactory;
+        private final List<Middleware> middlewarePipeline;
+
+        PerDispatchMessageBus(MessageHandlerFactory messageHandlerFactory, List<Middleware> middlewarePipeline) {
+            this.messageHandlerFactory = messageHandlerFactory;
+            this.middlewarePipeline = new ArrayList<>(middlewarePipeline);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> R dispatch(Message<R> message) {
+            return (R) getNext(0).call((Message<Object>) message);
+        }
+
+        private <R> NextMiddlewareFunction<Message<R>, R> getNext(int index) {
+            if (index < middlewarePipeline.size()) {
+                return message -> middlewarePipeline.get(index).handle(message, getNext(index + 1));
+            }
+            return message -> {
+                MessageHandler<Message<R>, R> handler = messageHandlerFactory.createHandler(message.getClass().getName());
+                return handler.handle(message);
+            };
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.archbase.event.driven.benchmark;
+
+import br.com.archbase.event.driven.bus.middleware.metrics.MetricsMiddleware;
+import br.com.archbase.event.driven.spec.command.contracts.Command;
+import br.com.archbase.event.driven.spec.message.contracts.Message;
+import br.com.archbase.event.driven.spec.middleware.contracts.Middleware;
+import br.com.archbase.event.driven.spec.middleware.contracts.NextMiddlewareFunction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de registrar as métricas de uma mensagem pelo {@link MetricsMiddleware}. {@code REFLECTIVE}
+ * reproduz o comportamento anterior, em que os medidores eram montados e registrados por reflexão a
+ * cada mensagem; {@code CACHED} usa os medidores registrados uma única vez. Execute com o profiler
+ * de GC para comparar a alocação por mensagem.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl archbase-event-driven-benchmark -am package
+ * java -jar archbase-event-driven-benchmark/target/benchmarks.jar MetricsMiddlewareBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsMiddlewareBenchmark {
+
+    public enum Strategy {
+        CACHED, REFLECTIVE
+    }
+
+    @Param({"CACHED", "REFLECTIVE"})
+    public Strategy strategy;
+
+    private Middleware middleware;
+    private final PlaceOrder command = new PlaceOrder();
+    private final NextMiddlewareFunction<Message<String>, String> next = message -> "ok";
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        middleware = strategy == Strategy.CACHED
+                ? new MetricsMiddleware(registry, "command")
+                : new ReflectiveMetricsMiddleware(registry);
+    }
+
+    @Benchmark
+    public String handle() {
+        return middleware.handle(command, next);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String handleConcurrent() {
+        return middleware.handle(command, next);
+    }
+
+    public static class PlaceOrder implements Command<String> {
+    }
+
+    /**
+     * Reprodução da estratégia anterior: medidores montados e registrados por reflexão a cada
+     * mensagem.
+     */
+    static class ReflectiveMetricsMiddleware implements Middleware {
+        private final Object meterRegistry;
+
+        ReflectiveMetricsMiddleware(Object meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public <R> R handle(Message<R> message, NextMiddlewareFunction<Message<R>, R> next) {
+            long start = System.nanoTime();
+            R result = next.call(message);
+            try {
+                String name = message.getClass().getSimpleName();
+                Class<?> registryClass = Class.forName("io.micrometer.core.instrument.MeterRegistry");
+                Class<?> counterBuilderClass = Class.forName("io.micrometer.core.instrument.Counter$Builder");
+                for (String counterName : new String[]{"archbase.command.success", "archbase.command.dispatched"}) {
+                    Object builder = Counter.class.getMethod("builder", String.class).invoke(null, counterName);
+                    builder = counterBuilderClass.getMethod("tag", String.class, String.class).invoke(builder, "type", "command");
+                    builder = counterBuilderClass.getMethod("tag", String.class, String.class).invoke(builder, "message", name);
+                    Object counter = counterBuilderClass.getMethod("register", registryClass).invoke(builder, meterRegistry);
+                    Counter.class.getMethod("increment").invoke(counter);
+                }
+                Class<?> timerBuilderClass = Class.forName("io.micrometer.core.instrument.Timer$Builder");
+                Object builder = Timer.class.getMethod("builder", String.class).invoke(null, "archbase.command.duration");
+                builder = timerBuilderClass.getMethod("tag", String.class, String.class).invoke(builder, "type", "command");
+                builder = timerBuilderClass.getMethod("tag", String.class, String.class).invoke(builder, "message", name);
+                builder = timerBuilderClass.getMethod("tag", String.class, String.class).invoke(builder, "status", "success");
+                Object timer = timerBuilderClass.getMethod("register", MeterRegistry.class).invoke(builder, meterRegistry);
+                Timer.class.getMethod("record", long.class, TimeUnit.class)
+                        .invoke(timer, System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+            return result;
+        }
+    }
+}
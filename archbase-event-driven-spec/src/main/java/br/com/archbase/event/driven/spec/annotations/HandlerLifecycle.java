@@ -0,0 +1,38 @@
+package br.com.archbase.event.driven.spec.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Define como as instâncias de um manipulador de consulta ou comando são criadas. Sem a anotação
+ * vale o padrão da fábrica de manipuladores ({@link Scope#SINGLETON}).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface HandlerLifecycle {
+
+    Scope value();
+
+    /**
+     * Instâncias ociosas mantidas para reuso quando o escopo é {@link Scope#POOLED};
+     * {@code 0} usa o número de processadores.
+     */
+    int poolSize() default 0;
+
+    enum Scope {
+        /**
+         * Uma única instância, compartilhada por todos os despachos; o manipulador deve ser thread-safe.
+         */
+        SINGLETON,
+        /**
+         * Uma nova instância a cada despacho.
+         */
+        PROTOTYPE,
+        /**
+         * Instâncias reaproveitadas de um pool; cada instância atende um despacho por vez.
+         */
+        POOLED
+    }
+}
@@ -4,6 +4,7 @@ package br.com.archbase.event.driven.bus.autoscan;
 import br.com.archbase.ddd.domain.annotations.DomainCommand;
 import br.com.archbase.event.driven.spec.annotations.CommandMapping;
 import br.com.archbase.event.driven.spec.annotations.CommandMappings;
+import br.com.archbase.event.driven.spec.annotations.HandlerLifecycle;
 import br.com.archbase.event.driven.spec.annotations.QueryMapping;
 import br.com.archbase.event.driven.spec.annotations.QueryMappings;
 import br.com.archbase.event.driven.spec.command.contracts.Command;
@@ -18,13 +19,36 @@ import org.reflections.Reflections;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
+/**
+ * Fábrica de manipuladores de consulta e comando registrados por varredura de pacotes.
+ *
+ * <p>O registro (nome da mensagem → classe do manipulador) é mantido em mapas imutáveis trocados
+ * atomicamente a cada registro, de modo que o despacho lê sem bloqueio mesmo durante uma nova
+ * varredura. As instâncias seguem o ciclo de vida de {@link HandlerLifecycle} declarado no
+ * manipulador ou, na ausência da anotação, o padrão da fábrica ({@link HandlerLifecycle.Scope#SINGLETON}):
+ * singletons são criados uma vez e reutilizados; em {@code PROTOTYPE} e {@code POOLED} a fábrica
+ * devolve um manipulador que cria ou toma do pool uma instância a cada despacho.
+ */
 @SuppressWarnings("all")
 public class AutoScanHandlerFactory implements QueryHandlerFactory, CommandHandlerFactory {
     private static final Log log = LogFactory.getLog(AutoScanHandlerFactory.class);
 
-    private Map<String, Class<? extends QueryHandler>> handlerClassByQueryNameMap = new HashMap<>();
-    private Map<String, Class<? extends CommandHandler>> handlerClassByCommandNameMap = new HashMap<>();
+    private volatile Map<String, Class<? extends QueryHandler>> handlerClassByQueryNameMap = Map.of();
+    private volatile Map<String, Class<? extends CommandHandler>> handlerClassByCommandNameMap = Map.of();
+
+    private final Map<Class<?>, Object> singletons = new ConcurrentHashMap<>();
+    private final Map<Class<?>, QueryHandler> queryHandlers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, CommandHandler> commandHandlers = new ConcurrentHashMap<>();
+    private final Object creationLock = new Object();
+    private volatile HandlerLifecycle.Scope defaultScope = HandlerLifecycle.Scope.SINGLETON;
+
+    private final List<Runnable> registrationListeners = new CopyOnWriteArrayList<>();
 
     private BeanFactory beanFactory;
 
@@ -32,11 +56,66 @@ public class AutoScanHandlerFactory implements QueryHandlerFactory, CommandHandl
         this.beanFactory = beanFactory;
     }
 
+    /**
+     * Registra os manipuladores do pacote. Usa o índice gerado em tempo de compilação
+     * ({@link HandlerIndex}) quando ele contém manipuladores do pacote; caso contrário varre o
+     * classpath com Reflections.
+     *
+     * @param packageToScan pacote base dos manipuladores
+     */
     public void scanAndRegisterHandlers(String packageToScan) {
+        ClassLoader classLoader = classLoader();
+        HandlerIndex index = HandlerIndex.load(classLoader);
+        if (index != null) {
+            List<HandlerIndex.Entry> entries = index.entriesIn(packageToScan);
+            if (!entries.isEmpty()) {
+                log.info("Registrando manipuladores de consulta e comando do pacote " + packageToScan
+                        + " a partir do índice " + HandlerIndex.LOCATION);
+                registerFromIndex(entries, classLoader);
+                return;
+            }
+            log.info("O índice " + HandlerIndex.LOCATION + " não contém manipuladores do pacote "
+                    + packageToScan + "; usando varredura do classpath");
+        }
+        scanWithReflections(packageToScan);
+    }
+
+    private void registerFromIndex(List<HandlerIndex.Entry> entries, ClassLoader classLoader) {
+        Map<String, Class<? extends QueryHandler>> queries = new LinkedHashMap<>();
+        Map<String, Class<? extends CommandHandler>> commands = new LinkedHashMap<>();
+        for (HandlerIndex.Entry entry : entries) {
+            Class<?> handlerClass;
+            try {
+                handlerClass = Class.forName(entry.handlerType(), false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.warn("Manipulador " + entry.handlerType() + " listado no índice não foi encontrado: " + e.getMessage());
+                continue;
+            }
+            if (entry.query()) {
+                log.info(String.format("Registrando o manipulador %s para lidar com a consulta %s",
+                        handlerClass.getSimpleName(), entry.messageType()));
+                queries.put(entry.messageType(), handlerClass.asSubclass(QueryHandler.class));
+            } else {
+                log.info(String.format("Registrando o manipulador %s para manipular o comando %s",
+                        handlerClass.getSimpleName(), entry.messageType()));
+                commands.put(entry.messageType(), handlerClass.asSubclass(CommandHandler.class));
+            }
+        }
+        registerAll(queries, commands);
+    }
+
+    private ClassLoader classLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : AutoScanHandlerFactory.class.getClassLoader();
+    }
+
+    private void scanWithReflections(String packageToScan) {
         log.info("Verificando manipuladores de consulta e comando no pacote: " + packageToScan);
         Reflections reflections = new Reflections(packageToScan);
         Set<Class<? extends QueryHandler>> queryClasses = reflections.getSubTypesOf(QueryHandler.class);
         Set<Class<? extends CommandHandler>> commandClasses = reflections.getSubTypesOf(CommandHandler.class);
+        Map<String, Class<? extends QueryHandler>> queries = new LinkedHashMap<>();
+        Map<String, Class<? extends CommandHandler>> commands = new LinkedHashMap<>();
 
         queryClasses.forEach(queryClass -> {
             QueryMappings multiMappingAnnotation = queryClass.getAnnotation(QueryMappings.class);
@@ -46,13 +125,13 @@ public class AutoScanHandlerFactory implements QueryHandlerFactory, CommandHandl
                 queryMappings.forEach(queryMapping -> {
                     log.info(String.format("Registrando o manipulador %s para lidar com a consulta %s",
                             queryClass.getSimpleName(), queryMapping.value().getName()));
-                    handlerClassByQueryNameMap.put(queryMapping.value().getName(), queryClass);
+                    queries.put(queryMapping.value().getName(), queryClass);
                 });
             } else if (mappingAnnotation != null) {
                 log.info(String.format("\n" +
                                 "Registrando o manipulador %s para lidar com a consulta %s",
                         queryClass.getSimpleName(), mappingAnnotation.value().getName()));
-                handlerClassByQueryNameMap.put(mappingAnnotation.value().getName(), queryClass);
+                queries.put(mappingAnnotation.value().getName(), queryClass);
             }
         });
 
@@ -65,23 +144,96 @@ public class AutoScanHandlerFactory implements QueryHandlerFactory, CommandHandl
                     log.info(String.format("Registrando o manipulador %s para manipular o comando %s",
                             commandClass.getSimpleName(), commandMapping.value().getName()));
 
-                    handlerClassByCommandNameMap.put(commandMapping.value().getName(), commandClass);
+                    commands.put(commandMapping.value().getName(), commandClass);
                 });
             } else if (mappingAnnotation != null) {
                 log.info(String.format("Registrando o manipulador %s para manipular o comando %s",
                         commandClass.getSimpleName(), mappingAnnotation.value().getName()));
 
-                handlerClassByCommandNameMap.put(mappingAnnotation.value().getName(), commandClass);
+                commands.put(mappingAnnotation.value().getName(), commandClass);
             }
             for (Method method : commandClass.getMethods()) {
                 if (method.getParameterTypes().length > 0) {
                     Class<?> commandType = method.getParameterTypes()[0];
                     if (commandType.isAnnotationPresent(DomainCommand.class)) {
-                        handlerClassByCommandNameMap.put(commandType.getName(), commandClass);
+                        commands.put(commandType.getName(), commandClass);
                     }
                 }
             }
         });
+
+        registerAll(queries, commands);
+    }
+
+    /**
+     * Registra manualmente um manipulador de consulta, substituindo um mapeamento existente.
+     *
+     * @param queryClass   classe da consulta
+     * @param handlerClass classe do manipulador
+     */
+    public void registerQueryHandler(Class<? extends Query> queryClass, Class<? extends QueryHandler> handlerClass) {
+        registerAll(Map.of(queryClass.getName(), handlerClass), Map.of());
+    }
+
+    /**
+     * Registra manualmente um manipulador de comando, substituindo um mapeamento existente.
+     *
+     * @param commandClass classe do comando
+     * @param handlerClass classe do manipulador
+     */
+    public void registerCommandHandler(Class<? extends Command> commandClass, Class<? extends CommandHandler> handlerClass) {
+        registerAll(Map.of(), Map.of(commandClass.getName(), handlerClass));
+    }
+
+    /**
+     * Adiciona um ouvinte notificado sempre que os manipuladores forem (re)registrados. Usado pelos
+     * barramentos para invalidar o cache de manipuladores resolvidos.
+     *
+     * @param listener ouvinte a ser notificado
+     */
+    public void addRegistrationListener(Runnable listener) {
+        registrationListeners.add(listener);
+    }
+
+    /**
+     * Define o ciclo de vida dos manipuladores sem {@link HandlerLifecycle}. As instâncias já
+     * criadas são descartadas.
+     *
+     * @param scope ciclo de vida padrão
+     */
+    public void setDefaultLifecycle(HandlerLifecycle.Scope scope) {
+        synchronized (creationLock) {
+            this.defaultScope = Objects.requireNonNull(scope);
+            singletons.clear();
+            queryHandlers.clear();
+            commandHandlers.clear();
+        }
+        notifyRegistrationListeners();
+    }
+
+    /**
+     * Publica os novos mapeamentos com uma única troca de referência por mapa; leituras
+     * concorrentes veem o registro anterior ou o novo, nunca um estado intermediário.
+     */
+    private void registerAll(Map<String, Class<? extends QueryHandler>> queries,
+                             Map<String, Class<? extends CommandHandler>> commands) {
+        synchronized (this) {
+            if (!queries.isEmpty()) {
+                Map<String, Class<? extends QueryHandler>> merged = new HashMap<>(handlerClassByQueryNameMap);
+                merged.putAll(queries);
+                handlerClassByQueryNameMap = Map.copyOf(merged);
+            }
+            if (!commands.isEmpty()) {
+                Map<String, Class<? extends CommandHandler>> merged = new HashMap<>(handlerClassByCommandNameMap);
+                merged.putAll(commands);
+                handlerClassByCommandNameMap = Map.copyOf(merged);
+            }
+        }
+        notifyRegistrationListeners();
+    }
+
+    private void notifyRegistrationListeners() {
+        registrationListeners.forEach(Runnable::run);
     }
 
     @SuppressWarnings("unchecked")
@@ -91,8 +243,22 @@ public class AutoScanHandlerFactory implements QueryHandlerFactory, CommandHandl
         if (handlerClass == null) {
             return null;
         }
-
-        return beanFactory.createBean(handlerClass);
+        QueryHandler handler = queryHandlers.get(handlerClass);
+        if (handler == null) {
+            synchronized (creationLock) {
+                handler = queryHandlers.get(handlerClass);
+                if (handler == null) {
+                    handler = switch (scopeOf(handlerClass)) {
+                        case SINGLETON -> (QueryHandler) singleton(handlerClass);
+                        case PROTOTYPE -> new PrototypeQueryHandler(() -> beanFactory.createBean(handlerClass));
+                        case POOLED -> new PooledQueryHandler(new HandlerPool<>(() -> beanFactory.createBean(handlerClass),
+                                poolSizeOf(handlerClass)));
+                    };
+                    queryHandlers.put(handlerClass, handler);
+                }
+            }
+        }
+        return handler;
     }
 
     @SuppressWarnings("unchecked")
@@ -102,7 +268,135 @@ public class AutoScanHandlerFactory implements QueryHandlerFactory, CommandHandl
         if (handlerClass == null) {
             return null;
         }
+        CommandHandler handler = commandHandlers.get(handlerClass);
+        if (handler == null) {
+            synchronized (creationLock) {
+                handler = commandHandlers.get(handlerClass);
+                if (handler == null) {
+                    handler = switch (scopeOf(handlerClass)) {
+                        case SINGLETON -> (CommandHandler) singleton(handlerClass);
+                        case PROTOTYPE -> new PrototypeCommandHandler(() -> beanFactory.createBean(handlerClass));
+                        case POOLED -> new PooledCommandHandler(new HandlerPool<>(() -> beanFactory.createBean(handlerClass),
+                                poolSizeOf(handlerClass)));
+                    };
+                    commandHandlers.put(handlerClass, handler);
+                }
+            }
+        }
+        return handler;
+    }
+
+    /**
+     * Instância única da classe, compartilhada quando ela manipula consultas e comandos.
+     * Chamado com {@link #creationLock}.
+     */
+    private Object singleton(Class<?> handlerClass) {
+        Object instance = singletons.get(handlerClass);
+        if (instance == null) {
+            instance = beanFactory.createBean(handlerClass);
+            singletons.put(handlerClass, instance);
+        }
+        return instance;
+    }
 
-        return beanFactory.createBean(handlerClass);
+    private HandlerLifecycle.Scope scopeOf(Class<?> handlerClass) {
+        HandlerLifecycle lifecycle = handlerClass.getAnnotation(HandlerLifecycle.class);
+        return lifecycle != null ? lifecycle.value() : defaultScope;
+    }
+
+    private static int poolSizeOf(Class<?> handlerClass) {
+        HandlerLifecycle lifecycle = handlerClass.getAnnotation(HandlerLifecycle.class);
+        int poolSize = lifecycle != null ? lifecycle.poolSize() : 0;
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Instâncias ociosas de um manipulador {@code POOLED}. Sem instância ociosa uma nova é criada;
+     * ao devolver, instâncias além da capacidade são descartadas.
+     */
+    private static final class HandlerPool<H> {
+
+        private final Supplier<H> factory;
+        private final BlockingQueue<H> idle;
+
+        HandlerPool(Supplier<H> factory, int capacity) {
+            this.factory = factory;
+            this.idle = new ArrayBlockingQueue<>(capacity);
+        }
+
+        H borrow() {
+            H handler = idle.poll();
+            return handler != null ? handler : factory.get();
+        }
+
+        void release(H handler) {
+            idle.offer(handler);
+        }
+    }
+
+    private static final class PrototypeQueryHandler implements QueryHandler<Query<Object>, Object> {
+
+        private final Supplier<QueryHandler> factory;
+
+        PrototypeQueryHandler(Supplier<QueryHandler> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Object handle(Query<Object> query) {
+            return factory.get().handle(query);
+        }
+    }
+
+    private static final class PrototypeCommandHandler implements CommandHandler<Command<Object>, Object> {
+
+        private final Supplier<CommandHandler> factory;
+
+        PrototypeCommandHandler(Supplier<CommandHandler> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Object handle(Command<Object> command) {
+            return factory.get().handle(command);
+        }
+    }
+
+    private static final class PooledQueryHandler implements QueryHandler<Query<Object>, Object> {
+
+        private final HandlerPool<QueryHandler> pool;
+
+        PooledQueryHandler(HandlerPool<QueryHandler> pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Object handle(Query<Object> query) {
+            QueryHandler handler = pool.borrow();
+            try {
+                return handler.handle(query);
+            } finally {
+                pool.release(handler);
+            }
+        }
+    }
+
+    private static final class PooledCommandHandler implements CommandHandler<Command<Object>, Object> {
+
+        private final HandlerPool<CommandHandler> pool;
+
+        PooledCommandHandler(HandlerPool<CommandHandler> pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Object handle(Command<Object> command) {
+            CommandHandler handler = pool.borrow();
+            try {
+                return handler.handle(command);
+            } finally {
+                pool.release(handler);
+            }
+        }
     }
 }
@@ -0,0 +1,81 @@
+package br.com.archbase.event.driven.bus.autoscan;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Índice de manipuladores gerado em tempo de compilação pelo {@code ArchbaseHandlerIndexProcessor}
+ * (módulo archbase-annotation-processor) em {@value #LOCATION}.
+ *
+ * <p>Cada linha tem o formato {@code tipo<TAB>classe da mensagem<TAB>classe do manipulador}, onde
+ * {@code tipo} é {@code query} ou {@code command}. Todos os arquivos do classpath são combinados. A
+ * propriedade de sistema {@value #IGNORE_PROPERTY}{@code =true} desliga o índice e força a varredura
+ * com Reflections.
+ */
+final class HandlerIndex {
+
+    private static final Log log = LogFactory.getLog(HandlerIndex.class);
+
+    static final String LOCATION = "META-INF/archbase/handlers.idx";
+    static final String IGNORE_PROPERTY = "archbase.index.ignore";
+
+    private final List<Entry> entries;
+
+    private HandlerIndex(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Carrega os índices visíveis pelo {@code classLoader}; {@code null} se não houver nenhum ou se o
+     * índice estiver desligado.
+     */
+    static HandlerIndex load(ClassLoader classLoader) {
+        if (Boolean.getBoolean(IGNORE_PROPERTY)) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>();
+        boolean found = false;
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                found = true;
+                read(resources.nextElement(), entries);
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível ler o índice de manipuladores " + LOCATION + ": " + e.getMessage());
+            return null;
+        }
+        return found ? new HandlerIndex(entries) : null;
+    }
+
+    private static void read(URL url, List<Entry> entries) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length == 3 && ("query".equals(fields[0]) || "command".equals(fields[0]))) {
+                    entries.add(new Entry("query".equals(fields[0]), fields[1], fields[2]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Entradas cujos manipuladores estão no pacote informado (mesmo critério de prefixo do Reflections).
+     */
+    List<Entry> entriesIn(String packagePrefix) {
+        return entries.stream().filter(entry -> entry.handlerType().startsWith(packagePrefix)).toList();
+    }
+
+    record Entry(boolean query, String messageType, String handlerType) {
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.archbase.event.driven.bus.command;
 
 
+import br.com.archbase.event.driven.bus.autoscan.AutoScanHandlerFactory;
 import br.com.archbase.event.driven.bus.exceptions.NoHandlerFoundException;
 import br.com.archbase.event.driven.bus.message.SimpleMessageBus;
 import br.com.archbase.event.driven.spec.command.contracts.Command;
@@ -8,7 +9,6 @@ import br.com.archbase.event.driven.spec.command.contracts.CommandBus;
 import br.com.archbase.event.driven.spec.command.contracts.CommandHandler;
 import br.com.archbase.event.driven.spec.command.contracts.CommandHandlerFactory;
 import br.com.archbase.event.driven.spec.message.contracts.Message;
-import br.com.archbase.event.driven.spec.message.contracts.MessageBus;
 import br.com.archbase.event.driven.spec.message.contracts.MessageHandler;
 import br.com.archbase.event.driven.spec.message.contracts.MessageHandlerFactory;
 import br.com.archbase.event.driven.spec.middleware.contracts.Middleware;
@@ -16,13 +16,17 @@ import br.com.archbase.event.driven.spec.middleware.contracts.Middleware;
 import java.util.List;
 
 public final class SimpleCommandBus implements CommandBus {
-    private final MessageBus defaultMessageBus;
+    private final SimpleMessageBus defaultMessageBus;
 
     public SimpleCommandBus(CommandHandlerFactory commandHandlerFactory,
                             List<Middleware> middlewareList) {
         this.defaultMessageBus = new SimpleMessageBus(
-                new MessageHandlerFactoryAdapter(commandHandlerFactory), middlewareList
+                new MessageHandlerFactoryAdapter(commandHandlerFactory), middlewareList,
+                commandHandlerFactory instanceof AutoScanHandlerFactory
         );
+        if (commandHandlerFactory instanceof AutoScanHandlerFactory autoScanHandlerFactory) {
+            autoScanHandlerFactory.addRegistrationListener(defaultMessageBus::invalidateHandlerCache);
+        }
     }
 
     @Override
@@ -30,6 +34,13 @@ public final class SimpleCommandBus implements CommandBus {
         return defaultMessageBus.dispatch(command);
     }
 
+    /**
+     * Descarta os manipuladores de comando resolvidos, forçando nova resolução no próximo despacho.
+     */
+    public void invalidateHandlerCache() {
+        defaultMessageBus.invalidateHandlerCache();
+    }
+
     static class MessageHandlerFactoryAdapter implements MessageHandlerFactory {
 
         private final CommandHandlerFactory commandHandlerFactory;
@@ -0,0 +1,303 @@
+package br.com.archbase.event.driven.bus.event;
+
+import br.com.archbase.event.driven.spec.event.contracts.Event;
+import br.com.archbase.event.driven.spec.event.contracts.EventBus;
+import br.com.archbase.event.driven.spec.event.contracts.Subscriber;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Barramento de eventos assíncrono e particionado.
+ * <p>
+ * Cada assinante possui um conjunto fixo de partições; cada partição é uma fila limitada drenada
+ * por no máximo uma tarefa por vez no {@link Executor} configurado (por padrão, uma virtual thread
+ * por tarefa). Eventos com a mesma chave de partição, resolvida pelo {@link PartitionKeyResolver},
+ * caem sempre na mesma partição e são entregues a cada assinante na ordem de publicação. Quando uma
+ * fila enche, a {@link BackPressurePolicy} decide entre bloquear, descartar o mais antigo ou
+ * executar na thread de quem publica.
+ * <p>
+ * O registro de assinantes é copy-on-write: publicações iteram sobre uma lista imutável e
+ * assinaturas concorrentes apenas substituem essa lista.
+ */
+public class AsyncEventBus implements EventBus, AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(AsyncEventBus.class);
+
+    public static final int DEFAULT_PARTITIONS = 16;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final int partitions;
+    private final int queueCapacity;
+    private final BackPressurePolicy backPressurePolicy;
+    private final PartitionKeyResolver partitionKeyResolver;
+
+    private final Object registryLock = new Object();
+    private volatile List<Registration> registrations = List.of();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final AtomicLong lastLagNanos = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Cria um barramento com virtual threads, {@value #DEFAULT_PARTITIONS} partições por assinante,
+     * filas de {@value #DEFAULT_QUEUE_CAPACITY} entregas e política {@link BackPressurePolicy#BLOCK}.
+     */
+    public AsyncEventBus() {
+        this(Executors.newVirtualThreadPerTaskExecutor(), true, DEFAULT_PARTITIONS, DEFAULT_QUEUE_CAPACITY,
+                BackPressurePolicy.BLOCK, PartitionKeyResolver.AGGREGATE_ID);
+    }
+
+    /**
+     * Cria um barramento com configuração explícita. O executor informado não é encerrado por
+     * {@link #close()}.
+     *
+     * @param executor             executor que drena as partições
+     * @param partitions           número de partições por assinante
+     * @param queueCapacity        capacidade da fila de cada partição
+     * @param backPressurePolicy   política aplicada quando uma fila está cheia
+     * @param partitionKeyResolver resolvedor da chave de partição dos eventos
+     */
+    public AsyncEventBus(Executor executor, int partitions, int queueCapacity,
+                         BackPressurePolicy backPressurePolicy, PartitionKeyResolver partitionKeyResolver) {
+        this(executor, false, partitions, queueCapacity, backPressurePolicy, partitionKeyResolver);
+    }
+
+    private AsyncEventBus(Executor executor, boolean ownsExecutor, int partitions, int queueCapacity,
+                          BackPressurePolicy backPressurePolicy, PartitionKeyResolver partitionKeyResolver) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("O número de partições deve ser positivo");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("A capacidade da fila deve ser positiva");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.partitions = partitions;
+        this.queueCapacity = queueCapacity;
+        this.backPressurePolicy = backPressurePolicy;
+        this.partitionKeyResolver = partitionKeyResolver;
+    }
+
+    @Override
+    public <R> R subscribe(Subscriber subscriber) {
+        synchronized (registryLock) {
+            for (Registration registration : registrations) {
+                if (registration.subscriber.equals(subscriber)) {
+                    return null;
+                }
+            }
+            List<Registration> copy = new ArrayList<>(registrations);
+            copy.add(new Registration(subscriber));
+            registrations = List.copyOf(copy);
+        }
+        return null;
+    }
+
+    @Override
+    public <R> R unsubscribe(Subscriber subscriber) {
+        synchronized (registryLock) {
+            List<Registration> copy = new ArrayList<>(registrations);
+            copy.removeIf(registration -> registration.subscriber.equals(subscriber));
+            registrations = List.copyOf(copy);
+        }
+        return null;
+    }
+
+    @Override
+    public <R> R publish(Event<R> event) {
+        if (closed) {
+            throw new IllegalStateException("AsyncEventBus encerrado");
+        }
+        List<Registration> current = registrations;
+        if (current.isEmpty()) {
+            return null;
+        }
+        int partition = partitionOf(partitionKeyResolver.resolve(event));
+        long publishedAt = System.nanoTime();
+        for (Registration registration : current) {
+            registration.lanes[partition].submit(new Delivery(event, publishedAt));
+        }
+        return null;
+    }
+
+    /**
+     * @return total de entregas aguardando nas filas de todos os assinantes
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Registration registration : registrations) {
+            depth += registration.queueDepth();
+        }
+        return depth;
+    }
+
+    /**
+     * @param subscriber assinante
+     * @return entregas aguardando nas filas do assinante, ou zero se ele não estiver registrado
+     */
+    public int getQueueDepth(Subscriber subscriber) {
+        for (Registration registration : registrations) {
+            if (registration.subscriber.equals(subscriber)) {
+                return registration.queueDepth();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return fotografia das métricas do barramento
+     */
+    public AsyncEventBusMetrics getMetrics() {
+        return new AsyncEventBusMetrics(
+                published.sum(),
+                delivered.sum(),
+                failed.sum(),
+                dropped.sum(),
+                callerRuns.sum(),
+                getQueueDepth(),
+                Duration.ofNanos(lastLagNanos.get()),
+                Duration.ofNanos(maxLagNanos.get()));
+    }
+
+    /**
+     * Deixa de aceitar publicações. Quando o executor foi criado pelo próprio barramento, ele é
+     * encerrado após drenar as entregas pendentes.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownsExecutor && executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private int partitionOf(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        return Math.floorMod(key.hashCode(), partitions);
+    }
+
+    private void deliver(Subscriber subscriber, Delivery delivery) {
+        long lag = System.nanoTime() - delivery.publishedAt;
+        lastLagNanos.set(lag);
+        maxLagNanos.accumulateAndGet(lag, Math::max);
+        try {
+            subscriber.onEvent(delivery.event);
+        } catch (Throwable ex) {
+            // inclusive Error: uma falha do assinante não pode interromper a drenagem da partição
+            failed.increment();
+            log.error(String.format("Falha ao entregar o evento %s ao assinante %s",
+                    delivery.event.getClass().getName(), subscriber.getClass().getName()), ex);
+        } finally {
+            delivered.increment();
+        }
+    }
+
+    private record Delivery(Event<?> event, long publishedAt) {
+    }
+
+    private final class Registration {
+        private final Subscriber subscriber;
+        private final PartitionLane[] lanes;
+
+        Registration(Subscriber subscriber) {
+            this.subscriber = subscriber;
+            this.lanes = new PartitionLane[partitions];
+            for (int i = 0; i < partitions; i++) {
+                lanes[i] = new PartitionLane(subscriber);
+            }
+        }
+
+        int queueDepth() {
+            int depth = 0;
+            for (PartitionLane lane : lanes) {
+                depth += lane.queue.size();
+            }
+            return depth;
+        }
+    }
+
+    /**
+     * Fila de uma partição de um assinante. No máximo uma tarefa de drenagem fica agendada por vez,
+     * o que garante a entrega sequencial dentro da partição.
+     */
+    private final class PartitionLane implements Runnable {
+        private final Subscriber subscriber;
+        private final BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        PartitionLane(Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void submit(Delivery delivery) {
+            published.increment();
+            BackPressurePolicy.Outcome outcome;
+            try {
+                outcome = backPressurePolicy.enqueue(queue, delivery);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+                return;
+            }
+            switch (outcome) {
+                case ENQUEUED -> schedule();
+                case ENQUEUED_DROPPING_OLDEST -> {
+                    dropped.increment();
+                    schedule();
+                }
+                case RUN_ON_CALLER -> {
+                    callerRuns.increment();
+                    deliver(subscriber, delivery);
+                }
+                case DISCARDED -> dropped.increment();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    log.warn("Executor recusou a drenagem da partição; entregando na thread de quem publica");
+                    run();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                try {
+                    Delivery delivery;
+                    while ((delivery = queue.poll()) != null) {
+                        deliver(subscriber, delivery);
+                    }
+                } finally {
+                    scheduled.set(false);
+                }
+            } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.archbase.event.driven.bus.event;
+
+import java.time.Duration;
+
+/**
+ * Fotografia das métricas de um {@link AsyncEventBus}.
+ *
+ * @param published  entregas solicitadas (evento x assinante)
+ * @param delivered  entregas concluídas, com ou sem erro do assinante
+ * @param failed     entregas em que o assinante lançou exceção ou erro
+ * @param dropped    entregas descartadas pela política de back-pressure
+ * @param callerRuns entregas executadas na thread de quem publica
+ * @param queueDepth entregas aguardando nas filas das partições
+ * @param lastLag    tempo entre a publicação e o início da última entrega
+ * @param maxLag     maior tempo observado entre a publicação e o início de uma entrega
+ */
+public record AsyncEventBusMetrics(long published,
+                                   long delivered,
+                                   long failed,
+                                   long dropped,
+                                   long callerRuns,
+                                   int queueDepth,
+                                   Duration lastLag,
+                                   Duration maxLag) {
+}
@@ -0,0 +1,76 @@
+package br.com.archbase.event.driven.bus.event;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Política aplicada pelo {@link AsyncEventBus} ao enfileirar uma entrega na fila de uma partição.
+ * <p>
+ * As políticas padrão são {@link #BLOCK}, {@link #DROP_OLDEST} e {@link #CALLER_RUNS}; outras podem
+ * ser fornecidas implementando esta interface.
+ */
+@FunctionalInterface
+public interface BackPressurePolicy {
+
+    /**
+     * Bloqueia quem publica até que haja espaço na fila da partição.
+     */
+    BackPressurePolicy BLOCK = new BackPressurePolicy() {
+        @Override
+        public <T> Outcome enqueue(BlockingQueue<T> queue, T delivery) throws InterruptedException {
+            queue.put(delivery);
+            return Outcome.ENQUEUED;
+        }
+    };
+
+    /**
+     * Descarta a entrega mais antiga da partição para abrir espaço para a nova.
+     */
+    BackPressurePolicy DROP_OLDEST = new BackPressurePolicy() {
+        @Override
+        public <T> Outcome enqueue(BlockingQueue<T> queue, T delivery) {
+            Outcome outcome = Outcome.ENQUEUED;
+            while (!queue.offer(delivery)) {
+                if (queue.poll() != null) {
+                    outcome = Outcome.ENQUEUED_DROPPING_OLDEST;
+                }
+            }
+            return outcome;
+        }
+    };
+
+    /**
+     * Executa a entrega na própria thread de quem publica quando a fila está cheia. Nesse caso a
+     * ordem da partição não é garantida para a entrega executada fora da fila.
+     */
+    BackPressurePolicy CALLER_RUNS = new BackPressurePolicy() {
+        @Override
+        public <T> Outcome enqueue(BlockingQueue<T> queue, T delivery) {
+            return queue.offer(delivery) ? Outcome.ENQUEUED : Outcome.RUN_ON_CALLER;
+        }
+    };
+
+    /**
+     * Tenta colocar a entrega na fila da partição.
+     *
+     * @param queue    fila limitada da partição
+     * @param delivery entrega a enfileirar
+     * @param <T>      tipo da entrega
+     * @return o resultado da tentativa
+     * @throws InterruptedException se a thread for interrompida enquanto aguarda espaço
+     */
+    <T> Outcome enqueue(BlockingQueue<T> queue, T delivery) throws InterruptedException;
+
+    /**
+     * Resultado da aplicação da política.
+     */
+    enum Outcome {
+        /** A entrega foi enfileirada. */
+        ENQUEUED,
+        /** A entrega foi enfileirada após descartar a mais antiga. */
+        ENQUEUED_DROPPING_OLDEST,
+        /** A entrega deve ser executada na thread de quem publica. */
+        RUN_ON_CALLER,
+        /** A entrega foi descartada. */
+        DISCARDED
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.archbase.event.driven.bus.event;
+
+import br.com.archbase.event.driven.spec.event.contracts.Event;
+import br.com.archbase.event.driven.spec.outbox.contracts.Outboxable;
+
+/**
+ * Resolve a chave de partição de um evento no {@link AsyncEventBus}. Eventos com a mesma chave são
+ * entregues a cada assinante na ordem em que foram publicados.
+ */
+@FunctionalInterface
+public interface PartitionKeyResolver {
+
+    /**
+     * Usa o id do agregado de eventos {@link Outboxable}. Os demais eventos não possuem chave e
+     * compartilham uma mesma partição, preservando a ordem global de publicação.
+     */
+    PartitionKeyResolver AGGREGATE_ID = event ->
+            event instanceof Outboxable outboxable ? outboxable.getAggregateId() : null;
+
+    /**
+     * @param event evento publicado
+     * @return a chave de partição, ou {@code null} quando o evento não possui chave
+     */
+    Object resolve(Event<?> event);
+}
@@ -4,13 +4,19 @@ import br.com.archbase.event.driven.spec.event.contracts.Event;
 import br.com.archbase.event.driven.spec.event.contracts.EventBus;
 import br.com.archbase.event.driven.spec.event.contracts.Subscriber;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 
+/**
+ * Barramento de eventos síncrono: os assinantes são notificados na thread de quem publica.
+ * <p>
+ * O registro de assinantes é copy-on-write, portanto assinaturas concorrentes com uma publicação
+ * em andamento são seguras. Para entrega assíncrona e particionada, use {@link AsyncEventBus}.
+ */
 public class SimpleEventBus implements EventBus {
 
-    private final Set<Subscriber> mSubscribers = new HashSet<>();
+    private final Set<Subscriber> mSubscribers = new CopyOnWriteArraySet<>();
 
 
     @Override
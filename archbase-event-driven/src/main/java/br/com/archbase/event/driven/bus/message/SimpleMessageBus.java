@@ -8,17 +8,47 @@ import br.com.archbase.event.driven.spec.message.contracts.MessageHandlerFactory
 import br.com.archbase.event.driven.spec.middleware.contracts.Middleware;
 import br.com.archbase.event.driven.spec.middleware.contracts.NextMiddlewareFunction;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Barramento de mensagens com pipeline de middlewares pré-compilado.
+ * <p>
+ * A cadeia de middlewares é montada uma única vez na construção do barramento, como uma lista
+ * imutável de elos encadeados; o despacho apenas percorre esses elos, sem alocar novas funções
+ * a cada mensagem.
+ * <p>
+ * Por padrão a fábrica é consultada a cada despacho, de modo que manipuladores criados por mensagem
+ * (escopo protótipo) continuam sendo criados por mensagem. Só quando a fábrica devolve manipuladores
+ * reutilizáveis, que respeitam por conta própria o escopo de cada manipulador (caso da
+ * {@code AutoScanHandlerFactory}), o barramento pode ser criado com cache: o manipulador de cada tipo
+ * de mensagem é resolvido no primeiro despacho e mantido pela {@link Class} da mensagem. Esse cache
+ * deve ser invalidado com {@link #invalidateHandlerCache()} sempre que os manipuladores forem
+ * registrados novamente na fábrica.
+ */
 public final class SimpleMessageBus implements MessageBus {
-    private static final int FIRST_MIDDLEWARE_INDEX = 0;
     private final List<Middleware> middlewarePipeline;
-    private MessageHandlerFactory messageHandlerFactory;
+    private final MessageHandlerFactory messageHandlerFactory;
+    private final Map<Class<?>, MessageHandler<Message<Object>, Object>> handlerCache = new ConcurrentHashMap<>();
+    private final NextMiddlewareFunction<Message<Object>, Object> pipeline;
+    private final boolean cacheHandlers;
 
     public SimpleMessageBus(MessageHandlerFactory handlerFactory, List<Middleware> middlewareList) {
+        this(handlerFactory, middlewareList, false);
+    }
+
+    /**
+     * @param handlerFactory fábrica de manipuladores
+     * @param middlewareList middlewares, na ordem de execução
+     * @param cacheHandlers  {@code true} somente se os manipuladores devolvidos pela fábrica puderem ser
+     *                       reutilizados entre despachos
+     */
+    public SimpleMessageBus(MessageHandlerFactory handlerFactory, List<Middleware> middlewareList, boolean cacheHandlers) {
         messageHandlerFactory = handlerFactory;
-        middlewarePipeline = new ArrayList<>(middlewareList);
+        middlewarePipeline = List.copyOf(middlewareList);
+        this.cacheHandlers = cacheHandlers;
+        pipeline = compilePipeline();
     }
 
     /**
@@ -35,25 +65,64 @@ public final class SimpleMessageBus implements MessageBus {
     @Override
     @SuppressWarnings("unchecked")
     public <R> R dispatch(Message<R> message) {
-        return (R) getNext(FIRST_MIDDLEWARE_INDEX).call((Message<Object>) message);
-    }
-
-    private <R> NextMiddlewareFunction<Message<R>, R> getNext(int nextMiddlewareIndex) {
-        if (nextMiddlewareIndex < middlewarePipeline.size()) {
-            // Lidar com o próximo middleware
-            return message -> {
-                Middleware nextMiddleware = middlewarePipeline.get(nextMiddlewareIndex);
-                return nextMiddleware.handle(message, getNext(nextMiddlewareIndex + 1));
-            };
-        } else {
-            // Manipular usando manipulador de mensagem
-            return message -> {
-                MessageHandler<Message<R>, R> handler = messageHandlerFactory.createHandler(message.getClass().getName());
-                if (handler == null) {
-                    throw new NoHandlerFoundException(message.getClass());
-                }
-                return handler.handle(message);
-            };
+        return (R) pipeline.call((Message<Object>) message);
+    }
+
+    /**
+     * Descarta todos os manipuladores resolvidos. Deve ser chamado quando a fábrica de manipuladores
+     * registrar novamente seus mapeamentos.
+     */
+    public void invalidateHandlerCache() {
+        handlerCache.clear();
+    }
+
+    /**
+     * Monta a cadeia de middlewares de trás para frente: o último elo é o despacho para o manipulador
+     * e cada middleware recebe como próximo passo o elo já construído.
+     */
+    private NextMiddlewareFunction<Message<Object>, Object> compilePipeline() {
+        NextMiddlewareFunction<Message<Object>, Object> next = new HandlerInvocation();
+        for (int index = middlewarePipeline.size() - 1; index >= 0; index--) {
+            next = new MiddlewareInvocation(middlewarePipeline.get(index), next);
+        }
+        return next;
+    }
+
+    private MessageHandler<Message<Object>, Object> resolveHandler(Class<?> messageClass) {
+        MessageHandler<Message<Object>, Object> handler = cacheHandlers ? handlerCache.get(messageClass) : null;
+        if (handler != null) {
+            return handler;
+        }
+        handler = messageHandlerFactory.createHandler(messageClass.getName());
+        if (handler == null) {
+            throw new NoHandlerFoundException(messageClass.getName());
+        }
+        if (!cacheHandlers) {
+            return handler;
+        }
+        MessageHandler<Message<Object>, Object> existing = handlerCache.putIfAbsent(messageClass, handler);
+        return existing != null ? existing : handler;
+    }
+
+    private static final class MiddlewareInvocation implements NextMiddlewareFunction<Message<Object>, Object> {
+        private final Middleware middleware;
+        private final NextMiddlewareFunction<Message<Object>, Object> next;
+
+        MiddlewareInvocation(Middleware middleware, NextMiddlewareFunction<Message<Object>, Object> next) {
+            this.middleware = middleware;
+            this.next = next;
+        }
+
+        @Override
+        public Object call(Message<Object> message) {
+            return middleware.handle(message, next);
+        }
+    }
+
+    private final class HandlerInvocation implements NextMiddlewareFunction<Message<Object>, Object> {
+        @Override
+        public Object call(Message<Object> message) {
+            return resolveHandler(message.getClass()).handle(message);
         }
     }
 }
@@ -0,0 +1,25 @@
+package br.com.archbase.event.driven.bus.middleware.metrics;
+
+/**
+ * Registro das métricas de processamento de mensagens usado pelo {@link MetricsMiddleware}.
+ * <p>
+ * Não expõe tipos do Micrometer, de modo que o middleware possa ser carregado sem o Micrometer no
+ * classpath.
+ */
+interface MessageMetrics {
+
+    /**
+     * Mensagem entrou no pipeline (incrementa o gauge de mensagens em processamento).
+     */
+    void started(String type);
+
+    /**
+     * Mensagem processada com sucesso.
+     */
+    void succeeded(String type, Class<?> messageClass, long durationNanos);
+
+    /**
+     * Mensagem processada com erro.
+     */
+    void failed(String type, Class<?> messageClass, Class<? extends Throwable> exceptionClass, long durationNanos);
+}
@@ -8,34 +8,48 @@ import br.com.archbase.event.driven.spec.query.contracts.Query;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 /**
  * Middleware para coletar métricas de Commands, Queries e Events.
  * <p>
  * Coleta:
  * <ul>
- *   <li>Contador de mensagens processadas</li>
- *   <li>Contador de erros</li>
- *   <li>Timer de tempo de processamento</li>
+ *   <li>Contador de mensagens processadas ({@code archbase.<tipo>.success} e {@code .dispatched})</li>
+ *   <li>Contador de erros ({@code archbase.<tipo>.error}, com a tag {@code exception})</li>
+ *   <li>Timer de tempo de processamento ({@code archbase.<tipo>.duration}), com histograma de
+ *   percentis e limites de SLO</li>
+ *   <li>Gauge de mensagens em processamento no bus ({@code archbase.<tipo>.in_flight})</li>
  * </ul>
  * <p>
- * Requer Micrometer no classpath. Se não disponível, as métricas são desabilitadas automaticamente.
+ * Os medidores são registrados uma única vez por classe de mensagem e resultado e reutilizados nas
+ * mensagens seguintes.
+ * <p>
+ * Requer Micrometer no classpath (dependência opcional). Se não disponível, as métricas são
+ * desabilitadas automaticamente.
  */
 public class MetricsMiddleware implements Middleware {
 
     private static final Log log = LogFactory.getLog(MetricsMiddleware.class);
     private static final boolean MICROMETER_AVAILABLE = isMicrometerAvailable();
 
-    private final Object meterRegistry;
+    /**
+     * Limites de SLO padrão dos timers.
+     */
+    public static final Duration[] DEFAULT_SERVICE_LEVEL_OBJECTIVES = {
+            Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)
+    };
+
+    private final MessageMetrics metrics;
     private final boolean enabled;
 
     /**
-     * Cria um MetricsMiddleware com Micrometer se disponível.
+     * Cria um MetricsMiddleware com o registry global do Micrometer, se disponível.
      */
     public MetricsMiddleware() {
-        this.meterRegistry = getMeterRegistry();
-        this.enabled = this.meterRegistry != null && MICROMETER_AVAILABLE;
+        this.metrics = MICROMETER_AVAILABLE ? globalMetrics(null) : null;
+        this.enabled = this.metrics != null;
         if (!enabled) {
             log.info("Micrometer não encontrado. MetricsMiddleware desabilitado.");
         }
@@ -47,32 +61,63 @@ public class MetricsMiddleware implements Middleware {
      * @param meterRegistry MeterRegistry do Micrometer (opcional)
      */
     public MetricsMiddleware(Object meterRegistry) {
-        this.meterRegistry = meterRegistry;
-        this.enabled = meterRegistry != null && MICROMETER_AVAILABLE;
+        this(meterRegistry, null, DEFAULT_SERVICE_LEVEL_OBJECTIVES);
+    }
+
+    /**
+     * Cria um MetricsMiddleware com registry, nome do bus (tag {@code bus} do gauge de mensagens em
+     * processamento) e limites de SLO dos timers.
+     *
+     * @param meterRegistry          MeterRegistry do Micrometer (opcional)
+     * @param bus                    nome do bus; {@code null} usa o tipo da mensagem
+     * @param serviceLevelObjectives limites de SLO publicados pelos timers
+     */
+    public MetricsMiddleware(Object meterRegistry, String bus, Duration... serviceLevelObjectives) {
+        this.metrics = MICROMETER_AVAILABLE && meterRegistry != null
+                ? MicrometerMessageMetrics.create(meterRegistry, bus, serviceLevelObjectives)
+                : null;
+        this.enabled = this.metrics != null;
+    }
+
+    /**
+     * Cria um MetricsMiddleware com o registry global do Micrometer para o bus informado.
+     *
+     * @param bus nome do bus (ex.: {@code command}, {@code query}, {@code event})
+     */
+    public static MetricsMiddleware forBus(String bus) {
+        return new MetricsMiddleware(MICROMETER_AVAILABLE ? globalMetrics(bus) : null);
+    }
+
+    private MetricsMiddleware(MessageMetrics metrics) {
+        this.metrics = metrics;
+        this.enabled = metrics != null;
+        if (!enabled) {
+            log.info("Micrometer não encontrado. MetricsMiddleware desabilitado.");
+        }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <R> R handle(Message<R> message, NextMiddlewareFunction<Message<R>, R> next) {
         if (!enabled) {
             return next.call(message);
         }
 
         String messageType = getMessageType(message);
-        String messageName = message.getClass().getSimpleName();
+        Class<?> messageClass = message.getClass();
 
+        metrics.started(messageType);
         long startTime = System.nanoTime();
 
         try {
             R result = next.call(message);
 
             long duration = System.nanoTime() - startTime;
-            recordSuccess(messageType, messageName, duration);
+            recordSuccess(messageType, messageClass, duration);
             return result;
 
-        } catch (Exception ex) {
+        } catch (RuntimeException | Error ex) {
             long duration = System.nanoTime() - startTime;
-            recordError(messageType, messageName, ex, duration);
+            recordError(messageType, messageClass, ex, duration);
             throw ex;
         }
     }
@@ -96,113 +141,31 @@ public class MetricsMiddleware implements Middleware {
         }
     }
 
-    private static Object getMeterRegistry() {
-        if (!MICROMETER_AVAILABLE) {
-            return null;
-        }
+    private static MessageMetrics globalMetrics(String bus) {
         try {
-            // Tenta obter do contexto do Spring se disponível
-            Class<?> metricsClass = Class.forName("io.micrometer.core.instrument.Metrics");
-            return metricsClass.getMethod("globalRegistry").invoke(null);
-        } catch (Exception e) {
+            return MicrometerMessageMetrics.global(bus, DEFAULT_SERVICE_LEVEL_OBJECTIVES);
+        } catch (Exception | LinkageError e) {
             log.warn("Não foi possível obter MeterRegistry global do Micrometer");
             return null;
         }
     }
 
-    private void recordSuccess(String type, String message, long durationNanos) {
-        if (!enabled) return;
+    private void recordSuccess(String type, Class<?> messageClass, long durationNanos) {
         try {
-            // Incrementar contador de sucesso
-            incrementCounter("archbase." + type + ".success", type, message, null);
-            incrementCounter("archbase." + type + ".dispatched", type, message, null);
-
-            // Registrar timer
-            recordTimer("archbase." + type + ".duration", type, message, "success", durationNanos);
+            metrics.succeeded(type, messageClass, durationNanos);
         } catch (Exception e) {
             log.debug("Erro ao registrar métricas: " + e.getMessage());
         }
     }
 
-    private void recordError(String type, String message, Exception ex, long durationNanos) {
-        if (!enabled) return;
+    private void recordError(String type, Class<?> messageClass, Throwable ex, long durationNanos) {
         try {
-            // Incrementar contador de erro
-            incrementCounter("archbase." + type + ".error", type, message, ex.getClass().getSimpleName());
-
-            // Registrar timer
-            recordTimer("archbase." + type + ".duration", type, message, "error", durationNanos);
+            metrics.failed(type, messageClass, ex.getClass(), durationNanos);
         } catch (Exception e) {
             log.debug("Erro ao registrar métricas: " + e.getMessage());
         }
     }
 
-    private void incrementCounter(String name, String type, String message, String exception) {
-        try {
-            Class<?> counterClass = Class.forName("io.micrometer.core.instrument.Counter");
-            Class<?> counterBuilderClass = Class.forName("io.micrometer.core.instrument.Counter$Builder");
-
-            Object builder = counterBuilderClass
-                    .getMethod("builder", String.class)
-                    .invoke(null, name);
-
-            // Adicionar tags
-            builder = counterBuilderClass
-                    .getMethod("tag", String.class, String.class)
-                    .invoke(builder, "type", type);
-            builder = counterBuilderClass
-                    .getMethod("tag", String.class, String.class)
-                    .invoke(builder, "message", message);
-
-            if (exception != null) {
-                builder = counterBuilderClass
-                        .getMethod("tag", String.class, String.class)
-                        .invoke(builder, "exception", exception);
-            }
-
-            Object counter = counterBuilderClass
-                    .getMethod("register", Class.forName("io.micrometer.core.instrument.MeterRegistry"))
-                    .invoke(builder, meterRegistry);
-
-            counterClass.getMethod("increment").invoke(counter);
-        } catch (Exception e) {
-            log.trace("Erro ao incrementar contador: " + e.getMessage());
-        }
-    }
-
-    private void recordTimer(String name, String type, String message, String status, long durationNanos) {
-        try {
-            Class<?> timerClass = Class.forName("io.micrometer.core.instrument.Timer");
-            Class<?> sampleClass = Class.forName("io.micrometer.core.instrument.Timer$Sample");
-
-            Object builder = timerClass
-                    .getMethod("builder", String.class)
-                    .invoke(null, name);
-
-            // Adicionar tags
-            builder = timerClass
-                    .getMethod("tag", String.class, String.class)
-                    .invoke(builder, "type", type);
-            builder = timerClass
-                    .getMethod("tag", String.class, String.class)
-                    .invoke(builder, "message", message);
-            builder = timerClass
-                    .getMethod("tag", String.class, String.class)
-                    .invoke(builder, "status", status);
-
-            Object timer = timerClass
-                    .getMethod("register", Class.forName("io.micrometer.core.instrument.MeterRegistry"))
-                    .invoke(builder, meterRegistry);
-
-            // Registrar tempo
-            timerClass
-                    .getMethod("record", Object.class, long.class, TimeUnit.class)
-                    .invoke(timer, null, durationNanos, TimeUnit.NANOSECONDS);
-        } catch (Exception e) {
-            log.trace("Erro ao registrar timer: " + e.getMessage());
-        }
-    }
-
     /**
      * Verifica se o middleware está habilitado.
      *
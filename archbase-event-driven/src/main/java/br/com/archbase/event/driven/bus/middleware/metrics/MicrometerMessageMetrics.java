@@ -0,0 +1,134 @@
+package br.com.archbase.event.driven.bus.middleware.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementação de {@link MessageMetrics} sobre o Micrometer.
+ * <p>
+ * Os medidores são criados uma única vez por (tipo, classe da mensagem, resultado) e mantidos em
+ * cache, indexados pela classe da mensagem (que determina o tipo) e, nos erros, pela classe da
+ * exceção; no caminho quente restam uma consulta ao mapa, sem alocação, e as chamadas de
+ * {@link Counter#increment()} e {@link Timer#record(long, TimeUnit)}. Os timers publicam histograma
+ * de percentis e os limites de SLO informados. Um gauge {@code archbase.<tipo>.in_flight} por bus
+ * indica as mensagens em processamento.
+ * <p>
+ * Só é carregada quando o Micrometer está no classpath.
+ */
+final class MicrometerMessageMetrics implements MessageMetrics {
+
+    private final MeterRegistry registry;
+    private final String bus;
+    private final Duration[] serviceLevelObjectives;
+    private final Map<Class<?>, Meters> successMeters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Class<?>, Meters>> errorMeters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private MicrometerMessageMetrics(MeterRegistry registry, String bus, Duration[] serviceLevelObjectives) {
+        this.registry = registry;
+        this.bus = bus;
+        this.serviceLevelObjectives = serviceLevelObjectives.clone();
+    }
+
+    /**
+     * Cria as métricas sobre {@code meterRegistry}.
+     *
+     * @return {@code null} se {@code meterRegistry} não for um {@link MeterRegistry}
+     */
+    static MessageMetrics create(Object meterRegistry, String bus, Duration[] serviceLevelObjectives) {
+        if (meterRegistry instanceof MeterRegistry registry) {
+            return new MicrometerMessageMetrics(registry, bus, serviceLevelObjectives);
+        }
+        return null;
+    }
+
+    /**
+     * Cria as métricas sobre o registry global do Micrometer ({@link Metrics#globalRegistry}).
+     */
+    static MessageMetrics global(String bus, Duration[] serviceLevelObjectives) {
+        return new MicrometerMessageMetrics(Metrics.globalRegistry, bus, serviceLevelObjectives);
+    }
+
+    @Override
+    public void started(String type) {
+        inFlight.computeIfAbsent(type, this::registerInFlight).incrementAndGet();
+    }
+
+    @Override
+    public void succeeded(String type, Class<?> messageClass, long durationNanos) {
+        inFlight.get(type).decrementAndGet();
+        Meters success = successMeters.get(messageClass);
+        if (success == null) {
+            success = successMeters.computeIfAbsent(messageClass, key -> register(type, key, null));
+        }
+        success.counter().increment();
+        success.dispatched().increment();
+        success.timer().record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void failed(String type, Class<?> messageClass, Class<? extends Throwable> exceptionClass, long durationNanos) {
+        inFlight.get(type).decrementAndGet();
+        Map<Class<?>, Meters> byException = errorMeters.get(messageClass);
+        if (byException == null) {
+            byException = errorMeters.computeIfAbsent(messageClass, key -> new ConcurrentHashMap<>());
+        }
+        Meters error = byException.get(exceptionClass);
+        if (error == null) {
+            error = byException.computeIfAbsent(exceptionClass, key -> register(type, messageClass, exceptionClass));
+        }
+        error.counter().increment();
+        error.timer().record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private AtomicInteger registerInFlight(String type) {
+        AtomicInteger value = new AtomicInteger();
+        Gauge.builder("archbase." + type + ".in_flight", value, AtomicInteger::get)
+                .description("Mensagens em processamento no bus")
+                .tag("type", type)
+                .tag("bus", bus != null ? bus : type)
+                .register(registry);
+        return value;
+    }
+
+    private Meters register(String type, Class<?> messageClass, Class<? extends Throwable> exceptionClass) {
+        String message = messageClass.getSimpleName();
+        boolean success = exceptionClass == null;
+        Counter counter = success
+                ? counter("archbase." + type + ".success", type, message, null)
+                : counter("archbase." + type + ".error", type, message, exceptionClass.getSimpleName());
+        Counter dispatched = success
+                ? counter("archbase." + type + ".dispatched", type, message, null)
+                : null;
+        Timer timer = Timer.builder("archbase." + type + ".duration")
+                .tag("type", type)
+                .tag("message", message)
+                .tag("status", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .register(registry);
+        return new Meters(counter, dispatched, timer);
+    }
+
+    private Counter counter(String name, String type, String message, String exception) {
+        Counter.Builder builder = Counter.builder(name)
+                .tag("type", type)
+                .tag("message", message);
+        if (exception != null) {
+            builder.tag("exception", exception);
+        }
+        return builder.register(registry);
+    }
+
+    private record Meters(Counter counter, Counter dispatched, Timer timer) {
+    }
+}
@@ -1,10 +1,10 @@
 package br.com.archbase.event.driven.bus.query;
 
 
+import br.com.archbase.event.driven.bus.autoscan.AutoScanHandlerFactory;
 import br.com.archbase.event.driven.bus.exceptions.NoHandlerFoundException;
 import br.com.archbase.event.driven.bus.message.SimpleMessageBus;
 import br.com.archbase.event.driven.spec.message.contracts.Message;
-import br.com.archbase.event.driven.spec.message.contracts.MessageBus;
 import br.com.archbase.event.driven.spec.message.contracts.MessageHandler;
 import br.com.archbase.event.driven.spec.message.contracts.MessageHandlerFactory;
 import br.com.archbase.event.driven.spec.middleware.contracts.Middleware;
@@ -17,13 +17,17 @@ import java.util.List;
 
 public final class SimpleQueryBus implements QueryBus {
 
-    private final MessageBus defaultMessageBus;
+    private final SimpleMessageBus defaultMessageBus;
 
     public SimpleQueryBus(QueryHandlerFactory queryHandlerFactory, List<Middleware> middlewareList) {
         defaultMessageBus = new SimpleMessageBus(
                 new QueryHandlerFactoryToMessageHandlerFactoryAdapter(queryHandlerFactory),
-                middlewareList
+                middlewareList,
+                queryHandlerFactory instanceof AutoScanHandlerFactory
         );
+        if (queryHandlerFactory instanceof AutoScanHandlerFactory autoScanHandlerFactory) {
+            autoScanHandlerFactory.addRegistrationListener(defaultMessageBus::invalidateHandlerCache);
+        }
     }
 
     @Override
@@ -31,6 +35,13 @@ public final class SimpleQueryBus implements QueryBus {
         return defaultMessageBus.dispatch(query);
     }
 
+    /**
+     * Descarta os manipuladores de consulta resolvidos, forçando nova resolução no próximo despacho.
+     */
+    public void invalidateHandlerCache() {
+        defaultMessageBus.invalidateHandlerCache();
+    }
+
     // region adapter classes
     static class QueryHandlerFactoryToMessageHandlerFactoryAdapter implements MessageHandlerFactory {
 
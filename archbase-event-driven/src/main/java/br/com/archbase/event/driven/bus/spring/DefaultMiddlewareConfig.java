@@ -13,7 +13,7 @@ public class DefaultMiddlewareConfig implements MiddlewareConfig {
     @Override
     public List<Middleware> getCommandMiddlewarePipeline() {
         List<Middleware> middlewares = new ArrayList<>();
-        middlewares.add(new MetricsMiddleware());
+        middlewares.add(MetricsMiddleware.forBus("command"));
         middlewares.add(new LoggingMiddleware());
         return middlewares;
     }
@@ -21,7 +21,7 @@ public class DefaultMiddlewareConfig implements MiddlewareConfig {
     @Override
     public List<Middleware> getQueryMiddlewarePipeline() {
         List<Middleware> middlewares = new ArrayList<>();
-        middlewares.add(new MetricsMiddleware());
+        middlewares.add(MetricsMiddleware.forBus("query"));
         middlewares.add(new LoggingMiddleware());
         return middlewares;
     }
@@ -29,7 +29,7 @@ public class DefaultMiddlewareConfig implements MiddlewareConfig {
     @Override
     public List<Middleware> getEventMiddlewarePipeline() {
         List<Middleware> middlewares = new ArrayList<>();
-        middlewares.add(new MetricsMiddleware());
+        middlewares.add(MetricsMiddleware.forBus("event"));
         middlewares.add(new LoggingMiddleware());
         return middlewares;
     }
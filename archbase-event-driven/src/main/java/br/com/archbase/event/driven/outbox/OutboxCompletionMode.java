@@ -0,0 +1,17 @@
+package br.com.archbase.event.driven.outbox;
+
+/**
+ * O que o {@link OutboxRelay} faz com os eventos publicados com sucesso.
+ */
+public enum OutboxCompletionMode {
+
+    /**
+     * Remove os eventos da caixa de saída.
+     */
+    DELETE,
+
+    /**
+     * Mantém os eventos e preenche a coluna {@code processed_at}.
+     */
+    MARK_PROCESSED
+}
@@ -13,6 +13,10 @@ import java.util.UUID;
 /**
  * Evento gerado na caixa de saída e que será propagado para além das fronteiras
  * do serviço através da tabela "caixa de saída".
+ * <p>
+ * As colunas {@code processed_at}, {@code attempts}, {@code next_attempt_at} e {@code last_error}, usadas
+ * pelo {@link OutboxRelay}, foram adicionadas na versão 3.0.1. Bancos existentes devem aplicar
+ * {@code db/archbase/outbox_event_relay_columns.sql}, distribuído neste módulo.
  */
 @Entity
 public class OutboxEvent {
@@ -77,6 +81,29 @@ public class OutboxEvent {
     @Column(length = 1048576) //e.g. 1 MB max
     private String payload;
 
+    /**
+     * Data/hora em que o evento foi publicado pelo {@link OutboxRelay}, quando os eventos publicados
+     * são mantidos na tabela. Nulo enquanto o evento estiver pendente.
+     */
+    private Long processedAt;
+
+    /**
+     * Número de tentativas de publicação que falharam.
+     */
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int attempts;
+
+    /**
+     * Data/hora a partir da qual o {@link OutboxRelay} pode tentar publicar o evento novamente.
+     */
+    private Long nextAttemptAt;
+
+    /**
+     * Erro da última tentativa de publicação.
+     */
+    @Column(length = 1000)
+    private String lastError;
+
     private OutboxEvent() {
     }
 
@@ -145,4 +172,36 @@ public class OutboxEvent {
     public void setPayload(String payload) {
         this.payload = payload;
     }
+
+    public Long getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(Long processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Long nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
 }
@@ -0,0 +1,23 @@
+package br.com.archbase.event.driven.outbox;
+
+import java.time.Instant;
+
+/**
+ * Evento lido da tabela "caixa de saída" pelo {@link OutboxRelay} e entregue a um {@link OutboxSink}.
+ *
+ * @param id            id do evento na caixa de saída
+ * @param aggregateType tipo da raiz agregada
+ * @param aggregateId   id da raiz agregada; eventos do mesmo agregado são entregues em ordem
+ * @param type          tipo do evento
+ * @param payload       conteúdo do evento em JSON
+ * @param timestamp     data/hora em que o evento foi gerado
+ * @param attempts      número de tentativas de entrega já realizadas
+ */
+public record OutboxMessage(String id,
+                            String aggregateType,
+                            String aggregateId,
+                            String type,
+                            String payload,
+                            Instant timestamp,
+                            int attempts) {
+}
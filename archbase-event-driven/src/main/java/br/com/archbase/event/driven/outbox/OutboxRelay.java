@@ -0,0 +1,371 @@
+package br.com.archbase.event.driven.outbox;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drena a tabela "caixa de saída" e publica os eventos em um {@link OutboxSink}.
+ * <p>
+ * Cada lote é processado em uma transação JDBC própria:
+ * <ol>
+ *   <li>reivindica até {@code batchSize} eventos pendentes com {@code SELECT ... FOR UPDATE SKIP LOCKED},
+ *   de modo que vários nós possam executar o relay em paralelo sem disputar as mesmas linhas;</li>
+ *   <li>adia agregados que ainda possuem eventos anteriores pendentes fora do lote (bloqueados por
+ *   outro nó ou aguardando nova tentativa), preservando a ordem por {@code aggregateId};</li>
+ *   <li>publica os eventos de cada agregado em ordem; na primeira falha, o evento é reagendado com
+ *   backoff exponencial e os eventos seguintes do mesmo agregado ficam para o próximo lote;</li>
+ *   <li>remove ou marca como processados, em lote, os eventos publicados.</li>
+ * </ol>
+ * Os eventos são ordenados pela coluna {@code timestamp}, que pode ser numérica (epoch em
+ * milissegundos, como em {@link OutboxEvent}) ou temporal. As colunas de controle do relay são criadas
+ * em bancos existentes pelo script {@link #SCHEMA_SCRIPT}.
+ */
+public class OutboxRelay implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    /**
+     * Recurso do classpath com a DDL das colunas usadas pelo relay na tabela {@code outbox_event}.
+     */
+    public static final String SCHEMA_SCRIPT = "db/archbase/outbox_event_relay_columns.sql";
+
+    private final DataSource dataSource;
+    private final OutboxSink sink;
+    private final OutboxRelayProperties properties;
+    private final Clock clock;
+    private final String claimSql;
+    private final String pendingHeadSql;
+    private final String completeSql;
+    private final String retrySql;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder claimed = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile double lastBatchThroughput;
+
+    private ScheduledExecutorService scheduler;
+
+    public OutboxRelay(DataSource dataSource, OutboxSink sink, OutboxRelayProperties properties) {
+        this(dataSource, sink, properties, Clock.systemUTC());
+    }
+
+    public OutboxRelay(DataSource dataSource, OutboxSink sink, OutboxRelayProperties properties, Clock clock) {
+        this.dataSource = dataSource;
+        this.sink = sink;
+        this.properties = properties;
+        this.clock = clock;
+
+        String table = properties.getTableName();
+        this.claimSql = "SELECT id, aggregate_type, aggregate_id, type, payload, timestamp, attempts FROM " + table
+                + " WHERE processed_at IS NULL AND (next_attempt_at IS NULL OR next_attempt_at <= ?)"
+                + " ORDER BY timestamp, id LIMIT ? " + properties.getLockClause();
+        this.pendingHeadSql = "SELECT aggregate_id, MIN(timestamp) FROM " + table
+                + " WHERE processed_at IS NULL AND aggregate_id IN (%s) GROUP BY aggregate_id";
+        this.completeSql = properties.getCompletionMode() == OutboxCompletionMode.DELETE
+                ? "DELETE FROM " + table + " WHERE id = ?"
+                : "UPDATE " + table + " SET processed_at = ? WHERE id = ?";
+        this.retrySql = "UPDATE " + table
+                + " SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+    }
+
+    /**
+     * Inicia o polling periódico em uma thread dedicada. Enquanto os lotes vierem cheios, o relay
+     * continua drenando sem aguardar o intervalo de polling.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "archbase-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::drain, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Interrompe o polling, aguardando o lote em andamento.
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * Processa lotes enquanto eles vierem cheios, isto é, até a caixa de saída esvaziar ou algum
+     * evento do lote precisar ser adiado.
+     */
+    public void drain() {
+        try {
+            int processed;
+            do {
+                processed = relayBatch();
+            } while (processed >= properties.getBatchSize());
+        } catch (Exception ex) {
+            log.error("Falha ao drenar a caixa de saída", ex);
+        }
+    }
+
+    /**
+     * Reivindica, publica e conclui um lote de eventos.
+     *
+     * @return quantidade de eventos publicados ou reagendados no lote
+     * @throws SQLException se a comunicação com o banco falhar; a transação é desfeita
+     */
+    public int relayBatch() throws SQLException {
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                Instant now = clock.instant();
+                List<OutboxMessage> messages = claim(connection, now);
+                if (messages.isEmpty()) {
+                    connection.commit();
+                    return 0;
+                }
+                claimed.add(messages.size());
+
+                Map<String, List<OutboxMessage>> byAggregate = groupByAggregate(messages);
+                removeBlockedAggregates(connection, byAggregate);
+
+                List<String> completed = new ArrayList<>(messages.size());
+                List<OutboxMessage> retries = new ArrayList<>();
+                List<String> errors = new ArrayList<>();
+                for (List<OutboxMessage> aggregateMessages : byAggregate.values()) {
+                    publishInOrder(aggregateMessages, completed, retries, errors);
+                }
+
+                complete(connection, completed);
+                scheduleRetries(connection, retries, errors, now);
+                connection.commit();
+
+                batches.increment();
+                double seconds = (System.nanoTime() - started) / 1_000_000_000d;
+                lastBatchThroughput = seconds > 0 ? completed.size() / seconds : completed.size();
+                return completed.size() + retries.size();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * @return fotografia das métricas do relay
+     */
+    public OutboxRelayMetrics getMetrics() {
+        return new OutboxRelayMetrics(
+                batches.sum(),
+                claimed.sum(),
+                published.sum(),
+                failed.sum(),
+                deferred.sum(),
+                Duration.ofMillis(lastLagMillis.get()),
+                Duration.ofMillis(maxLagMillis.get()),
+                lastBatchThroughput);
+    }
+
+    private List<OutboxMessage> claim(Connection connection, Instant now) throws SQLException {
+        List<OutboxMessage> messages = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(claimSql)) {
+            statement.setLong(1, now.toEpochMilli());
+            statement.setInt(2, properties.getBatchSize());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    messages.add(new OutboxMessage(
+                            rs.getString(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getString(5),
+                            toInstant(rs.getObject(6)),
+                            rs.getInt(7)));
+                }
+            }
+        }
+        return messages;
+    }
+
+    private static Map<String, List<OutboxMessage>> groupByAggregate(List<OutboxMessage> messages) {
+        Map<String, List<OutboxMessage>> byAggregate = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            byAggregate.computeIfAbsent(message.aggregateId(), k -> new ArrayList<>()).add(message);
+        }
+        return byAggregate;
+    }
+
+    /**
+     * Remove do lote os agregados cujo evento pendente mais antigo não foi reivindicado por este lote.
+     */
+    private void removeBlockedAggregates(Connection connection, Map<String, List<OutboxMessage>> byAggregate)
+            throws SQLException {
+        List<String> aggregateIds = new ArrayList<>(byAggregate.keySet());
+        aggregateIds.remove(null);
+        if (aggregateIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(aggregateIds.size(), "?"));
+        Map<String, Instant> pendingHeads = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(String.format(pendingHeadSql, placeholders))) {
+            for (int i = 0; i < aggregateIds.size(); i++) {
+                statement.setString(i + 1, aggregateIds.get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    pendingHeads.put(rs.getString(1), toInstant(rs.getObject(2)));
+                }
+            }
+        }
+        for (String aggregateId : aggregateIds) {
+            Instant pendingHead = pendingHeads.get(aggregateId);
+            List<OutboxMessage> aggregateMessages = byAggregate.get(aggregateId);
+            Instant batchHead = aggregateMessages.get(0).timestamp();
+            if (pendingHead != null && batchHead != null && pendingHead.isBefore(batchHead)) {
+                deferred.add(aggregateMessages.size());
+                byAggregate.remove(aggregateId);
+            }
+        }
+    }
+
+    private void publishInOrder(List<OutboxMessage> aggregateMessages, List<String> completed,
+                                List<OutboxMessage> retries, List<String> errors) {
+        for (int i = 0; i < aggregateMessages.size(); i++) {
+            OutboxMessage message = aggregateMessages.get(i);
+            try {
+                sink.publish(message);
+            } catch (Exception ex) {
+                failed.increment();
+                deferred.add(aggregateMessages.size() - i - 1L);
+                retries.add(message);
+                errors.add(ex.getClass().getName() + ": " + ex.getMessage());
+                log.warn(String.format("Falha ao publicar o evento %s (%s) da caixa de saída, tentativa %d",
+                        message.id(), message.type(), message.attempts() + 1), ex);
+                return;
+            }
+            completed.add(message.id());
+            published.increment();
+            recordLag(message);
+        }
+    }
+
+    private void recordLag(OutboxMessage message) {
+        if (message.timestamp() == null) {
+            return;
+        }
+        long lag = Math.max(0, clock.millis() - message.timestamp().toEpochMilli());
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+    }
+
+    private void complete(Connection connection, List<String> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long processedAt = clock.millis();
+        try (PreparedStatement statement = connection.prepareStatement(completeSql)) {
+            for (String id : ids) {
+                if (properties.getCompletionMode() == OutboxCompletionMode.DELETE) {
+                    statement.setString(1, id);
+                } else {
+                    statement.setLong(1, processedAt);
+                    statement.setString(2, id);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void scheduleRetries(Connection connection, List<OutboxMessage> retries, List<String> errors,
+                                 Instant now) throws SQLException {
+        if (retries.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(retrySql)) {
+            for (int i = 0; i < retries.size(); i++) {
+                OutboxMessage message = retries.get(i);
+                int attempts = message.attempts() + 1;
+                String error = errors.get(i);
+                statement.setInt(1, attempts);
+                statement.setLong(2, now.plus(backoff(attempts)).toEpochMilli());
+                statement.setString(3, error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                statement.setString(4, message.id());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration max = properties.getMaxBackoff();
+        Duration backoff = properties.getInitialBackoff();
+        for (int i = 1; i < attempts && backoff.compareTo(max) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return Instant.ofEpochMilli(number.longValue());
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        throw new IllegalStateException("Tipo de timestamp não suportado na caixa de saída: " + value.getClass().getName());
+    }
+}
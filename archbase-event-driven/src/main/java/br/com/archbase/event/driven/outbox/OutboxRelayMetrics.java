@@ -0,0 +1,25 @@
+package br.com.archbase.event.driven.outbox;
+
+import java.time.Duration;
+
+/**
+ * Fotografia das métricas de um {@link OutboxRelay}.
+ *
+ * @param batches             lotes processados
+ * @param claimed             eventos reivindicados nas consultas de polling
+ * @param published           eventos publicados com sucesso no {@link OutboxSink}
+ * @param failed              falhas de publicação reagendadas com backoff
+ * @param deferred            eventos adiados para preservar a ordem do agregado
+ * @param lastLag             tempo entre a geração e a publicação do último evento
+ * @param maxLag              maior tempo observado entre a geração e a publicação de um evento
+ * @param lastBatchThroughput eventos publicados por segundo no último lote
+ */
+public record OutboxRelayMetrics(long batches,
+                                 long claimed,
+                                 long published,
+                                 long failed,
+                                 long deferred,
+                                 Duration lastLag,
+                                 Duration maxLag,
+                                 double lastBatchThroughput) {
+}
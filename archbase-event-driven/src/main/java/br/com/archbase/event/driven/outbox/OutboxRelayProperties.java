@@ -0,0 +1,101 @@
+package br.com.archbase.event.driven.outbox;
+
+import java.time.Duration;
+
+/**
+ * Configuração do {@link OutboxRelay}.
+ */
+public class OutboxRelayProperties {
+
+    /**
+     * Nome da tabela da caixa de saída.
+     */
+    private String tableName = "outbox_event";
+
+    /**
+     * Quantidade máxima de eventos reivindicados por lote.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Intervalo entre consultas quando a caixa de saída está vazia.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Backoff da primeira nova tentativa; dobra a cada falha.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Backoff máximo entre tentativas.
+     */
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * O que fazer com os eventos publicados.
+     */
+    private OutboxCompletionMode completionMode = OutboxCompletionMode.DELETE;
+
+    /**
+     * Cláusula de bloqueio adicionada à consulta de reivindicação. O padrão permite vários relays
+     * em paralelo no PostgreSQL, MySQL 8, Oracle e H2.
+     */
+    private String lockClause = "FOR UPDATE SKIP LOCKED";
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public OutboxCompletionMode getCompletionMode() {
+        return completionMode;
+    }
+
+    public void setCompletionMode(OutboxCompletionMode completionMode) {
+        this.completionMode = completionMode;
+    }
+
+    public String getLockClause() {
+        return lockClause;
+    }
+
+    public void setLockClause(String lockClause) {
+        this.lockClause = lockClause;
+    }
+}
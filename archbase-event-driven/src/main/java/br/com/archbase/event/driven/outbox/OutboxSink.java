@@ -0,0 +1,21 @@
+package br.com.archbase.event.driven.outbox;
+
+/**
+ * Destino dos eventos drenados da caixa de saída pelo {@link OutboxRelay}, por exemplo um
+ * message broker.
+ * <p>
+ * A entrega é "pelo menos uma vez": se o relay falhar depois de publicar e antes de confirmar a
+ * transação, o evento será publicado novamente. Consumidores devem usar {@link OutboxMessage#id()}
+ * para descartar duplicados.
+ */
+@FunctionalInterface
+public interface OutboxSink {
+
+    /**
+     * Publica um evento. Qualquer exceção faz o evento ser reagendado com backoff.
+     *
+     * @param message evento a publicar
+     * @throws Exception se a publicação falhar
+     */
+    void publish(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,11 @@
+-- Colunas usadas pelo OutboxRelay na tabela "caixa de saída" (archbase-event-driven 3.0.1).
+--
+-- Bancos criados antes dessa versão precisam desta alteração antes de subir a aplicação quando
+-- o Hibernate roda com ddl-auto=validate ou none. Com ddl-auto=update o Hibernate cria as mesmas
+-- colunas; o DEFAULT de "attempts" é o que permite adicioná-la a uma tabela que já tem linhas.
+-- Copie o script para as migrações da aplicação (Flyway, Liquibase) ajustando os tipos, se preciso.
+
+ALTER TABLE outbox_event ADD COLUMN processed_at BIGINT;
+ALTER TABLE outbox_event ADD COLUMN attempts INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE outbox_event ADD COLUMN next_attempt_at BIGINT;
+ALTER TABLE outbox_event ADD COLUMN last_error VARCHAR(1000);
@@ -0,0 +1,236 @@
+package br.com.archbase.event.driven.bus.autoscan;
+
+import br.com.archbase.ddd.domain.annotations.DomainCommand;
+import br.com.archbase.event.driven.spec.annotations.CommandMapping;
+import br.com.archbase.event.driven.spec.annotations.HandlerLifecycle;
+import br.com.archbase.event.driven.spec.annotations.QueryMapping;
+import br.com.archbase.event.driven.spec.command.contracts.Command;
+import br.com.archbase.event.driven.spec.command.contracts.CommandHandler;
+import br.com.archbase.event.driven.spec.query.contracts.Query;
+import br.com.archbase.event.driven.spec.query.contracts.QueryHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AutoScanHandlerFactoryTest {
+
+    private static final String PACKAGE = AutoScanHandlerFactoryTest.class.getPackageName();
+
+    @Test
+    void registersHandlersFromCompileTimeIndex(@TempDir Path dir) throws IOException {
+        try (URLClassLoader loader = indexClassLoader(dir)) {
+            AutoScanHandlerFactory factory = withContextClassLoader(loader, () -> scan(PACKAGE));
+
+            assertHandlers(factory);
+        }
+    }
+
+    @Test
+    void fallsBackToReflectionsWhenIndexHasNoEntriesForPackage(@TempDir Path dir) throws IOException {
+        Files.createDirectories(dir.resolve("META-INF/archbase"));
+        Files.writeString(dir.resolve(HandlerIndex.LOCATION), "query\tother.Query\tother.Handler\n");
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, getClass().getClassLoader())) {
+            AutoScanHandlerFactory factory = withContextClassLoader(loader, () -> scan(PACKAGE));
+
+            assertHandlers(factory);
+        }
+    }
+
+    /**
+     * O índice gerado em tempo de compilação deve resolver exatamente os mesmos manipuladores que a
+     * varredura com Reflections. A comparação de tempo fica no módulo archbase-event-driven-benchmark
+     * ({@code HandlerRegistrationBenchmark}).
+     */
+    @Test
+    void indexAndClasspathScanResolveTheSameHandlers(@TempDir Path dir) throws IOException {
+        try (URLClassLoader loader = indexClassLoader(dir)) {
+            Map<String, Object> scanned = registeredHandlers(scan(PACKAGE));
+            Map<String, Object> indexed = registeredHandlers(withContextClassLoader(loader, () -> scan(PACKAGE)));
+
+            assertFalse(scanned.isEmpty());
+            assertEquals(scanned, indexed);
+        }
+    }
+
+    @Test
+    void singletonHandlerIsCreatedOnce() {
+        AtomicInteger created = new AtomicInteger();
+        AutoScanHandlerFactory factory = countingFactory(created);
+        factory.registerQueryHandler(FindOrder.class, FindOrderHandler.class);
+
+        Object first = factory.createQueryHandler(FindOrder.class.getName());
+        Object second = factory.createQueryHandler(FindOrder.class.getName());
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void prototypeAndPooledHandlersFollowTheirLifecycle() {
+        AtomicInteger created = new AtomicInteger();
+        AutoScanHandlerFactory factory = countingFactory(created);
+        factory.registerCommandHandler(PlaceOrder.class, PrototypeHandler.class);
+        factory.registerCommandHandler(ArchiveOrder.class, PooledHandler.class);
+
+        CommandHandler<Command<String>, String> prototype = factory.createCommandHandler(PlaceOrder.class.getName());
+        assertNotEquals(prototype.handle(new PlaceOrder()), prototype.handle(new PlaceOrder()));
+
+        CommandHandler<Command<String>, String> pooled = factory.createCommandHandler(ArchiveOrder.class.getName());
+        assertEquals(pooled.handle(new ArchiveOrder()), pooled.handle(new ArchiveOrder()));
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    void dispatchIsSafeWhileHandlersAreRegistered() throws Exception {
+        AutoScanHandlerFactory factory = countingFactory(new AtomicInteger());
+        factory.registerQueryHandler(FindOrder.class, FindOrderHandler.class);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> registrations = executor.submit(() -> {
+                while (running.get()) {
+                    factory.registerCommandHandler(PlaceOrder.class, PlaceOrderHandler.class);
+                }
+            });
+            for (int i = 0; i < 100_000; i++) {
+                assertInstanceOf(FindOrderHandler.class, factory.createQueryHandler(FindOrder.class.getName()));
+            }
+            running.set(false);
+            registrations.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static AutoScanHandlerFactory countingFactory(AtomicInteger created) {
+        return new AutoScanHandlerFactory(new BeanFactory() {
+            @Override
+            public <R> R createBean(Class<R> beanClass) {
+                created.incrementAndGet();
+                try {
+                    return beanClass.getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+
+    private static void assertHandlers(AutoScanHandlerFactory factory) {
+        assertInstanceOf(FindOrderHandler.class, factory.createQueryHandler(FindOrder.class.getName()));
+        assertInstanceOf(PlaceOrderHandler.class, factory.createCommandHandler(PlaceOrder.class.getName()));
+        assertInstanceOf(PlaceOrderHandler.class, factory.createCommandHandler(CancelOrder.class.getName()));
+        assertNull(factory.createCommandHandler("inexistente"));
+    }
+
+    private static AutoScanHandlerFactory scan(String packageName) {
+        AutoScanHandlerFactory factory = countingFactory(new AtomicInteger());
+        factory.scanAndRegisterHandlers(packageName);
+        return factory;
+    }
+
+    private static URLClassLoader indexClassLoader(Path dir) throws IOException {
+        Files.createDirectories(dir.resolve("META-INF/archbase"));
+        Files.write(dir.resolve(HandlerIndex.LOCATION), List.of(
+                "query\t" + FindOrder.class.getName() + "\t" + FindOrderHandler.class.getName(),
+                "command\t" + PlaceOrder.class.getName() + "\t" + PlaceOrderHandler.class.getName(),
+                "command\t" + CancelOrder.class.getName() + "\t" + PlaceOrderHandler.class.getName()));
+        return new URLClassLoader(new URL[]{dir.toUri().toURL()}, AutoScanHandlerFactoryTest.class.getClassLoader());
+    }
+
+    private static <T> T withContextClassLoader(ClassLoader loader, Supplier<T> action) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            return action.get();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static Map<String, Object> registeredHandlers(AutoScanHandlerFactory factory) {
+        Map<String, Object> handlers = new TreeMap<>();
+        for (String field : List.of("handlerClassByQueryNameMap", "handlerClassByCommandNameMap")) {
+            try {
+                Field mapField = AutoScanHandlerFactory.class.getDeclaredField(field);
+                mapField.setAccessible(true);
+                ((Map<?, ?>) mapField.get(factory)).forEach((message, handler) -> handlers.put(field + ":" + message, handler));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return handlers;
+    }
+
+    static class FindOrder implements Query<String> {
+    }
+
+    static class PlaceOrder implements Command<String> {
+    }
+
+    @DomainCommand
+    static class CancelOrder implements Command<String> {
+    }
+
+    static class ArchiveOrder implements Command<String> {
+    }
+
+    @QueryMapping(FindOrder.class)
+    public static class FindOrderHandler implements QueryHandler<FindOrder, String> {
+        @Override
+        public String handle(FindOrder query) {
+            return "order";
+        }
+    }
+
+    @CommandMapping(PlaceOrder.class)
+    public static class PlaceOrderHandler implements CommandHandler<PlaceOrder, String> {
+        @Override
+        public String handle(PlaceOrder command) {
+            return "placed";
+        }
+
+        public String cancel(CancelOrder command) {
+            return "cancelled";
+        }
+    }
+
+    @HandlerLifecycle(HandlerLifecycle.Scope.PROTOTYPE)
+    public static class PrototypeHandler implements CommandHandler<PlaceOrder, String> {
+        @Override
+        public String handle(PlaceOrder command) {
+            return String.valueOf(System.identityHashCode(this));
+        }
+    }
+
+    @HandlerLifecycle(value = HandlerLifecycle.Scope.POOLED, poolSize = 1)
+    public static class PooledHandler implements CommandHandler<ArchiveOrder, String> {
+        @Override
+        public String handle(ArchiveOrder command) {
+            return String.valueOf(System.identityHashCode(this));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.archbase.event.driven.bus.event;
+
+import br.com.archbase.event.driven.spec.event.contracts.Event;
+import br.com.archbase.event.driven.spec.event.contracts.Subscriber;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncEventBusTest {
+
+    @Test
+    void preservesOrderPerPartitionKey() throws InterruptedException {
+        int aggregates = 8;
+        int eventsPerAggregate = 500;
+        CountDownLatch done = new CountDownLatch(aggregates * eventsPerAggregate);
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+
+        try (AsyncEventBus bus = new AsyncEventBus(Executors.newVirtualThreadPerTaskExecutor(), 4, 64,
+                BackPressurePolicy.BLOCK, event -> ((SequencedEvent) event).aggregateId)) {
+            bus.subscribe(new Subscriber() {
+                @Override
+                public <R> void onEvent(Event<R> event) {
+                    SequencedEvent sequenced = (SequencedEvent) event;
+                    received.computeIfAbsent(sequenced.aggregateId, k -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(sequenced.sequence);
+                    done.countDown();
+                }
+            });
+
+            for (int sequence = 0; sequence < eventsPerAggregate; sequence++) {
+                for (int aggregate = 0; aggregate < aggregates; aggregate++) {
+                    bus.publish(new SequencedEvent("agg-" + aggregate, sequence));
+                }
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            received.values().forEach(sequences -> {
+                for (int i = 0; i < sequences.size(); i++) {
+                    assertEquals(i, sequences.get(i));
+                }
+            });
+            assertEquals(aggregates * eventsPerAggregate, bus.getMetrics().published());
+        }
+    }
+
+    @Test
+    void dropOldestDiscardsWhenPartitionIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        try (AsyncEventBus bus = new AsyncEventBus(Executors.newVirtualThreadPerTaskExecutor(), 1, 2,
+                BackPressurePolicy.DROP_OLDEST, PartitionKeyResolver.AGGREGATE_ID)) {
+            bus.subscribe(new Subscriber() {
+                @Override
+                public <R> void onEvent(Event<R> event) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+
+            bus.publish(new SequencedEvent("a", 0));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i <= 5; i++) {
+                bus.publish(new SequencedEvent("a", i));
+            }
+
+            assertEquals(2, bus.getQueueDepth());
+            assertEquals(3, bus.getMetrics().dropped());
+            release.countDown();
+        }
+    }
+
+    @Test
+    void callerRunsWhenPartitionIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread publisher = Thread.currentThread();
+        List<Thread> inlineThreads = Collections.synchronizedList(new ArrayList<>());
+
+        try (AsyncEventBus bus = new AsyncEventBus(Executors.newVirtualThreadPerTaskExecutor(), 1, 1,
+                BackPressurePolicy.CALLER_RUNS, PartitionKeyResolver.AGGREGATE_ID)) {
+            bus.subscribe(new Subscriber() {
+                @Override
+                public <R> void onEvent(Event<R> event) {
+                    if (Thread.currentThread() == publisher) {
+                        inlineThreads.add(Thread.currentThread());
+                        return;
+                    }
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+
+            bus.publish(new SequencedEvent("a", 0));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            bus.publish(new SequencedEvent("a", 1));
+            bus.publish(new SequencedEvent("a", 2));
+
+            assertEquals(1, inlineThreads.size());
+            assertEquals(1, bus.getMetrics().callerRuns());
+            release.countDown();
+        }
+    }
+
+    @Test
+    void errorThrownBySubscriberDoesNotStallPartition() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+
+        try (AsyncEventBus bus = new AsyncEventBus(Executors.newVirtualThreadPerTaskExecutor(), 1, 16,
+                BackPressurePolicy.BLOCK, PartitionKeyResolver.AGGREGATE_ID)) {
+            bus.subscribe(new Subscriber() {
+                @Override
+                public <R> void onEvent(Event<R> event) {
+                    SequencedEvent sequenced = (SequencedEvent) event;
+                    if (sequenced.sequence == 0) {
+                        throw new Error("falha simulada");
+                    }
+                    received.add(sequenced.sequence);
+                    delivered.countDown();
+                }
+            });
+
+            bus.publish(new SequencedEvent("a", 0));
+            bus.publish(new SequencedEvent("a", 1));
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(1), received);
+            assertEquals(1, bus.getMetrics().failed());
+        }
+    }
+
+    @Test
+    void simpleEventBusToleratesSubscribeDuringPublish() {
+        SimpleEventBus bus = new SimpleEventBus();
+        List<Integer> calls = new ArrayList<>();
+        bus.subscribe(new Subscriber() {
+            @Override
+            public <R> void onEvent(Event<R> event) {
+                calls.add(1);
+                bus.subscribe(new Subscriber() {
+                    @Override
+                    public <T> void onEvent(Event<T> nested) {
+                        calls.add(2);
+                    }
+                });
+            }
+        });
+
+        bus.publish(new SequencedEvent("a", 0));
+        assertEquals(List.of(1), calls);
+    }
+
+    static class SequencedEvent implements Event<Void> {
+        final String aggregateId;
+        final int sequence;
+
+        SequencedEvent(String aggregateId, int sequence) {
+            this.aggregateId = aggregateId;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.archbase.event.driven.bus.message;
+
+import br.com.archbase.event.driven.spec.message.contracts.Message;
+import br.com.archbase.event.driven.spec.message.contracts.MessageHandler;
+import br.com.archbase.event.driven.spec.message.contracts.MessageHandlerFactory;
+import br.com.archbase.event.driven.spec.middleware.contracts.Middleware;
+import br.com.archbase.event.driven.spec.middleware.contracts.NextMiddlewareFunction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SimpleMessageBusTest {
+
+    @Test
+    void middlewaresRunInDeclaredOrder() {
+        List<String> calls = new ArrayList<>();
+        SimpleMessageBus bus = new SimpleMessageBus(new CountingFactory(),
+                List.of(new RecordingMiddleware("a", calls), new RecordingMiddleware("b", calls)));
+
+        assertEquals("pong", bus.dispatch(new Ping()));
+        assertEquals(List.of("a", "b"), calls);
+    }
+
+    @Test
+    void handlerIsResolvedOnEveryDispatchByDefault() {
+        CountingFactory factory = new CountingFactory();
+        SimpleMessageBus bus = new SimpleMessageBus(factory, List.of());
+
+        bus.dispatch(new Ping());
+        bus.dispatch(new Ping());
+        assertEquals(2, factory.created.get());
+    }
+
+    @Test
+    void handlerIsResolvedOncePerMessageClassWhenCached() {
+        CountingFactory factory = new CountingFactory();
+        SimpleMessageBus bus = new SimpleMessageBus(factory, List.of(), true);
+
+        bus.dispatch(new Ping());
+        bus.dispatch(new Ping());
+        assertEquals(1, factory.created.get());
+
+        bus.invalidateHandlerCache();
+        bus.dispatch(new Ping());
+        assertEquals(2, factory.created.get());
+    }
+
+    static class Ping implements Message<String> {
+    }
+
+    static class CountingFactory implements MessageHandlerFactory {
+        final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> MessageHandler<Message<R>, R> createHandler(String messageName) {
+            created.incrementAndGet();
+            return message -> (R) "pong";
+        }
+    }
+
+    static class RecordingMiddleware implements Middleware {
+        private final String name;
+        private final List<String> calls;
+
+        RecordingMiddleware(String name, List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public <R> R handle(Message<R> message, NextMiddlewareFunction<Message<R>, R> next) {
+            calls.add(name);
+            return next.call(message);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.archbase.event.driven.bus.middleware.metrics;
+
+import br.com.archbase.event.driven.spec.command.contracts.Command;
+import br.com.archbase.event.driven.spec.message.contracts.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricsMiddlewareTest {
+
+    @Test
+    void registraMedidoresUmaVezPorMensagemEResultado() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MetricsMiddleware middleware = new MetricsMiddleware(registry, "command-bus");
+
+        for (int i = 0; i < 3; i++) {
+            middleware.handle(new CriarPedido(), message -> "ok");
+        }
+        int metersAfterWarmup = registry.getMeters().size();
+        middleware.handle(new CriarPedido(), message -> "ok");
+        assertEquals(metersAfterWarmup, registry.getMeters().size());
+
+        assertThrows(IllegalStateException.class, () -> middleware.handle(new CriarPedido(), message -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        assertEquals(4.0, registry.get("archbase.command.success").tag("message", "CriarPedido").counter().count());
+        assertEquals(4.0, registry.get("archbase.command.dispatched").counter().count());
+        assertEquals(1.0, registry.get("archbase.command.error")
+                .tag("exception", "IllegalStateException").counter().count());
+        assertEquals(4, registry.get("archbase.command.duration").tag("status", "success").timer().count());
+        assertEquals(1, registry.get("archbase.command.duration").tag("status", "error").timer().count());
+        assertEquals(0.0, registry.get("archbase.command.in_flight").tag("bus", "command-bus").gauge().value());
+    }
+
+    @Test
+    void gaugeIndicaMensagensEmProcessamento() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MetricsMiddleware middleware = new MetricsMiddleware(registry, "event-bus");
+
+        double during = middleware.handle(new PedidoCriado(),
+                message -> registry.get("archbase.event.in_flight").gauge().value());
+
+        assertEquals(1.0, during);
+        assertEquals(0.0, registry.get("archbase.event.in_flight").gauge().value());
+    }
+
+    @Test
+    void semRegistryFicaDesabilitado() {
+        MetricsMiddleware middleware = new MetricsMiddleware(null);
+
+        assertFalse(middleware.isEnabled());
+        assertEquals("ok", middleware.handle(new CriarPedido(), message -> "ok"));
+    }
+
+    static class CriarPedido implements Command<String> {
+    }
+
+    static class PedidoCriado implements Message<Double> {
+    }
+}
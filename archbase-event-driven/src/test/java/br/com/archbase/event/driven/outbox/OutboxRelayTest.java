@@ -0,0 +1,236 @@
+package br.com.archbase.event.driven.outbox;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboxRelayTest {
+
+    private JdbcDataSource dataSource;
+    private MutableClock clock;
+    private InMemorySink sink;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE outbox_event (" +
+                    "id VARCHAR(36) PRIMARY KEY, aggregate_type VARCHAR(255) NOT NULL, " +
+                    "aggregate_id VARCHAR(255) NOT NULL, type VARCHAR(255) NOT NULL, timestamp BIGINT NOT NULL, " +
+                    "payload VARCHAR(10000) NOT NULL, processed_at BIGINT, attempts INTEGER DEFAULT 0 NOT NULL, " +
+                    "next_attempt_at BIGINT, last_error VARCHAR(1000))");
+        }
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        sink = new InMemorySink();
+    }
+
+    @Test
+    void publishesInOrderAndDeletesInBulk() throws SQLException {
+        insert("order", "1", 1);
+        insert("order", "2", 2);
+        insert("order", "1", 3);
+        insert("order", "1", 4);
+
+        OutboxRelay relay = new OutboxRelay(dataSource, sink, properties(OutboxCompletionMode.DELETE, 10), clock);
+
+        assertEquals(4, relay.relayBatch());
+        assertEquals(List.of("1:1", "1:3", "1:4", "2:2"), sink.published);
+        assertEquals(0, count("SELECT COUNT(*) FROM outbox_event"));
+
+        OutboxRelayMetrics metrics = relay.getMetrics();
+        assertEquals(4, metrics.published());
+        assertEquals(1, metrics.batches());
+        assertTrue(metrics.maxLag().compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    void marksProcessedWhenConfigured() throws SQLException {
+        insert("order", "1", 1);
+        insert("order", "1", 2);
+
+        OutboxRelay relay = new OutboxRelay(dataSource, sink, properties(OutboxCompletionMode.MARK_PROCESSED, 10), clock);
+        relay.relayBatch();
+
+        assertEquals(2, count("SELECT COUNT(*) FROM outbox_event WHERE processed_at IS NOT NULL"));
+        assertEquals(0, relay.relayBatch());
+        assertEquals(2, sink.published.size());
+    }
+
+    @Test
+    void retriesWithBackoffPreservingAggregateOrder() throws SQLException {
+        insert("order", "1", 1);
+        insert("order", "1", 2);
+        insert("order", "2", 3);
+        sink.failOnce.add("1:1");
+
+        OutboxRelay relay = new OutboxRelay(dataSource, sink, properties(OutboxCompletionMode.DELETE, 10), clock);
+        relay.relayBatch();
+
+        assertEquals(List.of("2:3"), sink.published);
+        assertEquals(1, count("SELECT attempts FROM outbox_event WHERE timestamp = 1"));
+        assertEquals(1, count("SELECT COUNT(*) FROM outbox_event WHERE next_attempt_at IS NOT NULL"));
+
+        // Antes do backoff expirar, o evento seguinte do agregado continua aguardando
+        relay.relayBatch();
+        assertEquals(List.of("2:3"), sink.published);
+
+        clock.advance(Duration.ofSeconds(2));
+        relay.relayBatch();
+        assertEquals(List.of("2:3", "1:1", "1:2"), sink.published);
+        assertEquals(1, relay.getMetrics().failed());
+    }
+
+    @Test
+    void skipsRowsLockedByAnotherRelayAndDefersTheirAggregate() throws SQLException {
+        insert("order", "1", 1);
+        insert("order", "1", 2);
+        insert("order", "2", 3);
+
+        try (Connection otherNode = dataSource.getConnection()) {
+            otherNode.setAutoCommit(false);
+            try (Statement statement = otherNode.createStatement()) {
+                statement.executeQuery("SELECT id FROM outbox_event WHERE timestamp = 1 FOR UPDATE").close();
+            }
+
+            OutboxRelay relay = new OutboxRelay(dataSource, sink, properties(OutboxCompletionMode.DELETE, 10), clock);
+            relay.relayBatch();
+
+            assertEquals(List.of("2:3"), sink.published);
+            assertEquals(1, relay.getMetrics().deferred());
+            otherNode.rollback();
+        }
+    }
+
+    @Test
+    void backoffDoublesUpToTheConfiguredMaximum() {
+        OutboxRelayProperties properties = properties(OutboxCompletionMode.DELETE, 10);
+        properties.setMaxBackoff(Duration.ofSeconds(5));
+        OutboxRelay relay = new OutboxRelay(dataSource, sink, properties, clock);
+
+        assertEquals(Duration.ofSeconds(1), relay.backoff(1));
+        assertEquals(Duration.ofSeconds(2), relay.backoff(2));
+        assertEquals(Duration.ofSeconds(4), relay.backoff(3));
+        assertEquals(Duration.ofSeconds(5), relay.backoff(10));
+    }
+
+    @Test
+    void schemaScriptUpgradesPopulatedTableCreatedBeforeTheRelay() throws Exception {
+        dataSource.setURL("jdbc:h2:mem:outbox-legacy-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE outbox_event (" +
+                    "id VARCHAR(36) PRIMARY KEY, aggregate_type VARCHAR(255) NOT NULL, " +
+                    "aggregate_id VARCHAR(255) NOT NULL, type VARCHAR(255) NOT NULL, timestamp BIGINT NOT NULL, " +
+                    "payload VARCHAR(10000) NOT NULL)");
+            statement.execute("INSERT INTO outbox_event VALUES ('" + UUID.randomUUID() + "', 'order', '1', 'Created', 1, 'legado')");
+
+            String script;
+            try (InputStream input = OutboxRelay.class.getClassLoader().getResourceAsStream(OutboxRelay.SCHEMA_SCRIPT)) {
+                script = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        assertEquals(0, count("SELECT attempts FROM outbox_event"));
+
+        OutboxRelay relay = new OutboxRelay(dataSource, sink, properties(OutboxCompletionMode.MARK_PROCESSED, 10), clock);
+
+        assertEquals(1, relay.relayBatch());
+        assertEquals(List.of("legado"), sink.published);
+    }
+
+    private OutboxRelayProperties properties(OutboxCompletionMode mode, int batchSize) {
+        OutboxRelayProperties properties = new OutboxRelayProperties();
+        properties.setCompletionMode(mode);
+        properties.setBatchSize(batchSize);
+        return properties;
+    }
+
+    private void insert(String aggregateType, String aggregateId, long timestamp) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO outbox_event (id, aggregate_type, aggregate_id, type, timestamp, payload) " +
+                             "VALUES (?, ?, ?, ?, ?, ?)")) {
+            statement.setString(1, UUID.randomUUID().toString());
+            statement.setString(2, aggregateType);
+            statement.setString(3, aggregateId);
+            statement.setString(4, "Changed");
+            statement.setLong(5, timestamp);
+            statement.setString(6, aggregateId + ":" + timestamp);
+            statement.executeUpdate();
+        }
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    static class InMemorySink implements OutboxSink {
+        final List<String> published = new ArrayList<>();
+        final Set<String> failOnce = new HashSet<>();
+
+        @Override
+        public void publish(OutboxMessage message) {
+            if (failOnce.remove(message.payload())) {
+                throw new IllegalStateException("broker indisponível");
+            }
+            published.add(message.payload());
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
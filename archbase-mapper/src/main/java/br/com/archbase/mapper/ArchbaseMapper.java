@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Interface base para mappers de objeto.
@@ -59,6 +60,17 @@ public interface ArchbaseMapper<S, T> {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Converte um stream de objetos sob demanda, sem materializar listas intermediárias. Use com
+     * {@code Repository#streamAll} em exportações grandes.
+     *
+     * @param source Stream de origem
+     * @return Stream de destino
+     */
+    default Stream<T> toDtoStream(Stream<S> source) {
+        return source.map(this::toDto);
+    }
+
     /**
      * Converte uma lista de objetos para entidades.
      *
@@ -0,0 +1,27 @@
+package br.com.archbase.modulith.communication;
+
+/**
+ * Modo de execução dos handlers no {@link SimpleModuleGateway}.
+ *
+ * @author Archbase Team
+ * @since 3.0.0
+ */
+public enum GatewayExecutionMode {
+
+    /**
+     * Executa o handler na própria thread do chamador, sem troca de thread. O prazo é verificado ao
+     * término: o handler não é interrompido, mas uma execução que excede o timeout resulta em
+     * {@link ModuleRequestTimeoutException}. Chamadas assíncronas usam virtual threads.
+     */
+    CALLER_THREAD,
+
+    /**
+     * Executa cada requisição em uma virtual thread própria.
+     */
+    VIRTUAL_THREADS,
+
+    /**
+     * Executa as requisições em um pool de threads de plataforma limitado.
+     */
+    PLATFORM_POOL
+}
@@ -61,6 +61,21 @@ public interface IntegrationEventBus {
      */
     void publishAll(Iterable<? extends IntegrationEvent> events);
 
+    /**
+     * Publica múltiplos eventos de integração com garantia de entrega.
+     * <p>
+     * Equivale a chamar {@link #publishReliably} para cada evento; implementações podem gravar os
+     * registros do Outbox em lote.
+     *
+     * @param events        Eventos a serem publicados
+     * @param entityManager EntityManager da transação atual
+     */
+    default void publishAllReliably(Iterable<? extends IntegrationEvent> events, EntityManager entityManager) {
+        for (IntegrationEvent event : events) {
+            publishReliably(event, entityManager);
+        }
+    }
+
     /**
      * Assina um tipo de evento.
      *
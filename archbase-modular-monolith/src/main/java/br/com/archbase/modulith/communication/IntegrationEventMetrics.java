@@ -0,0 +1,19 @@
+package br.com.archbase.modulith.communication;
+
+/**
+ * Vazão e atraso de um tipo de evento no {@link SimpleIntegrationEventBus}.
+ *
+ * @param eventType          Tipo do evento ({@code IntegrationEvent.getEventType()})
+ * @param published          Eventos publicados
+ * @param delivered          Eventos entregues a todos os subscribers
+ * @param failed             Falhas de subscribers ao processar o evento
+ * @param pending            Eventos publicados ainda não processados
+ * @param deliveredPerSecond Vazão média desde a primeira publicação do tipo
+ * @param averageLagMillis   Tempo médio entre a publicação e o início do processamento
+ * @param maxLagMillis       Maior tempo entre a publicação e o início do processamento
+ * @author Archbase Team
+ * @since 3.0.0
+ */
+public record IntegrationEventMetrics(String eventType, long published, long delivered, long failed, long pending,
+                                      double deliveredPerSecond, double averageLagMillis, double maxLagMillis) {
+}
@@ -0,0 +1,58 @@
+package br.com.archbase.modulith.communication;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita as requisições simultâneas a um módulo. As requisições excedentes aguardam vaga em ordem
+ * de chegada.
+ */
+final class ModuleBulkhead {
+
+    private final String moduleName;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+
+    ModuleBulkhead(String moduleName, int maxConcurrent) {
+        this.moduleName = moduleName;
+        this.maxConcurrent = Math.max(0, maxConcurrent);
+        this.permits = this.maxConcurrent > 0 ? new Semaphore(this.maxConcurrent, true) : null;
+    }
+
+    /**
+     * Aguarda uma vaga até {@code timeoutNanos}.
+     *
+     * @return {@code false} se o prazo expirou sem vaga
+     */
+    boolean acquire(long timeoutNanos) throws InterruptedException {
+        if (permits != null && !permits.tryAcquire()) {
+            queued.incrementAndGet();
+            try {
+                if (!permits.tryAcquire(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+        active.incrementAndGet();
+        return true;
+    }
+
+    void release() {
+        active.decrementAndGet();
+        completed.increment();
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    ModuleBulkheadMetrics metrics() {
+        return new ModuleBulkheadMetrics(moduleName, maxConcurrent, active.get(), queued.get(), completed.sum());
+    }
+}
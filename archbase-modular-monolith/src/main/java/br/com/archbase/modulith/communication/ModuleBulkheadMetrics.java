@@ -0,0 +1,15 @@
+package br.com.archbase.modulith.communication;
+
+/**
+ * Estado do bulkhead de um módulo no {@link SimpleModuleGateway}.
+ *
+ * @param moduleName    Nome do módulo
+ * @param maxConcurrent Limite de requisições simultâneas ({@code 0} = ilimitado)
+ * @param active        Requisições em execução
+ * @param queued        Requisições aguardando vaga (profundidade da fila)
+ * @param completed     Requisições concluídas desde a criação do gateway
+ * @author Archbase Team
+ * @since 3.0.0
+ */
+public record ModuleBulkheadMetrics(String moduleName, int maxConcurrent, int active, int queued, long completed) {
+}
@@ -0,0 +1,186 @@
+package br.com.archbase.modulith.communication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distribui tarefas em um número fixo de filas seriais ("lanes") escolhidas pela chave de partição.
+ * <p>
+ * Tarefas com a mesma chave caem sempre na mesma lane e são executadas na ordem de chegada; lanes
+ * diferentes executam em paralelo. Cada lane ocupa no máximo uma thread do executor por vez e só
+ * enquanto há trabalho, de modo que o número de threads em uso nunca passa do número de lanes.
+ * <p>
+ * Cada lane aceita até {@code capacity} tarefas pendentes; acima disso o publicador fica bloqueado
+ * até haver espaço (back-pressure). Publicações feitas de dentro de um handler (na própria thread de
+ * uma lane) não bloqueiam, evitando que uma lane cheia espere por ela mesma.
+ */
+final class PartitionedEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedEventDispatcher.class);
+
+    /**
+     * Tarefas executadas por vez antes de devolver a thread ao executor.
+     */
+    private static final int DRAIN_LIMIT = 256;
+
+    private final Lane[] lanes;
+    private final ExecutorService executor;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final ThreadLocal<Boolean> insideLane = new ThreadLocal<>();
+
+    PartitionedEventDispatcher(int laneCount, int capacity, ExecutorService executor) {
+        if (laneCount < 1 || capacity < 1) {
+            throw new IllegalArgumentException("laneCount and capacity must be positive");
+        }
+        this.executor = executor;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(capacity);
+        }
+    }
+
+    /**
+     * Enfileira uma tarefa na lane da chave ({@code null} distribui entre as lanes).
+     */
+    void dispatch(String partitionKey, Runnable task) {
+        Lane lane = laneFor(partitionKey);
+        lane.enqueue(task);
+        lane.schedule();
+    }
+
+    /**
+     * Enfileira várias tarefas agendando cada lane envolvida uma única vez.
+     */
+    void dispatchAll(List<? extends PartitionedTask> tasks) {
+        List<Lane> touched = new ArrayList<>();
+        for (PartitionedTask task : tasks) {
+            Lane lane = laneFor(task.partitionKey());
+            lane.enqueue(task);
+            if (!touched.contains(lane)) {
+                touched.add(lane);
+            }
+        }
+        touched.forEach(Lane::schedule);
+    }
+
+    int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Total de tarefas aguardando execução em todas as lanes.
+     */
+    int pending() {
+        int pending = 0;
+        for (Lane lane : lanes) {
+            pending += lane.size.get();
+        }
+        return pending;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private Lane laneFor(String partitionKey) {
+        int hash = partitionKey != null ? spread(partitionKey.hashCode()) : roundRobin.getAndIncrement();
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Tarefa com chave de partição, usada em {@link #dispatchAll}.
+     */
+    interface PartitionedTask extends Runnable {
+
+        String partitionKey();
+    }
+
+    private final class Lane implements Runnable {
+
+        private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+        private final Semaphore permits;
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(int capacity) {
+            this.permits = new Semaphore(capacity);
+        }
+
+        void enqueue(Runnable task) {
+            boolean bounded = insideLane.get() == null;
+            if (bounded) {
+                try {
+                    if (!permits.tryAcquire()) {
+                        // Lane cheia: garante que ela esteja drenando antes de esperar por espaço
+                        schedule();
+                        permits.acquire();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for space in the event lane", e);
+                }
+            }
+            size.incrementAndGet();
+            queue.add(new Entry(task, bounded));
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            insideLane.set(Boolean.TRUE);
+            try {
+                Entry entry;
+                int drained = 0;
+                while (drained < DRAIN_LIMIT && (entry = queue.poll()) != null) {
+                    size.decrementAndGet();
+                    if (entry.bounded()) {
+                        permits.release();
+                    }
+                    try {
+                        entry.task().run();
+                    } catch (RuntimeException e) {
+                        log.error("Unexpected error in event lane task", e);
+                    }
+                    drained++;
+                }
+            } finally {
+                insideLane.remove();
+                scheduled.set(false);
+                if (!queue.isEmpty()) {
+                    try {
+                        schedule();
+                    } catch (RejectedExecutionException e) {
+                        log.warn("Event lane could not be rescheduled; {} tasks left pending", size.get());
+                    }
+                }
+            }
+        }
+    }
+
+    private record Entry(Runnable task, boolean bounded) {
+    }
+}
@@ -4,19 +4,38 @@ import br.com.archbase.modulith.communication.contracts.IntegrationEvent;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.json.JsonMapper;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
  * Implementação simples do IntegrationEventBus usando memória.
  * <p>
+ * Os eventos são distribuídos em um número fixo de lanes seriais pelo
+ * {@link IntegrationEvent#getAggregateId()}: eventos do mesmo agregado são entregues na ordem de
+ * publicação e cada lane tem uma fila limitada, bloqueando o publicador quando cheia. Por padrão as
+ * lanes executam em virtual threads, no máximo uma thread por lane.
+ * <p>
+ * {@link #publishReliably} e {@link #publishAllReliably} acumulam os registros do Outbox da
+ * transação corrente e os gravam de uma vez antes do commit, com batching JDBC; a publicação em
+ * memória acontece após o commit. Fora de uma transação gerenciada pelo Spring os registros são
+ * persistidos e publicados imediatamente.
+ * <p>
+ * Vazão e atraso por tipo de evento ficam disponíveis em {@link #getEventMetrics()}.
+ * <p>
  * Para produção, considere usar uma implementação baseada em
  * message broker (RabbitMQ, Kafka, etc.).
  *
@@ -27,79 +46,101 @@ public class SimpleIntegrationEventBus implements IntegrationEventBus {
 
     private static final Logger log = LoggerFactory.getLogger(SimpleIntegrationEventBus.class);
 
+    public static final int DEFAULT_LANE_CAPACITY = 1000;
+    public static final int DEFAULT_JDBC_BATCH_SIZE = 50;
+
     private final Map<Class<?>, List<EventSubscription<?>>> subscriptions = new ConcurrentHashMap<>();
-    private final ExecutorService executor;
+    private final Map<String, EventTypeStats> stats = new ConcurrentHashMap<>();
+    private final PartitionedEventDispatcher dispatcher;
     private final ObjectMapper objectMapper;
     private final String currentModule;
+    private final int jdbcBatchSize;
 
     public SimpleIntegrationEventBus(String currentModule) {
-        this(currentModule, Executors.newCachedThreadPool(), JsonMapper.builder().build());
+        this(currentModule, Runtime.getRuntime().availableProcessors(), DEFAULT_LANE_CAPACITY,
+                DEFAULT_JDBC_BATCH_SIZE, JsonMapper.builder().build());
     }
 
+    /**
+     * Usa o executor informado para as lanes; no máximo uma tarefa por lane ocupa o executor por vez.
+     */
     public SimpleIntegrationEventBus(String currentModule, ExecutorService executor, ObjectMapper objectMapper) {
+        this(currentModule, executor, Runtime.getRuntime().availableProcessors(), DEFAULT_LANE_CAPACITY,
+                DEFAULT_JDBC_BATCH_SIZE, objectMapper);
+    }
+
+    /**
+     * @param currentModule Módulo que publica os eventos
+     * @param lanes         Número de lanes seriais (máximo de threads processando eventos)
+     * @param laneCapacity  Eventos pendentes por lane antes de bloquear o publicador
+     * @param jdbcBatchSize Tamanho do batch JDBC na gravação do Outbox
+     * @param objectMapper  Serializador do payload do Outbox
+     */
+    public SimpleIntegrationEventBus(String currentModule, int lanes, int laneCapacity, int jdbcBatchSize,
+                                     ObjectMapper objectMapper) {
+        this(currentModule, Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("integration-event-" + currentModule + "-", 0).factory()),
+                lanes, laneCapacity, jdbcBatchSize, objectMapper);
+    }
+
+    private SimpleIntegrationEventBus(String currentModule, ExecutorService executor, int lanes, int laneCapacity,
+                                      int jdbcBatchSize, ObjectMapper objectMapper) {
         this.currentModule = currentModule;
-        this.executor = executor;
+        this.dispatcher = new PartitionedEventDispatcher(lanes, laneCapacity, executor);
+        this.jdbcBatchSize = jdbcBatchSize;
         this.objectMapper = objectMapper;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T extends IntegrationEvent> void publish(T event) {
         log.debug("Publishing integration event: {} from module: {}",
                 event.getEventType(), currentModule);
 
-        List<EventSubscription<?>> eventSubscriptions = subscriptions.get(event.getClass());
-        if (eventSubscriptions == null || eventSubscriptions.isEmpty()) {
-            log.debug("No subscribers for event type: {}", event.getClass().getSimpleName());
-            return;
+        EventDelivery<T> delivery = delivery(event);
+        if (delivery != null) {
+            dispatcher.dispatch(delivery.partitionKey(), delivery);
         }
+    }
 
-        for (EventSubscription<?> subscription : eventSubscriptions) {
-            if (subscription.sourceModule == null ||
-                    subscription.sourceModule.equals(currentModule)) {
+    @Override
+    public <T extends IntegrationEvent> void publishReliably(T event, EntityManager entityManager) {
+        publishAllReliably(List.of(event), entityManager);
+    }
 
-                executor.submit(() -> {
-                    try {
-                        ((Consumer<T>) subscription.handler).accept(event);
-                    } catch (Exception e) {
-                        log.error("Error processing integration event: {}", event.getEventType(), e);
-                    }
-                });
+    @Override
+    public void publishAll(Iterable<? extends IntegrationEvent> events) {
+        List<EventDelivery<?>> deliveries = new ArrayList<>();
+        for (IntegrationEvent event : events) {
+            EventDelivery<?> delivery = delivery(event);
+            if (delivery != null) {
+                deliveries.add(delivery);
             }
         }
+        if (!deliveries.isEmpty()) {
+            dispatcher.dispatchAll(deliveries);
+        }
     }
 
     @Override
-    public <T extends IntegrationEvent> void publishReliably(T event, EntityManager entityManager) {
-        // Persistir no Outbox
-        try {
-            String payload = objectMapper.writeValueAsString(event);
-
-            // Criar OutboxEvent usando a estrutura existente do archbase-event-driven
-            var outboxEvent = new OutboxEventRecord(
-                    UUID.randomUUID().toString(),
-                    event.getAggregateType(),
-                    event.getAggregateId(),
-                    event.getEventType(),
-                    payload,
-                    event.getOccurredAt()
-            );
-
-            entityManager.persist(outboxEvent);
-            log.debug("Persisted integration event to outbox: {}", event.getEventType());
+    public void publishAllReliably(Iterable<? extends IntegrationEvent> events, EntityManager entityManager) {
+        List<IntegrationEvent> batch = new ArrayList<>();
+        List<OutboxEventRecord> records = new ArrayList<>();
+        for (IntegrationEvent event : events) {
+            batch.add(event);
+            records.add(toOutboxRecord(event));
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
 
-        } catch (Exception e) {
-            log.error("Failed to persist integration event to outbox", e);
-            throw new RuntimeException("Failed to persist integration event", e);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionOutbox(entityManager).add(records, batch);
+            return;
         }
+        persist(entityManager, records, false);
 
         // Também publicar in-memory para processamento imediato
-        publish(event);
-    }
-
-    @Override
-    public void publishAll(Iterable<? extends IntegrationEvent> events) {
-        events.forEach(this::publish);
+        publishAll(batch);
     }
 
     @Override
@@ -130,19 +171,231 @@ public class SimpleIntegrationEventBus implements IntegrationEventBus {
         subscriptions.remove(eventType);
     }
 
+    /**
+     * Vazão e atraso de cada tipo de evento publicado com subscribers.
+     */
+    public List<IntegrationEventMetrics> getEventMetrics() {
+        return stats.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .toList();
+    }
+
+    /**
+     * Eventos aguardando processamento em todas as lanes.
+     */
+    public int getPendingEvents() {
+        return dispatcher.pending();
+    }
+
     /**
      * Encerra o executor de forma limpa.
      */
     public void shutdown() {
-        executor.shutdown();
+        dispatcher.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends IntegrationEvent> EventDelivery<T> delivery(T event) {
+        List<EventSubscription<?>> eventSubscriptions = subscriptions.get(event.getClass());
+        if (eventSubscriptions == null || eventSubscriptions.isEmpty()) {
+            log.debug("No subscribers for event type: {}", event.getClass().getSimpleName());
+            return null;
+        }
+
+        List<Consumer<T>> handlers = new ArrayList<>(eventSubscriptions.size());
+        for (EventSubscription<?> subscription : eventSubscriptions) {
+            if (subscription.sourceModule == null ||
+                    subscription.sourceModule.equals(currentModule)) {
+                handlers.add((Consumer<T>) subscription.handler);
+            }
+        }
+        if (handlers.isEmpty()) {
+            return null;
+        }
+        EventTypeStats typeStats = stats.computeIfAbsent(event.getEventType(), k -> new EventTypeStats());
+        typeStats.published.increment();
+        return new EventDelivery<>(event, handlers, typeStats, System.nanoTime());
+    }
+
+    private OutboxEventRecord toOutboxRecord(IntegrationEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+
+            // Criar OutboxEvent usando a estrutura existente do archbase-event-driven
+            return new OutboxEventRecord(
+                    UUID.randomUUID().toString(),
+                    event.getAggregateType(),
+                    event.getAggregateId(),
+                    event.getEventType(),
+                    payload,
+                    event.getOccurredAt()
+            );
+        } catch (Exception e) {
+            log.error("Failed to serialize integration event for the outbox", e);
+            throw new RuntimeException("Failed to persist integration event", e);
+        }
+    }
+
+    /**
+     * Persiste os registros do Outbox; com {@code flush} a escrita é imediata e usa batching JDBC
+     * para que todos os inserts saiam no mesmo batch. O tamanho de batch da sessão é sempre
+     * restaurado ao final; sem {@code flush} ele não é alterado, pois os inserts só saem no flush
+     * da transação do chamador.
+     */
+    private void persist(EntityManager entityManager, List<OutboxEventRecord> records, boolean flush) {
+        Session session = flush ? hibernateSession(entityManager) : null;
+        Integer previousBatchSize = session != null ? session.getJdbcBatchSize() : null;
+        try {
+            if (session != null) {
+                session.setJdbcBatchSize(jdbcBatchSize);
+            }
+            for (OutboxEventRecord record : records) {
+                entityManager.persist(record);
+            }
+            if (flush) {
+                entityManager.flush();
+            }
+            log.debug("Persisted {} integration events to outbox", records.size());
+
+        } catch (Exception e) {
+            log.error("Failed to persist integration event to outbox", e);
+            throw new RuntimeException("Failed to persist integration event", e);
+        } finally {
+            if (session != null) {
+                session.setJdbcBatchSize(previousBatchSize);
+            }
+        }
+    }
+
+    private static Session hibernateSession(EntityManager entityManager) {
+        try {
+            return entityManager.unwrap(Session.class);
+        } catch (PersistenceException e) {
+            return null;
+        }
+    }
+
+    private TransactionOutbox transactionOutbox(EntityManager entityManager) {
+        OutboxKey key = new OutboxKey(this, entityManager);
+        TransactionOutbox outbox = (TransactionOutbox) TransactionSynchronizationManager.getResource(key);
+        if (outbox == null) {
+            outbox = new TransactionOutbox(key);
+            TransactionSynchronizationManager.bindResource(key, outbox);
+            TransactionSynchronizationManager.registerSynchronization(outbox);
+        }
+        return outbox;
     }
 
     private record EventSubscription<T>(Consumer<T> handler, String sourceModule) {
     }
 
+    /**
+     * Entrega de um evento a todos os seus subscribers, em sequência, dentro da lane do agregado.
+     */
+    private record EventDelivery<T extends IntegrationEvent>(T event, List<Consumer<T>> handlers,
+                                                             EventTypeStats stats, long publishedAt)
+            implements PartitionedEventDispatcher.PartitionedTask {
+
+        @Override
+        public String partitionKey() {
+            return event.getAggregateId();
+        }
+
+        @Override
+        public void run() {
+            stats.recordLag(System.nanoTime() - publishedAt);
+            for (Consumer<T> handler : handlers) {
+                try {
+                    handler.accept(event);
+                } catch (Exception e) {
+                    stats.failed.increment();
+                    log.error("Error processing integration event: {}", event.getEventType(), e);
+                }
+            }
+            stats.delivered.increment();
+        }
+    }
+
+    private static final class EventTypeStats {
+
+        private final long createdAt = System.nanoTime();
+        private final LongAdder published = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder started = new LongAdder();
+        private final LongAdder lagNanos = new LongAdder();
+        private final AtomicLong maxLagNanos = new AtomicLong();
+
+        void recordLag(long lag) {
+            started.increment();
+            lagNanos.add(lag);
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+        }
+
+        IntegrationEventMetrics snapshot(String eventType) {
+            long deliveredCount = delivered.sum();
+            long startedCount = started.sum();
+            long publishedCount = published.sum();
+            double seconds = Math.max(1, System.nanoTime() - createdAt) / (double) TimeUnit.SECONDS.toNanos(1);
+            double averageLag = startedCount == 0 ? 0d : lagNanos.sum() / (double) startedCount / 1_000_000d;
+            return new IntegrationEventMetrics(eventType, publishedCount, deliveredCount, failed.sum(),
+                    Math.max(0, publishedCount - deliveredCount), deliveredCount / seconds, averageLag,
+                    maxLagNanos.get() / 1_000_000d);
+        }
+    }
+
+    private record OutboxKey(SimpleIntegrationEventBus bus, EntityManager entityManager) {
+    }
+
+    /**
+     * Registros do Outbox acumulados na transação corrente: gravados em um único batch antes do
+     * commit e publicados em memória após o commit.
+     */
+    private final class TransactionOutbox implements TransactionSynchronization {
+
+        private final OutboxKey key;
+        private final List<OutboxEventRecord> records = new ArrayList<>();
+        private final List<IntegrationEvent> events = new ArrayList<>();
+        private boolean flushed;
+
+        TransactionOutbox(OutboxKey key) {
+            this.key = key;
+        }
+
+        void add(List<OutboxEventRecord> newRecords, List<IntegrationEvent> newEvents) {
+            if (flushed) {
+                // Publicação feita por outra sincronização após a gravação do batch
+                persist(key.entityManager(), newRecords, true);
+            } else {
+                records.addAll(newRecords);
+            }
+            events.addAll(newEvents);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!records.isEmpty()) {
+                persist(key.entityManager(), records, true);
+            }
+            flushed = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            publishAll(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(key);
+        }
+    }
+
     /**
      * Record interno para persistência no Outbox.
-     * Compatível com a estrutura do archbase-event-driven.
+     * Compatível com a estrutura do archbase-event-driven e drenado pelo
+     * {@link br.com.archbase.event.driven.outbox.OutboxRelay}; as colunas de controle do relay são
+     * criadas em bancos existentes por {@link br.com.archbase.event.driven.outbox.OutboxRelay#SCHEMA_SCRIPT}.
      */
     @jakarta.persistence.Entity
     @jakarta.persistence.Table(name = "outbox_event")
@@ -166,6 +419,18 @@ public class SimpleIntegrationEventBus implements IntegrationEventBus {
         @jakarta.persistence.Column(name = "timestamp")
         private java.time.Instant timestamp;
 
+        @jakarta.persistence.Column(name = "processed_at")
+        private Long processedAt;
+
+        @jakarta.persistence.Column(name = "attempts", nullable = false, columnDefinition = "integer default 0")
+        private int attempts;
+
+        @jakarta.persistence.Column(name = "next_attempt_at")
+        private Long nextAttemptAt;
+
+        @jakarta.persistence.Column(name = "last_error", length = 1000)
+        private String lastError;
+
         public OutboxEventRecord() {
         }
 
@@ -202,5 +467,21 @@ public class SimpleIntegrationEventBus implements IntegrationEventBus {
         public java.time.Instant getTimestamp() {
             return timestamp;
         }
+
+        public Long getProcessedAt() {
+            return processedAt;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public Long getNextAttemptAt() {
+            return nextAttemptAt;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
     }
 }
@@ -4,15 +4,25 @@ import br.com.archbase.modulith.communication.contracts.ModuleRequest;
 import br.com.archbase.modulith.communication.contracts.ModuleRequestHandler;
 import br.com.archbase.modulith.core.ModuleRegistry;
 import br.com.archbase.modulith.core.ModuleState;
+import br.com.archbase.modulith.core.ModuleStateListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 
 /**
  * Implementação simples do ModuleGateway usando chamadas diretas in-process.
+ * <p>
+ * O {@link GatewayExecutionMode} define onde os handlers executam: na thread do chamador, em
+ * virtual threads ou em um pool de threads de plataforma. Chamadas assíncronas não bloqueiam
+ * nenhuma thread aguardando o resultado: o timeout é aplicado com
+ * {@link CompletableFuture#orTimeout} e o cancelamento do future retornado interrompe o handler.
+ * <p>
+ * Cada módulo tem um bulkhead opcional que limita as requisições simultâneas; o estado dos
+ * bulkheads (em execução, na fila e concluídas) fica disponível em {@link #getBulkheadMetrics()}.
  *
  * @author Archbase Team
  * @since 3.0.0
@@ -21,18 +31,49 @@ public class SimpleModuleGateway implements ModuleGateway {
 
     private static final Logger log = LoggerFactory.getLogger(SimpleModuleGateway.class);
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    private static final long POLL_INTERVAL_MILLIS = 100;
 
     private final ModuleRegistry moduleRegistry;
     private final Map<String, Map<Class<?>, ModuleRequestHandler<?, ?>>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, ModuleBulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final GatewayExecutionMode executionMode;
     private final ExecutorService executor;
+    private final int maxConcurrentRequestsPerModule;
+    private final Duration defaultTimeout;
 
     public SimpleModuleGateway(ModuleRegistry moduleRegistry) {
-        this(moduleRegistry, Executors.newCachedThreadPool());
+        this(moduleRegistry, GatewayExecutionMode.VIRTUAL_THREADS, null, 0, DEFAULT_TIMEOUT);
     }
 
     public SimpleModuleGateway(ModuleRegistry moduleRegistry, ExecutorService executor) {
+        this(moduleRegistry, GatewayExecutionMode.PLATFORM_POOL, executor, 0, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param moduleRegistry                 Registro de módulos
+     * @param executionMode                  Onde os handlers executam
+     * @param executor                       Pool usado em {@link GatewayExecutionMode#PLATFORM_POOL};
+     *                                       nos demais modos é ignorado e pode ser {@code null}
+     * @param maxConcurrentRequestsPerModule Limite de requisições simultâneas por módulo ({@code 0} = ilimitado)
+     * @param defaultTimeout                 Timeout das chamadas sem timeout explícito
+     */
+    public SimpleModuleGateway(ModuleRegistry moduleRegistry, GatewayExecutionMode executionMode,
+                               ExecutorService executor, int maxConcurrentRequestsPerModule,
+                               Duration defaultTimeout) {
         this.moduleRegistry = moduleRegistry;
-        this.executor = executor;
+        this.executionMode = executionMode;
+        if (executionMode == GatewayExecutionMode.PLATFORM_POOL) {
+            if (executor == null) {
+                throw new IllegalArgumentException("An executor is required for " + executionMode);
+            }
+            this.executor = executor;
+        } else {
+            // Em CALLER_THREAD as chamadas síncronas não usam este executor, mas as assíncronas
+            // precisam de outra thread para não bloquear o chamador: sempre rodam em virtual threads.
+            this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        }
+        this.maxConcurrentRequestsPerModule = maxConcurrentRequestsPerModule;
+        this.defaultTimeout = defaultTimeout != null ? defaultTimeout : DEFAULT_TIMEOUT;
     }
 
     /**
@@ -70,52 +111,42 @@ public class SimpleModuleGateway implements ModuleGateway {
 
     @Override
     public <R> R execute(String targetModule, ModuleRequest<R> request) {
-        return execute(targetModule, request, DEFAULT_TIMEOUT);
+        return execute(targetModule, request, defaultTimeout);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <R> R execute(String targetModule, ModuleRequest<R> request, Duration timeout) {
         log.debug("Executing request {} on module {}", request.getOperationName(), targetModule);
 
-        // Verificar se módulo existe e está disponível
-        if (!isModuleAvailable(targetModule)) {
-            throw new ModuleNotFoundException(targetModule,
-                    "Module '" + targetModule + "' is not available");
-        }
-
-        // Obter handler
-        Map<Class<?>, ModuleRequestHandler<?, ?>> moduleHandlers = handlers.get(targetModule);
-        if (moduleHandlers == null) {
-            throw new ModuleRequestException(targetModule, request.getOperationName(),
-                    "No handlers registered for module: " + targetModule);
-        }
+        ModuleRequestHandler<ModuleRequest<R>, R> handler = resolveHandler(targetModule, request);
+        ModuleBulkhead bulkhead = bulkhead(targetModule);
+        long deadline = System.nanoTime() + timeout.toNanos();
 
-        ModuleRequestHandler<ModuleRequest<R>, R> handler =
-                (ModuleRequestHandler<ModuleRequest<R>, R>) moduleHandlers.get(request.getClass());
-
-        if (handler == null) {
-            throw new ModuleRequestException(targetModule, request.getOperationName(),
-                    "No handler found for request type: " + request.getClass().getSimpleName());
+        if (executionMode == GatewayExecutionMode.CALLER_THREAD) {
+            try {
+                R result = invoke(handler, request, bulkhead, deadline, targetModule, timeout);
+                if (System.nanoTime() - deadline > 0) {
+                    throw new ModuleRequestTimeoutException(targetModule, request.getOperationName(), timeout);
+                }
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ModuleRequestException(targetModule, request.getOperationName(),
+                        "Request interrupted", e);
+            }
         }
 
-        // Executar com timeout
+        Future<R> future = executor.submit(() -> invoke(handler, request, bulkhead, deadline, targetModule, timeout));
         try {
-            CompletableFuture<R> future = CompletableFuture.supplyAsync(
-                    () -> handler.handle(request), executor);
-
-            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
 
         } catch (TimeoutException e) {
+            future.cancel(true);
             throw new ModuleRequestTimeoutException(targetModule, request.getOperationName(), timeout);
         } catch (ExecutionException e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof RuntimeException) {
-                throw (RuntimeException) cause;
-            }
-            throw new ModuleRequestException(targetModule, request.getOperationName(),
-                    "Error executing request: " + cause.getMessage(), cause);
+            throw unwrap(targetModule, request, e.getCause());
         } catch (InterruptedException e) {
+            future.cancel(true);
             Thread.currentThread().interrupt();
             throw new ModuleRequestException(targetModule, request.getOperationName(),
                     "Request interrupted", e);
@@ -124,7 +155,55 @@ public class SimpleModuleGateway implements ModuleGateway {
 
     @Override
     public <R> CompletableFuture<R> executeAsync(String targetModule, ModuleRequest<R> request) {
-        return CompletableFuture.supplyAsync(() -> execute(targetModule, request), executor);
+        return executeAsync(targetModule, request, defaultTimeout);
+    }
+
+    /**
+     * Executa a requisição sem bloquear o chamador. O future retornado falha com
+     * {@link ModuleRequestTimeoutException} ao exceder o timeout e, se cancelado, interrompe o handler.
+     * Em {@link GatewayExecutionMode#CALLER_THREAD} o handler roda em uma virtual thread, pois executá-lo
+     * na thread do chamador bloquearia a chamada.
+     */
+    public <R> CompletableFuture<R> executeAsync(String targetModule, ModuleRequest<R> request, Duration timeout) {
+        ModuleRequestHandler<ModuleRequest<R>, R> handler;
+        try {
+            handler = resolveHandler(targetModule, request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        ModuleBulkhead bulkhead = bulkhead(targetModule);
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        CompletableFuture<R> running = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                running.complete(invoke(handler, request, bulkhead, deadline, targetModule, timeout));
+            } catch (Throwable t) {
+                running.completeExceptionally(t);
+            }
+        });
+        running.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        CompletableFuture<R> result = new CompletableFuture<>();
+        running.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (error instanceof TimeoutException) {
+                task.cancel(true);
+                result.completeExceptionally(
+                        new ModuleRequestTimeoutException(targetModule, request.getOperationName(), timeout));
+            } else {
+                Throwable cause = causeOf(error);
+                result.completeExceptionally(cause instanceof Error ? cause : unwrap(targetModule, request, cause));
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+                running.cancel(true);
+            }
+        });
+        return result;
     }
 
     @Override
@@ -134,24 +213,57 @@ public class SimpleModuleGateway implements ModuleGateway {
                 .orElse(false);
     }
 
+    /**
+     * Aguarda o módulo ficar disponível. Com um registro que notifica mudanças de estado (como o
+     * {@code DefaultModuleRegistry}) a espera é acordada pela notificação; caso contrário o estado
+     * é consultado periodicamente.
+     */
     @Override
     public boolean waitForModule(String moduleName, Duration timeout) {
-        long deadline = System.currentTimeMillis() + timeout.toMillis();
-        long pollInterval = 100; // ms
-
-        while (System.currentTimeMillis() < deadline) {
-            if (isModuleAvailable(moduleName)) {
+        if (isModuleAvailable(moduleName)) {
+            return true;
+        }
+        Object signal = new Object();
+        ModuleStateListener listener = (module, previous, current) -> {
+            if (moduleName.equals(module.getName())) {
+                synchronized (signal) {
+                    signal.notifyAll();
+                }
+            }
+        };
+        boolean notified = moduleRegistry.addStateListener(listener);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            synchronized (signal) {
+                while (!isModuleAvailable(moduleName)) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    long wait = notified ? remaining : Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS));
+                    TimeUnit.NANOSECONDS.timedWait(signal, wait);
+                }
                 return true;
             }
-            try {
-                Thread.sleep(pollInterval);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            if (notified) {
+                moduleRegistry.removeStateListener(listener);
             }
         }
+    }
 
-        return false;
+    /**
+     * Estado dos bulkheads dos módulos já chamados.
+     */
+    public List<ModuleBulkheadMetrics> getBulkheadMetrics() {
+        return bulkheads.values().stream().map(ModuleBulkhead::metrics).toList();
+    }
+
+    public GatewayExecutionMode getExecutionMode() {
+        return executionMode;
     }
 
     /**
@@ -160,4 +272,70 @@ public class SimpleModuleGateway implements ModuleGateway {
     public void shutdown() {
         executor.shutdown();
     }
+
+    @SuppressWarnings("unchecked")
+    private <R> ModuleRequestHandler<ModuleRequest<R>, R> resolveHandler(String targetModule, ModuleRequest<R> request) {
+        // Verificar se módulo existe e está disponível
+        if (!isModuleAvailable(targetModule)) {
+            throw new ModuleNotFoundException(targetModule,
+                    "Module '" + targetModule + "' is not available");
+        }
+
+        // Obter handler
+        Map<Class<?>, ModuleRequestHandler<?, ?>> moduleHandlers = handlers.get(targetModule);
+        if (moduleHandlers == null) {
+            throw new ModuleRequestException(targetModule, request.getOperationName(),
+                    "No handlers registered for module: " + targetModule);
+        }
+
+        ModuleRequestHandler<ModuleRequest<R>, R> handler =
+                (ModuleRequestHandler<ModuleRequest<R>, R>) moduleHandlers.get(request.getClass());
+
+        if (handler == null) {
+            throw new ModuleRequestException(targetModule, request.getOperationName(),
+                    "No handler found for request type: " + request.getClass().getSimpleName());
+        }
+        return handler;
+    }
+
+    private ModuleBulkhead bulkhead(String moduleName) {
+        return bulkheads.computeIfAbsent(moduleName,
+                name -> new ModuleBulkhead(name, maxConcurrentRequestsPerModule));
+    }
+
+    /**
+     * Executa o handler dentro do bulkhead do módulo, aguardando vaga até o prazo da requisição.
+     */
+    private <R> R invoke(ModuleRequestHandler<ModuleRequest<R>, R> handler, ModuleRequest<R> request,
+                         ModuleBulkhead bulkhead, long deadline, String targetModule, Duration timeout)
+            throws InterruptedException {
+        if (!bulkhead.acquire(deadline - System.nanoTime())) {
+            throw new ModuleRequestTimeoutException(targetModule, request.getOperationName(), timeout);
+        }
+        try {
+            return handler.handle(request);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Converte a falha do handler em exceção não verificada. {@link Error}s são relançados; chamadores que
+     * não podem lançar (como callbacks de {@link CompletableFuture}) devem tratá-los antes.
+     */
+    private RuntimeException unwrap(String targetModule, ModuleRequest<?> request, Throwable error) {
+        Throwable cause = causeOf(error);
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new ModuleRequestException(targetModule, request.getOperationName(),
+                "Error executing request: " + cause.getMessage(), cause);
+    }
+
+    private static Throwable causeOf(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 }
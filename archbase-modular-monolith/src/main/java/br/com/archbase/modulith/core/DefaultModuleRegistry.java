@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +19,8 @@ public class DefaultModuleRegistry implements ModuleRegistry {
     private static final Logger log = LoggerFactory.getLogger(DefaultModuleRegistry.class);
 
     private final Map<String, ModuleDescriptor> modules = new ConcurrentHashMap<>();
+    private final List<ModuleStateListener> stateListeners = new CopyOnWriteArrayList<>();
+    private final ModuleStateListener stateForwarder = this::fireStateChange;
 
     @Override
     public void register(ModuleDescriptor module) {
@@ -30,13 +33,16 @@ public class DefaultModuleRegistry implements ModuleRegistry {
         }
 
         modules.put(module.getName(), module);
+        module.addStateListener(stateForwarder);
         log.info("Registered module: {} v{}", module.getName(), module.getVersion());
+        fireStateChange(module, null, module.getState());
     }
 
     @Override
     public boolean unregister(String moduleName) {
         ModuleDescriptor removed = modules.remove(moduleName);
         if (removed != null) {
+            removed.removeStateListener(stateForwarder);
             log.info("Unregistered module: {}", moduleName);
             return true;
         }
@@ -169,6 +175,27 @@ public class DefaultModuleRegistry implements ModuleRegistry {
         return startupOrder;
     }
 
+    @Override
+    public boolean addStateListener(ModuleStateListener listener) {
+        stateListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+        return true;
+    }
+
+    @Override
+    public void removeStateListener(ModuleStateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    private void fireStateChange(ModuleDescriptor module, ModuleState previous, ModuleState current) {
+        for (ModuleStateListener listener : stateListeners) {
+            try {
+                listener.onStateChange(module, previous, current);
+            } catch (RuntimeException e) {
+                log.warn("Module state listener failed for {}: {}", module.getName(), e.getMessage());
+            }
+        }
+    }
+
     /**
      * Detecta ciclos de dependência usando DFS.
      */
@@ -1,5 +1,6 @@
 package br.com.archbase.modulith.core;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -7,7 +8,9 @@ import lombok.ToString;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Descritor imutável contendo metadados de um módulo.
@@ -74,7 +77,14 @@ public class ModuleDescriptor {
      * Estado atual do módulo.
      */
     @Builder.Default
-    private ModuleState state = ModuleState.CREATED;
+    private volatile ModuleState state = ModuleState.CREATED;
+
+    /**
+     * Listeners de mudança de estado (adicionados pelo registro).
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final List<ModuleStateListener> stateListeners = new CopyOnWriteArrayList<>();
 
     /**
      * Retorna as dependências como conjunto imutável.
@@ -104,6 +114,20 @@ public class ModuleDescriptor {
      * Atualiza o estado do módulo.
      */
     public void setState(ModuleState state) {
+        ModuleState previous = this.state;
         this.state = state;
+        if (previous != state) {
+            for (ModuleStateListener listener : stateListeners) {
+                listener.onStateChange(this, previous, state);
+            }
+        }
+    }
+
+    void addStateListener(ModuleStateListener listener) {
+        stateListeners.add(listener);
+    }
+
+    void removeStateListener(ModuleStateListener listener) {
+        stateListeners.remove(listener);
     }
 }
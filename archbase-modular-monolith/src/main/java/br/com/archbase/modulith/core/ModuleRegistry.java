@@ -121,4 +121,23 @@ public interface ModuleRegistry {
      * @return Lista ordenada de módulos
      */
     List<ModuleDescriptor> getShutdownOrder();
+
+    /**
+     * Registra um listener notificado a cada mudança de estado dos módulos registrados.
+     *
+     * @param listener Listener
+     * @return {@code true} se o registro suporta notificações; caso contrário o chamador deve
+     * consultar o estado periodicamente
+     */
+    default boolean addStateListener(ModuleStateListener listener) {
+        return false;
+    }
+
+    /**
+     * Remove um listener registrado com {@link #addStateListener(ModuleStateListener)}.
+     *
+     * @param listener Listener
+     */
+    default void removeStateListener(ModuleStateListener listener) {
+    }
 }
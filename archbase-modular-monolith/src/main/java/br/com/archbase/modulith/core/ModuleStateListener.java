@@ -0,0 +1,22 @@
+package br.com.archbase.modulith.core;
+
+/**
+ * Listener notificado quando um módulo registrado muda de estado.
+ * <p>
+ * É chamado na thread que alterou o estado; implementações devem ser rápidas e não bloquear.
+ *
+ * @author Archbase Team
+ * @since 3.0.0
+ */
+@FunctionalInterface
+public interface ModuleStateListener {
+
+    /**
+     * Chamado após a mudança de estado.
+     *
+     * @param module   Módulo alterado
+     * @param previous Estado anterior ({@code null} quando o módulo acabou de ser registrado)
+     * @param current  Estado atual
+     */
+    void onStateChange(ModuleDescriptor module, ModuleState previous, ModuleState current);
+}
@@ -1,6 +1,9 @@
 package br.com.archbase.modulith.spring;
 
+import br.com.archbase.event.driven.outbox.OutboxRelay;
+import br.com.archbase.event.driven.outbox.OutboxSink;
 import br.com.archbase.modulith.annotations.Module;
+import br.com.archbase.modulith.communication.GatewayExecutionMode;
 import br.com.archbase.modulith.communication.IntegrationEventBus;
 import br.com.archbase.modulith.communication.ModuleGateway;
 import br.com.archbase.modulith.communication.SimpleIntegrationEventBus;
@@ -12,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -20,6 +24,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
 
+import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
@@ -51,17 +57,29 @@ public class ModuleAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public IntegrationEventBus integrationEventBus(ObjectMapper objectMapper) {
-        ExecutorService executor = Executors.newFixedThreadPool(
-                properties.getEventBus().getThreadPoolSize());
-        return new SimpleIntegrationEventBus("main", executor, objectMapper);
+        ModulithProperties.EventBusProperties eventBus = properties.getEventBus();
+        return new SimpleIntegrationEventBus("main", eventBus.getThreadPoolSize(), eventBus.getLaneCapacity(),
+                eventBus.getJdbcBatchSize(), objectMapper);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(OutboxSink.class)
+    @ConditionalOnProperty(prefix = "archbase.modulith.event-bus", name = "relay-enabled", havingValue = "true")
+    public OutboxRelay outboxRelay(DataSource dataSource, OutboxSink outboxSink) {
+        return new OutboxRelay(dataSource, outboxSink, properties.getEventBus().getRelay());
     }
 
     @Bean
     @ConditionalOnMissingBean
     public ModuleGateway moduleGateway(ModuleRegistry moduleRegistry) {
-        ExecutorService executor = Executors.newFixedThreadPool(
-                properties.getGateway().getThreadPoolSize());
-        return new SimpleModuleGateway(moduleRegistry, executor);
+        ModulithProperties.GatewayProperties gateway = properties.getGateway();
+        ExecutorService executor = gateway.getExecutionMode() == GatewayExecutionMode.PLATFORM_POOL
+                ? Executors.newFixedThreadPool(gateway.getThreadPoolSize())
+                : null;
+        return new SimpleModuleGateway(moduleRegistry, gateway.getExecutionMode(), executor,
+                gateway.getMaxConcurrentRequestsPerModule(),
+                Duration.ofSeconds(gateway.getDefaultTimeoutSeconds()));
     }
 
     @Bean
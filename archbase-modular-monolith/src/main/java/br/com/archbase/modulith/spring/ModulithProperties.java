@@ -1,5 +1,8 @@
 package br.com.archbase.modulith.spring;
 
+import br.com.archbase.event.driven.outbox.OutboxRelayProperties;
+import br.com.archbase.modulith.communication.GatewayExecutionMode;
+import br.com.archbase.modulith.communication.SimpleIntegrationEventBus;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.util.ArrayList;
@@ -112,15 +115,35 @@ public class ModulithProperties {
      */
     public static class EventBusProperties {
         /**
-         * Número de threads para processamento de eventos.
+         * Número de lanes seriais para processamento de eventos (máximo de threads em uso).
          */
         private int threadPoolSize = 10;
 
+        /**
+         * Eventos pendentes por lane antes de bloquear o publicador.
+         */
+        private int laneCapacity = SimpleIntegrationEventBus.DEFAULT_LANE_CAPACITY;
+
+        /**
+         * Tamanho do batch JDBC na gravação do Outbox.
+         */
+        private int jdbcBatchSize = SimpleIntegrationEventBus.DEFAULT_JDBC_BATCH_SIZE;
+
         /**
          * Usa Outbox pattern por padrão.
          */
         private boolean useOutbox = true;
 
+        /**
+         * Habilita o relay que drena a tabela do Outbox para o {@code OutboxSink} configurado.
+         */
+        private boolean relayEnabled = false;
+
+        /**
+         * Configurações do relay do Outbox.
+         */
+        private OutboxRelayProperties relay = new OutboxRelayProperties();
+
         public int getThreadPoolSize() {
             return threadPoolSize;
         }
@@ -129,6 +152,22 @@ public class ModulithProperties {
             this.threadPoolSize = threadPoolSize;
         }
 
+        public int getLaneCapacity() {
+            return laneCapacity;
+        }
+
+        public void setLaneCapacity(int laneCapacity) {
+            this.laneCapacity = laneCapacity;
+        }
+
+        public int getJdbcBatchSize() {
+            return jdbcBatchSize;
+        }
+
+        public void setJdbcBatchSize(int jdbcBatchSize) {
+            this.jdbcBatchSize = jdbcBatchSize;
+        }
+
         public boolean isUseOutbox() {
             return useOutbox;
         }
@@ -136,6 +175,22 @@ public class ModulithProperties {
         public void setUseOutbox(boolean useOutbox) {
             this.useOutbox = useOutbox;
         }
+
+        public boolean isRelayEnabled() {
+            return relayEnabled;
+        }
+
+        public void setRelayEnabled(boolean relayEnabled) {
+            this.relayEnabled = relayEnabled;
+        }
+
+        public OutboxRelayProperties getRelay() {
+            return relay;
+        }
+
+        public void setRelay(OutboxRelayProperties relay) {
+            this.relay = relay;
+        }
     }
 
     /**
@@ -148,10 +203,20 @@ public class ModulithProperties {
         private int defaultTimeoutSeconds = 30;
 
         /**
-         * Número de threads para processamento de requisições.
+         * Número de threads para processamento de requisições (apenas no modo PLATFORM_POOL).
          */
         private int threadPoolSize = 10;
 
+        /**
+         * Onde os handlers executam: CALLER_THREAD, VIRTUAL_THREADS ou PLATFORM_POOL.
+         */
+        private GatewayExecutionMode executionMode = GatewayExecutionMode.VIRTUAL_THREADS;
+
+        /**
+         * Limite de requisições simultâneas por módulo (0 = ilimitado).
+         */
+        private int maxConcurrentRequestsPerModule = 0;
+
         public int getDefaultTimeoutSeconds() {
             return defaultTimeoutSeconds;
         }
@@ -167,5 +232,21 @@ public class ModulithProperties {
         public void setThreadPoolSize(int threadPoolSize) {
             this.threadPoolSize = threadPoolSize;
         }
+
+        public GatewayExecutionMode getExecutionMode() {
+            return executionMode;
+        }
+
+        public void setExecutionMode(GatewayExecutionMode executionMode) {
+            this.executionMode = executionMode;
+        }
+
+        public int getMaxConcurrentRequestsPerModule() {
+            return maxConcurrentRequestsPerModule;
+        }
+
+        public void setMaxConcurrentRequestsPerModule(int maxConcurrentRequestsPerModule) {
+            this.maxConcurrentRequestsPerModule = maxConcurrentRequestsPerModule;
+        }
     }
 }
@@ -0,0 +1,244 @@
+package br.com.archbase.modulith;
+
+import br.com.archbase.modulith.communication.IntegrationEventMetrics;
+import br.com.archbase.modulith.communication.SimpleIntegrationEventBus;
+import br.com.archbase.modulith.communication.contracts.IntegrationEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para SimpleIntegrationEventBus.
+ */
+public class SimpleIntegrationEventBusTest {
+
+    private SimpleIntegrationEventBus bus;
+
+    record OrderChanged(String orderId, int sequence) implements IntegrationEvent {
+        @Override
+        public String getAggregateId() {
+            return orderId;
+        }
+
+        @Override
+        public String getAggregateType() {
+            return "Order";
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void shouldDeliverEventsOfSameAggregateInOrder() throws InterruptedException {
+        bus = new SimpleIntegrationEventBus("orders", 4, 16, 50, JsonMapper.builder().build());
+        int aggregates = 20;
+        int eventsPerAggregate = 200;
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(aggregates * eventsPerAggregate);
+        bus.subscribe(OrderChanged.class, event -> {
+            received.computeIfAbsent(event.orderId(), k -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.sequence());
+            done.countDown();
+        });
+
+        List<OrderChanged> events = new ArrayList<>();
+        for (int sequence = 0; sequence < eventsPerAggregate; sequence++) {
+            for (int aggregate = 0; aggregate < aggregates; aggregate++) {
+                events.add(new OrderChanged("order-" + aggregate, sequence));
+            }
+        }
+        bus.publishAll(events.subList(0, events.size() / 2));
+        events.subList(events.size() / 2, events.size()).forEach(bus::publish);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(aggregates, received.size());
+        for (List<Integer> sequences : received.values()) {
+            for (int i = 0; i < sequences.size(); i++) {
+                assertEquals(i, sequences.get(i));
+            }
+        }
+    }
+
+    @Test
+    void shouldNotUseMoreThreadsThanLanes() throws InterruptedException {
+        bus = new SimpleIntegrationEventBus("orders", 3, 8, 50, JsonMapper.builder().build());
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(500);
+        bus.subscribe(OrderChanged.class, event -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            threads.add(Thread.currentThread());
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            done.countDown();
+        });
+
+        for (int i = 0; i < 500; i++) {
+            bus.publish(new OrderChanged("order-" + i, i));
+        }
+
+        assertTrue(done.await(20, TimeUnit.SECONDS));
+        assertTrue(maxActive.get() <= 3, "active threads: " + maxActive.get());
+        assertTrue(threads.stream().allMatch(Thread::isVirtual));
+    }
+
+    @Test
+    void shouldReportThroughputAndLagPerEventType() throws InterruptedException {
+        bus = new SimpleIntegrationEventBus("orders", 2, 16, 50, JsonMapper.builder().build());
+        CountDownLatch done = new CountDownLatch(10);
+        bus.subscribe(OrderChanged.class, event -> {
+            done.countDown();
+            if (event.sequence() == 0) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            bus.publish(new OrderChanged("order-1", i));
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        IntegrationEventMetrics metrics = awaitDelivered(10);
+        assertEquals("OrderChanged", metrics.eventType());
+        assertEquals(10, metrics.published());
+        assertEquals(1, metrics.failed());
+        assertEquals(0, metrics.pending());
+        assertTrue(metrics.deliveredPerSecond() > 0);
+        assertTrue(metrics.maxLagMillis() >= metrics.averageLagMillis());
+    }
+
+    @Test
+    void shouldPersistOutboxOnceBeforeCommitAndPublishAfterCommit() throws InterruptedException {
+        bus = new SimpleIntegrationEventBus("orders", 2, 16, 50, JsonMapper.builder().build());
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        EntityManager entityManager = recordingEntityManager(calls);
+        CountDownLatch done = new CountDownLatch(3);
+        bus.subscribe(OrderChanged.class, event -> done.countDown());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publishReliably(new OrderChanged("order-1", 0), entityManager);
+            bus.publishAllReliably(List.of(new OrderChanged("order-1", 1), new OrderChanged("order-2", 0)),
+                    entityManager);
+            assertTrue(calls.isEmpty());
+            assertEquals(3, done.getCount());
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.beforeCommit(false));
+            assertEquals(List.of("persist", "persist", "persist", "flush"), calls);
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldUseOutboxBatchSizeOnlyWhileFlushingAndRestoreIt() {
+        bus = new SimpleIntegrationEventBus("orders", 2, 16, 50, JsonMapper.builder().build());
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        EntityManager entityManager = recordingEntityManager(calls, recordingSession(calls, 7));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publishReliably(new OrderChanged("order-1", 0), entityManager);
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of("setJdbcBatchSize:50", "persist", "flush", "setJdbcBatchSize:7"), calls);
+    }
+
+    @Test
+    void shouldNotChangeBatchSizeWhenPersistingWithoutFlush() {
+        bus = new SimpleIntegrationEventBus("orders", 2, 16, 50, JsonMapper.builder().build());
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        EntityManager entityManager = recordingEntityManager(calls, recordingSession(calls, 7));
+
+        bus.publishAllReliably(List.of(new OrderChanged("order-1", 0), new OrderChanged("order-2", 0)),
+                entityManager);
+
+        assertEquals(List.of("persist", "persist"), calls);
+    }
+
+    private IntegrationEventMetrics awaitDelivered(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        IntegrationEventMetrics metrics = bus.getEventMetrics().get(0);
+        while (metrics.delivered() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            metrics = bus.getEventMetrics().get(0);
+        }
+        return metrics;
+    }
+
+    private static EntityManager recordingEntityManager(List<String> calls) {
+        return recordingEntityManager(calls, null);
+    }
+
+    private static EntityManager recordingEntityManager(List<String> calls, Session session) {
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "persist", "flush" -> {
+                        calls.add(method.getName());
+                        yield null;
+                    }
+                    case "unwrap" -> {
+                        if (session == null) {
+                            throw new PersistenceException("not supported");
+                        }
+                        yield session;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Session recordingSession(List<String> calls, Integer initialBatchSize) {
+        Integer[] batchSize = {initialBatchSize};
+        return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(),
+                new Class<?>[]{Session.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getJdbcBatchSize" -> batchSize[0];
+                    case "setJdbcBatchSize" -> {
+                        batchSize[0] = (Integer) args[0];
+                        calls.add("setJdbcBatchSize:" + args[0]);
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
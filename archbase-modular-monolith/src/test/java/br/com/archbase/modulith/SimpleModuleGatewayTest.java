@@ -0,0 +1,173 @@
+package br.com.archbase.modulith;
+
+import br.com.archbase.modulith.communication.GatewayExecutionMode;
+import br.com.archbase.modulith.communication.ModuleBulkheadMetrics;
+import br.com.archbase.modulith.communication.ModuleRequestTimeoutException;
+import br.com.archbase.modulith.communication.SimpleModuleGateway;
+import br.com.archbase.modulith.communication.contracts.ModuleRequest;
+import br.com.archbase.modulith.core.DefaultModuleRegistry;
+import br.com.archbase.modulith.core.ModuleDescriptor;
+import br.com.archbase.modulith.core.ModuleRegistry;
+import br.com.archbase.modulith.core.ModuleState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para SimpleModuleGateway.
+ */
+public class SimpleModuleGatewayTest {
+
+    private ModuleRegistry registry;
+    private ModuleDescriptor module;
+    private SimpleModuleGateway gateway;
+
+    record Echo(String value) implements ModuleRequest<String> {
+    }
+
+    record Sleep(long millis) implements ModuleRequest<Boolean> {
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new DefaultModuleRegistry();
+        module = ModuleDescriptor.builder()
+                .name("orders")
+                .version("1.0.0")
+                .enabled(true)
+                .state(ModuleState.STARTED)
+                .build();
+        registry.register(module);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.shutdown();
+        }
+    }
+
+    private void createGateway(GatewayExecutionMode mode, int maxConcurrent) {
+        gateway = new SimpleModuleGateway(registry, mode, null, maxConcurrent, Duration.ofSeconds(5));
+        gateway.registerHandler("orders", Echo.class, request -> Thread.currentThread().isVirtual() + ":" + request.value());
+        gateway.registerHandler("orders", Sleep.class, request -> {
+            try {
+                Thread.sleep(request.millis());
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+    }
+
+    @Test
+    void shouldRunHandlersOnVirtualThreadsByDefault() {
+        createGateway(GatewayExecutionMode.VIRTUAL_THREADS, 0);
+
+        assertEquals("true:a", gateway.execute("orders", new Echo("a")));
+        assertEquals("true:b", gateway.executeAsync("orders", new Echo("b")).join());
+    }
+
+    @Test
+    void shouldRunHandlersOnCallerThread() {
+        createGateway(GatewayExecutionMode.CALLER_THREAD, 0);
+
+        assertEquals(Thread.currentThread().isVirtual() + ":a", gateway.execute("orders", new Echo("a")));
+    }
+
+    @Test
+    void shouldTimeOutAsyncRequestWithoutBlocking() {
+        createGateway(GatewayExecutionMode.VIRTUAL_THREADS, 0);
+
+        CompletableFuture<Boolean> future = gateway.executeAsync("orders", new Sleep(5_000), Duration.ofMillis(50));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(ModuleRequestTimeoutException.class, error.getCause());
+    }
+
+    @Test
+    void shouldFailAsyncRequestWhenHandlerThrowsError() {
+        createGateway(GatewayExecutionMode.VIRTUAL_THREADS, 0);
+        gateway.registerHandler("orders", Echo.class, request -> {
+            throw new AssertionError("boom");
+        });
+
+        CompletableFuture<String> future = gateway.executeAsync("orders", new Echo("a"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, error.getCause());
+        assertEquals("boom", error.getCause().getMessage());
+    }
+
+    @Test
+    void shouldRunAsyncRequestsOnVirtualThreadsInCallerThreadMode() {
+        createGateway(GatewayExecutionMode.CALLER_THREAD, 0);
+
+        assertEquals("true:a", gateway.executeAsync("orders", new Echo("a")).join());
+    }
+
+    @Test
+    void shouldTimeOutSyncRequest() {
+        createGateway(GatewayExecutionMode.VIRTUAL_THREADS, 0);
+
+        assertThrows(ModuleRequestTimeoutException.class,
+                () -> gateway.execute("orders", new Sleep(5_000), Duration.ofMillis(50)));
+    }
+
+    @Test
+    void shouldQueueRequestsBeyondBulkheadLimit() throws Exception {
+        createGateway(GatewayExecutionMode.VIRTUAL_THREADS, 1);
+
+        CompletableFuture<Boolean> first = gateway.executeAsync("orders", new Sleep(300));
+        CompletableFuture<Boolean> second = gateway.executeAsync("orders", new Sleep(10));
+
+        ModuleBulkheadMetrics metrics = awaitMetrics(m -> m.active() == 1 && m.queued() == 1);
+        assertEquals(1, metrics.maxConcurrent());
+
+        assertTrue(first.get(2, TimeUnit.SECONDS));
+        assertTrue(second.get(2, TimeUnit.SECONDS));
+        assertEquals(2, awaitMetrics(m -> m.completed() == 2).completed());
+    }
+
+    @Test
+    void shouldWakeUpWaitingCallerWhenModuleStarts() throws Exception {
+        createGateway(GatewayExecutionMode.VIRTUAL_THREADS, 0);
+        module.setState(ModuleState.STARTING);
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> available = CompletableFuture.supplyAsync(() -> {
+            waiting.countDown();
+            return gateway.waitForModule("orders", Duration.ofSeconds(5));
+        });
+        waiting.await();
+        Thread.sleep(50);
+        long started = System.nanoTime();
+        module.setState(ModuleState.STARTED);
+
+        assertTrue(available.get(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(1_000));
+        assertFalse(gateway.waitForModule("missing", Duration.ofMillis(20)));
+    }
+
+    private ModuleBulkheadMetrics awaitMetrics(Predicate<ModuleBulkheadMetrics> condition)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (true) {
+            ModuleBulkheadMetrics metrics = gateway.getBulkheadMetrics().get(0);
+            if (condition.test(metrics) || System.nanoTime() > deadline) {
+                return metrics;
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.archbase.multitenancy.benchmark;
+
+import br.com.archbase.ddd.context.ArchbaseTenantContext;
+import br.com.archbase.multitenancy.async.ArchbaseTaskExecutorProperties;
+import br.com.archbase.multitenancy.async.ArchbaseTenantAwareTaskDecorator;
+import br.com.archbase.multitenancy.async.AsyncConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de métodos {@code @Async} que bloqueiam em I/O com cada perfil de
+ * {@link ArchbaseTaskExecutorProperties}. Cada operação dispara {@code tasks} chamadas que dormem
+ * {@code ioMillis} e aguarda todas, usando o executor de {@link AsyncConfig}.
+ * <p>
+ * No perfil {@code PLATFORM} o pool é dimensionado pelas propriedades com {@code platformThreads}
+ * threads e fila sem limite: com os valores padrão (7/42 threads e fila de 11) rajadas como esta já
+ * são rejeitadas, porque a fila enche antes de as threads ociosas a consumirem.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl archbase-multitenancy-benchmark -am package
+ * java -jar archbase-multitenancy-benchmark/target/benchmarks.jar AsyncExecutorThroughputBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncExecutorThroughputBenchmark {
+
+    @Param({"VIRTUAL", "PLATFORM"})
+    public ArchbaseTaskExecutorProperties.Type type;
+
+    @Param({"200"})
+    public int tasks;
+
+    @Param({"42"})
+    public int platformThreads;
+
+    @Param({"10"})
+    public int ioMillis;
+
+    private AsyncConfig asyncConfig;
+    private AnnotationConfigApplicationContext context;
+    private BlockingService service;
+
+    @Setup
+    public void setup() {
+        ArchbaseTaskExecutorProperties properties = new ArchbaseTaskExecutorProperties();
+        properties.setType(type);
+        properties.setCorePoolSize(platformThreads);
+        properties.setMaxPoolSize(platformThreads);
+        properties.setQueueCapacity(Integer.MAX_VALUE);
+        asyncConfig = new AsyncConfig(properties, new ArchbaseTenantAwareTaskDecorator());
+
+        context = new AnnotationConfigApplicationContext();
+        context.register(AsyncEnabled.class, BlockingService.class);
+        context.registerBean(AsyncConfigurer.class, () -> new AsyncConfigurer() {
+            @Override
+            public Executor getAsyncExecutor() {
+                return asyncConfig.getAsyncExecutor();
+            }
+        });
+        context.refresh();
+        service = context.getBean(BlockingService.class);
+        ArchbaseTenantContext.setTenantId("benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        asyncConfig.destroy();
+        ArchbaseTenantContext.clear();
+    }
+
+    @Benchmark
+    public int asyncCalls() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int i = 0; i < tasks; i++) {
+            futures[i] = service.call(ioMillis);
+        }
+        CompletableFuture.allOf(futures).join();
+        return tasks;
+    }
+
+    @Configuration
+    @EnableAsync
+    static class AsyncEnabled {
+    }
+
+    public static class BlockingService {
+
+        @Async
+        public CompletableFuture<String> call(int ioMillis) {
+            try {
+                Thread.sleep(ioMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(ArchbaseTenantContext.getTenantId());
+        }
+    }
+}
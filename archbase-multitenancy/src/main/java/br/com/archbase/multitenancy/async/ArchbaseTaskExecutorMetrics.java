@@ -0,0 +1,77 @@
+package br.com.archbase.multitenancy.async;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Métricas de saturação de um executor criado por {@link ArchbaseTaskExecutors}, com as tags
+ * {@code name} e {@code type}:
+ * <ul>
+ *   <li>{@code archbase.executor.active}: tarefas em execução;</li>
+ *   <li>{@code archbase.executor.waiting}: tarefas aguardando thread (fila do pool ou limite de concorrência);</li>
+ *   <li>{@code archbase.executor.capacity} e {@code archbase.executor.saturation}: máximo de tarefas
+ *   simultâneas e a fração em uso (apenas para executores limitados);</li>
+ *   <li>{@code archbase.executor.submitted} e {@code archbase.executor.completed}: contadores de tarefas.</li>
+ * </ul>
+ * <p>
+ * Só é carregada quando o Micrometer está no classpath.
+ */
+public class ArchbaseTaskExecutorMetrics implements MeterBinder {
+
+    private final String name;
+    private final Executor executor;
+    private final ArchbaseTaskExecutorStatistics statistics;
+
+    public ArchbaseTaskExecutorMetrics(String name, Executor executor, ArchbaseTaskExecutorStatistics statistics) {
+        this.name = name;
+        this.executor = executor;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        boolean pool = executor instanceof ThreadPoolTaskExecutor;
+        Tags tags = Tags.of("name", name, "type", pool ? "platform" : "virtual");
+
+        Gauge.builder("archbase.executor.active", statistics, ArchbaseTaskExecutorStatistics::getActive)
+                .tags(tags).description("Tarefas em execução").register(registry);
+        Gauge.builder("archbase.executor.waiting", this, ArchbaseTaskExecutorMetrics::waiting)
+                .tags(tags).description("Tarefas aguardando thread").register(registry);
+        FunctionCounter.builder("archbase.executor.submitted", statistics, ArchbaseTaskExecutorStatistics::getSubmitted)
+                .tags(tags).description("Tarefas submetidas").register(registry);
+        FunctionCounter.builder("archbase.executor.completed", statistics, ArchbaseTaskExecutorStatistics::getCompleted)
+                .tags(tags).description("Tarefas concluídas").register(registry);
+
+        if (capacity() > 0) {
+            Gauge.builder("archbase.executor.capacity", this, ArchbaseTaskExecutorMetrics::capacity)
+                    .tags(tags).description("Máximo de tarefas simultâneas").register(registry);
+            Gauge.builder("archbase.executor.saturation", this, metrics -> (double) statistics.getActive() / metrics.capacity())
+                    .tags(tags).description("Fração da capacidade em uso").register(registry);
+        }
+    }
+
+    private double waiting() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getQueueSize();
+        }
+        return statistics.getWaiting();
+    }
+
+    private int capacity() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getMaxPoolSize();
+        }
+        if (executor instanceof SimpleAsyncTaskExecutor simple) {
+            return simple.getConcurrencyLimit();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.archbase.multitenancy.async;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Perfil dos executores de tarefas assíncronas do Archbase ({@code @Async} e o {@code TaskExecutor}
+ * padrão).
+ *
+ * <pre>
+ * archbase.async.executor.type=VIRTUAL
+ * archbase.async.executor.concurrency-limit=200
+ * </pre>
+ *
+ * <p>Com {@code PLATFORM} os tamanhos não informados mantêm os valores padrão de cada executor.
+ */
+@ConfigurationProperties(prefix = "archbase.async.executor")
+public class ArchbaseTaskExecutorProperties {
+
+    public enum Type {
+        /**
+         * Uma thread virtual por tarefa; indicado para tarefas que passam a maior parte do tempo em I/O.
+         */
+        VIRTUAL,
+        /**
+         * Pool de threads de plataforma com fila.
+         */
+        PLATFORM
+    }
+
+    private Type type = Type.PLATFORM;
+
+    /**
+     * Número máximo de tarefas simultâneas com {@code VIRTUAL}; {@code -1} não limita. Ao atingir o
+     * limite quem submete a tarefa aguarda.
+     */
+    private int concurrencyLimit = -1;
+
+    private Integer corePoolSize;
+
+    private Integer maxPoolSize;
+
+    private Integer queueCapacity;
+
+    private String threadNamePrefix;
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public Integer getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public void setCorePoolSize(Integer corePoolSize) {
+        this.corePoolSize = corePoolSize;
+    }
+
+    public Integer getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(Integer maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public Integer getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+}
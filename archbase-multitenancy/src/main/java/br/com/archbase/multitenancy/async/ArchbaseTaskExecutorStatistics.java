@@ -0,0 +1,65 @@
+package br.com.archbase.multitenancy.async;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conta as tarefas submetidas, em execução e concluídas de um executor. As tarefas aguardando thread
+ * (na fila do pool ou bloqueadas pelo limite de concorrência) são as submetidas que ainda não começaram.
+ * <p>
+ * Não é um {@link TaskDecorator}: {@link ArchbaseTaskExecutors} compõe a contagem com o decorador de
+ * propagação de contexto do executor por meio de {@link #decorate(TaskDecorator)}.
+ */
+public class ArchbaseTaskExecutorStatistics {
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * Envolve o decorador do executor para que cada tarefa decorada também seja contada.
+     *
+     * @param delegate decorador de contexto aplicado antes da contagem, ou {@code null}
+     * @return decorador que aplica {@code delegate} e conta a tarefa
+     */
+    public TaskDecorator decorate(@Nullable TaskDecorator delegate) {
+        return runnable -> track((delegate != null) ? delegate.decorate(runnable) : runnable);
+    }
+
+    private Runnable track(Runnable decorated) {
+        submitted.increment();
+        return () -> {
+            started.increment();
+            active.incrementAndGet();
+            try {
+                decorated.run();
+            } finally {
+                active.decrementAndGet();
+                completed.increment();
+            }
+        };
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Tarefas submetidas que ainda não começaram a executar (inclui as rejeitadas pelo executor).
+     */
+    public long getWaiting() {
+        return Math.max(0, submitted.sum() - started.sum());
+    }
+}
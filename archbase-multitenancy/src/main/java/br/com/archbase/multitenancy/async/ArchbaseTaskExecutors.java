@@ -0,0 +1,55 @@
+package br.com.archbase.multitenancy.async;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Cria os executores assíncronos conforme o perfil de {@link ArchbaseTaskExecutorProperties}.
+ */
+public final class ArchbaseTaskExecutors {
+
+    private ArchbaseTaskExecutors() {
+    }
+
+    /**
+     * Cria o executor do perfil configurado.
+     *
+     * @param properties       perfil do executor
+     * @param taskDecorator    decorador de propagação de contexto aplicado a cada tarefa
+     * @param statistics       estatísticas que contam as tarefas já decoradas
+     * @param platformDefaults pool ainda não inicializado com os valores padrão do executor; com
+     *                         {@code PLATFORM} recebe os tamanhos configurados e é inicializado, com
+     *                         {@code VIRTUAL} fornece apenas o prefixo dos nomes das threads
+     * @return um {@link SimpleAsyncTaskExecutor} com threads virtuais ou o {@link ThreadPoolTaskExecutor}
+     * inicializado
+     */
+    public static AsyncTaskExecutor create(ArchbaseTaskExecutorProperties properties, TaskDecorator taskDecorator,
+                                           ArchbaseTaskExecutorStatistics statistics,
+                                           ThreadPoolTaskExecutor platformDefaults) {
+        TaskDecorator decorator = statistics.decorate(taskDecorator);
+        String threadNamePrefix = (properties.getThreadNamePrefix() != null)
+                ? properties.getThreadNamePrefix() : platformDefaults.getThreadNamePrefix();
+
+        if (properties.getType() == ArchbaseTaskExecutorProperties.Type.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(properties.getConcurrencyLimit());
+            executor.setTaskDecorator(decorator);
+            return executor;
+        }
+
+        platformDefaults.setCorePoolSize(valueOrDefault(properties.getCorePoolSize(), platformDefaults.getCorePoolSize()));
+        platformDefaults.setMaxPoolSize(valueOrDefault(properties.getMaxPoolSize(), platformDefaults.getMaxPoolSize()));
+        platformDefaults.setQueueCapacity(valueOrDefault(properties.getQueueCapacity(), platformDefaults.getQueueCapacity()));
+        platformDefaults.setThreadNamePrefix(threadNamePrefix);
+        platformDefaults.setTaskDecorator(decorator);
+        platformDefaults.initialize();
+        return platformDefaults;
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return (value != null) ? value : defaultValue;
+    }
+}
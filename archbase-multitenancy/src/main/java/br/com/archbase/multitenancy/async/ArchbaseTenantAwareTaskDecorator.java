@@ -1,23 +1,81 @@
 package br.com.archbase.multitenancy.async;
 
 import br.com.archbase.ddd.context.ArchbaseTenantContext;
+import org.slf4j.MDC;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ClassUtils;
 
+import java.util.Map;
 
+/**
+ * Propaga para a tarefa assíncrona o contexto da thread que a submeteu: tenant, empresa, MDC (inclusive
+ * o correlation id) e, se o Spring Security estiver no classpath, o {@link SecurityContext}.
+ *
+ * <p>O contexto anterior da thread executora é restaurado ao final, o que vale tanto para threads de
+ * pool reaproveitadas quanto para tarefas executadas na própria thread chamadora.
+ */
 public class ArchbaseTenantAwareTaskDecorator implements TaskDecorator {
 
+    private static final boolean SECURITY_PRESENT = ClassUtils.isPresent(
+            "org.springframework.security.core.context.SecurityContextHolder",
+            ArchbaseTenantAwareTaskDecorator.class.getClassLoader());
+
     @Override
     @NonNull
     public Runnable decorate(@NonNull Runnable runnable) {
         String tenantId = ArchbaseTenantContext.getTenantId();
+        String companyId = ArchbaseTenantContext.getCompanyId();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Object securityContext = SECURITY_PRESENT ? SecurityContextAccessor.get() : null;
         return () -> {
+            String previousTenantId = ArchbaseTenantContext.getTenantId();
+            String previousCompanyId = ArchbaseTenantContext.getCompanyId();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            Object previousSecurityContext = SECURITY_PRESENT ? SecurityContextAccessor.get() : null;
             try {
                 ArchbaseTenantContext.setTenantId(tenantId);
+                ArchbaseTenantContext.setCompanyId(companyId);
+                setMdc(mdc);
+                if (SECURITY_PRESENT) {
+                    SecurityContextAccessor.set(securityContext);
+                }
                 runnable.run();
             } finally {
-                ArchbaseTenantContext.setTenantId(null);
+                ArchbaseTenantContext.setTenantId(previousTenantId);
+                ArchbaseTenantContext.setCompanyId(previousCompanyId);
+                setMdc(previousMdc);
+                if (SECURITY_PRESENT) {
+                    SecurityContextAccessor.set(previousSecurityContext);
+                }
             }
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Isola as referências ao Spring Security, que é opcional.
+     */
+    private static final class SecurityContextAccessor {
+
+        private SecurityContextAccessor() {
+        }
+
+        static Object get() {
+            return SecurityContextHolder.getContext();
+        }
+
+        static void set(Object context) {
+            SecurityContextHolder.setContext((SecurityContext) context);
+        }
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package br.com.archbase.multitenancy.async;
 
 import java.util.concurrent.Executor;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Role;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.AsyncConfigurerSupport;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -16,25 +18,59 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  * <p>Ativada apenas se a aplicação não definir seu próprio {@link AsyncConfigurer}.
  * Para sobrescrever, basta criar uma classe {@code @Configuration} que implemente
  * {@link AsyncConfigurer} no projeto da aplicação.</p>
+ *
+ * <p>O tipo de executor (threads virtuais ou pool de plataforma) vem de
+ * {@link ArchbaseTaskExecutorProperties}; o pool de plataforma mantém por padrão 7/42 threads e fila de 11.</p>
  */
 @Configuration
 @EnableAsync
 @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
 @ConditionalOnMissingBean(AsyncConfigurer.class)
-public class AsyncConfig extends AsyncConfigurerSupport {
+public class AsyncConfig extends AsyncConfigurerSupport implements DisposableBean {
 
-    @Override
-    public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final ArchbaseTaskExecutorProperties properties;
+    private final TaskDecorator taskDecorator;
+    private final ArchbaseTaskExecutorStatistics statistics = new ArchbaseTaskExecutorStatistics();
+    private Executor executor;
+
+    public AsyncConfig() {
+        this(new ArchbaseTaskExecutorProperties(), new ArchbaseTenantAwareTaskDecorator());
+    }
+
+    public AsyncConfig(ArchbaseTaskExecutorProperties properties, TaskDecorator taskDecorator) {
+        this.properties = properties;
+        this.taskDecorator = taskDecorator;
+    }
 
-        executor.setCorePoolSize(7);
-        executor.setMaxPoolSize(42);
-        executor.setQueueCapacity(11);
-        executor.setThreadNamePrefix("TenantAwareTaskExecutor-");
-        executor.setTaskDecorator(new ArchbaseTenantAwareTaskDecorator());
-        executor.initialize();
+    @Override
+    public synchronized Executor getAsyncExecutor() {
+        if (executor == null) {
+            ThreadPoolTaskExecutor defaults = new ThreadPoolTaskExecutor();
+            defaults.setCorePoolSize(7);
+            defaults.setMaxPoolSize(42);
+            defaults.setQueueCapacity(11);
+            defaults.setThreadNamePrefix("TenantAwareTaskExecutor-");
+            executor = ArchbaseTaskExecutors.create(properties, taskDecorator, statistics, defaults);
+        }
 
         return executor;
     }
 
+    public ArchbaseTaskExecutorStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Encerra o executor criado, que não é um bean gerenciado pelo contexto.
+     */
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        executor = null;
+    }
+
 }
@@ -0,0 +1,146 @@
+package br.com.archbase.multitenancy.async;
+
+import br.com.archbase.ddd.context.ArchbaseTenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.MDC;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchbaseTaskExecutorsTest {
+
+    private static final Authentication USER = new TestingAuthenticationToken("maria", "secret");
+
+    private AsyncTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        clearCallerContext();
+    }
+
+    @Test
+    void statisticsAreNotATaskDecorator() {
+        assertFalse(TaskDecorator.class.isAssignableFrom(ArchbaseTaskExecutorStatistics.class));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ArchbaseTaskExecutorProperties.Type.class)
+    void shouldPropagateCallerContextAndCountTasks(ArchbaseTaskExecutorProperties.Type type) throws Exception {
+        ArchbaseTaskExecutorStatistics statistics = new ArchbaseTaskExecutorStatistics();
+        executor = create(type, statistics);
+        // Com o pool, a única thread já existe antes do contexto ser definido, então não há herança de ThreadLocal.
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        setCallerContext();
+        ContextSnapshot seen = executor.submit(ContextSnapshot::capture).get(5, TimeUnit.SECONDS);
+
+        assertEquals("tenant-1", seen.tenantId());
+        assertEquals("company-1", seen.companyId());
+        assertEquals("corr-1", seen.correlationId());
+        assertSame(USER, seen.authentication());
+        awaitCompleted(statistics, 2);
+        assertEquals(2, statistics.getSubmitted());
+        assertEquals(0, statistics.getActive());
+        assertEquals(0, statistics.getWaiting());
+    }
+
+    @Test
+    void shouldRestoreWorkerContextAfterTask() throws Exception {
+        ArchbaseTaskExecutorStatistics statistics = new ArchbaseTaskExecutorStatistics();
+        executor = create(ArchbaseTaskExecutorProperties.Type.PLATFORM, statistics);
+
+        setCallerContext();
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        clearCallerContext();
+        ContextSnapshot seen = executor.submit(ContextSnapshot::capture).get(5, TimeUnit.SECONDS);
+
+        assertNull(seen.tenantId());
+        assertNull(seen.companyId());
+        assertNull(seen.correlationId());
+        assertNull(seen.authentication());
+    }
+
+    @Test
+    void shouldCountRunningTasksAsActive() throws Exception {
+        ArchbaseTaskExecutorStatistics statistics = new ArchbaseTaskExecutorStatistics();
+        executor = create(ArchbaseTaskExecutorProperties.Type.VIRTUAL, statistics);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> future = executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, statistics.getActive());
+        assertEquals(0, statistics.getCompleted());
+
+        release.countDown();
+        future.get(5, TimeUnit.SECONDS);
+        awaitCompleted(statistics, 1);
+        assertEquals(0, statistics.getActive());
+    }
+
+    private static AsyncTaskExecutor create(ArchbaseTaskExecutorProperties.Type type,
+                                            ArchbaseTaskExecutorStatistics statistics) {
+        ArchbaseTaskExecutorProperties properties = new ArchbaseTaskExecutorProperties();
+        properties.setType(type);
+        ThreadPoolTaskExecutor defaults = new ThreadPoolTaskExecutor();
+        defaults.setCorePoolSize(1);
+        defaults.setMaxPoolSize(1);
+        defaults.setThreadNamePrefix("test-executor-");
+        return ArchbaseTaskExecutors.create(properties, new ArchbaseTenantAwareTaskDecorator(), statistics, defaults);
+    }
+
+    static void awaitCompleted(ArchbaseTaskExecutorStatistics statistics, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (statistics.getCompleted() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, statistics.getCompleted());
+    }
+
+    static void setCallerContext() {
+        ArchbaseTenantContext.setTenantId("tenant-1");
+        ArchbaseTenantContext.setCompanyId("company-1");
+        MDC.put("correlationId", "corr-1");
+        SecurityContextHolder.setContext(new SecurityContextImpl(USER));
+    }
+
+    static void clearCallerContext() {
+        ArchbaseTenantContext.clear();
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    record ContextSnapshot(String tenantId, String companyId, String correlationId, Authentication authentication) {
+
+        static ContextSnapshot capture() {
+            return new ContextSnapshot(ArchbaseTenantContext.getTenantId(), ArchbaseTenantContext.getCompanyId(),
+                    MDC.get("correlationId"), SecurityContextHolder.getContext().getAuthentication());
+        }
+    }
+}
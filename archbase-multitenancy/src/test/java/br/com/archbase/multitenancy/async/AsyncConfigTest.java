@@ -0,0 +1,52 @@
+package br.com.archbase.multitenancy.async;
+
+import br.com.archbase.ddd.context.ArchbaseTenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncConfigTest {
+
+    private final AsyncConfig config = new AsyncConfig();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        config.destroy();
+        ArchbaseTaskExecutorsTest.clearCallerContext();
+    }
+
+    @Test
+    void shouldPropagateTenantAndCountTasksOnAsyncExecutor() throws Exception {
+        AsyncTaskExecutor executor = (AsyncTaskExecutor) config.getAsyncExecutor();
+
+        ArchbaseTaskExecutorsTest.setCallerContext();
+        String tenantId = executor.submit(ArchbaseTenantContext::getTenantId).get(5, TimeUnit.SECONDS);
+
+        assertEquals("tenant-1", tenantId);
+        ArchbaseTaskExecutorsTest.awaitCompleted(config.getStatistics(), 1);
+        assertEquals(1, config.getStatistics().getSubmitted());
+    }
+
+    @Test
+    void shouldReuseExecutorUntilDestroyed() throws Exception {
+        Executor executor = config.getAsyncExecutor();
+        assertSame(executor, config.getAsyncExecutor());
+        ThreadPoolTaskExecutor pool = assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+        assertEquals(42, pool.getMaxPoolSize());
+
+        config.destroy();
+
+        assertTrue(pool.getThreadPoolExecutor().isShutdown());
+        assertNotSame(executor, config.getAsyncExecutor());
+    }
+}
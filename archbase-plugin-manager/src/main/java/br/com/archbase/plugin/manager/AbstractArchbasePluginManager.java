@@ -1,5 +1,6 @@
 package br.com.archbase.plugin.manager;
 
+import br.com.archbase.plugin.manager.util.DirectedGraph;
 import br.com.archbase.plugin.manager.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,7 +10,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -17,12 +26,20 @@ import java.util.stream.Collectors;
  * a implementação teria que apoiar.
  * Ajuda a eliminar o ruído da subclasse que lida com o gerenciamento de plug-ins.
  *
+ * <p> {@link #loadPlugins()} lê os descritores e cria os carregadores de classe em paralelo e registra
+ * os plug-ins na ordem dos caminhos; {@link #startPlugins()} inicia os plug-ins em ondas da ordem de
+ * dependência, com os plug-ins independentes de uma onda iniciados em paralelo. O número de threads é
+ * dado por {@link #setParallelism(int)} (ou pela propriedade de sistema {@value #PARALLELISM_PROPERTY_NAME})
+ * e {@code 1} restaura o processamento sequencial. Em ambos os casos o estado final e a ordem dos
+ * eventos são determinísticos.
+ *
  * <p> Esta classe não é thread-safe.
  */
 public abstract class AbstractArchbasePluginManager implements ArchbasePluginManager {
 
     public static final String PLUGINS_DIR_PROPERTY_NAME = "archbase.pluginsDir";
     public static final String MODE_PROPERTY_NAME = "archbase.plugin.mode";
+    public static final String PARALLELISM_PROPERTY_NAME = "archbase.plugin.parallelism";
     public static final String DEFAULT_PLUGINS_DIR = "plugins";
     public static final String DEVELOPMENT_PLUGINS_DIR = "../plugins";
     public static final String ZERO_VERSION = "0.0.0";
@@ -82,6 +99,11 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
     protected ArchbasePluginLoader archbasePluginLoader;
     protected boolean exactVersionAllowed = false;
 
+    /**
+     * Número máximo de threads usadas para carregar e iniciar plug-ins.
+     */
+    protected int parallelism = Integer.getInteger(PARALLELISM_PROPERTY_NAME, Runtime.getRuntime().availableProcessors());
+
     protected VersionManager versionManager;
 
     /**
@@ -207,13 +229,21 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
         }
 
         log.debug("Encontrados {} possíveis plug-ins: {}", pluginPaths.size(), pluginPaths);
+        long start = System.nanoTime();
 
-        // carregar plugins de caminhos de plugins
-        for (Path pluginPath : pluginPaths) {
-            try {
-                loadPluginFromPath(pluginPath);
-            } catch (PluginRuntimeException e) {
-                log.error(e.getMessage(), e);
+        // ler os plugins em paralelo e registrá-los na ordem dos caminhos
+        List<PluginWrapper> pluginWrappers = runInParallel(pluginPaths, this::readPlugin);
+        int loaded = 0;
+        for (PluginWrapper pluginWrapper : pluginWrappers) {
+            if (pluginWrapper != null) {
+                try {
+                    registerPlugin(pluginWrapper);
+                    loaded++;
+                    log.debug("ArchbasePlugin '{}' carregado em {} ms", getPluginLabel(pluginWrapper.getDescriptor()),
+                            pluginWrapper.getLoadDuration().toMillis());
+                } catch (PluginRuntimeException e) {
+                    log.error(e.getMessage(), e);
+                }
             }
         }
 
@@ -223,6 +253,22 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
         } catch (PluginRuntimeException e) {
             log.error(e.getMessage(), e);
         }
+
+        log.info("{} plug-ins carregados em {} ms", loaded, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private PluginWrapper readPlugin(Path pluginPath) {
+        long start = System.nanoTime();
+        try {
+            PluginWrapper pluginWrapper = createPluginWrapper(pluginPath);
+            if (pluginWrapper != null) {
+                pluginWrapper.setLoadDuration(Duration.ofNanos(System.nanoTime() - start));
+            }
+            return pluginWrapper;
+        } catch (PluginRuntimeException e) {
+            log.error(e.getMessage(), e);
+            return null;
+        }
     }
 
     /**
@@ -328,24 +374,131 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
      */
     @Override
     public void startPlugins() {
-        for (PluginWrapper pluginWrapper : resolvedPlugins) {
-            PluginState pluginState = pluginWrapper.getPluginState();
-            if ((PluginState.DISABLED != pluginState) && (PluginState.STARTED != pluginState)) {
-                try {
+        long start = System.nanoTime();
+        int started = 0;
+        for (List<PluginWrapper> wave : getStartupWaves()) {
+            List<PluginWrapper> pluginsToStart = new ArrayList<>();
+            for (PluginWrapper pluginWrapper : wave) {
+                PluginState pluginState = pluginWrapper.getPluginState();
+                if ((PluginState.DISABLED != pluginState) && (PluginState.STARTED != pluginState)) {
                     log.info("Iniciar archbasePlugin '{}'", getPluginLabel(pluginWrapper.getDescriptor()));
-                    pluginWrapper.getPlugin().start();
+                    pluginsToStart.add(pluginWrapper);
+                }
+            }
+
+            // os plug-ins de uma onda não dependem uns dos outros; estados e eventos são aplicados na ordem da onda
+            List<Throwable> failures = runInParallel(pluginsToStart, this::doStartPlugin);
+            for (int i = 0; i < pluginsToStart.size(); i++) {
+                PluginWrapper pluginWrapper = pluginsToStart.get(i);
+                PluginState pluginState = pluginWrapper.getPluginState();
+                Throwable failure = failures.get(i);
+                if (failure == null) {
                     pluginWrapper.setPluginState(PluginState.STARTED);
                     pluginWrapper.setFailedException(null);
                     startedPlugins.add(pluginWrapper);
-                } catch (Exception | LinkageError e) {
+                    started++;
+                    log.info("ArchbasePlugin '{}' iniciado em {} ms", getPluginLabel(pluginWrapper.getDescriptor()),
+                            pluginWrapper.getStartDuration().toMillis());
+                } else {
                     pluginWrapper.setPluginState(PluginState.FAILED);
-                    pluginWrapper.setFailedException(e);
-                    log.error("Não foi possível iniciar o archbasePlugin '{}'", getPluginLabel(pluginWrapper.getDescriptor()), e);
-                } finally {
-                    firePluginStateEvent(new PluginStateEvent(this, pluginWrapper, pluginState));
+                    pluginWrapper.setFailedException(failure);
+                    log.error("Não foi possível iniciar o archbasePlugin '{}'", getPluginLabel(pluginWrapper.getDescriptor()), failure);
+                }
+                firePluginStateEvent(new PluginStateEvent(this, pluginWrapper, pluginState));
+            }
+        }
+
+        if (started > 0) {
+            log.info("{} plug-ins iniciados em {} ms", started, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+    }
+
+    private Throwable doStartPlugin(PluginWrapper pluginWrapper) {
+        long start = System.nanoTime();
+        try {
+            pluginWrapper.getPlugin().start();
+            return null;
+        } catch (Exception | LinkageError e) {
+            return e;
+        } finally {
+            pluginWrapper.setStartDuration(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Agrupa os plug-ins resolvidos em ondas de inicialização: cada plug-in fica em uma onda posterior
+     * às ondas de todas as suas dependências resolvidas (obrigatórias ou opcionais). Dentro de cada onda
+     * os plug-ins seguem a ordem de {@link #getResolvedPlugins()}.
+     */
+    protected List<List<PluginWrapper>> getStartupWaves() {
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        for (PluginWrapper pluginWrapper : resolvedPlugins) {
+            graph.addVertex(pluginWrapper.getPluginId());
+        }
+        for (PluginWrapper pluginWrapper : resolvedPlugins) {
+            for (PluginDependency dependency : pluginWrapper.getDescriptor().getDependencies()) {
+                if (graph.containsVertex(dependency.getPluginId())) {
+                    graph.addEdge(pluginWrapper.getPluginId(), dependency.getPluginId());
                 }
             }
         }
+
+        List<List<String>> levels = graph.reverseTopologicalLevels();
+        if (levels.isEmpty() && !resolvedPlugins.isEmpty()) {
+            // só é possível com um ciclo de dependências opcionais: inicia um plug-in por vez
+            log.warn("Ciclo entre dependências opcionais de plug-ins; iniciando na ordem de resolução");
+            return resolvedPlugins.stream().map(Collections::singletonList).collect(Collectors.toList());
+        }
+
+        List<List<PluginWrapper>> waves = new ArrayList<>(levels.size());
+        for (List<String> level : levels) {
+            waves.add(level.stream().map(plugins::get).collect(Collectors.toList()));
+        }
+
+        return waves;
+    }
+
+    /**
+     * Aplica {@code task} a cada item usando até {@link #getParallelism()} threads e retorna os resultados
+     * na ordem dos itens. Exceções não tratadas pela tarefa são propagadas.
+     */
+    protected <T, R> List<R> runInParallel(List<T> items, Function<T, R> task) {
+        int threads = Math.min(parallelism, items.size());
+        if (threads <= 1) {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(task.apply(item));
+            }
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new PluginThreadFactory());
+        try {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                futures.add(executor.submit(() -> task.apply(item)));
+            }
+
+            List<R> results = new ArrayList<>(items.size());
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PluginRuntimeException(e, "Interrompido enquanto processava os plug-ins");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new PluginRuntimeException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -678,8 +831,8 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
     }
 
     protected void initialize() {
-        plugins = new HashMap<>();
-        pluginClassLoaders = new HashMap<>();
+        plugins = new LinkedHashMap<>();
+        pluginClassLoaders = new LinkedHashMap<>();
         unresolvedPlugins = new ArrayList<>();
         resolvedPlugins = new ArrayList<>();
         startedPlugins = new ArrayList<>();
@@ -802,6 +955,26 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
     }
 
     protected PluginWrapper loadPluginFromPath(Path pluginPath) {
+        PluginWrapper pluginWrapper = createPluginWrapper(pluginPath);
+        if (pluginWrapper == null) {
+            return null;
+        }
+
+        registerPlugin(pluginWrapper);
+
+        return pluginWrapper;
+    }
+
+    /**
+     * Primeira etapa da carga de um plug-in: lê e valida o descritor e cria o carregador de classes e o
+     * wrapper. Não altera o estado do gerenciador, por isso {@link #loadPlugins()} a executa em paralelo
+     * para vários caminhos; o plug-in só passa a existir para o gerenciador em {@link #registerPlugin}.
+     *
+     * @param pluginPath o caminho do plug-in
+     * @return o wrapper do plug-in ou nulo se o caminho não puder ser carregado
+     * @throws PluginRuntimeException se houver problemas durante o carregamento
+     */
+    protected PluginWrapper createPluginWrapper(Path pluginPath) {
         // Teste para duplicação do caminho do archbasePlugin
         String pluginId = idForPath(pluginPath);
         if (pluginId != null) {
@@ -816,16 +989,7 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
         validatePluginDescriptor(pluginDescriptor);
 
         // Verifique se não há plug-ins carregados com a id recuperada
-        pluginId = pluginDescriptor.getPluginId();
-        if (plugins.containsKey(pluginId)) {
-            PluginWrapper loadedPlugin = getPlugin(pluginId);
-            throw new PluginRuntimeException(StringUtils.format("Já existe um plugin carregado (%s) "
-                            + "com o mesmo id (%s) que o archbasePlugin no caminho '%s'. Carregamento simultâneo "
-                            + "de plug-ins com o mesmo PluginId não é compatível no momento. \n"
-                            + "Como solução alternativa, você pode incluir PluginVersion e PluginProvider "
-                            + "no PluginId.",
-                    loadedPlugin, pluginId, pluginPath));
-        }
+        checkPluginNotLoaded(pluginDescriptor.getPluginId(), pluginPath);
 
         log.debug("Descritor encontrado {}", pluginDescriptor);
         String pluginClassName = pluginDescriptor.getPluginClass();
@@ -855,16 +1019,53 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
 
         log.debug("Wrapper '{}' criado para o archbasePlugin '{}'", pluginWrapper, pluginPath);
 
-        pluginId = pluginDescriptor.getPluginId();
+        return pluginWrapper;
+    }
+
+    /**
+     * Segunda etapa da carga de um plug-in: adiciona o wrapper criado por {@link #createPluginWrapper(Path)}
+     * aos plug-ins não resolvidos. Se já houver um plug-in com o mesmo id, o carregador de classes do
+     * wrapper é fechado.
+     *
+     * @throws PluginRuntimeException se já existir um plug-in carregado com o mesmo id
+     */
+    protected void registerPlugin(PluginWrapper pluginWrapper) {
+        String pluginId = pluginWrapper.getPluginId();
+        try {
+            checkPluginNotLoaded(pluginId, pluginWrapper.getPluginPath());
+        } catch (PluginRuntimeException e) {
+            closeQuietly(pluginWrapper.getPluginClassLoader());
+            throw e;
+        }
 
         // adicionar archbasePlugin à lista com plugins
         plugins.put(pluginId, pluginWrapper);
         getUnresolvedPlugins().add(pluginWrapper);
 
         // adicionar carregador de classe de archbasePlugin à lista com carregadores de classe
-        getPluginClassLoaders().put(pluginId, pluginClassLoader);
+        getPluginClassLoaders().put(pluginId, pluginWrapper.getPluginClassLoader());
+    }
 
-        return pluginWrapper;
+    private void checkPluginNotLoaded(String pluginId, Path pluginPath) {
+        if (plugins.containsKey(pluginId)) {
+            PluginWrapper loadedPlugin = getPlugin(pluginId);
+            throw new PluginRuntimeException(StringUtils.format("Já existe um plugin carregado (%s) "
+                            + "com o mesmo id (%s) que o archbasePlugin no caminho '%s'. Carregamento simultâneo "
+                            + "de plug-ins com o mesmo PluginId não é compatível no momento. \n"
+                            + "Como solução alternativa, você pode incluir PluginVersion e PluginProvider "
+                            + "no PluginId.",
+                    loadedPlugin, pluginId, pluginPath));
+        }
+    }
+
+    private void closeQuietly(ClassLoader classLoader) {
+        if (classLoader instanceof Closeable) {
+            try {
+                ((Closeable) classLoader).close();
+            } catch (IOException e) {
+                log.warn("Não é possível fechar o carregador de classe", e);
+            }
+        }
     }
 
     /**
@@ -917,6 +1118,26 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
         this.exactVersionAllowed = exactVersionAllowed;
     }
 
+    /**
+     * @return o número máximo de threads usadas para carregar e iniciar plug-ins
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Define o número máximo de threads usadas por {@link #loadPlugins()} e {@link #startPlugins()}.
+     * O padrão é o número de processadores; {@code 1} carrega e inicia os plug-ins sequencialmente.
+     *
+     * @param parallelism número de threads, maior que zero
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism deve ser maior que zero");
+        }
+        this.parallelism = parallelism;
+    }
+
     @Override
     public VersionManager getVersionManager() {
         return versionManager;
@@ -958,4 +1179,16 @@ public abstract class AbstractArchbasePluginManager implements ArchbasePluginMan
         return pluginRepository;
     }
 
+    private static class PluginThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "archbase-plugin-" + COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
@@ -1,22 +1,42 @@
 package br.com.archbase.plugin.manager;
 
 import br.com.archbase.plugin.manager.asm.ExtensionInfo;
+import br.com.archbase.plugin.manager.asm.ExtensionInfoStore;
 import br.com.archbase.plugin.manager.util.ClassUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.nio.file.Path;
 import java.util.*;
 
+/**
+ * Base dos localizadores de extensões.
+ * <p>
+ * O resultado de {@link #find(Class, String)} é indexado por (plug-in, versão, ponto de extensão):
+ * depois da primeira busca só as classes que já se mostraram extensões do ponto são carregadas. O
+ * índice de um plug-in é descartado a cada mudança de estado dele. As informações da anotação
+ * {@link Extension} lidas via ASM podem ainda ser gravadas em disco, por checksum do plug-in, com
+ * {@link #setPersistentCacheDirectory(Path)} ou com a propriedade de sistema
+ * {@value #PERSISTENT_CACHE_PROPERTY_NAME}{@code =true} (diretório ao lado da raiz dos plug-ins), de
+ * modo que uma nova inicialização não precisa analisar as classes outra vez.
+ */
 @SuppressWarnings("java:S3740")
 public abstract class AbstractExtensionFinder implements ExtensionFinder, PluginStateListener {
 
+    public static final String PERSISTENT_CACHE_PROPERTY_NAME = "archbase.extensions.persistentCache";
+    public static final String PERSISTENT_CACHE_DIRECTORY_SUFFIX = ".extensions-cache";
+
     private static final Logger log = LoggerFactory.getLogger(AbstractExtensionFinder.class);
 
     protected ArchbasePluginManager archbasePluginManager;
     protected Map<String, Set<String>> entries; // cache by pluginId
-    protected Map<String, ExtensionInfo> extensionInfos; // cache extension infos by class name
+    protected Map<String, PluginExtensionInfos> extensionInfos; // cache extension infos by pluginId
+    protected Map<ExtensionIndexKey, List<String>> extensionIndex = new HashMap<>(); // extensões por ponto de extensão
     protected Boolean checkForExtensionDependencies = null;
+    protected ExtensionInfoStore extensionInfoStore;
+    private boolean persistentCacheConfigured;
 
     protected AbstractExtensionFinder(ArchbasePluginManager archbasePluginManager) {
         this.archbasePluginManager = archbasePluginManager;
@@ -83,8 +103,9 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
             return result;
         }
 
+        PluginWrapper pluginWrapper = null;
         if (pluginId != null) {
-            PluginWrapper pluginWrapper = archbasePluginManager.getPlugin(pluginId);
+            pluginWrapper = archbasePluginManager.getPlugin(pluginId);
             if (PluginState.STARTED != pluginWrapper.getPluginState()) {
                 return result;
             }
@@ -96,9 +117,15 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
 
         ClassLoader classLoader = (pluginId != null) ? archbasePluginManager.getPluginClassLoader(pluginId) : getClass().getClassLoader();
 
+        // depois da primeira busca completa só as extensões já conhecidas do ponto são verificadas
+        ExtensionIndexKey indexKey = new ExtensionIndexKey(pluginId, getPluginVersion(pluginWrapper), type.getName());
+        List<String> indexedClassNames = extensionIndex.get(indexKey);
+        List<String> extensionClassNames = new ArrayList<>();
+        boolean complete = true;
+
         boolean ignore = false;
 
-        for (String className : classNames) {
+        for (String className : indexedClassNames != null ? indexedClassNames : classNames) {
             ignore = false;
             try {
                 if (isCheckForExtensionDependencies()) {
@@ -111,7 +138,7 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
                     // para extrair os plug-ins necessários para uma extensão. Somente se tudo for necessário
                     // plugins estão atualmente disponíveis e iniciados, o correspondente
                     // extensão é carregada por meio do carregador de classes.
-                    ExtensionInfo extensionInfo = getExtensionInfo(className, classLoader);
+                    ExtensionInfo extensionInfo = getExtensionInfo(pluginId, className, classLoader);
                     if (extensionInfo == null) {
                         log.error("Nenhuma anotação de extensão foi encontrada para '{}'", className);
                         ignore = true;
@@ -132,6 +159,7 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
                             }
                             log.trace("A extensão '{}' foi ignorada devido à falta de plug-ins: {}", className, missing);
                             ignore = true;
+                            complete = false;
                         }
                     }
                 }
@@ -144,6 +172,7 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
                     if (type.isAssignableFrom(extensionClass)) {
                         ExtensionWrapper extensionWrapper = createExtensionWrapper(extensionClass);
                         result.add(extensionWrapper);
+                        extensionClassNames.add(className);
                         log.debug("Adicionada extensão '{}' com ordinal {}", className, extensionWrapper.getOrdinal());
                     } else {
                         log.trace("'{} 'não é uma extensão para o ponto de extensão' {}'", className, type.getName());
@@ -154,9 +183,16 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
                 }
             } catch (ClassNotFoundException e) {
                 log.error(e.getMessage(), e);
+                complete = false;
             }
         }
 
+        // só indexa buscas em que todas as classes puderam ser verificadas
+        if (indexedClassNames == null && complete) {
+            extensionIndex.put(indexKey, extensionClassNames);
+        }
+        saveExtensionInfos(pluginId);
+
         if (result.isEmpty()) {
             log.debug("No extensions found for extension point '{}'", type.getName());
         } else {
@@ -228,6 +264,14 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
         // clear cache
         entries = null;
 
+        // descarta o índice de extensões do plug-in e, se ele não estiver mais iniciado, as informações
+        // lidas das suas classes (o carregador de classes pode mudar)
+        String pluginId = event.getPlugin().getPluginId();
+        extensionIndex.keySet().removeIf(key -> Objects.equals(key.pluginId(), pluginId));
+        if (extensionInfos != null && !PluginState.STARTED.equals(event.getPluginState())) {
+            extensionInfos.remove(pluginId);
+        }
+
         // Por padrão, estamos assumindo que nenhuma verificação de dependências de extensão é necessária.
         //
         // Um plug-in, que tem uma dependência opcional de outros plug-ins, pode levar a não carregar
@@ -283,6 +327,26 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
         this.checkForExtensionDependencies = checkForExtensionDependencies;
     }
 
+    /**
+     * Define o diretório onde as informações da anotação {@link Extension} lidas via ASM são gravadas,
+     * uma vez por checksum de plug-in. {@code null} desliga a persistência.
+     *
+     * @param directory o diretório do cache ou {@code null}
+     */
+    public void setPersistentCacheDirectory(Path directory) {
+        extensionInfoStore = (directory != null) ? new ExtensionInfoStore(directory) : null;
+        extensionInfos = null;
+        persistentCacheConfigured = true;
+    }
+
+    /**
+     * Retorna o diretório do cache persistente ou {@code null} se a persistência estiver desligada.
+     */
+    public Path getPersistentCacheDirectory() {
+        ExtensionInfoStore store = getExtensionInfoStore();
+        return (store != null) ? store.getDirectory() : null;
+    }
+
     protected void debugExtensions(Set<String> extensions) {
         if (log.isDebugEnabled()) {
             if (extensions.isEmpty()) {
@@ -318,28 +382,91 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
      * Retorna os parâmetros de uma anotação {@link Extension} sem carregar
      * a classe correspondente no carregador de classes.
      *
+     * @param pluginId    o plug-in da classe ou null para o classpath
      * @param className   nome da classe, que contém a anotação {@link Extension} solicitada
      * @param classLoader carregador de classes para acessar a classe
      * @return o conteúdo da anotação {@link Extension} ou null, se a classe não
      * tem uma anotação {@link Extension}
      */
-    private ExtensionInfo getExtensionInfo(String className, ClassLoader classLoader) {
+    private ExtensionInfo getExtensionInfo(String pluginId, String className, ClassLoader classLoader) {
         if (extensionInfos == null) {
             extensionInfos = new HashMap<>();
         }
 
-        if (!extensionInfos.containsKey(className)) {
+        PluginExtensionInfos pluginInfos = extensionInfos.computeIfAbsent(pluginId, this::loadExtensionInfos);
+        if (!pluginInfos.infos.containsKey(className)) {
             log.trace("Carregar anotação para '{}' usando asm", className);
             ExtensionInfo info = ExtensionInfo.load(className, classLoader);
             if (info == null) {
                 log.warn("Nenhuma anotação de extensão foi encontrada para '{}'", className);
-                extensionInfos.put(className, null);
             } else {
-                extensionInfos.put(className, info);
+                pluginInfos.modified = true;
             }
+            pluginInfos.infos.put(className, info);
         }
 
-        return extensionInfos.get(className);
+        return pluginInfos.infos.get(className);
+    }
+
+    private PluginExtensionInfos loadExtensionInfos(String pluginId) {
+        ExtensionInfoStore store = getExtensionInfoStore();
+        String checksum = (store != null && pluginId != null) ? getPluginChecksum(pluginId) : null;
+        if (checksum == null) {
+            return new PluginExtensionInfos(null, new HashMap<>());
+        }
+
+        Map<String, ExtensionInfo> infos = store.read(checksum);
+        log.debug("{} informações de extensão do archbasePlugin '{}' lidas do cache", infos.size(), pluginId);
+
+        return new PluginExtensionInfos(checksum, infos);
+    }
+
+    private void saveExtensionInfos(String pluginId) {
+        PluginExtensionInfos pluginInfos = (extensionInfos != null) ? extensionInfos.get(pluginId) : null;
+        ExtensionInfoStore store = getExtensionInfoStore();
+        if (pluginInfos != null && pluginInfos.modified && pluginInfos.checksum != null && store != null) {
+            List<ExtensionInfo> infos = new ArrayList<>();
+            for (ExtensionInfo info : pluginInfos.infos.values()) {
+                if (info != null) {
+                    infos.add(info);
+                }
+            }
+            store.write(pluginInfos.checksum, infos);
+            pluginInfos.modified = false;
+        }
+    }
+
+    private ExtensionInfoStore getExtensionInfoStore() {
+        if (!persistentCacheConfigured) {
+            persistentCacheConfigured = true;
+            if (Boolean.getBoolean(PERSISTENT_CACHE_PROPERTY_NAME)) {
+                Path pluginsRoot = archbasePluginManager.getPluginsRoot().toAbsolutePath();
+                extensionInfoStore = new ExtensionInfoStore(
+                        pluginsRoot.resolveSibling(pluginsRoot.getFileName() + PERSISTENT_CACHE_DIRECTORY_SUFFIX));
+            }
+        }
+
+        return extensionInfoStore;
+    }
+
+    private String getPluginChecksum(String pluginId) {
+        PluginWrapper pluginWrapper = archbasePluginManager.getPlugin(pluginId);
+        Path pluginPath = (pluginWrapper != null) ? pluginWrapper.getPluginPath() : null;
+        if (pluginPath == null) {
+            return null;
+        }
+
+        try {
+            return ExtensionInfoStore.checksum(pluginPath);
+        } catch (IOException e) {
+            log.warn("Não é possível calcular o checksum do archbasePlugin '{}': {}", pluginId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String getPluginVersion(PluginWrapper pluginWrapper) {
+        PluginDescriptor descriptor = (pluginWrapper != null) ? pluginWrapper.getDescriptor() : null;
+        return (descriptor != null) ? descriptor.getVersion() : null;
     }
 
     private ExtensionWrapper createExtensionWrapper(Class<?> extensionClass) {
@@ -350,6 +477,30 @@ public abstract class AbstractExtensionFinder implements ExtensionFinder, Plugin
         return new ExtensionWrapper<>(descriptor, archbasePluginManager.getExtensionFactory());
     }
 
+    /**
+     * Chave do índice de extensões: as classes de um plug-in (null para o classpath), em uma versão,
+     * que implementam um ponto de extensão.
+     */
+    protected record ExtensionIndexKey(String pluginId, String pluginVersion, String extensionPoint) {
+    }
+
+    /**
+     * Informações da anotação {@link Extension} das classes de um plug-in (null quando a classe não é
+     * anotada) e o checksum sob o qual são persistidas.
+     */
+    protected static final class PluginExtensionInfos {
+
+        private final String checksum;
+        private final Map<String, ExtensionInfo> infos;
+        private boolean modified;
+
+        PluginExtensionInfos(String checksum, Map<String, ExtensionInfo> infos) {
+            this.checksum = checksum;
+            this.infos = infos;
+        }
+
+    }
+
     private void checkDifferentClassLoaders(Class<?> type, Class<?> extensionClass) {
         ClassLoader typeClassLoader = type.getClassLoader(); // class loader of extension point
         ClassLoader extensionClassLoader = extensionClass.getClassLoader();
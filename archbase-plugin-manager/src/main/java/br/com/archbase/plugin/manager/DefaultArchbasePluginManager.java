@@ -11,7 +11,8 @@ import java.util.List;
 /**
  * Implementação padrão da interface {@link ArchbasePluginManager}.
  * Em essência, é um {@link ZipArchbasePluginManager} mais um {@link JarArchbasePluginManager}.
- * Portanto, ele pode carregar plug-ins do jar e do zip, simultaneamente.
+ * Portanto, ele pode carregar plug-ins do jar e do zip, simultaneamente. Os arquivos zip são
+ * expandidos na etapa paralela da carga.
  *
  * <p> Esta classe não é thread-safe.
  */
@@ -109,7 +110,7 @@ public class DefaultArchbasePluginManager extends AbstractArchbasePluginManager
      * @throws PluginRuntimeException se houver problemas durante o carregamento
      */
     @Override
-    protected PluginWrapper loadPluginFromPath(Path pluginPath) {
+    protected PluginWrapper createPluginWrapper(Path pluginPath) {
         // Primeiro descompacte quaisquer arquivos ZIP
         try {
             pluginPath = FileUtils.expandIfZip(pluginPath);
@@ -118,7 +119,7 @@ public class DefaultArchbasePluginManager extends AbstractArchbasePluginManager
             return null;
         }
 
-        return super.loadPluginFromPath(pluginPath);
+        return super.createPluginWrapper(pluginPath);
     }
 
 }
@@ -45,10 +45,11 @@ public class DefaultArchbasePluginRepository extends BasePluginRepository {
     }
 
     private void extractZipFiles() {
-        // expandir arquivos zip de plug-ins
+        // expandir arquivos zip de plug-ins em paralelo (cada zip tem seu próprio diretório de destino)
         pluginsRoots.stream()
                 .flatMap(path -> streamFiles(path, new ZipFileFilter()))
                 .map(File::toPath)
+                .parallel()
                 .forEach(this::expandIfZip);
     }
 
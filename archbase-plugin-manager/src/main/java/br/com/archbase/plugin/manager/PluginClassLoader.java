@@ -5,15 +5,29 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
 /**
  * Uma instância desta classe deve ser criada pelo gerenciador de plug-ins para cada plug-in disponível.
  * Por padrão, este carregador de classes é um Pai e Último ClassLoader - ele carrega as classes dos jars do archbasePlugin
  * antes de delegar ao carregador de classe pai.
  * Use {@link #classLoadingStrategy} para alterar a estratégia de carregamento.
+ * <p>
+ * Cada jar ou diretório adicionado tem seus pacotes indexados, de modo que uma classe só é procurada no
+ * próprio plug-in ou em uma dependência que contenha o seu pacote. As classes não encontradas no carregador
+ * pai também são lembradas, evitando repetir a busca (e a exceção) a cada pedido. Os contadores de
+ * {@link #getLookupStatistics()} mostram o efeito.
  */
 public class PluginClassLoader extends URLClassLoader {
 
@@ -21,11 +35,26 @@ public class PluginClassLoader extends URLClassLoader {
 
     private static final String JAVA_PACKAGE_PREFIX = "java.";
     private static final String PLUGIN_PACKAGE_PREFIX = "br.com.archbase.";
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+    private static final int MAX_PARENT_MISSES = 10_000;
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
 
     private ArchbasePluginManager archbasePluginManager;
     private PluginDescriptor pluginDescriptor;
     private ClassLoadingStrategy classLoadingStrategy;
 
+    private final Set<String> packages = ConcurrentHashMap.newKeySet(); // pacotes dos jars e diretórios do plug-in
+    private volatile boolean fullyIndexed = true; // false se alguma URL não pôde ser indexada
+    private final Set<String> parentMisses = ConcurrentHashMap.newKeySet(); // classes ausentes no carregador pai
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder skippedSources = new LongAdder();
+    private final LongAdder parentMissHits = new LongAdder();
+
     public PluginClassLoader(ArchbasePluginManager archbasePluginManager, PluginDescriptor pluginDescriptor, ClassLoader parent) {
         this(archbasePluginManager, pluginDescriptor, parent, ClassLoadingStrategy.PDA);
     }
@@ -53,6 +82,8 @@ public class PluginClassLoader extends URLClassLoader {
     public void addURL(URL url) {
         log.debug("Adicionando '{}'", url);
         super.addURL(url);
+        indexPackages(url);
+        parentMisses.clear();
     }
 
     public void addFile(File file) {
@@ -71,6 +102,21 @@ public class PluginClassLoader extends URLClassLoader {
      */
     @Override
     public Class<?> loadClass(String className) throws ClassNotFoundException {
+        Class<?> c = loadClassOrNull(className);
+        if (c == null) {
+            misses.increment();
+            throw new ClassNotFoundException(className);
+        }
+
+        return c;
+    }
+
+    /**
+     * Igual a {@link #loadClass(String)}, mas retorna {@code null} em vez de lançar
+     * {@link ClassNotFoundException} quando a classe não é encontrada.
+     */
+    protected Class<?> loadClassOrNull(String className) throws ClassNotFoundException {
+        lookups.increment();
         synchronized (getClassLoadingLock(className)) {
             // primeiro verifique se é uma classe de sistema, delegue ao carregador do sistema
             if (className.startsWith(JAVA_PACKAGE_PREFIX)) {
@@ -79,13 +125,9 @@ public class PluginClassLoader extends URLClassLoader {
 
             // se a classe faz parte do mecanismo de plug-in, use o carregador de classe pai
             if (className.startsWith(PLUGIN_PACKAGE_PREFIX) && !className.startsWith("br.com.archbase.plugin.demo")) {
-                try {
-                    Class<?> loadClass = getParent().loadClass(className);
-                    if (loadClass != null) {
-                        return loadClass;
-                    }
-                } catch (ClassNotFoundException ignored) {
-                    //
+                Class<?> loadClass = loadClassFromParent(className);
+                if (loadClass != null) {
+                    return loadClass;
                 }
             }
 
@@ -98,22 +140,22 @@ public class PluginClassLoader extends URLClassLoader {
                 return loadedClass;
             }
 
+            String packageName = getPackageName(className);
             for (ClassLoadingStrategy.Source classLoadingSource : classLoadingStrategy.getSources()) {
-                Class<?> c = null;
-                try {
-                    switch (classLoadingSource) {
-                        case PLUGIN:
-                            c = findClass(className);
-                            break;
-                        case DEPENDENCIES:
-                            c = loadClassFromDependencies(className);
-                            break;
-                        default:
-                            c = super.loadClass(className);
-                            break;
-                    }
-                } catch (ClassNotFoundException ignored) {
-                    //
+                Class<?> c;
+                switch (classLoadingSource) {
+                    case PLUGIN:
+                        c = findPluginClass(className, packageName);
+                        break;
+                    case DEPENDENCIES:
+                        c = loadClassFromDependencies(className);
+                        break;
+                    default:
+                        c = loadClassFromParent(className);
+                        if (c == null) {
+                            c = findPluginClass(className, packageName);
+                        }
+                        break;
                 }
 
                 if (c != null) {
@@ -124,7 +166,7 @@ public class PluginClassLoader extends URLClassLoader {
                 }
             }
 
-            throw new ClassNotFoundException(className);
+            return null;
         }
     }
 
@@ -190,12 +232,27 @@ public class PluginClassLoader extends URLClassLoader {
 
     protected Class<?> loadClassFromDependencies(String className) {
         log.trace("Pesquisar nas dependências da classe '{}'", className);
+        String packageName = getPackageName(className);
         List<PluginDependency> dependencies = pluginDescriptor.getDependencies();
         for (PluginDependency dependency : dependencies) {
             ClassLoader classLoader = archbasePluginManager.getPluginClassLoader(dependency.getPluginId());
 
             // Se a dependência estiver marcada como opcional, seu carregador de classes pode não estar disponível.
-            if (classLoader != null) {
+            if (classLoader instanceof PluginClassLoader) {
+                PluginClassLoader pluginClassLoader = (PluginClassLoader) classLoader;
+                if (!pluginClassLoader.mayProvidePackage(packageName, getParent(), new HashSet<>())) {
+                    skippedSources.increment();
+                    continue;
+                }
+                try {
+                    Class<?> c = pluginClassLoader.loadClassOrNull(className);
+                    if (c != null) {
+                        return c;
+                    }
+                } catch (ClassNotFoundException e) {
+                    // tente a próxima dependência
+                }
+            } else if (classLoader != null) {
                 try {
                     return classLoader.loadClass(className);
                 } catch (ClassNotFoundException e) {
@@ -207,6 +264,181 @@ public class PluginClassLoader extends URLClassLoader {
         return null;
     }
 
+    /**
+     * Retorna os contadores de busca de classes deste carregador.
+     */
+    public LookupStatistics getLookupStatistics() {
+        return new LookupStatistics(lookups.sum(), misses.sum(), skippedSources.sum(), parentMissHits.sum(), packages.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log.isDebugEnabled()) {
+            log.debug("Encerrando o carregador de classes do archbasePlugin '{}': {}", pluginDescriptor.getPluginId(), getLookupStatistics());
+        }
+        super.close();
+    }
+
+    /**
+     * Indica se a classe do pacote pode ser encontrada por este carregador sem passar pelo carregador
+     * pai informado: no próprio plug-in, em uma das suas dependências ou, se o pai for outro, por ele.
+     */
+    boolean mayProvidePackage(String packageName, ClassLoader parent, Set<PluginClassLoader> visited) {
+        if (!visited.add(this)) {
+            return false;
+        }
+        if (!fullyIndexed || packages.contains(packageName) || getParent() != parent) {
+            return true;
+        }
+
+        for (PluginDependency dependency : pluginDescriptor.getDependencies()) {
+            ClassLoader classLoader = archbasePluginManager.getPluginClassLoader(dependency.getPluginId());
+            if (classLoader instanceof PluginClassLoader) {
+                if (((PluginClassLoader) classLoader).mayProvidePackage(packageName, parent, visited)) {
+                    return true;
+                }
+            } else if (classLoader != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Class<?> findPluginClass(String className, String packageName) {
+        if (fullyIndexed && !packages.contains(packageName)) {
+            skippedSources.increment();
+            return null;
+        }
+
+        try {
+            return findClass(className);
+        } catch (ClassNotFoundException e) {
+            // pacote dividido entre o plug-in e outro carregador
+            return null;
+        }
+    }
+
+    private Class<?> loadClassFromParent(String className) {
+        if (parentMisses.contains(className)) {
+            parentMissHits.increment();
+            return null;
+        }
+
+        try {
+            ClassLoader parent = getParent();
+            return (parent != null) ? parent.loadClass(className) : Class.forName(className, false, null);
+        } catch (ClassNotFoundException e) {
+            if (parentMisses.size() >= MAX_PARENT_MISSES) {
+                parentMisses.clear();
+            }
+            parentMisses.add(className);
+            return null;
+        }
+    }
+
+    private void indexPackages(URL url) {
+        try {
+            if (!"file".equals(url.getProtocol())) {
+                fullyIndexed = false;
+                return;
+            }
+            Path path = Paths.get(url.toURI());
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.filter(file -> file.toString().endsWith(CLASS_FILE_SUFFIX))
+                            .forEach(file -> addPackage(path.relativize(file).toString().replace(File.separatorChar, '/')));
+                }
+            } else if (Files.isRegularFile(path)) {
+                try (JarFile jarFile = new JarFile(path.toFile())) {
+                    Enumeration<JarEntry> entries = jarFile.entries();
+                    while (entries.hasMoreElements()) {
+                        String name = entries.nextElement().getName();
+                        if (name.endsWith(CLASS_FILE_SUFFIX)) {
+                            addPackage(name);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            log.warn("Não foi possível indexar os pacotes de '{}': {}", url, e.getMessage());
+            fullyIndexed = false;
+        }
+    }
+
+    private void addPackage(String classFile) {
+        if (classFile.startsWith(VERSIONS_PREFIX)) {
+            int index = classFile.indexOf('/', VERSIONS_PREFIX.length());
+            classFile = (index > 0) ? classFile.substring(index + 1) : classFile;
+        }
+        int index = classFile.lastIndexOf('/');
+        packages.add((index > 0) ? classFile.substring(0, index).replace('/', '.') : "");
+    }
+
+    private static String getPackageName(String className) {
+        int index = className.lastIndexOf('.');
+        return (index > 0) ? className.substring(0, index) : "";
+    }
+
+    /**
+     * Contadores de busca de classes de um {@link PluginClassLoader}.
+     */
+    public static final class LookupStatistics {
+
+        private final long lookups;
+        private final long misses;
+        private final long skippedSources;
+        private final long parentMissHits;
+        private final int indexedPackages;
+
+        LookupStatistics(long lookups, long misses, long skippedSources, long parentMissHits, int indexedPackages) {
+            this.lookups = lookups;
+            this.misses = misses;
+            this.skippedSources = skippedSources;
+            this.parentMissHits = parentMissHits;
+            this.indexedPackages = indexedPackages;
+        }
+
+        /**
+         * Número de classes solicitadas, inclusive as repassadas por plug-ins dependentes.
+         */
+        public long getLookups() {
+            return lookups;
+        }
+
+        /**
+         * Número de classes não encontradas por {@link #loadClass(String)}.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Número de vezes em que o índice de pacotes evitou procurar no plug-in ou em uma dependência.
+         */
+        public long getSkippedSources() {
+            return skippedSources;
+        }
+
+        /**
+         * Número de buscas no carregador pai respondidas pelo cache de classes ausentes.
+         */
+        public long getParentMissHits() {
+            return parentMissHits;
+        }
+
+        public int getIndexedPackages() {
+            return indexedPackages;
+        }
+
+        @Override
+        public String toString() {
+            return "LookupStatistics [lookups=" + lookups + ", misses=" + misses + ", skippedSources=" + skippedSources
+                    + ", parentMissHits=" + parentMissHits + ", indexedPackages=" + indexedPackages + "]";
+        }
+
+    }
+
     protected URL findResourceFromDependencies(String name) {
         log.trace("Pesquisar nas dependências do recurso '{}'", name);
         List<PluginDependency> dependencies = pluginDescriptor.getDependencies();
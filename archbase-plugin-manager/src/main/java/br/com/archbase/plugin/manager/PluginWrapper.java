@@ -1,6 +1,7 @@
 package br.com.archbase.plugin.manager;
 
 import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * Um wrapper sobre a instância do archbasePlugin.
@@ -16,6 +17,8 @@ public class PluginWrapper {
     private PluginState pluginState;
     private RuntimeMode runtimeMode;
     private Throwable failedException;
+    private Duration loadDuration;
+    private Duration startDuration;
 
     public PluginWrapper(ArchbasePluginManager archbasePluginManager, PluginDescriptor descriptor, Path pluginPath, ClassLoader pluginClassLoader) {
         this.archbasePluginManager = archbasePluginManager;
@@ -134,4 +137,28 @@ public class PluginWrapper {
         this.failedException = failedException;
     }
 
+    /**
+     * Tempo gasto lendo o descritor e criando o carregador de classes do plug-in; {@code null} se
+     * o plug-in não foi carregado por {@link ArchbasePluginManager#loadPlugins()}.
+     */
+    public Duration getLoadDuration() {
+        return loadDuration;
+    }
+
+    public void setLoadDuration(Duration loadDuration) {
+        this.loadDuration = loadDuration;
+    }
+
+    /**
+     * Tempo gasto em {@link ArchbasePlugin#start()} na última inicialização por
+     * {@link ArchbasePluginManager#startPlugins()}; {@code null} se ainda não foi iniciado assim.
+     */
+    public Duration getStartDuration() {
+        return startDuration;
+    }
+
+    public void setStartDuration(Duration startDuration) {
+        this.startDuration = startDuration;
+    }
+
 }
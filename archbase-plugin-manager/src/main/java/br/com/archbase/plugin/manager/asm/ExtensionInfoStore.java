@@ -0,0 +1,134 @@
+package br.com.archbase.plugin.manager.asm;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persiste em disco os {@link ExtensionInfo} lidos via ASM das classes de um plug-in, em um arquivo
+ * por checksum do plug-in ({@code <checksum>.idx}), para que uma nova inicialização com o mesmo
+ * artefato não precise analisar as classes novamente.
+ * <p>
+ * Cada linha tem o formato {@code classe<TAB>ordinal<TAB>plugins<TAB>pontos}, com as listas separadas
+ * por vírgula. Arquivos ilegíveis são ignorados e reescritos na próxima gravação.
+ */
+public final class ExtensionInfoStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtensionInfoStore.class);
+
+    private static final String HEADER = "# archbase extension info v1";
+
+    private final Path directory;
+
+    public ExtensionInfoStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Calcula o checksum do plug-in: SHA-256 do conteúdo se for um arquivo (jar) ou, se for um
+     * diretório, dos caminhos, tamanhos e datas de modificação de todos os seus arquivos.
+     *
+     * @param pluginPath caminho do plug-in
+     * @return o checksum em hexadecimal
+     * @throws IOException se o caminho não puder ser lido
+     */
+    public static String checksum(Path pluginPath) throws IOException {
+        if (Files.isRegularFile(pluginPath)) {
+            try (InputStream input = Files.newInputStream(pluginPath)) {
+                return DigestUtils.sha256Hex(input);
+            }
+        }
+
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        try (Stream<Path> files = Files.walk(pluginPath)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                DigestUtils.updateDigest(digest, pluginPath.relativize(file).toString().replace('\\', '/')
+                        + '|' + Files.size(file) + '|' + Files.getLastModifiedTime(file).toMillis() + '\n');
+            }
+        }
+
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * Lê os {@link ExtensionInfo} gravados para o checksum.
+     *
+     * @return as informações por nome de classe; vazio se não houver arquivo ou se ele for inválido
+     */
+    public Map<String, ExtensionInfo> read(String checksum) {
+        Map<String, ExtensionInfo> result = new HashMap<>();
+        Path file = directory.resolve(checksum + ".idx");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                return result;
+            }
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 4) {
+                    log.warn("Índice de extensões '{}' inválido; será recriado", file);
+                    return new HashMap<>();
+                }
+                ExtensionInfo info = new ExtensionInfo(fields[0]);
+                info.ordinal = Integer.parseInt(fields[1]);
+                info.plugins.addAll(split(fields[2]));
+                info.points.addAll(split(fields[3]));
+                result.put(info.getClassName(), info);
+            }
+        } catch (NoSuchFileException e) {
+            // ainda não foi gravado
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Não foi possível ler o índice de extensões '{}': {}", file, e.getMessage());
+            return new HashMap<>();
+        }
+
+        return result;
+    }
+
+    /**
+     * Grava os {@link ExtensionInfo} do checksum, substituindo o arquivo anterior de forma atômica.
+     */
+    public void write(String checksum, Collection<ExtensionInfo> infos) {
+        Path file = directory.resolve(checksum + ".idx");
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, checksum, ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (ExtensionInfo info : infos) {
+                    writer.write(info.getClassName() + '\t' + info.getOrdinal() + '\t'
+                            + String.join(",", info.getPlugins()) + '\t' + String.join(",", info.getPoints()));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Não foi possível gravar o índice de extensões '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private static List<String> split(String value) {
+        return value.isEmpty() ? Collections.emptyList() : Arrays.asList(value.split(","));
+    }
+
+}
@@ -11,9 +11,10 @@ public class DirectedGraph<V> {
     /**
      * A implementação aqui é basicamente uma lista de adjacências, mas em vez disso
      * de uma matriz de listas, um mapa é usado para mapear cada vértice para sua lista de
-     * vértices adjacentes.
+     * vértices adjacentes. O mapa preserva a ordem de inserção para que as ordenações sejam
+     * determinísticas.
      */
-    private Map<V, List<V>> neighbors = new HashMap<>();
+    private Map<V, List<V>> neighbors = new LinkedHashMap<>();
 
     /**
      * Adicione um vértice ao gráfico. Nada acontece se o vértice já estiver no gráfico.
@@ -72,7 +73,7 @@ public class DirectedGraph<V> {
      * Relate (como um mapa) o grau externo (o número de extremidades da cauda adjacentes a um vértice) de cada vértice.
      */
     public Map<V, Integer> outDegree() {
-        Map<V, Integer> result = new HashMap<>();
+        Map<V, Integer> result = new LinkedHashMap<>();
         neighbors.entrySet().forEach(item -> result.put(item.getKey(), item.getValue().size()));
         return result;
     }
@@ -81,7 +82,7 @@ public class DirectedGraph<V> {
      * Relate (como um {@link Map}) o grau (o número de pontas adjacentes a um vértice) de cada vértice.
      */
     public Map<V, Integer> inDegree() {
-        Map<V, Integer> result = new HashMap<>();
+        Map<V, Integer> result = new LinkedHashMap<>();
         for (V vertex : neighbors.keySet()) {
             result.put(vertex, 0); // todos em graus são 0
         }
@@ -143,6 +144,57 @@ public class DirectedGraph<V> {
         return list;
     }
 
+    /**
+     * Agrupa os vértices em níveis da ordenação topológica reversa: os vértices do primeiro nível não
+     * têm vizinhos e cada vértice só aponta para vértices de níveis anteriores, de modo que os vértices
+     * de um mesmo nível são independentes entre si. Dentro de cada nível os vértices aparecem na ordem
+     * de inserção. Retorna uma lista vazia se houver ciclo.
+     */
+    public List<List<V>> reverseTopologicalLevels() {
+        Map<V, Integer> remaining = outDegree();
+        Map<V, List<V>> incoming = new HashMap<>();
+        neighbors.forEach((from, targets) ->
+                targets.forEach(to -> incoming.computeIfAbsent(to, k -> new ArrayList<>()).add(from)));
+
+        Map<V, Integer> levels = new HashMap<>();
+        Deque<V> ready = new ArrayDeque<>();
+        remaining.forEach((vertex, degree) -> {
+            if (degree == 0) {
+                levels.put(vertex, 0);
+                ready.add(vertex);
+            }
+        });
+
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            V vertex = ready.poll();
+            visited++;
+            int next = levels.get(vertex) + 1;
+            for (V from : incoming.getOrDefault(vertex, Collections.emptyList())) {
+                levels.merge(from, next, Math::max);
+                if (remaining.merge(from, -1, Integer::sum) == 0) {
+                    ready.add(from);
+                }
+            }
+        }
+
+        // verifique se usamos todo o gráfico (se não, houve um ciclo)
+        if (visited != neighbors.size()) {
+            return Collections.emptyList();
+        }
+
+        List<List<V>> result = new ArrayList<>();
+        for (V vertex : neighbors.keySet()) {
+            int level = levels.get(vertex);
+            while (result.size() <= level) {
+                result.add(new ArrayList<>());
+            }
+            result.get(level).add(vertex);
+        }
+
+        return result;
+    }
+
     /**
      * Verdadeiro se o gráfico for um dag (gráfico acíclico direcionado).
      */
@@ -1,5 +1,6 @@
 package br.com.archbase.plugin.manager;
 
+import br.com.archbase.plugin.manager.asm.ExtensionInfoStore;
 import br.com.archbase.plugin.manager.plugin.FailTestPlugin;
 import br.com.archbase.plugin.manager.plugin.TestExtensionPoint;
 import com.google.common.collect.ImmutableList;
@@ -8,16 +9,22 @@ import com.google.testing.compile.Compilation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.tools.JavaFileObject;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.testing.compile.CompilationSubject.assertThat;
 import static com.google.testing.compile.Compiler.javac;
 import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 
@@ -177,6 +184,103 @@ class AbstractExtensionFinderTest {
         assertEquals(1, result.size());
     }
 
+    /**
+     * Depois da primeira busca só as extensões já conhecidas do ponto de extensão são carregadas, até
+     * que o plug-in mude de estado.
+     */
+    @Test
+    void findUsesExtensionIndexUntilPluginStateChanges() {
+        PluginDescriptor descriptor = mock(PluginDescriptor.class);
+        when(descriptor.getVersion()).thenReturn("1.0.0");
+        PluginWrapper plugin = archbasePluginManager.getPlugin("plugin1");
+        when(plugin.getPluginId()).thenReturn("plugin1");
+        when(plugin.getDescriptor()).thenReturn(descriptor);
+        CountingClassLoader classLoader = new CountingClassLoader(getClass().getClassLoader());
+        when(archbasePluginManager.getPluginClassLoader(eq("plugin1"))).thenReturn(classLoader);
+        AbstractExtensionFinder instance = new AbstractExtensionFinder(archbasePluginManager) {
+
+            @Override
+            public Map<String, Set<String>> readPluginsStorages() {
+                Map<String, Set<String>> entries = new LinkedHashMap<>();
+
+                Set<String> bucket = new HashSet<>();
+                bucket.add("br.com.archbase.plugin.manager.plugin.TestExtension");
+                bucket.add("br.com.archbase.plugin.manager.plugin.FailTestExtension");
+                bucket.add("br.com.archbase.plugin.manager.plugin.FailTestPlugin");
+                entries.put("plugin1", bucket);
+
+                return entries;
+            }
+
+            @Override
+            public Map<String, Set<String>> readClasspathStorages() {
+                return Collections.emptyMap();
+            }
+
+        };
+
+        assertEquals(2, instance.find(TestExtensionPoint.class, "plugin1").size());
+        assertEquals(3, classLoader.loadedClasses.get());
+
+        classLoader.loadedClasses.set(0);
+        assertEquals(2, instance.find(TestExtensionPoint.class, "plugin1").size());
+        assertEquals(2, classLoader.loadedClasses.get());
+
+        instance.pluginStateChanged(new PluginStateEvent(archbasePluginManager, plugin, PluginState.STOPPED));
+        classLoader.loadedClasses.set(0);
+        assertEquals(2, instance.find(TestExtensionPoint.class, "plugin1").size());
+        assertEquals(3, classLoader.loadedClasses.get());
+    }
+
+    /**
+     * As informações lidas via ASM são gravadas por checksum do plug-in e reaproveitadas por uma nova
+     * instância, sem analisar as classes novamente.
+     */
+    @Test
+    void persistentCacheSkipsAsmOnWarmStart(@TempDir Path tempDir) throws IOException {
+        Path pluginPath = Files.createDirectories(tempDir.resolve("plugin1"));
+        Files.writeString(pluginPath.resolve("plugin.properties"), "plugin.id=plugin1");
+        PluginWrapper plugin = mock(PluginWrapper.class);
+        when(plugin.getPluginState()).thenReturn(PluginState.STARTED);
+        when(plugin.getPluginPath()).thenReturn(pluginPath);
+        when(archbasePluginManager.getPlugin(eq("plugin1"))).thenReturn(plugin);
+        Path cacheDirectory = tempDir.resolve("plugins" + AbstractExtensionFinder.PERSISTENT_CACHE_DIRECTORY_SUFFIX);
+
+        CountingClassLoader classLoader = new CountingClassLoader(getClass().getClassLoader());
+        when(archbasePluginManager.getPluginClassLoader(eq("plugin1"))).thenReturn(classLoader);
+        assertEquals(1, newPersistentFinder(cacheDirectory).find(TestExtensionPoint.class, "plugin1").size());
+        assertEquals(1, classLoader.readClasses.get());
+        assertTrue(Files.exists(cacheDirectory.resolve(ExtensionInfoStore.checksum(pluginPath) + ".idx")));
+
+        classLoader = new CountingClassLoader(getClass().getClassLoader());
+        when(archbasePluginManager.getPluginClassLoader(eq("plugin1"))).thenReturn(classLoader);
+        assertEquals(1, newPersistentFinder(cacheDirectory).find(TestExtensionPoint.class, "plugin1").size());
+        assertEquals(0, classLoader.readClasses.get());
+    }
+
+    private AbstractExtensionFinder newPersistentFinder(Path cacheDirectory) {
+        AbstractExtensionFinder instance = new AbstractExtensionFinder(archbasePluginManager) {
+
+            @Override
+            public Map<String, Set<String>> readPluginsStorages() {
+                Map<String, Set<String>> entries = new LinkedHashMap<>();
+                entries.put("plugin1", Collections.singleton("br.com.archbase.plugin.manager.plugin.TestExtension"));
+
+                return entries;
+            }
+
+            @Override
+            public Map<String, Set<String>> readClasspathStorages() {
+                return Collections.emptyMap();
+            }
+
+        };
+        instance.setCheckForExtensionDependencies(true);
+        instance.setPersistentCacheDirectory(cacheDirectory);
+
+        return instance;
+    }
+
     @Test
     void findExtensionAnnotation() throws Exception {
         Compilation compilation = javac().compile(ExtensionAnnotationProcessorTest.Greeting,
@@ -208,6 +312,31 @@ class AbstractExtensionFinderTest {
         assertNull(extension);
     }
 
+    static class CountingClassLoader extends ClassLoader {
+
+        private final AtomicInteger loadedClasses = new AtomicInteger();
+        private final AtomicInteger readClasses = new AtomicInteger();
+
+        CountingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            loadedClasses.incrementAndGet();
+            return super.loadClass(name, resolve);
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            if (name.endsWith(".class")) {
+                readClasses.incrementAndGet();
+            }
+            return super.getResourceAsStream(name);
+        }
+
+    }
+
     static class JavaFileObjectClassLoader extends ClassLoader {
 
         private static String getClassName(JavaFileObject object) {
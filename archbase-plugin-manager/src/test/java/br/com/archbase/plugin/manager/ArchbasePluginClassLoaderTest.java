@@ -7,6 +7,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
 
 import java.io.File;
 import java.io.IOException;
@@ -62,6 +64,14 @@ class ArchbasePluginClassLoaderTest {
         }
     }
 
+    private static byte[] classBytes(String internalName) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, internalName, null, "java/lang/Object", null);
+        classWriter.visitEnd();
+
+        return classWriter.toByteArray();
+    }
+
     private static void assertFirstLine(String expected, URL resource) throws URISyntaxException, IOException {
         assertNotNull(resource);
         assertEquals(expected, Files.readAllLines(Paths.get(resource.toURI())).get(0));
@@ -95,6 +105,7 @@ class ArchbasePluginClassLoaderTest {
                 .addFile(Paths.get("classes/META-INF/dependency-file"), "dependency")
                 .addFile(Paths.get("classes/META-INF/file-in-both-parent-and-dependency-and-plugin"), "dependency")
                 .addFile(Paths.get("classes/META-INF/file-in-both-parent-and-dependency"), "dependency")
+                .addFile(Paths.get("classes/dependency/Greeter.class"), classBytes("dependency/Greeter"))
                 .build();
 
         FileUtils.expandIfZip(pluginDependencyZip.path());
@@ -314,6 +325,26 @@ class ArchbasePluginClassLoaderTest {
         assertNumberOfResourcesAndFirstLineOfFirstElement(3, "parent", resources);
     }
 
+    @Test
+    void parentLastLoadClassExistsOnlyInDependency() throws ClassNotFoundException {
+        Class<?> clazz = parentLastPluginClassLoader.loadClass("dependency.Greeter");
+        assertSame(parentLastPluginDependencyClassLoader, clazz.getClassLoader());
+        assertEquals(1, parentLastPluginDependencyClassLoader.getLookupStatistics().getIndexedPackages());
+    }
+
+    @Test
+    void loadClassSkipsSourcesWithoutThePackage() {
+        assertThrows(ClassNotFoundException.class, () -> parentLastPluginClassLoader.loadClass("other.Missing"));
+        assertThrows(ClassNotFoundException.class, () -> parentLastPluginClassLoader.loadClass("other.Missing"));
+
+        PluginClassLoader.LookupStatistics statistics = parentLastPluginClassLoader.getLookupStatistics();
+        assertEquals(2, statistics.getLookups());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(6, statistics.getSkippedSources());
+        assertEquals(1, statistics.getParentMissHits());
+        assertEquals(0, parentLastPluginDependencyClassLoader.getLookupStatistics().getLookups());
+    }
+
     class TestArchbasePluginManager extends DefaultArchbasePluginManager {
 
         public TestArchbasePluginManager(Path pluginsPath) {
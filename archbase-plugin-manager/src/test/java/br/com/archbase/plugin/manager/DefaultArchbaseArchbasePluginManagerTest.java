@@ -1,5 +1,6 @@
 package br.com.archbase.plugin.manager;
 
+import br.com.archbase.plugin.manager.plugin.BarrierTestPlugin;
 import br.com.archbase.plugin.manager.plugin.PluginJar;
 import br.com.archbase.plugin.manager.plugin.PluginZip;
 import org.junit.jupiter.api.AfterEach;
@@ -10,6 +11,10 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -135,6 +140,60 @@ class DefaultArchbaseArchbasePluginManagerTest {
         assertSame(PluginState.DISABLED, plugin.getPluginState());
     }
 
+    /**
+     * Plug-ins independentes iniciam em paralelo e os dependentes só depois deles, com eventos em ordem fixa.
+     */
+    @Test
+    void startPluginsInParallelDependencyWaves() throws IOException {
+        pluginZip("c", "a, b");
+        pluginZip("a", null);
+        pluginZip("b", null);
+        BarrierTestPlugin.expectConcurrentStarts(2);
+        pluginManager.setParallelism(4);
+
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        pluginManager.addPluginStateListener(event -> {
+            if (event.getPluginState() == PluginState.STARTED) {
+                started.add(event.getPlugin().getPluginId());
+            }
+        });
+
+        pluginManager.loadPlugins();
+        pluginManager.startPlugins();
+
+        assertEquals(Arrays.asList("a", "b", "c"), started);
+        assertEquals(3, pluginManager.getStartedPlugins().size());
+        for (PluginWrapper plugin : pluginManager.getPlugins()) {
+            assertNotNull(plugin.getLoadDuration());
+            assertNotNull(plugin.getStartDuration());
+        }
+    }
+
+    @Test
+    void sequentialStartUsesTheSameOrder() throws IOException {
+        pluginZip("c", "a, b");
+        pluginZip("a", null);
+        pluginZip("b", "a");
+        BarrierTestPlugin.expectConcurrentStarts(1);
+        pluginManager.setParallelism(1);
+
+        pluginManager.loadPlugins();
+        pluginManager.startPlugins();
+
+        assertEquals(Arrays.asList("a", "b", "c"),
+                pluginManager.getStartedPlugins().stream().map(PluginWrapper::getPluginId).toList());
+    }
+
+    private void pluginZip(String pluginId, String dependencies) throws IOException {
+        PluginZip.Builder builder = new PluginZip.Builder(pluginsPath.resolve(pluginId + "-1.0.0.zip"), pluginId)
+                .pluginClass(BarrierTestPlugin.class.getName())
+                .pluginVersion("1.0.0");
+        if (dependencies != null) {
+            builder.property(PropertiesPluginDescriptorFinder.PLUGIN_DEPENDENCIES, dependencies);
+        }
+        builder.build();
+    }
+
     @Test
     void deleteZipPlugin() throws Exception {
         PluginZip pluginZip = new PluginZip.Builder(pluginsPath.resolve("my-archbasePlugin-1.2.3.zip"), "myPlugin")
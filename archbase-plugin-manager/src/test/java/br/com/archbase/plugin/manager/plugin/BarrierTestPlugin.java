@@ -0,0 +1,37 @@
+package br.com.archbase.plugin.manager.plugin;
+
+import br.com.archbase.plugin.manager.ArchbasePlugin;
+import br.com.archbase.plugin.manager.PluginRuntimeException;
+import br.com.archbase.plugin.manager.PluginWrapper;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plug-in cujo {@link #start()} só termina quando todos os plug-ins sem dependências também estão em
+ * {@code start()}, o que só acontece se eles forem iniciados em paralelo.
+ */
+public class BarrierTestPlugin extends ArchbasePlugin {
+
+    private static volatile CyclicBarrier barrier;
+
+    public BarrierTestPlugin(PluginWrapper wrapper) {
+        super(wrapper);
+    }
+
+    public static void expectConcurrentStarts(int parties) {
+        barrier = new CyclicBarrier(parties);
+    }
+
+    @Override
+    public void start() {
+        if (getWrapper().getDescriptor().getDependencies().isEmpty()) {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new PluginRuntimeException(e, "Plug-ins independentes não foram iniciados em paralelo");
+            }
+        }
+    }
+
+}
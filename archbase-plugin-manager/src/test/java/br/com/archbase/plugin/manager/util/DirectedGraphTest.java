@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class DirectedGraphTest {
@@ -50,6 +51,26 @@ class DirectedGraphTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    void reverseTopologicalLevels() {
+        List<List<Character>> result = graph.reverseTopologicalLevels();
+        List<List<Character>> expected = Arrays.asList(
+                Arrays.asList('C', 'E', 'G'),
+                Arrays.asList('D', 'F'),
+                Arrays.asList('B'),
+                Arrays.asList('A'));
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void reverseTopologicalLevelsWithCycle() {
+        DirectedGraph<Character> cyclic = new DirectedGraph<>();
+        cyclic.addEdge('A', 'B');
+        cyclic.addEdge('B', 'A');
+        cyclic.addVertex('C');
+        assertTrue(cyclic.reverseTopologicalLevels().isEmpty());
+    }
+
     @Test
     void inDegree() {
         Map<Character, Integer> result = graph.inDegree();
@@ -1,7 +1,7 @@
 package br.com.archbase.query.rsql.common;
 
-import br.com.archbase.query.rsql.parser.RSQLParser;
 import br.com.archbase.query.rsql.parser.ast.ComparisonOperator;
+import br.com.archbase.query.rsql.parser.ast.Node;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.convert.converter.Converter;
@@ -38,6 +38,7 @@ public class RSQLCommonSupport {
     private static final Map<Class<?>, Map<String, Set<ComparisonOperator>>> operatorBlacklist = new ConcurrentHashMap<>();
     private static final Map<Class<?>, Set<String>> protectedSelectors = new ConcurrentHashMap<>();
     private static volatile int maxPageSize = 1000;
+    private static final RSQLNodeCache parseCache = new RSQLNodeCache(RSQLNodeCache.DEFAULT_MAX_SIZE);
     private static final ConfigurableConversionService conversionService = new DefaultConversionService();
 
     public RSQLCommonSupport() {
@@ -103,6 +104,33 @@ public class RSQLCommonSupport {
         maxPageSize = value;
     }
 
+    public static RSQLNodeCache getParseCache() {
+        return parseCache;
+    }
+
+    /**
+     * Define quantas consultas RSQL analisadas são mantidas em cache. Zero desativa o cache.
+     * Padrão: {@value RSQLNodeCache#DEFAULT_MAX_SIZE}.
+     */
+    public static void setParseCacheMaxSize(int value) {
+        log.info("Definindo tamanho máximo do cache de consultas RSQL para {}", value);
+        parseCache.setMaxSize(value);
+    }
+
+    /**
+     * Analisa a consulta com os operadores padrão, reaproveitando a árvore em cache.
+     */
+    public static Node parse(String rsqlQuery) {
+        return parseCache.parse(rsqlQuery, RSQLOperators.defaultOperators());
+    }
+
+    /**
+     * Analisa a consulta com o conjunto de operadores informado, reaproveitando a árvore em cache.
+     */
+    public static Node parse(String rsqlQuery, Set<ComparisonOperator> operators) {
+        return parseCache.parse(rsqlQuery, operators);
+    }
+
     public static ConfigurableConversionService getConversionService() {
         return conversionService;
     }
@@ -117,6 +145,7 @@ public class RSQLCommonSupport {
         operatorWhitelist.clear();
         operatorBlacklist.clear();
         protectedSelectors.clear();
+        parseCache.clear();
     }
 
     public static void addConverter(Converter<?, ?> converter) {
@@ -189,7 +218,7 @@ public class RSQLCommonSupport {
         log.debug("toMultiValueMap(rsqlQuery:{})", rsqlQuery);
         MultiValueMap<String, String> map = CollectionUtils.toMultiValueMap(new HashMap<>());
         if (StringUtils.hasText(rsqlQuery)) {
-            new RSQLParser(RSQLOperators.supportedOperators()).parse(rsqlQuery).accept(new RSQLSimpleConverter(), map);
+            parse(rsqlQuery).accept(new RSQLSimpleConverter(), map);
         }
         return map;
     }
@@ -198,7 +227,7 @@ public class RSQLCommonSupport {
         log.debug("toComplexMultiValueMap(rsqlQuery:{})", rsqlQuery);
         Map<String, MultiValueMap<String, String>> map = new HashMap<>();
         if (StringUtils.hasText(rsqlQuery)) {
-            new RSQLParser(RSQLOperators.supportedOperators()).parse(rsqlQuery).accept(new RSQLComplexConverter(), map);
+            parse(rsqlQuery).accept(new RSQLComplexConverter(), map);
         }
         return map;
     }
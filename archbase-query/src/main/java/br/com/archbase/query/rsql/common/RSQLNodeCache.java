@@ -0,0 +1,126 @@
+package br.com.archbase.query.rsql.common;
+
+import br.com.archbase.query.rsql.parser.RSQLParser;
+import br.com.archbase.query.rsql.parser.ast.ComparisonOperator;
+import br.com.archbase.query.rsql.parser.ast.Node;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU limitado de árvores RSQL já analisadas, indexado pela consulta e pelo conjunto de
+ * operadores suportados.
+ *
+ * <p>As árvores de {@link Node} são imutáveis, portanto a mesma instância pode ser compartilhada
+ * entre requisições e entre a consulta de dados e a de contagem de uma página. Consultas inválidas
+ * não são armazenadas: o {@link br.com.archbase.query.rsql.parser.RSQLParserException} é lançado a
+ * cada tentativa. Os analisadores também são reaproveitados por conjunto de operadores.
+ *
+ * <p>O tamanho máximo é configurável via {@link RSQLCommonSupport#setParseCacheMaxSize(int)}
+ * (padrão {@value #DEFAULT_MAX_SIZE}); zero desativa o cache.
+ */
+public final class RSQLNodeCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final Map<Key, Node> nodes = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Set<ComparisonOperator>, RSQLParser> parsers = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maxSize;
+
+    public RSQLNodeCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Retorna a árvore da consulta, analisando-a apenas na primeira vez.
+     *
+     * @param query     consulta RSQL
+     * @param operators operadores suportados; deve ser um conjunto imutável
+     * @return raiz da árvore analisada
+     */
+    public Node parse(String query, Set<ComparisonOperator> operators) {
+        if (maxSize <= 0) {
+            misses.increment();
+            return parser(operators).parse(query);
+        }
+        Key key = new Key(query, operators);
+        Node node;
+        synchronized (nodes) {
+            node = nodes.get(key);
+        }
+        if (node != null) {
+            hits.increment();
+            return node;
+        }
+        misses.increment();
+        node = parser(operators).parse(query);
+        synchronized (nodes) {
+            nodes.putIfAbsent(key, node);
+            evictOverflow();
+        }
+        return node;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        synchronized (nodes) {
+            evictOverflow();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void clear() {
+        synchronized (nodes) {
+            nodes.clear();
+        }
+    }
+
+    public Statistics getStatistics() {
+        int size;
+        synchronized (nodes) {
+            size = nodes.size();
+        }
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private RSQLParser parser(Set<ComparisonOperator> operators) {
+        return parsers.computeIfAbsent(operators, RSQLParser::new);
+    }
+
+    private void evictOverflow() {
+        var iterator = nodes.entrySet().iterator();
+        while (nodes.size() > Math.max(maxSize, 0) && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Key(String query, Set<ComparisonOperator> operators) {
+    }
+
+    /**
+     * Estatísticas de uso do cache.
+     *
+     * @param hits      consultas servidas pelo cache
+     * @param misses    consultas analisadas
+     * @param evictions entradas removidas por exceder o tamanho máximo
+     * @param size      entradas atualmente no cache
+     */
+    public record Statistics(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0d : (double) hits / total;
+        }
+    }
+}
@@ -2,7 +2,8 @@ package br.com.archbase.query.rsql.common;
 
 import br.com.archbase.query.rsql.parser.ast.ComparisonOperator;
 
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -27,11 +28,36 @@ public class RSQLOperators {
             BETWEEN = new ComparisonOperator("=bt=", "=between=", true),
             NOT_BETWEEN = new ComparisonOperator("=nb=", "=notbetween=", true);
 
+    private static final Set<ComparisonOperator> SUPPORTED_OPERATORS = Set.of(EQUAL, NOT_EQUAL, GREATER_THAN,
+            GREATER_THAN_OR_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL, IN, NOT_IN, IS_NULL, NOT_NULL,
+            LIKE, NOT_LIKE, IGNORE_CASE, IGNORE_CASE_LIKE, IGNORE_CASE_NOT_LIKE,
+            BETWEEN, NOT_BETWEEN);
+
+    /**
+     * Retorna uma cópia mutável dos operadores suportados.
+     */
     public static Set<ComparisonOperator> supportedOperators() {
-        return new HashSet<>(Arrays.asList(EQUAL, NOT_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL,
-                LESS_THAN, LESS_THAN_OR_EQUAL, IN, NOT_IN, IS_NULL, NOT_NULL,
-                LIKE, NOT_LIKE, IGNORE_CASE, IGNORE_CASE_LIKE, IGNORE_CASE_NOT_LIKE,
-                BETWEEN, NOT_BETWEEN));
+        return new HashSet<>(SUPPORTED_OPERATORS);
+    }
+
+    /**
+     * Retorna o conjunto imutável e compartilhado dos operadores suportados, usado como chave do
+     * {@link RSQLNodeCache}.
+     */
+    public static Set<ComparisonOperator> defaultOperators() {
+        return SUPPORTED_OPERATORS;
+    }
+
+    /**
+     * Retorna um conjunto imutável com os operadores suportados mais os operadores adicionais.
+     */
+    public static Set<ComparisonOperator> withOperators(Collection<ComparisonOperator> additional) {
+        if (additional == null || additional.isEmpty() || SUPPORTED_OPERATORS.containsAll(additional)) {
+            return SUPPORTED_OPERATORS;
+        }
+        Set<ComparisonOperator> operators = new HashSet<>(SUPPORTED_OPERATORS);
+        operators.addAll(additional);
+        return Collections.unmodifiableSet(operators);
     }
 
 }
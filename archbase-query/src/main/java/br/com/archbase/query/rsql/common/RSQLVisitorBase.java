@@ -74,13 +74,22 @@ public abstract class RSQLVisitorBase<R, A> implements RSQLVisitor<R, A> {
         return propertyRemapping != null ? propertyRemapping : Collections.emptyMap();
     }
 
-    @SuppressWarnings("all")
     protected Object convert(String source, Class targetType) {
+        return convertValue(source, targetType);
+    }
+
+    /**
+     * Converte o texto recebido na consulta para o tipo do atributo, usando o serviço de conversão
+     * configurado em {@link RSQLCommonSupport} e os formatos ISO para datas. Retorna {@code null}
+     * quando o valor não pode ser convertido.
+     */
+    @SuppressWarnings("all")
+    public static Object convertValue(String source, Class targetType) {
         log.debug("convert(source:{},targetType:{})", source, targetType);
 
         Object object = null;
         try {
-            if (defaultConversionService.canConvert(String.class, targetType)) {
+            if (defaultConversionService != null && defaultConversionService.canConvert(String.class, targetType)) {
                 object = defaultConversionService.convert(source, targetType);
             } else if (targetType.equals(String.class)) {
                 object = source;
@@ -0,0 +1,144 @@
+package br.com.archbase.query.rsql.jpa;
+
+import br.com.archbase.query.rsql.common.RSQLVisitorBase;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.core.PropertyPath;
+import org.springframework.data.core.PropertyReferenceException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Codifica a posição de uma paginação por chave (keyset/seek) em um cursor opaco para os clientes
+ * REST e o decodifica de volta em um {@link KeysetScrollPosition}.
+ *
+ * <p>O cursor carrega apenas os valores das chaves de ordenação (incluindo o identificador usado
+ * como desempate). Os valores são convertidos para o tipo da propriedade da entidade com as mesmas
+ * regras usadas nos filtros RSQL, portanto o cliente não consegue injetar tipos arbitrários. Um
+ * cursor adulterado resulta em {@link IllegalArgumentException}.
+ *
+ * @author edsonmartins
+ */
+public final class ArchbaseKeysetCursor {
+
+    private static final String PAIR_SEPARATOR = "&";
+    private static final String VALUE_SEPARATOR = "=";
+
+    private ArchbaseKeysetCursor() {
+    }
+
+    /**
+     * Codifica a posição informada. Retorna {@code null} quando não há posição a codificar.
+     */
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+        StringJoiner joiner = new StringJoiner(PAIR_SEPARATOR);
+        keyset.getKeys().forEach((key, value) -> {
+            String pair = URLEncoder.encode(key, StandardCharsets.UTF_8);
+            if (value != null) {
+                pair += VALUE_SEPARATOR + URLEncoder.encode(valueToString(value), StandardCharsets.UTF_8);
+            }
+            joiner.add(pair);
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor gerado por {@link #encode(ScrollPosition)}. Os valores permanecem como
+     * texto até serem associados ao tipo da entidade com {@link #bind(ScrollPosition, Class)}. Um
+     * cursor vazio representa a primeira página.
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String pair : decoded.split(PAIR_SEPARATOR)) {
+            int index = pair.indexOf(VALUE_SEPARATOR);
+            String key = URLDecoder.decode(index < 0 ? pair : pair.substring(0, index), StandardCharsets.UTF_8);
+            if (!StringUtils.hasText(key)) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.");
+            }
+            keys.put(key, index < 0 ? null : URLDecoder.decode(pair.substring(index + 1), StandardCharsets.UTF_8));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Converte os valores textuais de uma posição keyset para os tipos das propriedades da entidade.
+     * Valores que já não são texto são mantidos.
+     *
+     * @param position   posição decodificada
+     * @param domainType classe da entidade consultada
+     * @return posição com valores tipados
+     */
+    public static ScrollPosition bind(ScrollPosition position, Class<?> domainType) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return position;
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keyset.getKeys().forEach((key, value) -> {
+            if (value instanceof String text) {
+                Class<?> type;
+                try {
+                    type = PropertyPath.from(key, domainType).getLeafProperty().getType();
+                } catch (PropertyReferenceException e) {
+                    throw new IllegalArgumentException("Cursor de paginação inválido para a propriedade " + key + ".", e);
+                }
+                value = stringToValue(text, ClassUtils.resolvePrimitiveIfNecessary(type));
+                if (value == null) {
+                    throw new IllegalArgumentException("Cursor de paginação inválido para a propriedade " + key + ".");
+                }
+            }
+            keys.put(key, value);
+        });
+        return ScrollPosition.of(keys, keyset.getDirection());
+    }
+
+    private static String valueToString(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toInstant().toString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    private static Object stringToValue(String value, Class<?> type) {
+        try {
+            if (Timestamp.class.equals(type)) {
+                return Timestamp.from(Instant.parse(value));
+            }
+            if (Date.class.equals(type)) {
+                return Date.from(Instant.parse(value));
+            }
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        return RSQLVisitorBase.convertValue(value, type);
+    }
+}
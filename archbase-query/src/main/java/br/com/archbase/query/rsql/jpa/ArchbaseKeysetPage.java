@@ -0,0 +1,27 @@
+package br.com.archbase.query.rsql.jpa;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * Página de uma consulta paginada por chave (keyset). Não possui total de elementos: a consulta de
+ * contagem é justamente o custo que este modo evita. Para ler a próxima página, envie
+ * {@code nextCursor} no parâmetro {@code cursor}.
+ *
+ * @param content    elementos da página
+ * @param size       quantidade de elementos retornados
+ * @param hasNext    indica se existe uma próxima página
+ * @param nextCursor cursor opaco da próxima página, ou {@code null} na última
+ * @param <T>        tipo dos elementos
+ * @author edsonmartins
+ */
+public record ArchbaseKeysetPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+
+    public static <T> ArchbaseKeysetPage<T> of(Window<T> window) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? ArchbaseKeysetCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+        return new ArchbaseKeysetPage<>(window.getContent(), window.size(), nextCursor != null, nextCursor);
+    }
+}
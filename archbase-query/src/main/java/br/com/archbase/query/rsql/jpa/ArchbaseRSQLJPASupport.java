@@ -4,7 +4,6 @@ import br.com.archbase.query.rsql.common.RSQLCommonSupport;
 import br.com.archbase.query.rsql.common.RSQLCustomPredicate;
 import br.com.archbase.query.rsql.common.RSQLOperators;
 import br.com.archbase.query.rsql.common.RSQLOrBypassAnalyzer;
-import br.com.archbase.query.rsql.parser.RSQLParser;
 import br.com.archbase.query.rsql.parser.ast.ComparisonOperator;
 import br.com.archbase.query.rsql.parser.ast.Node;
 import lombok.extern.slf4j.Slf4j;
@@ -79,14 +78,13 @@ public class ArchbaseRSQLJPASupport extends RSQLCommonSupport {
 
     public static <T> Specification<T> toSpecification(final String rsqlQuery, final boolean distinct, final Map<String, String> propertyPathMapper, final List<RSQLCustomPredicate<?>> customPredicates) {
         log.debug("toSpecification({},distinct:{},propertyPathMapper:{})", rsqlQuery, distinct, propertyPathMapper);
+        final Set<ComparisonOperator> supportedOperators = customPredicates == null
+                ? RSQLOperators.defaultOperators()
+                : RSQLOperators.withOperators(customPredicates.stream().map(RSQLCustomPredicate::getOperator).filter(Objects::nonNull).collect(Collectors.toSet()));
         return (root, query, cb) -> {
             query.distinct(distinct);
             if (StringUtils.hasText(rsqlQuery)) {
-                Set<ComparisonOperator> supportedOperators = RSQLOperators.supportedOperators();
-                if (customPredicates != null) {
-                    supportedOperators.addAll(customPredicates.stream().map(RSQLCustomPredicate::getOperator).filter(Objects::nonNull).collect(Collectors.toSet()));
-                }
-                Node rsql = new RSQLParser(supportedOperators).parse(rsqlQuery);
+                Node rsql = RSQLCommonSupport.parse(rsqlQuery, supportedOperators);
                 RSQLOrBypassAnalyzer.assertNotBypassable(rsql, getProtectedSelectors().get(root.getJavaType()));
                 return rsql.accept(new ArchbaseRSQLJPAPredicateConverter(cb, propertyPathMapper, customPredicates), root);
             } else
@@ -1,8 +1,7 @@
 package br.com.archbase.query.rsql.querydsl;
 
-import br.com.archbase.query.rsql.common.RSQLOperators;
+import br.com.archbase.query.rsql.common.RSQLCommonSupport;
 import br.com.archbase.query.rsql.jpa.ArchbaseRSQLJPASupport;
-import br.com.archbase.query.rsql.parser.RSQLParser;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.extern.slf4j.Slf4j;
@@ -30,8 +29,7 @@ public class ArchbaseRSQLQueryDslSupport extends ArchbaseRSQLJPASupport {
     public static BooleanExpression toPredicate(final String rsqlQuery, final Path qClazz, final Map<String, String> propertyPathMapper) {
         log.debug("toPredicate({},qClazz:{},propertyPathMapper:{})", rsqlQuery, qClazz);
         if (StringUtils.hasText(rsqlQuery)) {
-            return new RSQLParser(RSQLOperators.supportedOperators())
-                    .parse(rsqlQuery)
+            return RSQLCommonSupport.parse(rsqlQuery)
                     .accept(new ArchbaseRSQLQueryDslPredicateConverter(propertyPathMapper), qClazz);
         } else {
             return null;
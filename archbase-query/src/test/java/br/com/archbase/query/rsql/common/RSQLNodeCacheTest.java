@@ -0,0 +1,92 @@
+package br.com.archbase.query.rsql.common;
+
+import br.com.archbase.query.rsql.parser.RSQLParserException;
+import br.com.archbase.query.rsql.parser.ast.ComparisonOperator;
+import br.com.archbase.query.rsql.parser.ast.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testa o cache de árvores RSQL ({@link RSQLNodeCache}): reaproveitamento, separação por conjunto
+ * de operadores, despejo LRU e consultas inválidas.
+ */
+class RSQLNodeCacheTest {
+
+    private static final ComparisonOperator CUSTOM = new ComparisonOperator("=custom=");
+
+    @Test
+    void reaproveitaArvoreDaMesmaConsulta() {
+        RSQLNodeCache cache = new RSQLNodeCache(8);
+
+        Node primeira = cache.parse("nome==joao;idade=gt=18", RSQLOperators.defaultOperators());
+        Node segunda = cache.parse("nome==joao;idade=gt=18", RSQLOperators.defaultOperators());
+
+        assertSame(primeira, segunda);
+        assertEquals(1, cache.getStatistics().hits());
+        assertEquals(1, cache.getStatistics().misses());
+    }
+
+    @Test
+    void separaEntradasPorConjuntoDeOperadores() {
+        RSQLNodeCache cache = new RSQLNodeCache(8);
+        Set<ComparisonOperator> comCustom = RSQLOperators.withOperators(List.of(CUSTOM));
+
+        Node padrao = cache.parse("nome==joao", RSQLOperators.defaultOperators());
+        Node custom = cache.parse("nome==joao", comCustom);
+
+        assertNotSame(padrao, custom);
+        assertSame(custom, cache.parse("nome==joao", comCustom));
+        cache.parse("nome=custom=x", comCustom);
+        assertThrows(RSQLParserException.class, () -> cache.parse("nome=custom=x", RSQLOperators.defaultOperators()));
+    }
+
+    @Test
+    void operadoresJaSuportadosReutilizamConjuntoPadrao() {
+        assertSame(RSQLOperators.defaultOperators(), RSQLOperators.withOperators(List.of(RSQLOperators.EQUAL)));
+        assertSame(RSQLOperators.defaultOperators(), RSQLOperators.withOperators(null));
+    }
+
+    @Test
+    void despejaEntradaMenosRecenteQuandoCheio() {
+        RSQLNodeCache cache = new RSQLNodeCache(2);
+        Set<ComparisonOperator> operadores = RSQLOperators.defaultOperators();
+
+        Node a = cache.parse("a==1", operadores);
+        cache.parse("b==1", operadores);
+        cache.parse("a==1", operadores);
+        cache.parse("c==1", operadores);
+
+        assertEquals(2, cache.getStatistics().size());
+        assertEquals(1, cache.getStatistics().evictions());
+        assertSame(a, cache.parse("a==1", operadores));
+    }
+
+    @Test
+    void naoArmazenaConsultaInvalida() {
+        RSQLNodeCache cache = new RSQLNodeCache(8);
+
+        assertThrows(RSQLParserException.class, () -> cache.parse("nome==", RSQLOperators.defaultOperators()));
+        assertThrows(RSQLParserException.class, () -> cache.parse("nome==", RSQLOperators.defaultOperators()));
+
+        assertEquals(0, cache.getStatistics().size());
+        assertEquals(2, cache.getStatistics().misses());
+    }
+
+    @Test
+    void tamanhoZeroDesativaCache() {
+        RSQLNodeCache cache = new RSQLNodeCache(0);
+
+        Node primeira = cache.parse("nome==joao", RSQLOperators.defaultOperators());
+        Node segunda = cache.parse("nome==joao", RSQLOperators.defaultOperators());
+
+        assertNotSame(primeira, segunda);
+        assertEquals(0, cache.getStatistics().size());
+    }
+}
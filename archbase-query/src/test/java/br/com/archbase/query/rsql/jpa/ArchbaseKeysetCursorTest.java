@@ -0,0 +1,92 @@
+package br.com.archbase.query.rsql.jpa;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testa a codificação do cursor de paginação keyset ({@link ArchbaseKeysetCursor}) e a montagem
+ * da página ({@link ArchbaseKeysetPage}).
+ */
+class ArchbaseKeysetCursorTest {
+
+    /** Entidade fictícia usada para resolver os tipos das propriedades. */
+    static class Pedido {
+        private UUID id;
+        private LocalDate emissao;
+        private long numero;
+        private Cliente cliente;
+        private Situacao situacao;
+    }
+
+    static class Cliente {
+        private String nome;
+    }
+
+    enum Situacao {ABERTO, FECHADO}
+
+    @Test
+    void cursorPreservaValoresTipadosAposIdaEVolta() {
+        UUID id = UUID.randomUUID();
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("emissao", LocalDate.of(2026, 3, 1));
+        keys.put("numero", 42L);
+        keys.put("cliente.nome", "José & Filhos = Cia");
+        keys.put("situacao", Situacao.FECHADO);
+        keys.put("id", id);
+
+        String cursor = ArchbaseKeysetCursor.encode(ScrollPosition.forward(keys));
+        ScrollPosition bound = ArchbaseKeysetCursor.bind(ArchbaseKeysetCursor.decode(cursor), Pedido.class);
+
+        assertEquals(keys, ((KeysetScrollPosition) bound).getKeys());
+    }
+
+    @Test
+    void cursorVazioIniciaNaPrimeiraPagina() {
+        assertTrue(ArchbaseKeysetCursor.decode(null).isInitial());
+        assertTrue(ArchbaseKeysetCursor.decode("").isInitial());
+        assertNull(ArchbaseKeysetCursor.encode(ScrollPosition.keyset()));
+    }
+
+    @Test
+    void rejeitaCursorAdulterado() {
+        String propriedadeInexistente = ArchbaseKeysetCursor.encode(ScrollPosition.forward(Map.of("senha", "x")));
+        String valorInvalido = ArchbaseKeysetCursor.encode(ScrollPosition.forward(Map.of("numero", "abc")));
+
+        assertThrows(IllegalArgumentException.class, () -> ArchbaseKeysetCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArchbaseKeysetCursor.bind(ArchbaseKeysetCursor.decode(propriedadeInexistente), Pedido.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArchbaseKeysetCursor.bind(ArchbaseKeysetCursor.decode(valorInvalido), Pedido.class));
+    }
+
+    @Test
+    void paginaExpoeCursorDaProximaSomenteQuandoHaMais() {
+        Window<String> intermediaria = Window.from(List.of("a", "b"),
+                index -> ScrollPosition.forward(Map.of("numero", index)), true);
+        Window<String> ultima = Window.from(List.of("c"),
+                index -> ScrollPosition.forward(Map.of("numero", index)), false);
+
+        ArchbaseKeysetPage<String> pagina = ArchbaseKeysetPage.of(intermediaria);
+        assertTrue(pagina.hasNext());
+        assertEquals(2, pagina.size());
+        assertEquals(Map.of("numero", "1"), ArchbaseKeysetCursor.decode(pagina.nextCursor()).getKeys());
+
+        ArchbaseKeysetPage<String> fim = ArchbaseKeysetPage.of(ultima);
+        assertFalse(fim.hasNext());
+        assertNull(fim.nextCursor());
+    }
+}
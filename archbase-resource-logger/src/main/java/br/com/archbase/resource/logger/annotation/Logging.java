@@ -8,11 +8,17 @@ import java.lang.annotation.Target;
 /**
  * Anotação de nível de classe e método para ativar o registro automático de LOG.
  * Adicioná-lo à classe ou método permite registrar nele. A anotação no método
- * tem precedência sobre a da classe.
+ * tem precedência sobre a da classe, inclusive quanto à taxa de amostragem.
  *
  * @author edsonmartins
  */
 @Target({ElementType.METHOD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Logging {
+
+    /**
+     * Fração das chamadas registradas, entre {@code 0.0} e {@code 1.0}. O valor padrão ({@code -1}) usa a
+     * taxa da anotação da classe ou, na falta dela, a taxa padrão do aspecto. Exceções são sempre registradas.
+     */
+    double sampleRate() default -1;
 }
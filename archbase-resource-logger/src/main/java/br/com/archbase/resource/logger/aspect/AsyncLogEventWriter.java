@@ -0,0 +1,111 @@
+package br.com.archbase.resource.logger.aspect;
+
+import org.slf4j.Logger;
+
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Buffer circular limitado de {@link LogEvent} consumido por uma única thread daemon, que serializa e
+ * registra os eventos fora da thread da requisição. A publicação nunca bloqueia: com o buffer cheio o
+ * evento é descartado e contabilizado, e a quantidade descartada é registrada em WARN pela própria thread
+ * consumidora.
+ *
+ * @author edsonmartins
+ */
+final class AsyncLogEventWriter implements AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+
+    private final BlockingQueue<LogEvent> buffer;
+    private final Consumer<LogEvent> sink;
+    private final Logger log;
+    private final Thread worker;
+    private final LongAdder dropped = new LongAdder();
+    private long reportedDropped;
+    private volatile boolean running = true;
+
+    AsyncLogEventWriter(int capacity, @Nonnull Consumer<LogEvent> sink, @Nonnull Logger log) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.log = log;
+        this.worker = new Thread(this::drain, "archbase-resource-logger");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * @return {@code false} se o buffer estiver cheio e o evento tiver sido descartado
+     */
+    boolean publish(@Nonnull LogEvent event) {
+        if (running && buffer.offer(event)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    int getPending() {
+        return buffer.size();
+    }
+
+    private void drain() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                LogEvent event = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    write(event);
+                }
+                reportDropped();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        LogEvent event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+        }
+        reportDropped();
+    }
+
+    private void write(LogEvent event) {
+        try {
+            sink.accept(event);
+        } catch (Exception e) {
+            log.error("Ocorreu uma exceção ao registrar o evento de " + event.metadata().getMethodName(), e);
+        }
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > reportedDropped) {
+            log.warn("{} eventos de log descartados porque o buffer assíncrono estava cheio", total - reportedDropped);
+            reportedDropped = total;
+        }
+    }
+
+    /**
+     * Para de aceitar eventos e aguarda a gravação dos pendentes.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+        }
+    }
+}
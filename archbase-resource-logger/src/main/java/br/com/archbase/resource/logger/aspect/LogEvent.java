@@ -0,0 +1,39 @@
+package br.com.archbase.resource.logger.aspect;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Evento de log capturado na thread da requisição e registrado depois pelo {@link AsyncLogEventWriter}.
+ * Os argumentos já chegam formatados, pois podem depender da requisição (arquivos enviados, entidades com
+ * carregamento lazy); apenas o retorno é serializado fora da thread da requisição.
+ *
+ * @param kind          fase da execução registrada
+ * @param metadata      dados do método em cache
+ * @param message       mensagem já formatada com os argumentos e o contexto da requisição ({@link Kind#PRE})
+ * @param result        objeto retornado ({@link Kind#POST})
+ * @param returnType    nome do tipo de retorno declarado ({@link Kind#POST})
+ * @param elapsedMillis tempo de execução ({@link Kind#POST})
+ * @author edsonmartins
+ */
+record LogEvent(
+        @Nonnull Kind kind,
+        @Nonnull MethodLogMetadata metadata,
+        @Nullable String message,
+        @Nullable Object result,
+        @Nullable String returnType,
+        long elapsedMillis) {
+
+    enum Kind {
+        PRE,
+        POST
+    }
+
+    static LogEvent pre(MethodLogMetadata metadata, String message) {
+        return new LogEvent(Kind.PRE, metadata, message, null, null, 0);
+    }
+
+    static LogEvent post(MethodLogMetadata metadata, Object result, String returnType, long elapsedMillis) {
+        return new LogEvent(Kind.POST, metadata, null, result, returnType, elapsedMillis);
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.archbase.resource.logger.aspect;
+
+import br.com.archbase.resource.logger.annotation.Logging;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Dados de um método de controlador que não mudam entre chamadas: nome, nomes dos parâmetros, quais
+ * parâmetros são serializados como JSON, se o retorno é JSON e a taxa de amostragem. São calculados uma
+ * vez por método e classe alvo e mantidos em cache pelo {@link SimpleArchbaseResourceAspect}.
+ *
+ * @author edsonmartins
+ */
+final class MethodLogMetadata {
+
+    /**
+     * Taxa de amostragem que indica que deve ser usado o padrão do aspecto.
+     */
+    static final double DEFAULT_SAMPLE_RATE = -1;
+
+    private final String methodName;
+    private final String[] parameterNames;
+    private final boolean[] jsonParameters;
+    private final boolean producesJson;
+    private final double sampleRate;
+
+    private MethodLogMetadata(String methodName, String[] parameterNames, boolean[] jsonParameters,
+                              boolean producesJson, double sampleRate) {
+        this.methodName = methodName;
+        this.parameterNames = parameterNames;
+        this.jsonParameters = jsonParameters;
+        this.producesJson = producesJson;
+        this.sampleRate = sampleRate;
+    }
+
+    @Nonnull
+    static MethodLogMetadata of(@Nonnull Method method, @Nullable String[] parameterNames, @Nonnull Class<?> targetClass) {
+        RequestMapping methodRequestMapping = method.getAnnotation(RequestMapping.class);
+        RequestMapping classRequestMapping = targetClass.getAnnotation(RequestMapping.class);
+        String[] names = parameterNames != null ? parameterNames : new String[0];
+
+        // Só precisamos serializar um parâmetro se o método consumir JSON e a anotação @RequestBody for encontrada.
+        boolean consumesJson = methodRequestMapping != null && containsJson(methodRequestMapping.consumes());
+        Annotation[][] annotations = method.getParameterAnnotations();
+        boolean[] jsonParameters = new boolean[names.length];
+        for (int i = 0; i < names.length && i < annotations.length; i++) {
+            jsonParameters[i] = consumesJson
+                    && Arrays.stream(annotations[i]).anyMatch(RequestBody.class::isInstance);
+        }
+
+        boolean producesJson = (methodRequestMapping != null && containsJson(methodRequestMapping.produces()))
+                || (classRequestMapping != null && containsJson(classRequestMapping.produces()));
+
+        return new MethodLogMetadata(method.getName() + "()", names, jsonParameters, producesJson,
+                sampleRate(method, targetClass));
+    }
+
+    private static double sampleRate(Method method, Class<?> targetClass) {
+        Logging methodLogging = method.getAnnotation(Logging.class);
+        if (methodLogging != null && methodLogging.sampleRate() >= 0) {
+            return methodLogging.sampleRate();
+        }
+        Logging classLogging = AnnotatedElementUtils.findMergedAnnotation(targetClass, Logging.class);
+        if (classLogging != null && classLogging.sampleRate() >= 0) {
+            return classLogging.sampleRate();
+        }
+        return DEFAULT_SAMPLE_RATE;
+    }
+
+    private static boolean containsJson(String[] mediaTypes) {
+        for (String mediaType : mediaTypes) {
+            if (mediaType.equals(MediaType.APPLICATION_JSON_VALUE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    String getMethodName() {
+        return methodName;
+    }
+
+    @Nonnull
+    String[] getParameterNames() {
+        return parameterNames;
+    }
+
+    boolean isJsonParameter(int index) {
+        return index < jsonParameters.length && jsonParameters[index];
+    }
+
+    boolean isProducesJson() {
+        return producesJson;
+    }
+
+    /**
+     * @return a taxa definida em {@link Logging#sampleRate()} ou {@link #DEFAULT_SAMPLE_RATE}
+     */
+    double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Chave do cache: o mesmo método pode ser herdado por controladores com mapeamentos de classe diferentes.
+     */
+    record Key(Method method, Class<?> targetClass) {
+    }
+}
@@ -12,16 +12,17 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.MediaType;
 import org.springframework.util.StopWatch;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
+import static br.com.archbase.resource.logger.utils.JsonUtil.TRUNCATED_SUFFIX;
 import static br.com.archbase.resource.logger.utils.JsonUtil.toJson;
 import static br.com.archbase.resource.logger.utils.RequestUtil.getRequestContext;
 
@@ -34,6 +35,18 @@ import static br.com.archbase.resource.logger.utils.RequestUtil.getRequestContex
  * <p>Este aspecto usa duas anotações - {@link Logging} e {@link NoLogging} para obter controle de granulação fina sobre
  * comportamento de registro do método.
  *
+ * <p>Os dados de cada método (mapeamentos, nomes de parâmetros, taxa de amostragem) são lidos por reflexão uma
+ * única vez e mantidos em cache. Apenas uma fração das chamadas é registrada quando há taxa de amostragem
+ * ({@link Logging#sampleRate()} ou {@link #setDefaultSampleRate(double)}), e argumentos e retornos são limitados a
+ * {@link #setMaxPayloadLength(int)} caracteres.
+ *
+ * <p>Com {@link #enableAsyncLogging(int)} a thread da requisição apenas captura um {@link LogEvent} e o publica em
+ * um buffer limitado; a serialização do retorno e o registro acontecem em uma thread separada, de modo que a
+ * latência do endpoint não depende do tamanho da resposta. Se o buffer estiver cheio o evento é descartado. Os
+ * argumentos continuam formatados na thread da requisição, pois arquivos enviados e entidades com carregamento
+ * lazy não sobrevivem a ela. O retorno é serializado depois do retorno do método, então alterações feitas nele
+ * após a resposta podem aparecer no log.
+ *
  * @author edsonmartins
  * @see <a href="http://docs.spring.io/spring/docs/current/spring-framework-reference/html/aop.html">
  * Documentação do Spring sobre programação orientada a aspectos com o Spring
@@ -42,11 +55,25 @@ import static br.com.archbase.resource.logger.utils.RequestUtil.getRequestContex
 //@formatter:on
 
 @Aspect
-public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implements ArchbaseResourceAspect {
+public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implements ArchbaseResourceAspect, AutoCloseable {
+
+    /**
+     * Limite padrão, em caracteres, de cada argumento ou retorno registrado.
+     */
+    public static final int DEFAULT_MAX_PAYLOAD_LENGTH = 16 * 1024;
 
     @Nonnull
     private Logger log;
 
+    private final Map<MethodLogMetadata.Key, MethodLogMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    private double defaultSampleRate = 1.0;
+
+    private int maxPayloadLength = DEFAULT_MAX_PAYLOAD_LENGTH;
+
+    @Nullable
+    private volatile AsyncLogEventWriter asyncWriter;
+
     public SimpleArchbaseResourceAspect() {
         this(
                 org.slf4j.LoggerFactory.getLogger(String.class)
@@ -84,23 +111,29 @@ public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implement
     public Object log(@Nonnull ProceedingJoinPoint proceedingJoinPoint) {
         Object result = null;
         String returnType = null;
-        RequestMapping methodRequestMapping = null;
-        RequestMapping classRequestMapping = null;
+        MethodLogMetadata metadata = null;
+        boolean sampled = true;
 
         try {
             MethodSignature methodSignature = (MethodSignature) proceedingJoinPoint.getSignature();
-            methodRequestMapping = methodSignature.getMethod().getAnnotation(RequestMapping.class);
-            classRequestMapping = proceedingJoinPoint.getTarget().getClass().getAnnotation(RequestMapping.class);
+            metadata = getMetadata(methodSignature, proceedingJoinPoint.getTarget());
+            sampled = isSampled(metadata);
 
-            // isso é necessário para distinguir entre um valor retornado de nulo e nenhum valor de retorno, como no caso de
-            // tipo de retorno nulo.
-            returnType = methodSignature.getReturnType().getName();
+            if (sampled) {
+                // isso é necessário para distinguir entre um valor retornado de nulo e nenhum valor de retorno, como no caso de
+                // tipo de retorno nulo.
+                returnType = methodSignature.getReturnType().getName();
 
-            logPreExecutionData(proceedingJoinPoint, methodRequestMapping);
+                logPreExecutionData(proceedingJoinPoint, metadata);
+            }
         } catch (Exception e) {
             log.error("Ocorreu uma exceção na lógica de pré-procedimento", e);
         }
 
+        if (!sampled) {
+            return proceedingJoinPoint.proceed();
+        }
+
         StopWatch timer = new StopWatch();
         try {
             timer.start();
@@ -108,9 +141,7 @@ public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implement
         } finally {
             timer.stop();
             if (returnType != null) {
-                logPostExecutionData(
-                        proceedingJoinPoint, timer, result, returnType, methodRequestMapping, classRequestMapping
-                );
+                logPostExecutionData(metadata, timer.getTotalTimeMillis(), result, returnType);
             }
         }
 
@@ -121,24 +152,9 @@ public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implement
             @Nonnull ProceedingJoinPoint proceedingJoinPoint,
             @Nullable RequestMapping methodRequestMapping) {
         MethodSignature methodSignature = (MethodSignature) proceedingJoinPoint.getSignature();
-
-        String methodName = methodSignature.getName() + "()";
-        Object[] argValues = proceedingJoinPoint.getArgs();
-        String[] argNames = methodSignature.getParameterNames();
-        String requestContext = getRequestContext().toString();
-        Annotation[][] annotations = methodSignature.getMethod().getParameterAnnotations();
-
-        StringBuilder preMessage = new StringBuilder().append(methodName);
-
-        if (argValues.length > 0) {
-            logFunctionArguments(argNames, argValues, preMessage, annotations, methodRequestMapping);
-        }
-
-        String message = preMessage.append(" chamado via ").append(requestContext).toString();
-        log.info(message);
+        logPreExecutionData(proceedingJoinPoint, getMetadata(methodSignature, proceedingJoinPoint.getTarget()));
     }
 
-    @SuppressWarnings("java:S3776")
     public void logPostExecutionData(
             @Nonnull ProceedingJoinPoint proceedingJoinPoint,
             @Nonnull StopWatch timer,
@@ -147,40 +163,82 @@ public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implement
             @Nullable RequestMapping methodRequestMapping,
             @Nullable RequestMapping classRequestMapping) {
         MethodSignature methodSignature = (MethodSignature) proceedingJoinPoint.getSignature();
-        String methodName = methodSignature.getName() + "()";
-        String message = methodName.concat(" levou [").concat(timer.getTotalTimeMillis() + "").concat(" ms] para concluir");
-        log.info(message);
+        logPostExecutionData(getMetadata(methodSignature, proceedingJoinPoint.getTarget()),
+                timer.getTotalTimeMillis(), result, returnType);
+    }
 
-        boolean needsSerialization = false;
+    private void logPreExecutionData(@Nonnull ProceedingJoinPoint proceedingJoinPoint, @Nonnull MethodLogMetadata metadata) {
+        Object[] argValues = proceedingJoinPoint.getArgs();
+        // o contexto depende de variáveis da thread da requisição, então é sempre lido aqui.
+        String requestContext = getRequestContext().toString();
 
-        String[] produces = methodRequestMapping != null ? methodRequestMapping.produces() : new String[0];
-        for (String produce : produces) {
-            if (produce.equals(MediaType.APPLICATION_JSON_VALUE)) {
-                needsSerialization = true;
-                break;
-            }
+        String message = formatPreExecutionData(metadata, argValues, requestContext);
+
+        AsyncLogEventWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.publish(LogEvent.pre(metadata, message));
+        } else {
+            log.info(message);
         }
+    }
 
-        if (!needsSerialization) {
-            produces = classRequestMapping != null ? classRequestMapping.produces() : new String[0];
-            for (String produce : produces) {
-                if (produce.equals(MediaType.APPLICATION_JSON_VALUE)) {
-                    needsSerialization = true;
-                    break;
-                }
-            }
+    private void logPostExecutionData(
+            @Nonnull MethodLogMetadata metadata,
+            long elapsedMillis,
+            @Nullable Object result,
+            @Nonnull String returnType) {
+        AsyncLogEventWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.publish(LogEvent.post(metadata, result, returnType, elapsedMillis));
+        } else {
+            writePostExecutionData(metadata, elapsedMillis, result, returnType);
+        }
+    }
+
+    /**
+     * Formata e registra um evento capturado; no modo assíncrono é executado pela thread do buffer.
+     */
+    private void write(@Nonnull LogEvent event) {
+        if (event.kind() == LogEvent.Kind.PRE) {
+            log.info(event.message());
+        } else {
+            writePostExecutionData(event.metadata(), event.elapsedMillis(), event.result(), event.returnType());
         }
+    }
+
+    @Nonnull
+    private String formatPreExecutionData(
+            @Nonnull MethodLogMetadata metadata,
+            @Nullable Object[] argValues,
+            @Nullable String requestContext) {
+        StringBuilder preMessage = new StringBuilder().append(metadata.getMethodName());
+
+        if (argValues != null && argValues.length > 0) {
+            logFunctionArguments(metadata, argValues, preMessage);
+        }
+
+        return preMessage.append(" chamado via ").append(requestContext).toString();
+    }
+
+    private void writePostExecutionData(
+            @Nonnull MethodLogMetadata metadata,
+            long elapsedMillis,
+            @Nullable Object result,
+            @Nonnull String returnType) {
+        String methodName = metadata.getMethodName();
+        String message = methodName.concat(" levou [").concat(elapsedMillis + "").concat(" ms] para concluir");
+        log.info(message);
 
         StringBuilder postMessage = new StringBuilder().append(methodName).append(" retornou: [");
 
-        if (needsSerialization) {
+        if (metadata.isProducesJson()) {
             String resultClassName = result == null ? "null" : result.getClass().getName();
             resultClassName = returnType.equals("java.lang.Void") ? returnType : resultClassName;
 
             // TODO talvez possamos tentar usar toString() quando a serialização falhar?
             serialize(result, resultClassName, postMessage);
         } else {
-            postMessage.append(result);
+            appendLimited(postMessage, result);
         }
         postMessage.append("]");
         String res = postMessage.toString();
@@ -212,7 +270,7 @@ public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implement
         // tente serializar assumindo um objeto perfeitamente serializável.
         if (!serializedSuccessfully) {
             try {
-                logMessage.append(toJson(object));
+                logMessage.append(toJson(object, maxPayloadLength));
                 serializedSuccessfully = true;
             } catch (Exception e) {
                 exception = e;
@@ -250,60 +308,44 @@ public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implement
     /**
      * Par nome-valor gerado de argumentos formais do método. Acrescenta a string gerada no StringBuilder fornecido
      *
-     * @param argNames      String[] contendo os nomes dos argumentos formais do método A ordem dos nomes deve corresponder à ordem no arg
-     *                      valores em argValues.
+     * @param metadata      dados do método em cache, com os nomes dos argumentos formais na mesma ordem de argValues.
      * @param argValues     String[] contendo os valores dos argumentos formais do método. A ordem dos valores deve corresponder à ordem em
      *                      nomes de arg em argNames.
      * @param stringBuilder o StringBuilder ao qual vai anexar dados de argumento.
      */
-    @SuppressWarnings("java:S3776")
     private void logFunctionArguments(
-            @Nonnull String[] argNames,
+            @Nonnull MethodLogMetadata metadata,
             @Nonnull Object[] argValues,
-            @Nonnull StringBuilder stringBuilder,
-            @Nonnull Annotation[][] annotations,
-            @Nullable RequestMapping methodRequestMapping) {
-        boolean someArgNeedsSerialization = false;
-
-        if (methodRequestMapping != null) {
-            for (String consumes : methodRequestMapping.consumes()) {
-                if (consumes.equals(MediaType.APPLICATION_JSON_VALUE)) {
-                    someArgNeedsSerialization = true;
-                    break;
-                }
-            }
-        }
+            @Nonnull StringBuilder stringBuilder) {
+        String[] argNames = metadata.getParameterNames();
 
         stringBuilder.append(" chamado com argumentos: ");
 
-        for (int i = 0, length = argNames.length; i < length; ++i) {
-            boolean needsSerialization = false;
-
-            if (argValues[i] instanceof ByteArrayResource || argValues[i] instanceof MultipartFile) {
-                needsSerialization = true;
-            } else {
-                if (someArgNeedsSerialization) {
-                    // Só precisamos serializar um parâmetro se a anotação @RequestBody for encontrada.
-                    for (Annotation annotation : annotations[i]) {
-                        if (annotation instanceof RequestBody) {
-                            needsSerialization = true;
-                            break;
-                        }
-                    }
-                }
-            }
+        for (int i = 0, length = Math.min(argNames.length, argValues.length); i < length; ++i) {
+            boolean needsSerialization = argValues[i] instanceof ByteArrayResource
+                    || argValues[i] instanceof MultipartFile
+                    || metadata.isJsonParameter(i);
 
             stringBuilder.append(argNames[i]).append(": [");
             if (needsSerialization) {
                 String argClassName = argValues[i] == null ? "NULL" : argValues[i].getClass().getName();
                 serialize(argValues[i], argClassName, stringBuilder);
             } else {
-                stringBuilder.append(getScrubbedValue(argNames[i], argValues[i]));
+                appendLimited(stringBuilder, getScrubbedValue(argNames[i], argValues[i]));
             }
             stringBuilder.append("]").append(i == (length - 1) ? "" : ", ");
         }
     }
 
+    private void appendLimited(@Nonnull StringBuilder stringBuilder, @Nullable Object value) {
+        String text = String.valueOf(value);
+        if (maxPayloadLength >= 0 && text.length() > maxPayloadLength) {
+            stringBuilder.append(text, 0, maxPayloadLength).append(TRUNCATED_SUFFIX);
+        } else {
+            stringBuilder.append(text);
+        }
+    }
+
     /**
      * Retorna o valor apagado para um determinado valor de nome de argumento. O valor arg original é retornado
      * se a depuração de dados estiver desativada.
@@ -323,7 +365,78 @@ public class SimpleArchbaseResourceAspect extends ArchbaseLoggerAspect implement
         return argValueToUse;
     }
 
+    @Nonnull
+    private MethodLogMetadata getMetadata(@Nonnull MethodSignature methodSignature, @Nonnull Object target) {
+        return metadataCache.computeIfAbsent(
+                new MethodLogMetadata.Key(methodSignature.getMethod(), target.getClass()),
+                key -> MethodLogMetadata.of(key.method(), methodSignature.getParameterNames(), key.targetClass()));
+    }
+
+    private boolean isSampled(@Nonnull MethodLogMetadata metadata) {
+        double sampleRate = metadata.getSampleRate() >= 0 ? metadata.getSampleRate() : defaultSampleRate;
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
     public void setLog(@Nonnull Logger log) {
         this.log = log;
     }
+
+    /**
+     * Taxa de amostragem dos métodos cuja anotação {@link Logging} não define {@link Logging#sampleRate()}.
+     *
+     * @param defaultSampleRate fração entre {@code 0.0} e {@code 1.0}; o padrão é {@code 1.0}
+     */
+    public void setDefaultSampleRate(double defaultSampleRate) {
+        this.defaultSampleRate = defaultSampleRate;
+    }
+
+    /**
+     * Limite, em caracteres, de cada argumento e do retorno registrados. A serialização JSON é interrompida ao
+     * atingir o limite.
+     *
+     * @param maxPayloadLength limite de caracteres; negativo não limita
+     */
+    public void setMaxPayloadLength(int maxPayloadLength) {
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    /**
+     * Passa a registrar as chamadas fora da thread da requisição, por meio de um buffer com a capacidade informada.
+     *
+     * @param bufferSize número máximo de eventos aguardando registro; deve ser maior que zero
+     * @throws IllegalArgumentException se {@code bufferSize} não for positivo
+     */
+    public synchronized void enableAsyncLogging(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(
+                    "O tamanho do buffer de log assíncrono deve ser maior que zero, mas foi " + bufferSize);
+        }
+        if (asyncWriter == null) {
+            asyncWriter = new AsyncLogEventWriter(bufferSize, this::write, log);
+        }
+    }
+
+    public boolean isAsyncLogging() {
+        return asyncWriter != null;
+    }
+
+    /**
+     * @return eventos descartados porque o buffer assíncrono estava cheio
+     */
+    public long getDroppedEvents() {
+        AsyncLogEventWriter writer = asyncWriter;
+        return writer == null ? 0 : writer.getDropped();
+    }
+
+    /**
+     * Encerra o registro assíncrono, aguardando a gravação dos eventos pendentes, e volta ao registro síncrono.
+     */
+    @Override
+    public synchronized void close() {
+        AsyncLogEventWriter writer = asyncWriter;
+        if (writer != null) {
+            asyncWriter = null;
+            writer.close();
+        }
+    }
 }
@@ -8,6 +8,8 @@ import tools.jackson.databind.json.JsonMapper;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
 
 /**
@@ -15,6 +17,11 @@ import java.lang.reflect.Type;
  */
 public class JsonUtil {
 
+    /**
+     * Sufixo acrescentado ao JSON interrompido por {@link #toJson(Object, int)}.
+     */
+    public static final String TRUNCATED_SUFFIX = "...(truncado)";
+
     private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().build();
 
     private JsonUtil() {
@@ -29,6 +36,29 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * Serializa o objeto mantendo no máximo {@code maxLength} caracteres. A serialização é interrompida
+     * assim que o limite é atingido, então objetos grandes não chegam a ser convertidos por inteiro; o
+     * texto truncado termina com {@link #TRUNCATED_SUFFIX}.
+     *
+     * @param maxLength limite de caracteres; negativo não limita
+     */
+    @Nonnull
+    public static String toJson(@Nullable Object object, int maxLength) {
+        if (maxLength < 0 || object == null) {
+            return toJson(object);
+        }
+        LimitedWriter writer = new LimitedWriter(maxLength);
+        try {
+            OBJECT_MAPPER.writeValue(writer, object);
+        } catch (JacksonException e) {
+            if (!writer.truncated) {
+                throw new ArchbaseResourceLoggerException(e);
+            }
+        }
+        return writer.truncated ? writer.buffer.append(TRUNCATED_SUFFIX).toString() : writer.buffer.toString();
+    }
+
     public static <T> T fromJson(@Nonnull String json, @Nonnull Type type) {
         JavaType javaType = OBJECT_MAPPER.constructType(type);
         try {
@@ -37,4 +67,43 @@ public class JsonUtil {
             throw new ArchbaseResourceLoggerException(e);
         }
     }
+
+    /**
+     * {@link Writer} que guarda até {@code maxLength} caracteres e, ao exceder, aborta a serialização.
+     */
+    private static final class LimitedWriter extends Writer {
+
+        private final StringBuilder buffer;
+        private final int maxLength;
+        private boolean truncated;
+
+        LimitedWriter(int maxLength) {
+            this.buffer = new StringBuilder(Math.min(maxLength, 1024));
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(@Nonnull char[] chars, int offset, int length) throws IOException {
+            if (truncated) {
+                throw new IOException("Limite de " + maxLength + " caracteres atingido");
+            }
+            int remaining = maxLength - buffer.length();
+            if (length > remaining) {
+                buffer.append(chars, offset, remaining);
+                truncated = true;
+                throw new IOException("Limite de " + maxLength + " caracteres atingido");
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            // nada a descarregar
+        }
+
+        @Override
+        public void close() {
+            // nada a liberar
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package br.com.archbase.resource.logger.aspect;
+
+import br.com.archbase.resource.logger.annotation.Logging;
+import br.com.archbase.resource.logger.bean.User;
+import br.com.archbase.resource.logger.helpers.DummyResource;
+import br.com.archbase.resource.logger.utils.JsonUtil;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.Collections;
+import java.util.List;
+
+import static br.com.archbase.resource.logger.helpers.MockUtils.mockMethodSignature;
+import static br.com.archbase.resource.logger.helpers.MockUtils.mockProceedingJoinPoint;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class TestSimpleArchbaseResourceAspect {
+
+    private Logger logger;
+    private SimpleArchbaseResourceAspect aspect;
+
+    @Before
+    public void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("joao", null));
+        logger = mock(Logger.class);
+        aspect = new SimpleArchbaseResourceAspect(logger);
+    }
+
+    @After
+    public void tearDown() {
+        aspect.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void logsArgumentsAndSerializedResult() throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        mockProceedingJoinPoint(joinPoint, mockMethodSignature());
+
+        Object result = aspect.log(joinPoint);
+
+        assertEquals(new User(1, "joao@example.com.br", "password"), result);
+        List<String> messages = infoMessages(3);
+        assertTrue(messages.get(0).startsWith("getUser() chamado com argumentos: userId: [1] chamado via "));
+        assertTrue(messages.get(1).startsWith("getUser() levou ["));
+        assertEquals("getUser() retornou: [" + JsonUtil.toJson(result) + "]", messages.get(2));
+    }
+
+    @Test
+    public void truncatesLargeResults() throws Throwable {
+        aspect.setMaxPayloadLength(32);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        mockProceedingJoinPoint(joinPoint, Collections.nCopies(10_000, "archbase"), mockMethodSignature(),
+                new DummyResource(), new Object[]{1});
+
+        aspect.log(joinPoint);
+
+        String message = infoMessages(3).get(2);
+        assertEquals("getUser() retornou: [".length() + 32 + JsonUtil.TRUNCATED_SUFFIX.length() + 1, message.length());
+        assertTrue(message.endsWith(JsonUtil.TRUNCATED_SUFFIX + "]"));
+    }
+
+    @Test
+    public void skipsLoggingWhenNotSampled() throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        mockProceedingJoinPoint(joinPoint, "Olá, mundo!", mockMethodSignature("getNote", String.class,
+                new String[]{"noteId"}, new Class[]{int.class}, SampledResource.class), new SampledResource(), new Object[]{1});
+
+        assertEquals("Olá, mundo!", aspect.log(joinPoint));
+        verify(joinPoint, times(1)).proceed();
+        verifyNoInteractions(logger);
+
+        aspect.setDefaultSampleRate(0);
+        ProceedingJoinPoint userJoinPoint = mock(ProceedingJoinPoint.class);
+        mockProceedingJoinPoint(userJoinPoint, mockMethodSignature());
+        aspect.log(userJoinPoint);
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    public void logsAsynchronouslyFromBuffer() throws Throwable {
+        aspect.enableAsyncLogging(16);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        MethodSignature signature = mockMethodSignature();
+        mockProceedingJoinPoint(joinPoint, signature);
+
+        aspect.log(joinPoint);
+        aspect.close();
+
+        assertFalse(aspect.isAsyncLogging());
+        assertEquals(0, aspect.getDroppedEvents());
+        List<String> messages = infoMessages(3);
+        assertTrue(messages.get(0).startsWith("getUser() chamado com argumentos: userId: [1] chamado via "));
+        assertTrue(messages.get(2).startsWith("getUser() retornou: [{"));
+    }
+
+    @Test
+    public void formatsArgumentsOnCallingThreadWhenAsync() throws Throwable {
+        aspect.enableAsyncLogging(16);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        Object threadBoundArgument = new Object() {
+            @Override
+            public String toString() {
+                return Thread.currentThread().getName();
+            }
+        };
+        mockProceedingJoinPoint(joinPoint, new User(1, "joao@example.com.br", "password"), mockMethodSignature(),
+                new DummyResource(), new Object[]{threadBoundArgument});
+
+        aspect.log(joinPoint);
+        aspect.close();
+
+        String expected = "getUser() chamado com argumentos: userId: [" + Thread.currentThread().getName() + "] chamado via ";
+        assertTrue(infoMessages(3).get(0).startsWith(expected));
+    }
+
+    @Test
+    public void rejectsNonPositiveAsyncBufferSize() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> aspect.enableAsyncLogging(0));
+
+        assertTrue(exception.getMessage().contains("maior que zero"));
+        assertFalse(aspect.isAsyncLogging());
+    }
+
+    @Test
+    public void cachesMethodMetadata() throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        MethodSignature signature = mockMethodSignature();
+        mockProceedingJoinPoint(joinPoint, signature);
+
+        aspect.log(joinPoint);
+        aspect.log(joinPoint);
+
+        verify(signature, times(1)).getParameterNames();
+    }
+
+    private List<String> infoMessages(int expected) {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(logger, times(expected)).info(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Logging(sampleRate = 0)
+    @RequestMapping(produces = "text/plain")
+    public static class SampledResource {
+
+        @RequestMapping("/getNote")
+        public String getNote(int noteId) {
+            return "Olá, mundo!";
+        }
+    }
+}
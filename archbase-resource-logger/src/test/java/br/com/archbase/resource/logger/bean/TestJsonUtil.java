@@ -3,7 +3,10 @@ package br.com.archbase.resource.logger.bean;
 import br.com.archbase.resource.logger.utils.JsonUtil;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestJsonUtil {
 
@@ -16,4 +19,20 @@ public class TestJsonUtil {
         assertEquals(user, deserialziedUser);
     }
 
+    @Test
+    public void truncatesSerializationAtMaxLength() {
+        String serialized = JsonUtil.toJson(Collections.nCopies(100_000, "archbase"), 64);
+
+        assertEquals(64 + JsonUtil.TRUNCATED_SUFFIX.length(), serialized.length());
+        assertTrue(serialized.startsWith("[\"archbase\",\"archbase\""));
+        assertTrue(serialized.endsWith(JsonUtil.TRUNCATED_SUFFIX));
+    }
+
+    @Test
+    public void keepsSerializationBelowMaxLength() {
+        User user = new User(1, "joao@example.com.br", "password");
+
+        assertEquals(JsonUtil.toJson(user), JsonUtil.toJson(user, 4096));
+    }
+
 }
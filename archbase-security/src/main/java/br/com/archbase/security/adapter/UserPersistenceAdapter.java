@@ -10,6 +10,7 @@ import br.com.archbase.security.persistence.*;
 import br.com.archbase.security.repository.ActionJpaRepository;
 import br.com.archbase.security.repository.PermissionJpaRepository;
 import br.com.archbase.security.repository.UserJpaRepository;
+import br.com.archbase.security.service.ArchbaseAuthenticationCache;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +35,9 @@ public class UserPersistenceAdapter implements UserPersistencePort, FindDataWith
     @Autowired
     private SecurityAdapter securityAdapter;
 
+    @Autowired
+    private ArchbaseAuthenticationCache authenticationCache;
+
 
     @Override
     public UserDto findById(String id) {
@@ -91,6 +95,8 @@ public class UserPersistenceAdapter implements UserPersistencePort, FindDataWith
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .map(existingEntity -> {
+                    // Invalida pelo nome de usuário e e-mail anteriores, que podem mudar abaixo
+                    authenticationCache.invalidateUser(existingEntity);
                     existingEntity.setName(userDto.getName());
                     existingEntity.setNickname(userDto.getNickname());
                     existingEntity.setDescription(userDto.getDescription());
@@ -125,6 +131,7 @@ public class UserPersistenceAdapter implements UserPersistencePort, FindDataWith
 
     @Override
     public void removerUser(String id) {
+        repository.findById(id).ifPresent(authenticationCache::invalidateUser);
         repository.deleteById(id);
     }
 
@@ -6,7 +6,9 @@ import br.com.archbase.security.domain.entity.ApiToken;
 import br.com.archbase.security.persistence.AccessTokenEntity;
 import br.com.archbase.security.repository.AccessTokenJpaRepository;
 import br.com.archbase.security.service.ApiTokenService;
+import br.com.archbase.security.service.ArchbaseAuthenticationCache;
 import br.com.archbase.security.service.ArchbaseJwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -38,6 +40,7 @@ public class ArchbaseJwtAuthenticationFilter extends OncePerRequestFilter {
     private final AccessTokenJpaRepository tokenRepository;
     private final ApiTokenService apiTokenService;
     private final AccessTokenPersistenceAdapter accessTokenPersistenceAdapter;
+    private final ArchbaseAuthenticationCache authenticationCache;
 
     @Value("${archbase.app.tenant.default.id:}")
     private String defaultTenantId;
@@ -88,13 +91,16 @@ public class ArchbaseJwtAuthenticationFilter extends OncePerRequestFilter {
             log.debug("Authorization header presente: {}", authHeader != null);
             log.debug("Token parameter presente: {}", tokenParam != null);
 
+            // Tenant do claim do JWT processado nesta requisição (null para API token ou token legado)
+            String tokenTenant = null;
+
             // Processar header de autorização
             if (authHeader != null) {
                 if (authHeader.startsWith("Bearer ")) {
                     // Token JWT (usuário/senha)
                     String token = authHeader.substring(7);
                     log.debug("Processando Bearer token: {}", maskToken(token));
-                    processJwtToken(token, request);
+                    tokenTenant = processJwtToken(token, request);
                 } else if (isValidUUID(authHeader)) {
                     // Token API (UUID direto)
                     log.debug("Processando API token (UUID): {}", maskUUID(authHeader));
@@ -110,7 +116,7 @@ public class ArchbaseJwtAuthenticationFilter extends OncePerRequestFilter {
                     processApiToken(tokenParam, request);
                 } else {
                     log.debug("Processando JWT token da URL: {}", maskToken(tokenParam));
-                    processJwtToken(tokenParam, request);
+                    tokenTenant = processJwtToken(tokenParam, request);
                 }
             } else {
                 log.debug("Nenhum token de autenticação encontrado na requisição");
@@ -128,9 +134,7 @@ public class ArchbaseJwtAuthenticationFilter extends OncePerRequestFilter {
             // Isolamento tenant↔token: o tenant do token (claim assinado) é a fonte de verdade.
             // Se o X-TENANT-ID do header divergir, rejeita com 403 (impede acesso cross-tenant).
             // Tokens legados (sem o claim) mantêm o comportamento anterior (fallback pelo header).
-            String jwtForTenant = resolveJwtForTenant(authHeader, tokenParam);
-            if (jwtForTenant != null && SecurityContextHolder.getContext().getAuthentication() != null) {
-                String tokenTenant = jwtService.extractTenantId(jwtForTenant);
+            if (SecurityContextHolder.getContext().getAuthentication() != null) {
                 if (tokenTenant != null && !tokenTenant.isEmpty()) {
                     if (tenantId != null && !tenantId.isEmpty() && !tenantId.equals(tokenTenant)) {
                         log.warn("Acesso cross-tenant NEGADO: usuario={}, tenantDoToken={}, X-TENANT-ID={}, {} {}",
@@ -158,27 +162,37 @@ public class ArchbaseJwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
-    /** Retorna o JWT (Bearer ou via URL) para extração do claim de tenant; {@code null} para API token (UUID). */
-    private String resolveJwtForTenant(String authHeader, String tokenParam) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-        if (tokenParam != null && !isValidUUID(tokenParam)) {
-            return tokenParam;
-        }
-        return null;
-    }
-
-    private void processJwtToken(String token, HttpServletRequest request) {
+    /**
+     * Autentica pelo JWT e retorna o tenant do claim assinado ({@code null} se ausente ou se o token
+     * for inválido). O token é verificado uma única vez e os claims alimentam todas as validações;
+     * tokens já validados e os {@link UserDetails} vêm do {@link ArchbaseAuthenticationCache}, de
+     * modo que uma requisição com cache quente não consulta o banco.
+     */
+    private String processJwtToken(String token, HttpServletRequest request) {
         try {
-            // Extrai o email do usuário
-            String userEmail = jwtService.extractUsername(token);
+            ArchbaseAuthenticationCache.VerifiedToken cached = authenticationCache.getToken(token);
+            if (cached != null) {
+                log.debug("JWT encontrado no cache de autenticação para usuário: {}", cached.username());
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UserDetails userDetails = authenticationCache.getUserDetails(cached.username(),
+                            userDetailsService::loadUserByUsername);
+                    setAuthentication(userDetails, request);
+                }
+                return cached.tenantId();
+            }
+
+            long generation = authenticationCache.generation();
+            // Verifica assinatura e expiração uma única vez
+            Claims claims = jwtService.parseClaims(token);
+            String userEmail = claims.getSubject();
+            String tokenTenant = jwtService.extractTenantId(claims);
             log.debug("Email extraído do JWT: {}", userEmail);
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 // Busca detalhes do usuário
                 log.debug("Buscando detalhes do usuário: {}", userEmail);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = authenticationCache.getUserDetails(userEmail,
+                        userDetailsService::loadUserByUsername);
                 log.debug("Usuário encontrado: {}, Autoridades: {}", userDetails.getUsername(), userDetails.getAuthorities());
 
                 // Verifica se o token existe no banco e é válido
@@ -194,19 +208,23 @@ public class ArchbaseJwtAuthenticationFilter extends OncePerRequestFilter {
                 }
 
                 // Valida o token JWT
-                boolean isJwtValid = jwtService.isTokenValid(token, userDetails);
+                boolean isJwtValid = jwtService.isTokenValid(claims, userDetails);
                 log.debug("JWT válido: {}", isJwtValid);
 
                 if (isJwtValid && isTokenValid) {
                     setAuthentication(userDetails, request);
+                    authenticationCache.putToken(token, new ArchbaseAuthenticationCache.VerifiedToken(
+                            userEmail, tokenTenant, claims.getExpiration().getTime()), generation);
                     log.debug("Autenticação JWT bem-sucedida para usuário: {}", userEmail);
                 } else {
                     log.warn("Token JWT inválido para usuário: {}, JWT válido: {}, Token válido: {}",
                             userEmail, isJwtValid, isTokenValid);
                 }
             }
+            return tokenTenant;
         } catch (Exception e) {
             log.error("Erro ao processar token JWT: {}", e.getMessage(), e);
+            return null;
         }
     }
 
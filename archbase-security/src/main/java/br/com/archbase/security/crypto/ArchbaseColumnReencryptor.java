@@ -4,8 +4,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
 import org.slf4j.Logger;
@@ -33,6 +37,13 @@ import org.slf4j.LoggerFactory;
  * <p><b>Idempotente:</b> linhas cujo valor já começa com o prefixo {@code gcm:} são ignoradas, de
  * modo que rodar a migração mais de uma vez (ou sobre dados parcialmente migrados) é seguro.
  *
+ * <p>As linhas pendentes são lidas em lotes de {@code batchSize} em ordem de chave primária
+ * ({@code WHERE pk > ultimaChave ORDER BY pk}), então a memória usada é limitada ao tamanho do lote
+ * qualquer que seja o tamanho da tabela. Para tabelas grandes use
+ * {@link #reencryptColumnInChunks}: cada lote é cifrado em paralelo, gravado com batch update e
+ * confirmado separadamente, com um {@link ArchbaseReencryptionCheckpoint} para retomar uma execução
+ * interrompida.
+ *
  * <p>Os nomes de tabela/coluna são interpolados diretamente no SQL; <b>devem vir de código
  * confiável</b> (constantes da própria aplicação), nunca de entrada de usuário.
  */
@@ -45,14 +56,24 @@ public class ArchbaseColumnReencryptor {
 
     private final ArchbaseCryptoService cryptoService;
     private final int batchSize;
+    private final int parallelism;
 
     public ArchbaseColumnReencryptor(ArchbaseCryptoService cryptoService) {
         this(cryptoService, 500);
     }
 
     public ArchbaseColumnReencryptor(ArchbaseCryptoService cryptoService, int batchSize) {
+        this(cryptoService, batchSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param batchSize   linhas por lote (leitura, batch update e, em {@link #reencryptColumnInChunks}, commit)
+     * @param parallelism threads usadas para cifrar cada lote em {@link #reencryptColumnInChunks}
+     */
+    public ArchbaseColumnReencryptor(ArchbaseCryptoService cryptoService, int batchSize, int parallelism) {
         this.cryptoService = cryptoService;
-        this.batchSize = batchSize;
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
     }
 
     /**
@@ -69,61 +90,166 @@ public class ArchbaseColumnReencryptor {
      */
     public int reencryptColumn(Connection connection, String table, String pkColumn,
                                String valueColumn, UnaryOperator<String> legacyDecoder) throws SQLException {
+        return process(connection, table, pkColumn, valueColumn, legacyDecoder, false,
+                ArchbaseReencryptionCheckpoint.NONE, null);
+    }
+
+    /**
+     * Re-cifra a coluna em lotes confirmados separadamente, para tabelas grandes. Cada lote de
+     * {@code batchSize} linhas é cifrado em paralelo, gravado com batch update e confirmado junto
+     * com o {@code checkpoint}; se a execução for interrompida, a próxima recomeça após a última
+     * chave confirmada.
+     *
+     * <p>A conexão não deve participar de uma transação externa: o auto-commit é desligado durante a
+     * execução e restaurado ao final. O {@code legacyDecoder} é chamado por várias threads e precisa
+     * ser thread-safe.
+     *
+     * @return número de linhas re-cifradas nesta execução
+     */
+    public int reencryptColumnInChunks(Connection connection, String table, String pkColumn, String valueColumn,
+                                       UnaryOperator<String> legacyDecoder,
+                                       ArchbaseReencryptionCheckpoint checkpoint) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            return process(connection, table, pkColumn, valueColumn, legacyDecoder, true, checkpoint, pool);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private int process(Connection connection, String table, String pkColumn, String valueColumn,
+                        UnaryOperator<String> legacyDecoder, boolean commitEachChunk,
+                        ArchbaseReencryptionCheckpoint checkpoint, ForkJoinPool pool) throws SQLException {
 
         if (!tableExists(connection, table)) {
             log.info("Re-cifragem GCM: tabela {} não existe ainda — pulando", table);
             return 0;
         }
 
-        Map<String, String> pending = loadPending(connection, table, pkColumn, valueColumn);
-        if (pending.isEmpty()) {
-            log.info("Re-cifragem GCM: {}.{} já está no formato GCM (nada a fazer)", table, valueColumn);
-            return 0;
+        int pkType = columnType(connection, table, pkColumn);
+        String pendingSql = "SELECT " + pkColumn + ", " + valueColumn + " FROM " + table
+                + " WHERE " + valueColumn + " IS NOT NULL"
+                + " AND " + valueColumn + " NOT LIKE '" + ArchbaseEncryptedStringConverter.GCM_PREFIX + "%'";
+        String firstChunkSql = pendingSql + " ORDER BY " + pkColumn;
+        String nextChunkSql = pendingSql + " AND " + pkColumn + " > ? ORDER BY " + pkColumn;
+        String updateSql = "UPDATE " + table + " SET " + valueColumn + " = ? WHERE " + pkColumn + " = ?";
+
+        String lastKey = checkpoint.load(connection, table, valueColumn);
+        if (lastKey != null) {
+            log.info("Re-cifragem GCM: {}.{} retomada após a chave {}", table, valueColumn, lastKey);
         }
 
-        String updateSql = "UPDATE " + table + " SET " + valueColumn + " = ? WHERE " + pkColumn + " = ?";
+        long start = System.nanoTime();
         int updated = 0;
-        int inBatch = 0;
-        try (PreparedStatement update = connection.prepareStatement(updateSql)) {
-            for (Map.Entry<String, String> row : pending.entrySet()) {
-                String pk = row.getKey();
-                String clearText = legacyDecoder.apply(row.getValue());
-                String gcmValue = ArchbaseEncryptedStringConverter.GCM_PREFIX + cryptoService.encrypt(clearText);
-
-                update.setString(1, gcmValue);
-                update.setString(2, pk);
-                update.addBatch();
-
-                if (++inBatch == batchSize) {
-                    updated += sum(update.executeBatch());
-                    inBatch = 0;
+        try (PreparedStatement firstChunk = connection.prepareStatement(firstChunkSql);
+             PreparedStatement nextChunk = connection.prepareStatement(nextChunkSql);
+             PreparedStatement update = connection.prepareStatement(updateSql)) {
+            while (true) {
+                // Lote lido por inteiro antes dos UPDATEs: alguns drivers não suportam SELECT e
+                // UPDATE simultâneos na mesma conexão.
+                List<PendingRow> rows = lastKey == null
+                        ? readChunk(firstChunk)
+                        : readChunk(bind(nextChunk, lastKey, pkType));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<String> gcmValues = encryptChunk(rows, legacyDecoder, pool);
+                for (int i = 0; i < rows.size(); i++) {
+                    update.setString(1, gcmValues.get(i));
+                    update.setObject(2, rows.get(i).key(), pkType);
+                    update.addBatch();
                 }
-            }
-            if (inBatch > 0) {
                 updated += sum(update.executeBatch());
+                lastKey = rows.get(rows.size() - 1).key();
+
+                if (commitEachChunk) {
+                    checkpoint.save(connection, table, valueColumn, lastKey);
+                    connection.commit();
+                    log.info("Re-cifragem GCM: {}.{} -> {} linha(s), {} linhas/s, última chave {}",
+                            table, valueColumn, updated, rowsPerSecond(updated, start), lastKey);
+                }
+                if (rows.size() < batchSize) {
+                    break;
+                }
             }
+            if (commitEachChunk) {
+                checkpoint.complete(connection, table, valueColumn);
+                connection.commit();
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (commitEachChunk) {
+                connection.rollback();
+            }
+            throw e;
         }
 
-        log.info("Re-cifragem GCM: {}.{} -> {} linha(s) re-cifrada(s)", table, valueColumn, updated);
+        if (updated == 0) {
+            log.info("Re-cifragem GCM: {}.{} já está no formato GCM (nada a fazer)", table, valueColumn);
+        } else {
+            log.info("Re-cifragem GCM: {}.{} -> {} linha(s) re-cifrada(s)", table, valueColumn, updated);
+        }
         return updated;
     }
 
-    private Map<String, String> loadPending(Connection connection, String table, String pkColumn,
-                                            String valueColumn) throws SQLException {
-        // Coleta em memória para não manter o cursor de leitura aberto durante os UPDATEs na mesma
-        // conexão (alguns drivers não suportam SELECT e UPDATE simultâneos por conexão).
-        String selectSql = "SELECT " + pkColumn + ", " + valueColumn + " FROM " + table
-                + " WHERE " + valueColumn + " IS NOT NULL"
-                + " AND " + valueColumn + " NOT LIKE '" + ArchbaseEncryptedStringConverter.GCM_PREFIX + "%'";
+    private List<PendingRow> readChunk(PreparedStatement select) throws SQLException {
+        select.setMaxRows(batchSize);
+        select.setFetchSize(batchSize);
+        List<PendingRow> rows = new ArrayList<>(batchSize);
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next() && rows.size() < batchSize) {
+                rows.add(new PendingRow(rs.getString(1), rs.getString(2)));
+            }
+        }
+        return rows;
+    }
 
-        Map<String, String> pending = new LinkedHashMap<>();
-        try (PreparedStatement select = connection.prepareStatement(selectSql);
-             ResultSet rs = select.executeQuery()) {
-            while (rs.next()) {
-                pending.put(rs.getString(1), rs.getString(2));
+    private static PreparedStatement bind(PreparedStatement select, String lastKey, int pkType) throws SQLException {
+        select.setObject(1, lastKey, pkType);
+        return select;
+    }
+
+    private List<String> encryptChunk(List<PendingRow> rows, UnaryOperator<String> legacyDecoder, ForkJoinPool pool) {
+        Function<PendingRow, String> encrypt = row ->
+                ArchbaseEncryptedStringConverter.GCM_PREFIX + cryptoService.encrypt(legacyDecoder.apply(row.value()));
+        if (pool == null) {
+            return rows.stream().map(encrypt).toList();
+        }
+        try {
+            return pool.submit(() -> rows.parallelStream().map(encrypt).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Re-cifragem GCM interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Falha ao re-cifrar lote", e.getCause());
+        }
+    }
+
+    /** Tipo JDBC da coluna, para comparar e atualizar a chave com o tipo correto; VARCHAR se desconhecido. */
+    private int columnType(Connection connection, String table, String column) throws SQLException {
+        for (String tableCandidate : new String[]{table, table.toUpperCase(), table.toLowerCase()}) {
+            for (String columnCandidate : new String[]{column, column.toUpperCase(), column.toLowerCase()}) {
+                try (ResultSet rs = connection.getMetaData()
+                        .getColumns(connection.getCatalog(), null, tableCandidate, columnCandidate)) {
+                    if (rs.next()) {
+                        return rs.getInt("DATA_TYPE");
+                    }
+                }
             }
         }
-        return pending;
+        return Types.VARCHAR;
+    }
+
+    private static String rowsPerSecond(int rows, long startNanos) {
+        double seconds = Math.max(1, System.nanoTime() - startNanos) / 1_000_000_000d;
+        return String.format("%.1f", rows / seconds);
     }
 
     private boolean tableExists(Connection connection, String table) throws SQLException {
@@ -139,6 +265,9 @@ public class ArchbaseColumnReencryptor {
         return false;
     }
 
+    private record PendingRow(String key, String value) {
+    }
+
     private static int sum(int[] batchResults) {
         int total = 0;
         for (int r : batchResults) {
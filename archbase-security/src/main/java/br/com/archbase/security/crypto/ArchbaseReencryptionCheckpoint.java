@@ -0,0 +1,128 @@
+package br.com.archbase.security.crypto;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Ponto de retomada da re-cifragem em lotes do {@link ArchbaseColumnReencryptor}: guarda a última
+ * chave primária confirmada de cada tabela/coluna para que uma execução interrompida recomece dali,
+ * sem varrer de novo o que já foi convertido.
+ *
+ * <p>As operações recebem a mesma {@link Connection} usada nos lotes; {@link #save} é chamado antes
+ * do commit de cada lote, de modo que checkpoint e dados são confirmados juntos.
+ */
+public interface ArchbaseReencryptionCheckpoint {
+
+    /** Sem checkpoint: toda execução começa do início (a idempotência do prefixo {@code gcm:} se mantém). */
+    ArchbaseReencryptionCheckpoint NONE = new ArchbaseReencryptionCheckpoint() {
+        @Override
+        public String load(Connection connection, String table, String column) {
+            return null;
+        }
+
+        @Override
+        public void save(Connection connection, String table, String column, String lastKey) {
+            // nada a fazer
+        }
+
+        @Override
+        public void complete(Connection connection, String table, String column) {
+            // nada a fazer
+        }
+    };
+
+    /**
+     * Última chave confirmada, ou {@code null} para começar do início.
+     */
+    String load(Connection connection, String table, String column) throws SQLException;
+
+    /**
+     * Registra a última chave do lote prestes a ser confirmado.
+     */
+    void save(Connection connection, String table, String column, String lastKey) throws SQLException;
+
+    /**
+     * Remove o checkpoint ao final da coluna.
+     */
+    void complete(Connection connection, String table, String column) throws SQLException;
+
+    /**
+     * Checkpoint persistido na tabela {@code checkpointTable} (colunas {@code TABELA}, {@code COLUNA}
+     * e {@code ULTIMA_CHAVE}), criada na primeira utilização. O nome deve vir de código confiável.
+     */
+    static ArchbaseReencryptionCheckpoint jdbc(String checkpointTable) {
+        return new ArchbaseReencryptionCheckpoint() {
+
+            private boolean ready;
+
+            @Override
+            public String load(Connection connection, String table, String column) throws SQLException {
+                ensureTable(connection);
+                try (PreparedStatement select = connection.prepareStatement(
+                        "SELECT ULTIMA_CHAVE FROM " + checkpointTable + " WHERE TABELA = ? AND COLUNA = ?")) {
+                    select.setString(1, table);
+                    select.setString(2, column);
+                    try (ResultSet rs = select.executeQuery()) {
+                        return rs.next() ? rs.getString(1) : null;
+                    }
+                }
+            }
+
+            @Override
+            public void save(Connection connection, String table, String column, String lastKey) throws SQLException {
+                ensureTable(connection);
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE " + checkpointTable + " SET ULTIMA_CHAVE = ? WHERE TABELA = ? AND COLUNA = ?")) {
+                    update.setString(1, lastKey);
+                    update.setString(2, table);
+                    update.setString(3, column);
+                    if (update.executeUpdate() > 0) {
+                        return;
+                    }
+                }
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO " + checkpointTable + " (TABELA, COLUNA, ULTIMA_CHAVE) VALUES (?, ?, ?)")) {
+                    insert.setString(1, table);
+                    insert.setString(2, column);
+                    insert.setString(3, lastKey);
+                    insert.executeUpdate();
+                }
+            }
+
+            @Override
+            public void complete(Connection connection, String table, String column) throws SQLException {
+                ensureTable(connection);
+                try (PreparedStatement delete = connection.prepareStatement(
+                        "DELETE FROM " + checkpointTable + " WHERE TABELA = ? AND COLUNA = ?")) {
+                    delete.setString(1, table);
+                    delete.setString(2, column);
+                    delete.executeUpdate();
+                }
+            }
+
+            private void ensureTable(Connection connection) throws SQLException {
+                if (ready) {
+                    return;
+                }
+                for (String candidate : new String[]{checkpointTable, checkpointTable.toUpperCase(),
+                        checkpointTable.toLowerCase()}) {
+                    try (ResultSet rs = connection.getMetaData()
+                            .getTables(connection.getCatalog(), null, candidate, new String[]{"TABLE"})) {
+                        if (rs.next()) {
+                            ready = true;
+                            return;
+                        }
+                    }
+                }
+                try (Statement st = connection.createStatement()) {
+                    st.execute("CREATE TABLE " + checkpointTable + " (TABELA VARCHAR(128) NOT NULL, "
+                            + "COLUNA VARCHAR(128) NOT NULL, ULTIMA_CHAVE VARCHAR(255), PRIMARY KEY (TABELA, COLUNA))");
+                }
+                ready = true;
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.archbase.security.persistence;
+
+import br.com.archbase.security.service.ArchbaseAuthenticationCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Invalida o {@link ArchbaseAuthenticationCache} quando um usuário é alterado (inclusive desativado
+ * ou bloqueado) ou excluído, para que a próxima requisição recarregue o usuário do banco. A
+ * invalidação ocorre na hora e novamente após o commit da transação.
+ *
+ * <p>Sem o container de beans do Spring no Hibernate o cache não é injetado e as entradas expiram
+ * apenas pelo TTL.
+ */
+public class AuthenticationCacheInvalidationListener {
+
+    @Autowired(required = false)
+    private ArchbaseAuthenticationCache authenticationCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(UserEntity user) {
+        if (authenticationCache == null) {
+            return;
+        }
+        authenticationCache.invalidateUser(user);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.archbase.security.persistence;
+
+import br.com.archbase.security.service.ArchbasePermissionCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Invalida o {@link ArchbasePermissionCache} quando permissões, vínculos de usuário com grupo,
+ * usuários, grupos ou perfis são alterados. A invalidação ocorre após o commit da transação.
+ *
+ * <p>Sem o container de beans do Spring no Hibernate o cache não é injetado e as entradas expiram
+ * apenas pelo TTL.
+ */
+public class PermissionCacheInvalidationListener {
+
+    @Autowired(required = false)
+    private ArchbasePermissionCache permissionCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (permissionCache == null) {
+            return;
+        }
+        if (entity instanceof UserEntity user && user.getId() != null) {
+            permissionCache.invalidateUser(user.getId());
+        } else {
+            permissionCache.invalidateAll();
+        }
+    }
+}
@@ -14,6 +14,7 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(PermissionCacheInvalidationListener.class)
 @Getter
 @Setter
 @Table(name="SEGURANCA_PERMISSAO")
@@ -18,6 +18,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Entity
+@EntityListeners(AuthenticationCacheInvalidationListener.class)
 @DiscriminatorValue("USUARIO")
 @Getter
 @Setter
@@ -12,6 +12,7 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(PermissionCacheInvalidationListener.class)
 @Table(name="SEGURANCA_GRUPO_USUARIO")
 @Getter
 @Setter
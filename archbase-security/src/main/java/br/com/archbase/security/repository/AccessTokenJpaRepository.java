@@ -2,6 +2,8 @@ package br.com.archbase.security.repository;
 
 import br.com.archbase.ddd.infraestructure.persistence.jpa.repository.ArchbaseCommonJpaRepository;
 import br.com.archbase.security.persistence.AccessTokenEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -52,4 +54,37 @@ public interface AccessTokenJpaRepository extends ArchbaseCommonJpaRepository<Ac
   @Query("SELECT COUNT(t) FROM AccessTokenEntity t WHERE t.user.id = :userId " +
           "AND t.expired = false AND t.revoked = false")
   long countValidTokensByUserId(@Param("userId") String userId);
+
+  /**
+   * Ids, em ordem crescente e após {@code afterId}, dos tokens vencidos ainda não marcados como
+   * expirados. Usado para delimitar os lotes da limpeza.
+   */
+  @Query("SELECT t.id FROM AccessTokenEntity t WHERE t.expirationDate < :date " +
+          "AND t.expired = false AND t.id > :afterId ORDER BY t.id")
+  List<String> findUnmarkedExpiredIdsAfter(@Param("date") LocalDateTime date, @Param("afterId") String afterId,
+                                           Pageable pageable);
+
+  /**
+   * Marca como expirados e revogados, em uma única instrução, os tokens vencidos da faixa de ids.
+   */
+  @Modifying
+  @Query("UPDATE AccessTokenEntity t SET t.expired = true, t.revoked = true " +
+          "WHERE t.id >= :fromId AND t.id <= :toId AND t.expirationDate < :date AND t.expired = false")
+  int markExpiredInRange(@Param("fromId") String fromId, @Param("toId") String toId,
+                         @Param("date") LocalDateTime date);
+
+  /**
+   * Ids, em ordem crescente e após {@code afterId}, dos tokens vencidos antes de {@code date}.
+   */
+  @Query("SELECT t.id FROM AccessTokenEntity t WHERE t.expirationDate < :date AND t.id > :afterId ORDER BY t.id")
+  List<String> findExpiredIdsAfter(@Param("date") LocalDateTime date, @Param("afterId") String afterId,
+                                   Pageable pageable);
+
+  /**
+   * Exclui, em uma única instrução, os tokens vencidos antes de {@code date} na faixa de ids.
+   */
+  @Modifying
+  @Query("DELETE FROM AccessTokenEntity t WHERE t.id >= :fromId AND t.id <= :toId AND t.expirationDate < :date")
+  int deleteExpiredInRange(@Param("fromId") String fromId, @Param("toId") String toId,
+                           @Param("date") LocalDateTime date);
 }
@@ -18,6 +18,9 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.List;
@@ -29,7 +32,7 @@ public class ArchbaseActionSynchronizationService {
     private final ActionJpaRepository actionRepository; // Repositório de ações
     private final ResourceJpaRepository resourceRepository; // Repositório de recursos
 
-    private Reflections reflections;
+    private List<PermissionDeclaration> declarations = List.of();
 
     @Value("${archbase.security.scan-packages:}")
     private String scanPackages;
@@ -46,9 +49,10 @@ public class ArchbaseActionSynchronizationService {
             log.warn("Nenhum pacote de varredura especificado para segurança do Archbase. Defina a propriedade 'archbase.security.scan-packages'.");
             return;
         }
-        this.reflections = new Reflections(new ConfigurationBuilder()
-                .forPackages(scanPackages.split(","))
-                .setScanners(Scanners.MethodsAnnotated));
+        this.declarations = loadDeclarations(Arrays.stream(scanPackages.split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .toList());
         try {
             synchronizeActionsAndResources();
         } catch (Exception ex) {
@@ -56,16 +60,44 @@ public class ArchbaseActionSynchronizationService {
         }
     }
 
+    /**
+     * Lê as permissões declaradas do índice gerado em tempo de compilação
+     * ({@link ArchbasePermissionIndex}); pacotes sem entradas no índice são varridos com Reflections.
+     */
+    private List<PermissionDeclaration> loadDeclarations(List<String> packages) {
+        List<PermissionDeclaration> result = new ArrayList<>();
+        List<String> packagesToScan = new ArrayList<>();
+        ArchbasePermissionIndex index = ArchbasePermissionIndex.load(classLoader());
+        for (String packageName : packages) {
+            List<ArchbasePermissionIndex.Entry> entries = index != null ? index.entriesIn(packageName) : List.of();
+            if (entries.isEmpty()) {
+                packagesToScan.add(packageName);
+            } else {
+                entries.forEach(entry -> result.add(new PermissionDeclaration(entry.resource(), entry.action(), entry.description())));
+            }
+        }
+        if (!packagesToScan.isEmpty()) {
+            log.info("Varrendo o classpath em busca de @HasPermission nos pacotes {}", packagesToScan);
+            Reflections reflections = new Reflections(new ConfigurationBuilder()
+                    .forPackages(packagesToScan.toArray(String[]::new))
+                    .setScanners(Scanners.MethodsAnnotated));
+            for (Method method : reflections.getMethodsAnnotatedWith(HasPermission.class)) {
+                HasPermission permission = method.getAnnotation(HasPermission.class);
+                result.add(new PermissionDeclaration(permission.resource(), permission.action(), permission.description()));
+            }
+        }
+        return result;
+    }
+
+    private ClassLoader classLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : getClass().getClassLoader();
+    }
+
     protected void synchronizeActionsAndResources() {
-        Set<Method> methods = reflections.getMethodsAnnotatedWith(HasPermission.class);
-        for (Method method : methods) {
-            HasPermission permission = method.getAnnotation(HasPermission.class);
-            String actionName = permission.action();
-            String description = permission.description();
-            String resourceName = permission.resource();
-
-            ResourceEntity resource = ensureResourceExists(resourceName);
-            synchronizeAction(actionName, description, resource);
+        for (PermissionDeclaration permission : declarations) {
+            ResourceEntity resource = ensureResourceExists(permission.resource());
+            synchronizeAction(permission.action(), permission.description(), resource);
         }
         disableUnusedActionsAndResources();
     }
@@ -125,9 +157,16 @@ public class ArchbaseActionSynchronizationService {
         BooleanExpression resourcePredicate = qResource.type.eq(TipoRecurso.API);
         List<ResourceEntity> allAPIResources = resourceRepository.findAll(resourcePredicate);
 
+        Set<String> declaredResources = new HashSet<>();
+        Set<String> declaredActions = new HashSet<>();
+        declarations.forEach(permission -> {
+            declaredResources.add(permission.resource());
+            declaredActions.add(actionKey(permission.resource(), permission.action()));
+        });
+
         // Desativar ações e recursos não encontrados
         allAPIActions.forEach(action -> {
-            if (!actionStillExists(action)) {
+            if (!declaredActions.contains(actionKey(action.getResource().getName(), action.getName()))) {
                 action.setActive(false);
                 action.setUpdateEntityDate(LocalDateTime.now());
                 action.setLastModifiedByUser("archbase");
@@ -136,7 +175,7 @@ public class ArchbaseActionSynchronizationService {
         });
 
         allAPIResources.forEach(resource -> {
-            if (!resourceStillExists(resource)) {
+            if (!declaredResources.contains(resource.getName())) {
                 resource.setActive(false);
                 resource.setUpdateEntityDate(LocalDateTime.now());
                 resource.setLastModifiedByUser("archbase");
@@ -145,20 +184,10 @@ public class ArchbaseActionSynchronizationService {
         });
     }
 
-    private boolean actionStillExists(ActionEntity action) {
-        Set<Method> methods = reflections.getMethodsAnnotatedWith(HasPermission.class);
-        return methods.stream().anyMatch(method -> {
-            HasPermission permission = method.getAnnotation(HasPermission.class);
-            return permission.action().equals(action.getName()) &&
-                    permission.resource().equals(action.getResource().getName());
-        });
+    private static String actionKey(String resourceName, String actionName) {
+        return resourceName + '\u0000' + actionName;
     }
 
-    private boolean resourceStillExists(ResourceEntity resource) {
-        Set<Method> methods = reflections.getMethodsAnnotatedWith(HasPermission.class);
-        return methods.stream().anyMatch(method -> {
-            HasPermission permission = method.getAnnotation(HasPermission.class);
-            return permission.resource().equals(resource.getName());
-        });
+    private record PermissionDeclaration(String resource, String action, String description) {
     }
 }
@@ -0,0 +1,306 @@
+package br.com.archbase.security.service;
+
+import br.com.archbase.security.persistence.ProfileEntity;
+import br.com.archbase.security.persistence.UserEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache de curta duração usado pelo filtro JWT para evitar, a cada requisição, a verificação da
+ * assinatura do token, a consulta do token no banco e o carregamento do {@link UserDetails}.
+ *
+ * <p>Tokens são indexados pelo hash SHA-256 (o valor do token não é mantido em memória) e só entram
+ * no cache depois de validados por completo: assinatura, expiração do JWT e situação do token no
+ * banco (não expirado e não revogado). Uma entrada nunca sobrevive à expiração do próprio JWT.
+ *
+ * <p>Dos usuários é mantido apenas um {@link UserSnapshot} imutável, indexado pelo nome de usuário e
+ * somente para usuários ativos e desbloqueados; a entidade JPA carregada nunca é compartilhada entre
+ * requisições. Cada acerto devolve um novo {@link UserEntity} destacado, montado a partir do retrato.
+ *
+ * <p>Revogações feitas por {@link ArchbaseLogoutService} e
+ * {@link ArchbaseAuthenticationService#revokeAllUserTokens}, assim como alterações e exclusões de
+ * usuários (inclusive desativação e bloqueio), invalidam as entradas na hora e novamente após o
+ * commit, descartando o que tenha sido carregado do banco antes da alteração ser confirmada. Em
+ * execuções com mais de um nó, a alteração feita em outro nó vale após o TTL.
+ *
+ * <p>Configuração: {@code archbase.security.auth-cache.enabled} (padrão {@code true}),
+ * {@code archbase.security.auth-cache.ttl} (padrão 30 segundos) e
+ * {@code archbase.security.auth-cache.max-size} (padrão 10000).
+ */
+@Component
+public class ArchbaseAuthenticationCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchbaseAuthenticationCache.class);
+
+    private final Map<String, TokenEntry> tokens = new ConcurrentHashMap<>();
+    private final Map<String, UserEntry> users = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public ArchbaseAuthenticationCache(@Value("${archbase.security.auth-cache.enabled:true}") boolean enabled,
+                                       @Value("${archbase.security.auth-cache.ttl:PT30S}") Duration ttl,
+                                       @Value("${archbase.security.auth-cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Retorna o token já validado ou {@code null} quando ausente, expirado ou com o cache desligado.
+     */
+    public VerifiedToken getToken(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = hash(token);
+        TokenEntry entry = tokens.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (isStale(entry.loadedAt(), System.nanoTime()) || entry.token().isExpired()) {
+            tokens.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.token();
+    }
+
+    /**
+     * Registra um token validado por completo. {@code expectedGeneration} deve ser obtido com
+     * {@link #generation()} antes da validação; se houve invalidação nesse intervalo o token não é
+     * registrado.
+     */
+    public void putToken(String token, VerifiedToken verified, long expectedGeneration) {
+        if (!enabled || verified.isExpired()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (tokens.size() >= maxSize) {
+            tokens.values().removeIf(entry -> isStale(entry.loadedAt(), now) || entry.token().isExpired());
+        }
+        if (tokens.size() < maxSize && generation.get() == expectedGeneration) {
+            tokens.put(hash(token), new TokenEntry(verified, now));
+        }
+    }
+
+    /**
+     * Retorna o {@link UserDetails} do usuário. Com o retrato em cache devolve um novo
+     * {@link UserEntity} destacado; caso contrário carrega com {@code loader} e, se o usuário for um
+     * {@link UserEntity} ativo e desbloqueado, guarda o seu retrato.
+     */
+    public UserDetails getUserDetails(String username, Function<String, UserDetails> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        long now = System.nanoTime();
+        UserEntry entry = users.get(username);
+        if (entry != null && !isStale(entry.loadedAt(), now)) {
+            hits.increment();
+            return entry.user().toPrincipal();
+        }
+        misses.increment();
+        long expectedGeneration = generation.get();
+        UserDetails userDetails = loader.apply(username);
+        if (users.size() >= maxSize) {
+            users.values().removeIf(candidate -> isStale(candidate.loadedAt(), now));
+        }
+        if (userDetails instanceof UserEntity user && user.isEnabled() && users.size() < maxSize
+                && generation.get() == expectedGeneration) {
+            users.put(username, new UserEntry(UserSnapshot.of(user), now));
+        }
+        return userDetails;
+    }
+
+    /**
+     * Geração corrente; incrementada a cada invalidação.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Invalida um token revogado.
+     */
+    public void invalidateToken(String token) {
+        String key = hash(token);
+        invalidate(() -> tokens.remove(key));
+    }
+
+    /**
+     * Invalida o {@link UserDetails} e todos os tokens de um usuário.
+     */
+    public void invalidateUser(String username) {
+        invalidate(() -> {
+            users.remove(username);
+            tokens.values().removeIf(entry -> username.equals(entry.token().username()));
+        });
+        log.debug("Autenticações em cache do usuário {} invalidadas", username);
+    }
+
+    /**
+     * Invalida as autenticações de um usuário pelo nome de usuário e pelo e-mail (os dois podem
+     * ser usados como subject do token).
+     */
+    public void invalidateUser(UserEntity user) {
+        if (user.getUsername() != null) {
+            invalidateUser(user.getUsername());
+        }
+        if (user.getEmail() != null && !user.getEmail().equals(user.getUsername())) {
+            invalidateUser(user.getEmail());
+        }
+    }
+
+    public void invalidateAll() {
+        invalidate(() -> {
+            tokens.clear();
+            users.clear();
+        });
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), invalidations.sum(), tokens.size(), users.size());
+    }
+
+    private boolean isStale(long loadedAt, long now) {
+        return now - loadedAt >= ttlNanos;
+    }
+
+    private void invalidate(Runnable action) {
+        Runnable invalidation = () -> {
+            generation.incrementAndGet();
+            action.run();
+            invalidations.increment();
+        };
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Token JWT com assinatura e situação no banco já verificadas.
+     *
+     * @param username     usuário (subject) do token
+     * @param tenantId     tenant do claim {@value ArchbaseJwtService#TENANT_CLAIM}, ou {@code null}
+     * @param expiresAtMillis expiração do JWT em milissegundos (epoch)
+     */
+    public record VerifiedToken(String username, String tenantId, long expiresAtMillis) {
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+
+    private record TokenEntry(VerifiedToken token, long loadedAt) {
+    }
+
+    private record UserEntry(UserSnapshot user, long loadedAt) {
+    }
+
+    /**
+     * Retrato imutável dos dados de um usuário usados na autenticação e autorização. Não guarda a
+     * senha nem as associações da entidade (grupos, tokens, agenda de acesso).
+     */
+    public record UserSnapshot(String id, String tenantId, String code, String userName, String email, String name,
+                               String nickname, String externalId, Boolean accountDeactivated, Boolean accountLocked,
+                               Boolean passwordNeverExpires, Boolean changePasswordOnNextLogin,
+                               Boolean allowPasswordChange, Boolean allowMultipleLogins, Boolean unlimitedAccessHours,
+                               Boolean isAdministrator, String profileId, String profileName) {
+
+        public static UserSnapshot of(UserEntity user) {
+            ProfileEntity profile = user.getProfile();
+            return new UserSnapshot(user.getId(), user.getTenantId(), user.getCode(), user.getUsername(),
+                    user.getEmail(), user.getName(), user.getNickname(), user.getExternalId(),
+                    user.getAccountDeactivated(), user.getAccountLocked(), user.getPasswordNeverExpires(),
+                    user.getChangePasswordOnNextLogin(), user.getAllowPasswordChange(),
+                    user.getAllowMultipleLogins(), user.getUnlimitedAccessHours(), user.getIsAdministrator(),
+                    profile != null ? profile.getId() : null, profile != null ? profile.getName() : null);
+        }
+
+        /**
+         * Monta um novo {@link UserEntity} destacado com os dados do retrato, para uso como principal
+         * de uma única requisição.
+         */
+        public UserEntity toPrincipal() {
+            UserEntity user = new UserEntity();
+            user.setId(id);
+            user.setTenantId(tenantId);
+            user.setCode(code);
+            user.setUserName(userName);
+            user.setEmail(email);
+            user.setName(name);
+            user.setNickname(nickname);
+            user.setExternalId(externalId);
+            user.setAccountDeactivated(accountDeactivated);
+            user.setAccountLocked(accountLocked);
+            user.setPasswordNeverExpires(passwordNeverExpires);
+            user.setChangePasswordOnNextLogin(changePasswordOnNextLogin);
+            user.setAllowPasswordChange(allowPasswordChange);
+            user.setAllowMultipleLogins(allowMultipleLogins);
+            user.setUnlimitedAccessHours(unlimitedAccessHours);
+            user.setIsAdministrator(isAdministrator);
+            if (profileId != null) {
+                ProfileEntity profile = new ProfileEntity();
+                profile.setId(profileId);
+                profile.setTenantId(tenantId);
+                profile.setName(profileName);
+                user.setProfile(profile);
+            }
+            return user;
+        }
+    }
+
+    /**
+     * Estatísticas do cache de autenticação.
+     *
+     * @param hits          consultas atendidas pelo cache
+     * @param misses        consultas que exigiram verificação completa ou acesso ao banco
+     * @param invalidations invalidações executadas
+     * @param tokens        tokens em cache
+     * @param users         usuários em cache
+     */
+    public record Statistics(long hits, long misses, long invalidations, int tokens, int users) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0d : (double) hits / total;
+        }
+    }
+}
@@ -50,6 +50,7 @@ public class ArchbaseAuthenticationService {
     private final UserService userService;
     private final PasswordResetTokenPersistenceAdapter passwordResetTokenPersistenceAdapter;
     private final AccessTokenPersistenceAdapter accessTokenPersistenceAdapter;
+    private final ArchbaseAuthenticationCache authenticationCache;
 
     // Injection opcional de enrichers - não quebra se não existir nenhum
     @Autowired(required = false)
@@ -220,6 +221,7 @@ public class ArchbaseAuthenticationService {
     @Transactional
     public void revokeAllUserTokens(UserEntity user) {
         log.debug("Revogando todos os tokens válidos para o usuário {}", user.getEmail());
+        authenticationCache.invalidateUser(user.getUsername());
 
         var validUserTokens = accessTokenPersistenceAdapter.findAllValidTokenByUser(user);
         if (!validUserTokens.isEmpty()) {
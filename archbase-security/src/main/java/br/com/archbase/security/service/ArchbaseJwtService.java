@@ -2,6 +2,7 @@ package br.com.archbase.security.service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -41,6 +42,10 @@ public class ArchbaseJwtService {
     @Value("${archbase.security.jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    /** Chave e parser derivados de {@code secretKey}, criados uma vez sob demanda. */
+    private volatile SecretKey signInKey;
+    private volatile JwtParser jwtParser;
+
     @PostConstruct
     public void initialize() {
         if (StringUtils.isEmpty(secretKey)) {
@@ -57,6 +62,16 @@ public class ArchbaseJwtService {
         }
     }
 
+    /**
+     * Verifica a assinatura e a expiração do token uma única vez e retorna seus claims, para que o
+     * chamador consulte usuário, tenant e expiração sem novas verificações.
+     *
+     * @throws io.jsonwebtoken.JwtException se o token for inválido ou estiver expirado
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -79,6 +94,12 @@ public class ArchbaseJwtService {
         }
     }
 
+    /** Extrai o tenant de claims já verificados; {@code null} se o claim não existir. */
+    public String extractTenantId(Claims claims) {
+        Object value = claims.get(TENANT_CLAIM);
+        return value != null ? value.toString() : null;
+    }
+
     /** Obtém o tenantId do {@link UserDetails} via {@code getTenantId()} (reflection), se houver. */
     private String resolveTenantId(UserDetails userDetails) {
         try {
@@ -142,6 +163,13 @@ public class ArchbaseJwtService {
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
 
+    /** Valida claims já verificados por {@link #parseClaims(String)} contra o usuário. */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject())
+                && claims.getExpiration() != null
+                && claims.getExpiration().toInstant().isAfter(Instant.now());
+    }
+
     public boolean isTokenExpired(String token) {
         try {
             Date expiration = extractExpiration(token);
@@ -156,17 +184,22 @@ public class ArchbaseJwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parser().verifyWith(getSignInKey()).build();
+            jwtParser = parser;
+        }
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signInKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signInKey = key;
+        }
+        return key;
     }
 
     public record TokenResult(String token, Long expiresIn) {
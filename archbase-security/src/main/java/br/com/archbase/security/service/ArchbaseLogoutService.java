@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 public class ArchbaseLogoutService implements LogoutHandler {
 
     private final AccessTokenJpaRepository tokenRepository;
+    private final ArchbaseAuthenticationCache authenticationCache;
 
     @Override
     public void logout(
@@ -27,6 +28,7 @@ public class ArchbaseLogoutService implements LogoutHandler {
             return;
         }
         jwt = authHeader.substring(7);
+        authenticationCache.invalidateToken(jwt);
         var storedToken = tokenRepository.findByToken(jwt)
                 .orElse(null);
         if (storedToken != null) {
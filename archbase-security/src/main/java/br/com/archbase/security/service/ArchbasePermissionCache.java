@@ -0,0 +1,145 @@
+package br.com.archbase.security.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache dos {@link ArchbasePermissionSnapshot} por (usuário, tenant).
+ *
+ * <p>As entradas são invalidadas após o commit de alterações em permissões, grupos, vínculos de
+ * usuário com grupo e perfis (ver {@code PermissionCacheInvalidationListener}) e expiram pelo TTL
+ * como garantia adicional. Um contador de geração impede que um carregamento iniciado antes de uma
+ * invalidação grave um retrato desatualizado.
+ *
+ * <p>Configuração: {@code archbase.security.permission-cache.enabled} (padrão {@code true}),
+ * {@code archbase.security.permission-cache.ttl} (padrão 5 minutos) e
+ * {@code archbase.security.permission-cache.max-size} (padrão 10000).
+ */
+@Component
+public class ArchbasePermissionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchbasePermissionCache.class);
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public ArchbasePermissionCache(@Value("${archbase.security.permission-cache.enabled:true}") boolean enabled,
+                                   @Value("${archbase.security.permission-cache.ttl:PT5M}") Duration ttl,
+                                   @Value("${archbase.security.permission-cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Retorna o retrato do usuário no tenant, carregando-o com {@code loader} quando ausente ou
+     * expirado.
+     */
+    public ArchbasePermissionSnapshot get(String userId, String tenantId, Supplier<ArchbasePermissionSnapshot> loader) {
+        if (!enabled) {
+            misses.increment();
+            return loader.get();
+        }
+        Key key = new Key(userId, tenantId);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            hits.increment();
+            return entry.snapshot;
+        }
+        misses.increment();
+        long expectedGeneration = generation.get();
+        ArchbasePermissionSnapshot snapshot = loader.get();
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+        }
+        if (entries.size() < maxSize && generation.get() == expectedGeneration) {
+            entries.put(key, new Entry(snapshot, now));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Invalida os retratos de um usuário em todos os tenants após o commit da transação corrente.
+     */
+    public void invalidateUser(String userId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.keySet().removeIf(key -> key.userId().equals(userId));
+            invalidations.increment();
+            log.debug("Permissões em cache do usuário {} invalidadas", userId);
+        });
+    }
+
+    /**
+     * Invalida todos os retratos após o commit da transação corrente.
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.clear();
+            invalidations.increment();
+            log.debug("Cache de permissões invalidado");
+        });
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), invalidations.sum(), entries.size());
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> now - entry.loadedAt >= ttlNanos);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Key(String userId, String tenantId) {
+    }
+
+    private record Entry(ArchbasePermissionSnapshot snapshot, long loadedAt) {
+    }
+
+    /**
+     * Estatísticas do cache de permissões.
+     *
+     * @param hits          verificações atendidas pelo cache
+     * @param misses        verificações que carregaram permissões do banco
+     * @param invalidations invalidações executadas
+     * @param size          retratos em cache
+     */
+    public record Statistics(long hits, long misses, long invalidations, int size) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0d : (double) hits / total;
+        }
+    }
+}
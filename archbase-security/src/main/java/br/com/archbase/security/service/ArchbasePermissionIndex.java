@@ -0,0 +1,97 @@
+package br.com.archbase.security.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Índice dos métodos anotados com {@link br.com.archbase.security.annotation.HasPermission}, gerado
+ * em tempo de compilação pelo {@code ArchbaseHandlerIndexProcessor} (módulo
+ * archbase-annotation-processor) em {@value #LOCATION}.
+ *
+ * <p>Cada linha tem os campos classe, método, recurso, ação e descrição separados por tabulação
+ * ({@code \t}, {@code \n}, {@code \r} e {@code \\} escapados). A propriedade de sistema
+ * {@value #IGNORE_PROPERTY}{@code =true} desliga o índice e força a varredura com Reflections.
+ */
+@Slf4j
+final class ArchbasePermissionIndex {
+
+    static final String LOCATION = "META-INF/archbase/permissions.idx";
+    static final String IGNORE_PROPERTY = "archbase.index.ignore";
+
+    private final List<Entry> entries;
+
+    private ArchbasePermissionIndex(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Carrega os índices visíveis pelo {@code classLoader}; {@code null} se não houver nenhum ou se o
+     * índice estiver desligado.
+     */
+    static ArchbasePermissionIndex load(ClassLoader classLoader) {
+        if (Boolean.getBoolean(IGNORE_PROPERTY)) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>();
+        boolean found = false;
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                found = true;
+                read(resources.nextElement(), entries);
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível ler o índice de permissões {}: {}", LOCATION, e.getMessage());
+            return null;
+        }
+        return found ? new ArchbasePermissionIndex(entries) : null;
+    }
+
+    private static void read(URL url, List<Entry> entries) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length == 5) {
+                    entries.add(new Entry(unescape(fields[0]), unescape(fields[1]), unescape(fields[2]),
+                            unescape(fields[3]), unescape(fields[4])));
+                }
+            }
+        }
+    }
+
+    /**
+     * Entradas declaradas em classes do pacote informado.
+     */
+    List<Entry> entriesIn(String packagePrefix) {
+        return entries.stream().filter(entry -> entry.declaringClass().startsWith(packagePrefix)).toList();
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    record Entry(String declaringClass, String method, String resource, String action, String description) {
+    }
+}
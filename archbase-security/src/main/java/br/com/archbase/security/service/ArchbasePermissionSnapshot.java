@@ -0,0 +1,84 @@
+package br.com.archbase.security.service;
+
+import br.com.archbase.security.persistence.PermissionEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retrato imutável das permissões de um usuário: recurso → ação → escopos (tenant, empresa e
+ * projeto). Montado uma única vez a partir das {@link PermissionEntity} e consultado em memória a
+ * cada verificação de {@code @HasPermission}.
+ */
+public final class ArchbasePermissionSnapshot {
+
+    public static final ArchbasePermissionSnapshot EMPTY = new ArchbasePermissionSnapshot(Map.of());
+
+    private final Map<String, Map<String, List<Scope>>> scopesByResourceAndAction;
+
+    private ArchbasePermissionSnapshot(Map<String, Map<String, List<Scope>>> scopesByResourceAndAction) {
+        this.scopesByResourceAndAction = scopesByResourceAndAction;
+    }
+
+    /**
+     * Monta o retrato a partir das permissões carregadas com ação e recurso.
+     */
+    public static ArchbasePermissionSnapshot of(Collection<PermissionEntity> permissions) {
+        Map<String, Map<String, List<Scope>>> building = new HashMap<>();
+        for (PermissionEntity permission : permissions) {
+            if (permission.getAction() == null || permission.getAction().getResource() == null) {
+                continue;
+            }
+            building.computeIfAbsent(permission.getAction().getResource().getName(), k -> new HashMap<>())
+                    .computeIfAbsent(permission.getAction().getName(), k -> new ArrayList<>())
+                    .add(new Scope(permission.getTenantId(), permission.getCompanyId(), permission.getProjectId()));
+        }
+        if (building.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Map<String, List<Scope>>> frozen = new HashMap<>(building.size());
+        building.forEach((resource, actions) -> {
+            Map<String, List<Scope>> frozenActions = new HashMap<>(actions.size());
+            actions.forEach((action, scopes) -> frozenActions.put(action, List.copyOf(scopes)));
+            frozen.put(resource, Map.copyOf(frozenActions));
+        });
+        return new ArchbasePermissionSnapshot(Map.copyOf(frozen));
+    }
+
+    /**
+     * Verifica se existe permissão para a ação no recurso dentro do escopo informado. Parâmetros de
+     * escopo nulos, assim como escopos nulos na permissão, aceitam qualquer valor.
+     */
+    public boolean allows(String action, String resource, String tenantId, String companyId, String projectId) {
+        Map<String, List<Scope>> actions = scopesByResourceAndAction.get(resource);
+        if (actions == null) {
+            return false;
+        }
+        List<Scope> scopes = actions.get(action);
+        if (scopes == null) {
+            return false;
+        }
+        for (Scope scope : scopes) {
+            if (scope.matches(tenantId, companyId, projectId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return scopesByResourceAndAction.isEmpty();
+    }
+
+    record Scope(String tenantId, String companyId, String projectId) {
+
+        boolean matches(String tenantId, String companyId, String projectId) {
+            return (tenantId == null || this.tenantId == null || tenantId.equals(this.tenantId)) &&
+                    (companyId == null || this.companyId == null || companyId.equals(this.companyId)) &&
+                    (projectId == null || this.projectId == null || projectId.equals(this.projectId));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.archbase.security.service;
 
+import br.com.archbase.ddd.context.ArchbaseTenantContext;
 import br.com.archbase.security.domain.dto.ResourcePermissionsDto;
 import br.com.archbase.security.domain.entity.User;
 import br.com.archbase.security.persistence.PermissionEntity;
@@ -21,24 +22,23 @@ public class ArchbaseSecurityService {
     @Autowired
     private PermissionJpaRepository permissionRepository;
 
-    public boolean hasPermission(Authentication authentication, String action, String resource, String tenantId, String companyId, String projectId) {
-        if (((UserEntity) authentication.getPrincipal()).getIsAdministrator() &&  ((UserEntity) authentication.getPrincipal()).isEnabled()){
-            return  true;
-        }
-        String userId = ((UserEntity) authentication.getPrincipal()).getId();
-        List<PermissionEntity> permissions = permissionRepository.findBySecurityIdAndActionNameAndResourceName(
-                userId, action, resource);
+    @Autowired
+    private ArchbasePermissionCache permissionCache;
 
-        if (permissions.stream().anyMatch(PermissionEntity::allowAllTenantsAndCompaniesAndProjects)){
+    /**
+     * Verifica a permissão do usuário autenticado usando o retrato de permissões em cache
+     * ({@link ArchbasePermissionCache}); o banco só é consultado quando o retrato do usuário no
+     * tenant corrente ainda não foi carregado, expirou ou foi invalidado.
+     */
+    public boolean hasPermission(Authentication authentication, String action, String resource, String tenantId, String companyId, String projectId) {
+        UserEntity principal = (UserEntity) authentication.getPrincipal();
+        if (principal.getIsAdministrator() && principal.isEnabled()) {
             return true;
         }
-
-        // Verifica permissão considerando tenantId, empresaId e projetoId se fornecidos
-        return permissions.stream().anyMatch(permission ->
-                (tenantId == null || permission.getTenantId() == null || tenantId.equals(permission.getTenantId())) &&
-                        (companyId == null || permission.getCompanyId() == null || companyId.equals(permission.getCompanyId())) &&
-                        (projectId == null || permission.getProjectId() == null || projectId.equals(permission.getProjectId()))
-        );
+        String userId = principal.getId();
+        ArchbasePermissionSnapshot snapshot = permissionCache.get(userId, ArchbaseTenantContext.getTenantId(),
+                () -> ArchbasePermissionSnapshot.of(permissionRepository.findAllBySecurityIds(Set.of(userId))));
+        return snapshot.allows(action, resource, tenantId, companyId, projectId);
     }
 
     /**
@@ -0,0 +1,27 @@
+package br.com.archbase.security.service;
+
+import java.time.Duration;
+
+/**
+ * Trava distribuída usada por {@link ArchbaseTokenCleanupService} para que apenas um nó execute a
+ * limpeza de tokens por vez.
+ *
+ * <p>Sem um bean desta interface a limpeza é protegida apenas contra execuções simultâneas no
+ * mesmo nó. Em implantações com vários nós registre uma implementação baseada no banco (por
+ * exemplo, advisory lock do PostgreSQL ou ShedLock).
+ */
+public interface ArchbaseTokenCleanupLock {
+
+    /**
+     * Tenta obter a trava sem bloquear.
+     *
+     * @param lease tempo máximo de posse, liberado automaticamente se o nó cair
+     * @return {@code true} se a trava foi obtida
+     */
+    boolean tryLock(Duration lease);
+
+    /**
+     * Libera a trava obtida por {@link #tryLock(Duration)}.
+     */
+    void unlock();
+}
@@ -1,22 +1,39 @@
 package br.com.archbase.security.service;
 
-import br.com.archbase.security.persistence.AccessTokenEntity;
 import br.com.archbase.security.repository.AccessTokenJpaRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 
 /**
- * Serviço para limpeza e manutenção dos tokens
+ * Serviço para limpeza e manutenção dos tokens.
+ *
+ * <p>A limpeza é feita por instruções em lote ({@code UPDATE}/{@code DELETE}) sobre faixas de ids
+ * de até {@code archbase.security.token.cleanup.chunk-size} tokens (padrão 1000), cada faixa em sua
+ * própria transação. Nenhuma entidade é carregada, os locks duram apenas um lote e o trabalho já
+ * confirmado não se perde se a execução for interrompida. O andamento fica disponível em
+ * {@link #getProgress()} e é registrado no log com a vazão em linhas por segundo.
+ *
+ * <p>Apenas uma execução ocorre por vez no nó; com um bean {@link ArchbaseTokenCleanupLock}
+ * apenas um nó do cluster executa a limpeza.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,60 +41,155 @@ import java.util.List;
 @ConditionalOnProperty(name = "archbase.security.token.cleanup.enabled", havingValue = "true")
 public class ArchbaseTokenCleanupService {
 
+    private static final long PROGRESS_LOG_INTERVAL_MILLIS = 10_000;
+
     private final AccessTokenJpaRepository tokenRepository;
-    
+    private final PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private ArchbaseTokenCleanupLock cleanupLock;
+
     @Value("${archbase.security.token.cleanup.retention-days:30}")
     private int tokenRetentionDays;
 
+    @Value("${archbase.security.token.cleanup.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${archbase.security.token.cleanup.lock-lease:PT1H}")
+    private Duration lockLease;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile CleanupProgress progress;
+
     /**
      * Tarefa agendada para limpar tokens expirados
      * Executada uma vez por dia
      */
     @Scheduled(cron = "${archbase.security.token.cleanup.cron:0 0 1 * * ?}") // Default: 1AM todos os dias
-    @Transactional
     public void cleanupExpiredTokens() {
-        log.info("Iniciando limpeza agendada de tokens expirados");
-        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
-        
+        if (!running.compareAndSet(false, true)) {
+            log.info("Limpeza de tokens já está em execução neste nó");
+            return;
+        }
         try {
-            // Marcar tokens expirados que ainda não foram marcados como tal
-            List<AccessTokenEntity> expiredTokens = tokenRepository.findByExpirationDateBeforeAndExpiredFalse(now);
-            
-            if (!expiredTokens.isEmpty()) {
-                log.info("Marcando {} tokens como expirados", expiredTokens.size());
-                expiredTokens.forEach(token -> {
-                    token.setExpired(true);
-                    token.setRevoked(true);
-                });
-                tokenRepository.saveAll(expiredTokens);
-            } else {
-                log.debug("Nenhum token expirado não marcado encontrado");
+            if (cleanupLock != null && !cleanupLock.tryLock(lockLease)) {
+                log.info("Limpeza de tokens em execução em outro nó");
+                return;
             }
-            
-            // Remover tokens muito antigos para limpeza do banco
-            LocalDateTime oldestRetentionDate = now.minus(tokenRetentionDays, ChronoUnit.DAYS);
-            List<AccessTokenEntity> veryOldTokens = tokenRepository.findExpiredTokensOlderThan(oldestRetentionDate);
-            
-            if (!veryOldTokens.isEmpty()) {
-                log.info("Excluindo {} tokens muito antigos (> {} dias)", veryOldTokens.size(), tokenRetentionDays);
-                tokenRepository.deleteAll(veryOldTokens);
-            } else {
-                log.debug("Nenhum token muito antigo encontrado para exclusão");
+            try {
+                runCleanup();
+            } finally {
+                if (cleanupLock != null) {
+                    cleanupLock.unlock();
+                }
             }
-            
-            log.info("Limpeza de tokens concluída com sucesso");
         } catch (Exception e) {
             log.error("Erro durante limpeza de tokens", e);
+        } finally {
+            running.set(false);
         }
     }
-    
+
     /**
      * Método para forçar a limpeza de tokens imediatamente
      * Útil para chamadas administrativas
      */
-    @Transactional
     public void forceTokenCleanup() {
         log.info("Iniciando limpeza forçada de tokens");
         cleanupExpiredTokens();
     }
-}
\ No newline at end of file
+
+    /**
+     * Andamento da execução corrente ou da última execução; {@code null} se a limpeza nunca rodou.
+     */
+    public CleanupProgress getProgress() {
+        return progress;
+    }
+
+    private void runCleanup() {
+        log.info("Iniciando limpeza agendada de tokens expirados");
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Marcar tokens expirados que ainda não foram marcados como tal
+        long marked = processInChunks("marcação", transactionTemplate,
+                (afterId, page) -> tokenRepository.findUnmarkedExpiredIdsAfter(now, afterId, page),
+                (fromId, toId) -> tokenRepository.markExpiredInRange(fromId, toId, now));
+
+        // Remover tokens muito antigos para limpeza do banco
+        LocalDateTime oldestRetentionDate = now.minus(tokenRetentionDays, ChronoUnit.DAYS);
+        long deleted = processInChunks("exclusão", transactionTemplate,
+                (afterId, page) -> tokenRepository.findExpiredIdsAfter(oldestRetentionDate, afterId, page),
+                (fromId, toId) -> tokenRepository.deleteExpiredInRange(fromId, toId, oldestRetentionDate));
+
+        log.info("Limpeza de tokens concluída com sucesso: {} marcados como expirados, {} excluídos (> {} dias)",
+                marked, deleted, tokenRetentionDays);
+    }
+
+    /**
+     * Percorre os ids em ordem crescente, aplicando {@code operation} a cada faixa de até
+     * {@link #chunkSize} ids em uma transação própria.
+     */
+    private long processInChunks(String phase, TransactionTemplate transactionTemplate,
+                                 BiFunction<String, Pageable, List<String>> idsAfter,
+                                 BiFunction<String, String, Integer> operation) {
+        Pageable page = PageRequest.of(0, Math.max(1, chunkSize));
+        Instant startedAt = Instant.now();
+        long lastLog = System.currentTimeMillis();
+        long rows = 0;
+        String lastId = "";
+        while (true) {
+            String afterId = lastId;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<String> ids = idsAfter.apply(afterId, page);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                String toId = ids.get(ids.size() - 1);
+                return new Chunk(toId, operation.apply(ids.get(0), toId), ids.size());
+            });
+            if (chunk == null) {
+                break;
+            }
+            rows += chunk.affected();
+            lastId = chunk.lastId();
+            progress = new CleanupProgress(phase, rows, lastId, startedAt, rowsPerSecond(rows, startedAt), false);
+            if (System.currentTimeMillis() - lastLog >= PROGRESS_LOG_INTERVAL_MILLIS) {
+                log.info("Limpeza de tokens ({}): {} linhas, {} linhas/s, último id {}",
+                        phase, rows, String.format("%.1f", progress.rowsPerSecond()), lastId);
+                lastLog = System.currentTimeMillis();
+            }
+            if (chunk.selected() < page.getPageSize()) {
+                break;
+            }
+        }
+        progress = new CleanupProgress(phase, rows, lastId, startedAt, rowsPerSecond(rows, startedAt), true);
+        log.info("Limpeza de tokens ({}) concluída: {} linhas em {} ms ({} linhas/s)", phase, rows,
+                Duration.between(startedAt, Instant.now()).toMillis(), String.format("%.1f", progress.rowsPerSecond()));
+        return rows;
+    }
+
+    private static double rowsPerSecond(long rows, Instant startedAt) {
+        long millis = Math.max(1, Duration.between(startedAt, Instant.now()).toMillis());
+        return rows * 1000d / millis;
+    }
+
+    private record Chunk(String lastId, int affected, int selected) {
+    }
+
+    /**
+     * Andamento de uma etapa da limpeza.
+     *
+     * @param phase         etapa ("marcação" ou "exclusão")
+     * @param processedRows linhas alteradas ou excluídas até o momento
+     * @param lastId        último id processado; a etapa avança em ordem crescente de id
+     * @param startedAt     início da etapa
+     * @param rowsPerSecond vazão da etapa
+     * @param finished      {@code true} quando a etapa terminou
+     */
+    public record CleanupProgress(String phase, long processedRows, String lastId, Instant startedAt,
+                                  double rowsPerSecond, boolean finished) {
+    }
+}
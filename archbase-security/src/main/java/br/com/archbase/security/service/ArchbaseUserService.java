@@ -20,7 +20,11 @@ public class ArchbaseUserService {
     private final UserJpaRepository repository;
     public void changePassword(ChangePasswordRequest request, Principal connectedUser) {
 
-        var user = (UserEntity) ((UsernamePasswordAuthenticationToken) connectedUser).getPrincipal();
+        var principal = (UserEntity) ((UsernamePasswordAuthenticationToken) connectedUser).getPrincipal();
+        // O principal pode ser um retrato destacado do cache de autenticação (sem senha nem
+        // associações); a alteração é feita sobre o usuário carregado do banco.
+        var user = repository.findById(principal.getId())
+                .orElseThrow(() -> new IllegalStateException("Usuário não encontrado"));
 
         // verifique se a senha atual está correta
         if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
@@ -2,6 +2,8 @@ package br.com.archbase.security.crypto;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.Connection;
@@ -93,6 +95,42 @@ class ArchbaseColumnReencryptorTest {
         assertFalse(stored.contains("RAW:"));
     }
 
+    @Test
+    void recifraEmLotesERetomaDoCheckpointAposFalha() throws SQLException {
+        for (int i = 1; i <= 7; i++) {
+            insert("K" + i, "valor-" + i);
+        }
+        ArchbaseColumnReencryptor emLotes = new ArchbaseColumnReencryptor(crypto, 2, 4);
+        ArchbaseReencryptionCheckpoint checkpoint = ArchbaseReencryptionCheckpoint.jdbc("T_CHECKPOINT");
+
+        // Falha no terceiro lote (K5): os dois primeiros lotes já foram confirmados.
+        assertThrows(IllegalStateException.class, () -> emLotes.reencryptColumnInChunks(connection,
+                "T_SECRET", "ID", "VALOR", value -> {
+                    if (value.equals("valor-5")) {
+                        throw new IllegalStateException("falha simulada");
+                    }
+                    return value;
+                }, checkpoint));
+
+        Map<String, String> parcial = readAll();
+        for (String id : new String[]{"K1", "K2", "K3", "K4"}) {
+            assertTrue(parcial.get(id).startsWith("gcm:"), id + " deveria estar confirmado");
+        }
+        assertEquals("valor-5", parcial.get("K5"), "lote com falha deve ser desfeito");
+        assertEquals("K4", checkpoint.load(connection, "T_SECRET", "VALOR"));
+        assertTrue(connection.getAutoCommit(), "auto-commit original deve ser restaurado");
+
+        int restantes = emLotes.reencryptColumnInChunks(connection, "T_SECRET", "ID", "VALOR",
+                ArchbaseColumnReencryptor.PLAINTEXT, checkpoint);
+
+        assertEquals(3, restantes, "retomada deve processar apenas K5..K7");
+        Map<String, String> rows = readAll();
+        for (int i = 1; i <= 7; i++) {
+            assertEquals("valor-" + i, crypto.decrypt(rows.get("K" + i).substring(4)));
+        }
+        assertNull(checkpoint.load(connection, "T_SECRET", "VALOR"), "checkpoint removido ao concluir");
+    }
+
     private void insert(String id, String valor) throws SQLException {
         try (var ps = connection.prepareStatement("INSERT INTO T_SECRET (ID, VALOR) VALUES (?, ?)")) {
             ps.setString(1, id);
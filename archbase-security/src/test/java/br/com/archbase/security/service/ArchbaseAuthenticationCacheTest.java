@@ -0,0 +1,230 @@
+package br.com.archbase.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.archbase.security.persistence.AuthenticationCacheInvalidationListener;
+import br.com.archbase.security.persistence.ProfileEntity;
+import br.com.archbase.security.persistence.UserEntity;
+
+/**
+ * Cobre o {@link ArchbaseAuthenticationCache}: acerto de tokens e usuários, expiração pelo TTL e
+ * pelo JWT, retrato imutável do usuário (nunca a entidade carregada) e invalidação por logout,
+ * por alteração do usuário e após o commit.
+ */
+class ArchbaseAuthenticationCacheTest {
+
+    private static final long ONE_HOUR = 3_600_000L;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tokenValidadoEAtendidoPeloCache() {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMinutes(1));
+        ArchbaseAuthenticationCache.VerifiedToken verified = verified("ana@archbase.com", ONE_HOUR);
+
+        assertNull(cache.getToken("jwt-1"));
+        cache.putToken("jwt-1", verified, cache.generation());
+
+        assertSame(verified, cache.getToken("jwt-1"));
+        assertEquals(1, cache.getStatistics().hits());
+        assertEquals(1, cache.getStatistics().misses());
+    }
+
+    @Test
+    void tokenNaoSobreviveAoTtlNemAExpiracaoDoJwt() throws InterruptedException {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMillis(20));
+        cache.putToken("jwt-1", verified("ana@archbase.com", ONE_HOUR), cache.generation());
+        cache.putToken("jwt-expirado", verified("ana@archbase.com", -1), cache.generation());
+
+        assertNull(cache.getToken("jwt-expirado"));
+        Thread.sleep(40);
+        assertNull(cache.getToken("jwt-1"));
+        assertEquals(0, cache.getStatistics().tokens());
+    }
+
+    @Test
+    void tokenValidadoAntesDeUmaInvalidacaoNaoEntraNoCache() {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMinutes(1));
+        long generation = cache.generation();
+
+        cache.invalidateToken("jwt-1");
+        cache.putToken("jwt-1", verified("ana@archbase.com", ONE_HOUR), generation);
+
+        assertNull(cache.getToken("jwt-1"));
+    }
+
+    @Test
+    void logoutInvalidaOToken() {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMinutes(1));
+        cache.putToken("jwt-1", verified("ana@archbase.com", ONE_HOUR), cache.generation());
+
+        cache.invalidateToken("jwt-1");
+
+        assertNull(cache.getToken("jwt-1"));
+    }
+
+    @Test
+    void acertoDevolveUmNovoPrincipalMontadoDoRetrato() {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMinutes(1));
+        UserEntity loaded = user("ana@archbase.com", false, false);
+        Function<String, UserDetails> loader = loader(loaded);
+
+        assertSame(loaded, cache.getUserDetails("ana@archbase.com", loader));
+        UserDetails first = cache.getUserDetails("ana@archbase.com", loader);
+        UserDetails second = cache.getUserDetails("ana@archbase.com", loader);
+
+        assertEquals(1, loads.get());
+        UserEntity principal = assertInstanceOf(UserEntity.class, first);
+        assertNotSame(loaded, principal);
+        assertNotSame(first, second);
+        assertEquals("u1", principal.getId());
+        assertEquals("ana@archbase.com", principal.getUsername());
+        assertEquals("gerente", principal.getProfile().getName());
+        assertNull(principal.getPassword());
+        assertEquals(true, principal.isEnabled());
+    }
+
+    @Test
+    void alteracaoNaEntidadeCarregadaNaoAfetaOCache() {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMinutes(1));
+        UserEntity loaded = user("ana@archbase.com", false, false);
+        cache.getUserDetails("ana@archbase.com", loader(loaded));
+
+        loaded.setAccountLocked(true);
+        UserEntity cached = (UserEntity) cache.getUserDetails("ana@archbase.com", loader(loaded));
+
+        assertEquals(false, cached.getAccountLocked());
+    }
+
+    @Test
+    void usuarioDesativadoOuBloqueadoNaoEntraNoCache() {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMinutes(1));
+
+        cache.getUserDetails("bloqueado@archbase.com", loader(user("bloqueado@archbase.com", false, true)));
+        cache.getUserDetails("bloqueado@archbase.com", loader(user("bloqueado@archbase.com", false, true)));
+        cache.getUserDetails("inativo@archbase.com", loader(user("inativo@archbase.com", true, false)));
+        cache.getUserDetails("inativo@archbase.com", loader(user("inativo@archbase.com", true, false)));
+
+        assertEquals(4, loads.get());
+        assertEquals(0, cache.getStatistics().users());
+    }
+
+    @Test
+    void usuarioRecarregadoAposOTtl() throws InterruptedException {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMillis(20));
+        Function<String, UserDetails> loader = loader(user("ana@archbase.com", false, false));
+
+        cache.getUserDetails("ana@archbase.com", loader);
+        Thread.sleep(40);
+        cache.getUserDetails("ana@archbase.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void alteracaoDoUsuarioInvalidaRetratoETokens() {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMinutes(1));
+        UserEntity ana = user("ana", false, false);
+        ana.setEmail("ana@archbase.com");
+        cache.getUserDetails("ana", loader(ana));
+        cache.getUserDetails("ana@archbase.com", loader(ana));
+        cache.putToken("jwt-1", verified("ana", ONE_HOUR), cache.generation());
+        cache.putToken("jwt-2", verified("ana@archbase.com", ONE_HOUR), cache.generation());
+        cache.putToken("jwt-3", verified("bia@archbase.com", ONE_HOUR), cache.generation());
+
+        AuthenticationCacheInvalidationListener listener = new AuthenticationCacheInvalidationListener();
+        ReflectionTestUtils.setField(listener, "authenticationCache", cache);
+        ana.setAccountLocked(true);
+        listener.onChange(ana);
+
+        assertEquals(0, cache.getStatistics().users());
+        assertNull(cache.getToken("jwt-1"));
+        assertNull(cache.getToken("jwt-2"));
+        assertNotNull(cache.getToken("jwt-3"));
+    }
+
+    @Test
+    void invalidacaoSeRepeteAposOCommit() {
+        ArchbaseAuthenticationCache cache = cache(Duration.ofMinutes(1));
+        UserEntity ana = user("ana@archbase.com", false, false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateUser("ana@archbase.com");
+        // carregamento concorrente com a transação, ainda com os dados antigos
+        cache.getUserDetails("ana@archbase.com", loader(ana));
+        assertEquals(1, cache.getStatistics().users());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(0, cache.getStatistics().users());
+    }
+
+    @Test
+    void desabilitadoSempreCarrega() {
+        ArchbaseAuthenticationCache cache = new ArchbaseAuthenticationCache(false, Duration.ofMinutes(1), 100);
+        Function<String, UserDetails> loader = loader(user("ana@archbase.com", false, false));
+
+        cache.getUserDetails("ana@archbase.com", loader);
+        cache.getUserDetails("ana@archbase.com", loader);
+        cache.putToken("jwt-1", verified("ana@archbase.com", ONE_HOUR), cache.generation());
+
+        assertEquals(2, loads.get());
+        assertNull(cache.getToken("jwt-1"));
+        assertFalse(cache.getStatistics().users() > 0);
+    }
+
+    private Function<String, UserDetails> loader(UserEntity user) {
+        return username -> {
+            loads.incrementAndGet();
+            return user;
+        };
+    }
+
+    private static ArchbaseAuthenticationCache cache(Duration ttl) {
+        return new ArchbaseAuthenticationCache(true, ttl, 100);
+    }
+
+    private static ArchbaseAuthenticationCache.VerifiedToken verified(String username, long expiresInMillis) {
+        return new ArchbaseAuthenticationCache.VerifiedToken(username, "t1",
+                System.currentTimeMillis() + expiresInMillis);
+    }
+
+    private static UserEntity user(String userName, boolean deactivated, boolean locked) {
+        ProfileEntity profile = new ProfileEntity();
+        profile.setId("p1");
+        profile.setName("gerente");
+        UserEntity user = new UserEntity();
+        user.setId("u1");
+        user.setUserName(userName);
+        user.setPassword("{bcrypt}hash");
+        user.setAccountDeactivated(deactivated);
+        user.setAccountLocked(locked);
+        user.setIsAdministrator(false);
+        user.setProfile(profile);
+        return user;
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.archbase.security.service;
+
+import static br.com.archbase.security.service.ArchbasePermissionSnapshotTest.permission;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cobre o {@link ArchbasePermissionCache}: acerto por (usuário, tenant), expiração pelo TTL,
+ * invalidação por usuário e total (adiada para o commit), descarte de carregamentos que concorreram
+ * com uma invalidação e limite de tamanho.
+ */
+class ArchbasePermissionCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<ArchbasePermissionSnapshot> loader = () -> {
+        loads.incrementAndGet();
+        return ArchbasePermissionSnapshot.of(List.of(permission("pedido", "criar", null, null, null)));
+    };
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void carregaUmaVezPorUsuarioETenant() {
+        ArchbasePermissionCache cache = cache(Duration.ofMinutes(5), 100);
+
+        ArchbasePermissionSnapshot first = cache.get("u1", "t1", loader);
+        assertSame(first, cache.get("u1", "t1", loader));
+        cache.get("u1", "t2", loader);
+        cache.get("u2", "t1", loader);
+
+        assertEquals(3, loads.get());
+        ArchbasePermissionCache.Statistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.hits());
+        assertEquals(3, statistics.misses());
+        assertEquals(3, statistics.size());
+        assertEquals(0.25d, statistics.hitRate());
+    }
+
+    @Test
+    void recarregaAposExpirarOTtl() throws InterruptedException {
+        ArchbasePermissionCache cache = cache(Duration.ofMillis(20), 100);
+
+        cache.get("u1", "t1", loader);
+        Thread.sleep(40);
+        cache.get("u1", "t1", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidaApenasOUsuarioInformado() {
+        ArchbasePermissionCache cache = cache(Duration.ofMinutes(5), 100);
+        cache.get("u1", "t1", loader);
+        cache.get("u1", "t2", loader);
+        cache.get("u2", "t1", loader);
+
+        cache.invalidateUser("u1");
+
+        assertEquals(1, cache.getStatistics().size());
+        cache.get("u2", "t1", loader);
+        assertEquals(3, loads.get());
+        cache.get("u1", "t1", loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void invalidacaoAguardaOCommitDaTransacao() {
+        ArchbasePermissionCache cache = cache(Duration.ofMinutes(5), 100);
+        cache.get("u1", "t1", loader);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateAll();
+        assertEquals(1, cache.getStatistics().size());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(0, cache.getStatistics().size());
+        assertEquals(1, cache.getStatistics().invalidations());
+    }
+
+    @Test
+    void descartaCarregamentoQueConcorreuComInvalidacao() {
+        ArchbasePermissionCache cache = cache(Duration.ofMinutes(5), 100);
+
+        cache.get("u1", "t1", () -> {
+            cache.invalidateUser("u1");
+            return loader.get();
+        });
+        cache.get("u1", "t1", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void naoUltrapassaOTamanhoMaximo() {
+        ArchbasePermissionCache cache = cache(Duration.ofMinutes(5), 2);
+
+        cache.get("u1", "t1", loader);
+        cache.get("u2", "t1", loader);
+        cache.get("u3", "t1", loader);
+
+        assertEquals(2, cache.getStatistics().size());
+    }
+
+    @Test
+    void desabilitadoSempreCarrega() {
+        ArchbasePermissionCache cache = new ArchbasePermissionCache(false, Duration.ofMinutes(5), 100);
+
+        cache.get("u1", "t1", loader);
+        cache.get("u1", "t1", loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getStatistics().size());
+    }
+
+    private static ArchbasePermissionCache cache(Duration ttl, int maxSize) {
+        return new ArchbasePermissionCache(true, ttl, maxSize);
+    }
+}
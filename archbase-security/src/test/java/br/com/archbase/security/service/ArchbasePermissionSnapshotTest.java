@@ -0,0 +1,86 @@
+package br.com.archbase.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.archbase.security.persistence.ActionEntity;
+import br.com.archbase.security.persistence.PermissionEntity;
+import br.com.archbase.security.persistence.ResourceEntity;
+
+/**
+ * Cobre o {@link ArchbasePermissionSnapshot}: busca por recurso e ação, escopos nulos como curinga
+ * e descarte de permissões sem ação ou recurso.
+ */
+class ArchbasePermissionSnapshotTest {
+
+    @Test
+    void permiteAcaoConcedidaNoRecurso() {
+        ArchbasePermissionSnapshot snapshot = ArchbasePermissionSnapshot.of(List.of(
+                permission("pedido", "criar", "t1", "e1", "p1")));
+
+        assertTrue(snapshot.allows("criar", "pedido", "t1", "e1", "p1"));
+        assertFalse(snapshot.allows("excluir", "pedido", "t1", "e1", "p1"));
+        assertFalse(snapshot.allows("criar", "cliente", "t1", "e1", "p1"));
+    }
+
+    @Test
+    void respeitaEscopoDaPermissao() {
+        ArchbasePermissionSnapshot snapshot = ArchbasePermissionSnapshot.of(List.of(
+                permission("pedido", "criar", "t1", "e1", null)));
+
+        assertTrue(snapshot.allows("criar", "pedido", "t1", "e1", "qualquer-projeto"));
+        assertFalse(snapshot.allows("criar", "pedido", "t2", "e1", null));
+        assertFalse(snapshot.allows("criar", "pedido", "t1", "e2", null));
+    }
+
+    @Test
+    void parametrosDeEscopoNulosAceitamQualquerValor() {
+        ArchbasePermissionSnapshot snapshot = ArchbasePermissionSnapshot.of(List.of(
+                permission("pedido", "criar", "t1", "e1", "p1")));
+
+        assertTrue(snapshot.allows("criar", "pedido", null, null, null));
+    }
+
+    @Test
+    void combinaVariosEscoposDaMesmaAcao() {
+        ArchbasePermissionSnapshot snapshot = ArchbasePermissionSnapshot.of(List.of(
+                permission("pedido", "criar", "t1", null, null),
+                permission("pedido", "criar", "t2", null, null)));
+
+        assertTrue(snapshot.allows("criar", "pedido", "t1", null, null));
+        assertTrue(snapshot.allows("criar", "pedido", "t2", null, null));
+        assertFalse(snapshot.allows("criar", "pedido", "t3", null, null));
+    }
+
+    @Test
+    void ignoraPermissoesSemAcaoOuRecurso() {
+        PermissionEntity semAcao = new PermissionEntity();
+        PermissionEntity semRecurso = new PermissionEntity();
+        semRecurso.setAction(new ActionEntity());
+
+        ArchbasePermissionSnapshot snapshot = ArchbasePermissionSnapshot.of(List.of(semAcao, semRecurso));
+
+        assertSame(ArchbasePermissionSnapshot.EMPTY, snapshot);
+        assertTrue(snapshot.isEmpty());
+    }
+
+    static PermissionEntity permission(String resourceName, String actionName, String tenantId, String companyId,
+                                       String projectId) {
+        ResourceEntity resource = new ResourceEntity();
+        resource.setName(resourceName);
+        ActionEntity action = new ActionEntity();
+        action.setName(actionName);
+        action.setResource(resource);
+        PermissionEntity permission = new PermissionEntity();
+        permission.setAction(action);
+        permission.setTenantId(tenantId);
+        permission.setCompanyId(companyId);
+        permission.setProjectId(projectId);
+        return permission;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.archbase.security.service;
+
+import static br.com.archbase.security.service.ArchbasePermissionSnapshotTest.permission;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.archbase.security.persistence.UserEntity;
+import br.com.archbase.security.repository.PermissionJpaRepository;
+
+/**
+ * Cobre o {@code hasPermission} do {@link ArchbaseSecurityService} com o retrato em cache: o banco
+ * é consultado uma única vez por usuário e administradores ativos não consultam permissões.
+ */
+class ArchbaseSecurityServiceTest {
+
+    private final PermissionJpaRepository permissionRepository = mock(PermissionJpaRepository.class);
+    private final ArchbaseSecurityService service = new ArchbaseSecurityService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "permissionRepository", permissionRepository);
+        ReflectionTestUtils.setField(service, "permissionCache",
+                new ArchbasePermissionCache(true, Duration.ofMinutes(5), 100));
+    }
+
+    @Test
+    void consultaAsPermissoesDoUsuarioUmaUnicaVez() {
+        when(permissionRepository.findAllBySecurityIds(any()))
+                .thenReturn(List.of(permission("pedido", "criar", null, null, null)));
+        Authentication authentication = authentication(user("u1", false));
+
+        assertTrue(service.hasPermission(authentication, "criar", "pedido", "t1", null, null));
+        assertFalse(service.hasPermission(authentication, "excluir", "pedido", "t1", null, null));
+        assertTrue(service.hasPermission(authentication, "criar", "pedido", "t1", null, null));
+
+        verify(permissionRepository, times(1)).findAllBySecurityIds(Set.of("u1"));
+    }
+
+    @Test
+    void administradorAtivoNaoConsultaPermissoes() {
+        assertTrue(service.hasPermission(authentication(user("admin", true)), "excluir", "pedido", null, null, null));
+
+        verifyNoInteractions(permissionRepository);
+    }
+
+    private static UserEntity user(String id, boolean administrator) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setIsAdministrator(administrator);
+        user.setAccountDeactivated(false);
+        user.setAccountLocked(false);
+        return user;
+    }
+
+    private static Authentication authentication(UserEntity user) {
+        return new UsernamePasswordAuthenticationToken(user, null, List.of());
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.archbase.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import br.com.archbase.security.repository.AccessTokenJpaRepository;
+
+/**
+ * Cobre o {@link ArchbaseTokenCleanupService}: marcação e exclusão por instruções em lote sobre
+ * faixas de ids, uma transação por lote, andamento publicado e execução única por nó e por cluster.
+ */
+class ArchbaseTokenCleanupServiceTest {
+
+    private final AccessTokenJpaRepository repository = mock(AccessTokenJpaRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ArchbaseTokenCleanupService service = new ArchbaseTokenCleanupService(repository, transactionManager);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        ReflectionTestUtils.setField(service, "tokenRetentionDays", 30);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "lockLease", Duration.ofMinutes(5));
+        when(repository.findUnmarkedExpiredIdsAfter(any(), any(), any())).thenReturn(List.of());
+        when(repository.findExpiredIdsAfter(any(), any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void marcaEExcluiPorFaixasDeIdsSemCarregarEntidades() {
+        when(repository.findUnmarkedExpiredIdsAfter(any(), eq(""), any())).thenReturn(List.of("a", "b"));
+        when(repository.findUnmarkedExpiredIdsAfter(any(), eq("b"), any())).thenReturn(List.of("c"));
+        when(repository.markExpiredInRange(eq("a"), eq("b"), any())).thenReturn(2);
+        when(repository.markExpiredInRange(eq("c"), eq("c"), any())).thenReturn(1);
+        when(repository.findExpiredIdsAfter(any(), eq(""), any())).thenReturn(List.of("a", "b"));
+        when(repository.findExpiredIdsAfter(any(), eq("b"), any())).thenReturn(List.of());
+        when(repository.deleteExpiredInRange(eq("a"), eq("b"), any())).thenReturn(2);
+
+        service.cleanupExpiredTokens();
+
+        verify(repository).markExpiredInRange(eq("a"), eq("b"), any(LocalDateTime.class));
+        verify(repository).markExpiredInRange(eq("c"), eq("c"), any(LocalDateTime.class));
+        verify(repository).deleteExpiredInRange(eq("a"), eq("b"), any(LocalDateTime.class));
+        verify(repository, times(2)).findUnmarkedExpiredIdsAfter(any(), any(), any(Pageable.class));
+        verify(repository, times(2)).findExpiredIdsAfter(any(), any(), any(Pageable.class));
+        verifyNoMoreInteractions(repository);
+
+        ArchbaseTokenCleanupService.CleanupProgress progress = service.getProgress();
+        assertEquals("exclusão", progress.phase());
+        assertEquals(2, progress.processedRows());
+        assertEquals("b", progress.lastId());
+        assertTrue(progress.finished());
+    }
+
+    @Test
+    void cadaLoteUsaUmaTransacaoPropria() {
+        when(repository.findUnmarkedExpiredIdsAfter(any(), eq(""), any())).thenReturn(List.of("a", "b"));
+        when(repository.findUnmarkedExpiredIdsAfter(any(), eq("b"), any())).thenReturn(List.of("c", "d"));
+        when(repository.findUnmarkedExpiredIdsAfter(any(), eq("d"), any())).thenReturn(List.of());
+        when(repository.markExpiredInRange(any(), any(), any())).thenReturn(2);
+
+        service.cleanupExpiredTokens();
+
+        // marcação: 2 lotes + consulta vazia; exclusão: consulta vazia
+        verify(transactionManager, times(4)).getTransaction(any());
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void naoExecutaEmParaleloNoMesmoNo() {
+        AtomicInteger reentrantCalls = new AtomicInteger();
+        when(repository.findUnmarkedExpiredIdsAfter(any(), eq(""), any())).thenAnswer(invocation -> {
+            reentrantCalls.incrementAndGet();
+            service.cleanupExpiredTokens();
+            return List.of();
+        });
+
+        service.cleanupExpiredTokens();
+
+        assertEquals(1, reentrantCalls.get());
+        verify(repository, times(1)).findExpiredIdsAfter(any(), any(), any());
+    }
+
+    @Test
+    void naoExecutaQuandoOutroNoDetemATrava() {
+        ArchbaseTokenCleanupLock lock = mock(ArchbaseTokenCleanupLock.class);
+        when(lock.tryLock(Duration.ofMinutes(5))).thenReturn(false);
+        ReflectionTestUtils.setField(service, "cleanupLock", lock);
+
+        service.cleanupExpiredTokens();
+
+        verifyNoInteractions(repository);
+        verify(lock, times(0)).unlock();
+    }
+
+    @Test
+    void liberaATravaMesmoComFalha() {
+        ArchbaseTokenCleanupLock lock = mock(ArchbaseTokenCleanupLock.class);
+        when(lock.tryLock(any())).thenReturn(true);
+        ReflectionTestUtils.setField(service, "cleanupLock", lock);
+        when(repository.findUnmarkedExpiredIdsAfter(any(), any(), any())).thenThrow(new IllegalStateException("falha"));
+
+        service.cleanupExpiredTokens();
+
+        verify(lock).unlock();
+        // a falha não deixa o serviço preso como "em execução"
+        doReturn(List.of()).when(repository).findUnmarkedExpiredIdsAfter(any(), any(), any());
+        service.cleanupExpiredTokens();
+        verify(repository, times(1)).findExpiredIdsAfter(any(), any(), any());
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.archbase.semver.benchmark;
+
+import br.com.archbase.semver.implementation.Version;
+import br.com.archbase.semver.implementation.expr.ExpressionParser;
+import br.com.archbase.semver.implementation.expr.VersionRange;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das operações de versão usadas pelo gerenciador de plug-ins: análise de uma versão,
+ * comparação, verificação de uma expressão ({@code satisfies} com a expressão em cache e
+ * compilando a expressão a cada chamada, como era antes) e escolha da maior versão de uma lista
+ * que satisfaz a expressão (busca binária nos intervalos e varredura linear).
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl archbase-semver-benchmark -am package
+ * java -jar archbase-semver-benchmark/target/benchmarks.jar SemverBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SemverBenchmark {
+
+    @Param({"1.2.3", "2.0.0-rc.1+build.5114"})
+    public String version;
+
+    @Param({"^1.2.0", ">=1.0.0 & <2.0.0 | ~3.1"})
+    public String expression;
+
+    @Param({"1000"})
+    public int candidates;
+
+    private Version parsed;
+    private Version other;
+    private List<Version> sortedVersions;
+
+    @Setup
+    public void setup() {
+        parsed = Version.valueOf(version);
+        other = Version.valueOf("1.2.4-alpha.1");
+        sortedVersions = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            sortedVersions.add(Version.forIntegers(i / 100, (i / 10) % 10, i % 10));
+        }
+        Collections.sort(sortedVersions);
+    }
+
+    @Benchmark
+    public Version parse() {
+        return Version.valueOf(version);
+    }
+
+    @Benchmark
+    public int compare() {
+        return parsed.compareTo(other);
+    }
+
+    @Benchmark
+    public boolean satisfies() {
+        return parsed.satisfies(expression);
+    }
+
+    @Benchmark
+    public boolean satisfiesUncached() {
+        return parsed.satisfies(ExpressionParser.newInstance().parse(expression));
+    }
+
+    @Benchmark
+    public Optional<Version> highestSatisfying() {
+        return VersionRange.valueOf(expression).highestSatisfying(sortedVersions);
+    }
+
+    @Benchmark
+    public Version highestSatisfyingLinear() {
+        Version highest = null;
+        for (Version candidate : sortedVersions) {
+            if (candidate.satisfies(expression)) {
+                highest = candidate;
+            }
+        }
+        return highest;
+    }
+}
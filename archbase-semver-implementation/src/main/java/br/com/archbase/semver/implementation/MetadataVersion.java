@@ -157,6 +157,21 @@ class MetadataVersion implements Comparable<MetadataVersion> {
      * ou {@code false} caso contrário
      */
     private boolean isInt(String str) {
+        int length = str.length();
+        int start = length > 1 && (str.charAt(0) == '-' || str.charAt(0) == '+') ? 1 : 0;
+        if (start == length) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        if (length - start < 10) {
+            return true;
+        }
+        // pode não caber em um int
         try {
             Integer.parseInt(str);
         } catch (NumberFormatException e) {
@@ -148,6 +148,6 @@ class NormalVersion implements Comparable<NormalVersion> {
      */
     @Override
     public String toString() {
-        return String.format("%d.%d.%d", major, minor, patch);
+        return major + "." + minor + "." + patch;
     }
 }
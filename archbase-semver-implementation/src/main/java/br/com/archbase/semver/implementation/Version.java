@@ -1,9 +1,9 @@
 package br.com.archbase.semver.implementation;
 
 import br.com.archbase.semver.implementation.expr.Expression;
-import br.com.archbase.semver.implementation.expr.ExpressionParser;
 import br.com.archbase.semver.implementation.expr.LexerException;
 import br.com.archbase.semver.implementation.expr.UnexpectedTokenException;
+import br.com.archbase.semver.implementation.expr.VersionRange;
 
 import java.util.Comparator;
 
@@ -136,7 +136,8 @@ public class Version implements Comparable<Version> {
     /**
      * Verifica se esta versão satisfaz a string de Expressão SemVer especificada.
      * <p>
-     * Este método faz parte da API SemVer Expressions.
+     * Este método faz parte da API SemVer Expressions. A expressão compilada é reaproveitada
+     * entre chamadas, veja {@link VersionRange#valueOf(String)}.
      *
      * @param expr a string SemVer Expression
      * @return {@code true} se esta versão satisfizer o especificado
@@ -146,8 +147,7 @@ public class Version implements Comparable<Version> {
      * @throws UnexpectedTokenException quando se depara com um token inesperado
      */
     public boolean satisfies(String expr) {
-        Parser<Expression> parser = ExpressionParser.newInstance();
-        return satisfies(parser.parse(expr));
+        return VersionRange.valueOf(expr).interpret(this);
     }
 
     /**
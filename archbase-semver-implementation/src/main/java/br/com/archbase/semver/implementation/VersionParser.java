@@ -47,10 +47,117 @@ public class VersionParser implements Parser<Version> {
      * @throws UnexpectedCharacterException quando encontra um tipo de caractere inesperado
      */
     static Version parseValidSemVer(String version) {
+        Version parsed = parseWellFormed(version);
+        if (parsed != null) {
+            return parsed;
+        }
         VersionParser parser = new VersionParser(version);
         return parser.parseValidSemVer();
     }
 
+    /**
+     * Analisa diretamente sobre a string as versões bem formadas, que são quase todas, sem criar o fluxo de
+     * caracteres. Qualquer desvio da gramática devolve {@code null} para que o analisador completo
+     * reporte o erro com a mesma mensagem de sempre.
+     *
+     * @param version a string de versão a ser analisada
+     * @return a versão ou {@code null} se a string não for uma versão bem formada
+     */
+    private static Version parseWellFormed(String version) {
+        if (version == null) {
+            return null;
+        }
+        int length = version.length();
+        int majorEnd = numericIdentifierEnd(version, 0, length);
+        if (majorEnd < 0 || majorEnd == length || version.charAt(majorEnd) != '.') {
+            return null;
+        }
+        int minorEnd = numericIdentifierEnd(version, majorEnd + 1, length);
+        if (minorEnd < 0 || minorEnd == length || version.charAt(minorEnd) != '.') {
+            return null;
+        }
+        int patchEnd = numericIdentifierEnd(version, minorEnd + 1, length);
+        if (patchEnd < 0) {
+            return null;
+        }
+
+        int buildStart = version.indexOf('+', patchEnd);
+        int preReleaseEnd = buildStart < 0 ? length : buildStart;
+        MetadataVersion preRelease = MetadataVersion.metadataNull;
+        if (patchEnd < preReleaseEnd) {
+            if (version.charAt(patchEnd) != '-') {
+                return null;
+            }
+            String[] identifiers = identifiers(version, patchEnd + 1, preReleaseEnd, true);
+            if (identifiers == null) {
+                return null;
+            }
+            preRelease = new MetadataVersion(identifiers);
+        }
+        MetadataVersion build = MetadataVersion.metadataNull;
+        if (buildStart >= 0) {
+            String[] identifiers = identifiers(version, buildStart + 1, length, false);
+            if (identifiers == null) {
+                return null;
+            }
+            build = new MetadataVersion(identifiers);
+        }
+
+        return new Version(new NormalVersion(
+                Integer.parseInt(version, 0, majorEnd, 10),
+                Integer.parseInt(version, majorEnd + 1, minorEnd, 10),
+                Integer.parseInt(version, minorEnd + 1, patchEnd, 10)
+        ), preRelease, build);
+    }
+
+    /**
+     * @return o fim do identificador numérico iniciado em {@code start} ou {@code -1} se ele estiver vazio,
+     * tiver zero à esquerda ou puder não caber em um {@code int}
+     */
+    private static int numericIdentifierEnd(String input, int start, int length) {
+        int end = start;
+        while (end < length && isDigit(input.charAt(end))) {
+            end++;
+        }
+        int digits = end - start;
+        if (digits == 0 || digits > 9 || (digits > 1 && input.charAt(start) == '0')) {
+            return -1;
+        }
+        return end;
+    }
+
+    /**
+     * @return os identificadores separados por ponto entre {@code start} e {@code end} ou {@code null} se
+     * algum estiver vazio, tiver caracteres inválidos ou, na pré-lançamento, for numérico com zero à esquerda
+     */
+    private static String[] identifiers(String input, int start, int end, boolean preRelease) {
+        List<String> identifiers = new ArrayList<>(4);
+        int identifierStart = start;
+        boolean numeric = true;
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? input.charAt(i) : '.';
+            if (c == '.') {
+                int identifierLength = i - identifierStart;
+                if (identifierLength == 0
+                        || (preRelease && numeric && identifierLength > 1 && input.charAt(identifierStart) == '0')) {
+                    return null;
+                }
+                identifiers.add(input.substring(identifierStart, i));
+                identifierStart = i + 1;
+                numeric = true;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-') {
+                numeric = false;
+            } else if (!isDigit(c)) {
+                return null;
+            }
+        }
+        return identifiers.toArray(new String[0]);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
     /**
      * Analisa o núcleo da versão.
      *
@@ -5,7 +5,7 @@ import br.com.archbase.semver.implementation.Version;
 /**
  * Expressão para o operador lógico "e".
  */
-class And implements Expression {
+class And implements NormalizableExpression {
 
     /**
      * O operando de expressão à esquerda.
@@ -40,4 +40,9 @@ class And implements Expression {
     public boolean interpret(Version version) {
         return left.interpret(version) && right.interpret(version);
     }
+
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.of(left).and(VersionRange.of(right));
+    }
 }
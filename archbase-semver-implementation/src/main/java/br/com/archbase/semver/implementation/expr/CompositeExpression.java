@@ -8,7 +8,7 @@ import br.com.archbase.semver.implementation.Version;
  * Esta classe implementa DSL interno para o
  * Expressões SemVer usando interface fluente.
  */
-public class CompositeExpression implements Expression {
+public class CompositeExpression implements NormalizableExpression {
 
     /**
      * A árvore de expressão subjacente.
@@ -70,6 +70,18 @@ public class CompositeExpression implements Expression {
         return exprTree.interpret(version);
     }
 
+    /**
+     * Normaliza a expressão atual em intervalos de versões. Alterações posteriores feitas com
+     * {@link #and(Expression)} ou {@link #or(Expression)} não afetam o resultado.
+     *
+     * @return a expressão normalizada
+     * @throws IllegalArgumentException se a árvore contiver expressões que não são desta API
+     */
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.of(exprTree);
+    }
+
     /**
      * Uma classe com métodos auxiliares estáticos.
      */
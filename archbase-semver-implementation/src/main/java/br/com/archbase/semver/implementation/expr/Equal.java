@@ -5,7 +5,7 @@ import br.com.archbase.semver.implementation.Version;
 /**
  * Expressão para o operador de comparação "igual".
  */
-class Equal implements Expression {
+class Equal implements NormalizableExpression {
 
     /**
      * A versão analisada, o operando à direita do operador "igual".
@@ -33,4 +33,9 @@ class Equal implements Expression {
     public boolean interpret(Version version) {
         return version.equals(parsedVersion);
     }
+
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.equalTo(parsedVersion);
+    }
 }
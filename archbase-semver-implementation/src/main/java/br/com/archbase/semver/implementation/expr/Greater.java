@@ -5,7 +5,7 @@ import br.com.archbase.semver.implementation.Version;
 /**
  * Expressão para o operador de comparação "maior que".
  */
-class Greater implements Expression {
+class Greater implements NormalizableExpression {
 
     /**
      * A versão analisada, a mão direita
@@ -34,4 +34,9 @@ class Greater implements Expression {
     public boolean interpret(Version version) {
         return version.greaterThan(parsedVersion);
     }
+
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.greaterThan(parsedVersion, false);
+    }
 }
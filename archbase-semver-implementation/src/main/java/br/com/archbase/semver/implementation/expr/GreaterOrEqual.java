@@ -5,7 +5,7 @@ import br.com.archbase.semver.implementation.Version;
 /**
  * Expressão para o operador de comparação "maior ou igual a".
  */
-class GreaterOrEqual implements Expression {
+class GreaterOrEqual implements NormalizableExpression {
 
     /**
      * A versão analisada, o operando à direita
@@ -35,4 +35,9 @@ class GreaterOrEqual implements Expression {
     public boolean interpret(Version version) {
         return version.greaterThanOrEqualTo(parsedVersion);
     }
+
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.greaterThan(parsedVersion, true);
+    }
 }
@@ -5,7 +5,7 @@ import br.com.archbase.semver.implementation.Version;
 /**
  * Expressão para o operador de comparação "menor que".
  */
-class Less implements Expression {
+class Less implements NormalizableExpression {
 
     /**
      * The parsed version, the right-hand
@@ -34,4 +34,9 @@ class Less implements Expression {
     public boolean interpret(Version version) {
         return version.lessThan(parsedVersion);
     }
+
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.lessThan(parsedVersion, false);
+    }
 }
@@ -5,7 +5,7 @@ import br.com.archbase.semver.implementation.Version;
 /**
  * Expression for the comparison "less than or equal to" operator.
  */
-class LessOrEqual implements Expression {
+class LessOrEqual implements NormalizableExpression {
 
     /**
      * A versão analisada, o operando à direita
@@ -35,4 +35,9 @@ class LessOrEqual implements Expression {
     public boolean interpret(Version version) {
         return version.lessThanOrEqualTo(parsedVersion);
     }
+
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.lessThan(parsedVersion, true);
+    }
 }
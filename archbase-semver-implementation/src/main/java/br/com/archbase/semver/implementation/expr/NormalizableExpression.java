@@ -0,0 +1,12 @@
+package br.com.archbase.semver.implementation.expr;
+
+/**
+ * Expressão que pode ser convertida em um {@link VersionRange}.
+ */
+interface NormalizableExpression extends Expression {
+
+    /**
+     * @return o conjunto de versões que satisfazem esta expressão
+     */
+    VersionRange toRange();
+}
@@ -5,7 +5,7 @@ import br.com.archbase.semver.implementation.Version;
 /**
  * Expressão para o operador lógico de "negação".
  */
-class Not implements Expression {
+class Not implements NormalizableExpression {
 
     /**
      * A expressão a negar.
@@ -32,4 +32,9 @@ class Not implements Expression {
     public boolean interpret(Version version) {
         return !expr.interpret(version);
     }
+
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.of(expr).not();
+    }
 }
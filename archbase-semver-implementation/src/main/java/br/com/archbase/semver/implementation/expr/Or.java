@@ -5,7 +5,7 @@ import br.com.archbase.semver.implementation.Version;
 /**
  * Expressão para o operador lógico "ou".
  */
-class Or implements Expression {
+class Or implements NormalizableExpression {
 
     /**
      * O operando de expressão à esquerda.
@@ -40,4 +40,9 @@ class Or implements Expression {
     public boolean interpret(Version version) {
         return left.interpret(version) || right.interpret(version);
     }
+
+    @Override
+    public VersionRange toRange() {
+        return VersionRange.of(left).or(VersionRange.of(right));
+    }
 }
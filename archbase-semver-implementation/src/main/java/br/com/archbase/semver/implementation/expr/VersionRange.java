@@ -0,0 +1,340 @@
+package br.com.archbase.semver.implementation.expr;
+
+import br.com.archbase.semver.implementation.Version;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Expressão SemVer normalizada em intervalos de versões disjuntos e ordenados.
+ * <p>
+ * Toda expressão desta API (comparações e intervalos til, circunflexo, curinga e hífen, combinados com
+ * {@code &}, {@code |} e {@code !}) descreve uma união de intervalos na ordem de
+ * {@link Version#compareTo(Version)}. Nessa forma, verificar uma versão é uma busca binária nos intervalos e a
+ * maior versão de uma lista ordenada que satisfaz a expressão é encontrada com buscas binárias na lista, sem
+ * avaliar a árvore da expressão para cada candidata.
+ * <p>
+ * As instâncias são imutáveis. {@link #valueOf(String)} mantém em cache as expressões compiladas mais usadas.
+ */
+public final class VersionRange implements Expression {
+
+    /**
+     * Quantidade máxima de expressões mantidas no cache de {@link #valueOf(String)}.
+     */
+    static final int CACHE_SIZE = 512;
+
+    private static final Map<String, VersionRange> CACHE = new LinkedHashMap<String, VersionRange>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VersionRange> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private static final Comparator<Interval> BY_LOWER = VersionRange::compareLower;
+
+    private final Interval[] intervals;
+
+    private VersionRange(Interval[] intervals) {
+        this.intervals = intervals;
+    }
+
+    /**
+     * Compila a string de Expressão SemVer, reaproveitando o resultado de compilações anteriores da mesma string.
+     *
+     * @param expression a string SemVer Expression
+     * @return a expressão normalizada
+     * @throws br.com.archbase.semver.implementation.ParseException no caso de um erro de análise
+     */
+    public static VersionRange valueOf(String expression) {
+        VersionRange range;
+        synchronized (CACHE) {
+            range = CACHE.get(expression);
+        }
+        if (range == null) {
+            range = of(ExpressionParser.newInstance().parse(expression));
+            synchronized (CACHE) {
+                CACHE.put(expression, range);
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Normaliza uma expressão criada por {@link ExpressionParser} ou por {@link CompositeExpression.Helper}.
+     *
+     * @param expression a expressão
+     * @return a expressão normalizada
+     * @throws IllegalArgumentException se a expressão não for uma das implementações desta API
+     */
+    public static VersionRange of(Expression expression) {
+        if (expression instanceof VersionRange range) {
+            return range;
+        }
+        if (expression instanceof NormalizableExpression normalizable) {
+            return normalizable.toRange();
+        }
+        throw new IllegalArgumentException("Expressão não suportada: " + expression.getClass().getName());
+    }
+
+    static VersionRange equalTo(Version version) {
+        return new VersionRange(new Interval[]{new Interval(version, true, version, true)});
+    }
+
+    static VersionRange greaterThan(Version version, boolean inclusive) {
+        return new VersionRange(new Interval[]{new Interval(version, inclusive, null, false)});
+    }
+
+    static VersionRange lessThan(Version version, boolean inclusive) {
+        return new VersionRange(new Interval[]{new Interval(null, false, version, inclusive)});
+    }
+
+    @Override
+    public boolean interpret(Version version) {
+        // último intervalo cujo limite inferior admite a versão
+        int low = 0;
+        int high = intervals.length - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (intervals[mid].admitsFromBelow(version)) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return candidate >= 0 && intervals[candidate].admitsFromAbove(version);
+    }
+
+    /**
+     * Encontra a maior versão da lista que satisfaz esta expressão.
+     *
+     * @param sortedVersions versões em ordem crescente de {@link Version#compareTo(Version)}, de preferência com
+     *                       acesso aleatório
+     * @return a maior versão que satisfaz a expressão, se houver
+     */
+    public Optional<Version> highestSatisfying(List<Version> sortedVersions) {
+        for (int i = intervals.length - 1; i >= 0; i--) {
+            Interval interval = intervals[i];
+            int index = interval.upper == null
+                    ? sortedVersions.size() - 1
+                    : lastIndexBelow(sortedVersions, interval.upper, interval.upperInclusive);
+            if (index < 0) {
+                return Optional.empty();
+            }
+            Version candidate = sortedVersions.get(index);
+            if (interval.admitsFromBelow(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    VersionRange and(VersionRange other) {
+        List<Interval> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < intervals.length && j < other.intervals.length) {
+            Interval x = intervals[i];
+            Interval y = other.intervals[j];
+            Interval lower = compareLower(x, y) >= 0 ? x : y;
+            Interval upper = compareUpper(x, y) <= 0 ? x : y;
+            Interval intersection = new Interval(lower.lower, lower.lowerInclusive, upper.upper, upper.upperInclusive);
+            if (!intersection.isEmpty()) {
+                result.add(intersection);
+            }
+            if (upper == x) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new VersionRange(result.toArray(new Interval[0]));
+    }
+
+    VersionRange or(VersionRange other) {
+        Interval[] all = Arrays.copyOf(intervals, intervals.length + other.intervals.length);
+        System.arraycopy(other.intervals, 0, all, intervals.length, other.intervals.length);
+        Arrays.sort(all, BY_LOWER);
+
+        List<Interval> result = new ArrayList<>();
+        Interval current = null;
+        for (Interval next : all) {
+            if (current == null) {
+                current = next;
+            } else if (current.touches(next)) {
+                if (compareUpper(next, current) > 0) {
+                    current = new Interval(current.lower, current.lowerInclusive, next.upper, next.upperInclusive);
+                }
+            } else {
+                result.add(current);
+                current = next;
+            }
+        }
+        if (current != null) {
+            result.add(current);
+        }
+        return new VersionRange(result.toArray(new Interval[0]));
+    }
+
+    VersionRange not() {
+        List<Interval> result = new ArrayList<>();
+        Version from = null;
+        boolean fromInclusive = false;
+        for (Interval interval : intervals) {
+            if (interval.lower != null) {
+                Interval gap = new Interval(from, fromInclusive, interval.lower, !interval.lowerInclusive);
+                if (!gap.isEmpty()) {
+                    result.add(gap);
+                }
+            }
+            if (interval.upper == null) {
+                return new VersionRange(result.toArray(new Interval[0]));
+            }
+            from = interval.upper;
+            fromInclusive = !interval.upperInclusive;
+        }
+        result.add(new Interval(from, fromInclusive, null, false));
+        return new VersionRange(result.toArray(new Interval[0]));
+    }
+
+    private static int lastIndexBelow(List<Version> versions, Version bound, boolean inclusive) {
+        int low = 0;
+        int high = versions.size() - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = versions.get(mid).compareTo(bound);
+            if (cmp < 0 || (cmp == 0 && inclusive)) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ordena limites inferiores: sem limite vem primeiro e, na mesma versão, o inclusivo antes do exclusivo.
+     */
+    private static int compareLower(Interval x, Interval y) {
+        if (x.lower == null || y.lower == null) {
+            return x.lower == null ? (y.lower == null ? 0 : -1) : 1;
+        }
+        int cmp = x.lower.compareTo(y.lower);
+        if (cmp == 0 && x.lowerInclusive != y.lowerInclusive) {
+            return x.lowerInclusive ? -1 : 1;
+        }
+        return cmp;
+    }
+
+    /**
+     * Ordena limites superiores: sem limite vem por último e, na mesma versão, o exclusivo antes do inclusivo.
+     */
+    private static int compareUpper(Interval x, Interval y) {
+        if (x.upper == null || y.upper == null) {
+            return x.upper == null ? (y.upper == null ? 0 : 1) : -1;
+        }
+        int cmp = x.upper.compareTo(y.upper);
+        if (cmp == 0 && x.upperInclusive != y.upperInclusive) {
+            return x.upperInclusive ? 1 : -1;
+        }
+        return cmp;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof VersionRange range && Arrays.equals(intervals, range.intervals));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(intervals);
+    }
+
+    /**
+     * @return a expressão normalizada na sintaxe de SemVer Expressions, por exemplo {@code >=1.2.0 & <2.0.0}
+     */
+    @Override
+    public String toString() {
+        if (intervals.length == 0) {
+            return "<0.0.0";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Interval interval : intervals) {
+            if (sb.length() > 0) {
+                sb.append(" | ");
+            }
+            sb.append(interval);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Intervalo de versões; um limite {@code null} não restringe aquele lado.
+     */
+    private record Interval(Version lower, boolean lowerInclusive, Version upper, boolean upperInclusive) {
+
+        boolean admitsFromBelow(Version version) {
+            if (lower == null) {
+                return true;
+            }
+            int cmp = lower.compareTo(version);
+            return cmp < 0 || (cmp == 0 && lowerInclusive);
+        }
+
+        boolean admitsFromAbove(Version version) {
+            if (upper == null) {
+                return true;
+            }
+            int cmp = version.compareTo(upper);
+            return cmp < 0 || (cmp == 0 && upperInclusive);
+        }
+
+        boolean isEmpty() {
+            if (lower == null || upper == null) {
+                return false;
+            }
+            int cmp = lower.compareTo(upper);
+            return cmp > 0 || (cmp == 0 && !(lowerInclusive && upperInclusive));
+        }
+
+        /**
+         * Indica se o intervalo seguinte (com limite inferior maior ou igual) se sobrepõe ou encosta neste.
+         */
+        boolean touches(Interval next) {
+            if (upper == null || next.lower == null) {
+                return true;
+            }
+            int cmp = next.lower.compareTo(upper);
+            return cmp < 0 || (cmp == 0 && (upperInclusive || next.lowerInclusive));
+        }
+
+        @Override
+        public String toString() {
+            if (lower != null && upper != null && lowerInclusive && upperInclusive && lower.equals(upper)) {
+                return "=" + lower;
+            }
+            if (lower == null && upper == null) {
+                return ">=0.0.0";
+            }
+            StringBuilder sb = new StringBuilder();
+            if (lower != null) {
+                sb.append(lowerInclusive ? ">=" : ">").append(lower);
+            }
+            if (upper != null) {
+                if (sb.length() > 0) {
+                    sb.append(" & ");
+                }
+                sb.append(upperInclusive ? "<=" : "<").append(upper);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -100,4 +100,35 @@ public class VersionParserTest {
             fail("Deve gerar erro para string de entrada ilegal");
         }
     }
+
+    @Test
+    public void shouldParseLikeTheCharacterStreamParser() {
+        String[] inputs = {
+                "0.0.0", "1.2.3", "10.20.30", "123456789.0.1", "2147483647.0.0", "1.0.0-alpha", "1.0.0-0.3.7",
+                "1.0.0-x-y-z.--", "1.0.0-alpha+001", "1.0.0+20130313144700", "1.0.0-beta+exp.sha.5114f85",
+                "1.0.0-rc.1+build.1-x"
+        };
+        for (String input : inputs) {
+            Version expected = new VersionParser(input).parse(null);
+            Version version = VersionParser.parseValidSemVer(input);
+            assertEquals(input, expected, version);
+            assertEquals(input, expected.toString(), version.toString());
+        }
+    }
+
+    @Test
+    public void shouldRaiseErrorForMalformedSemVer() {
+        String[] illegal = {
+                "1", "1.0", "1.0.0-", "1.0.0+", "01.0.0", "1.00.0", "1.0.0-01", "1.0.0-a..b", "1.0.0+a_b",
+                "1.0.0 ", "v1.0.0", "1.0.0-a+b+c"
+        };
+        for (String input : illegal) {
+            try {
+                VersionParser.parseValidSemVer(input);
+            } catch (ParseException e) {
+                continue;
+            }
+            fail("Deve gerar erro para a versão inválida " + input);
+        }
+    }
 }
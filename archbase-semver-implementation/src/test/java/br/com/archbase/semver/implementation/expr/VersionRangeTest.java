@@ -0,0 +1,100 @@
+package br.com.archbase.semver.implementation.expr;
+
+import br.com.archbase.semver.implementation.Version;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class VersionRangeTest {
+
+    private static final String[] EXPRESSIONS = {
+            "1.0.0", "!=1.0.0", ">1.0.0", ">=1.0.0", "<1.0.0", "<=1.0.0",
+            "~1.2", "~1.2.3", "^0.2.3", "^1.2.3", "^0.0.3", "1.x", "1.2.*", "*",
+            "1.0.0 - 2.0.0", ">=1.0.0 & <2.0.0", "<1.0.0 | >=2.0.0", "!(>=1.0.0 & <2.0.0)",
+            "(>1.0.0 & <1.2.0) | (>=1.1.0 & <=1.5.0)", "1.0.0 | 1.0.0 | 2.0.0",
+            "!(1.1.0) & ~1", "<1.0.0 & >2.0.0", "!(*)"
+    };
+
+    private static final String[] VERSIONS = {
+            "0.0.1", "0.0.3", "0.0.4", "0.2.3", "0.2.9", "0.3.0", "1.0.0-alpha", "1.0.0-beta.2", "1.0.0",
+            "1.0.1", "1.1.0", "1.2.0", "1.2.3", "1.2.9", "1.3.0", "1.5.0", "1.5.1", "2.0.0-rc.1", "2.0.0",
+            "2.0.1", "3.0.0"
+    };
+
+    @Test
+    public void shouldInterpretLikeTheExpressionTree() {
+        ExpressionParser parser = new ExpressionParser(new Lexer());
+        for (String expression : EXPRESSIONS) {
+            Expression tree = parser.parse(expression);
+            VersionRange range = VersionRange.valueOf(expression);
+            for (String version : VERSIONS) {
+                Version v = Version.valueOf(version);
+                assertEquals(expression + " / " + version, tree.interpret(v), range.interpret(v));
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindHighestSatisfyingVersionLikeLinearScan() {
+        List<Version> versions = new ArrayList<>();
+        for (String version : VERSIONS) {
+            versions.add(Version.valueOf(version));
+        }
+        Collections.sort(versions);
+        for (String expression : EXPRESSIONS) {
+            VersionRange range = VersionRange.valueOf(expression);
+            Version expected = null;
+            for (Version version : versions) {
+                if (range.interpret(version)) {
+                    expected = version;
+                }
+            }
+            assertEquals(expression, Optional.ofNullable(expected), range.highestSatisfying(versions));
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyIfNoVersionSatisfies() {
+        VersionRange range = VersionRange.valueOf("^4.0.0");
+        assertFalse(range.highestSatisfying(Arrays.asList(Version.valueOf("1.0.0"), Version.valueOf("3.9.9"))).isPresent());
+        assertFalse(range.highestSatisfying(Collections.<Version>emptyList()).isPresent());
+    }
+
+    @Test
+    public void shouldReuseCompiledExpressions() {
+        assertSame(VersionRange.valueOf("~1.2.3"), VersionRange.valueOf("~1.2.3"));
+    }
+
+    @Test
+    public void shouldNormalizeEquivalentExpressions() {
+        assertEquals(VersionRange.valueOf("~1.2"), VersionRange.valueOf(">=1.2.0 & <1.3.0"));
+        assertEquals(VersionRange.valueOf("(>1.0.0 & <1.2.0) | (>=1.1.0 & <=1.5.0)"),
+                VersionRange.valueOf(">1.0.0 & <=1.5.0"));
+    }
+
+    @Test
+    public void shouldWriteNormalizedExpression() {
+        assertEquals(">=1.2.0 & <1.3.0", VersionRange.valueOf("~1.2").toString());
+        assertEquals("<1.0.0 | >1.0.0", VersionRange.valueOf("!=1.0.0").toString());
+        assertEquals("=1.0.0", VersionRange.valueOf("1.0.0").toString());
+        assertEquals(">=0.0.0", VersionRange.valueOf("*").toString());
+        assertEquals("<0.0.0", VersionRange.valueOf("<1.0.0 & >2.0.0").toString());
+    }
+
+    @Test
+    public void shouldNormalizeCompositeExpressions() {
+        CompositeExpression expression = CompositeExpression.Helper.gte("1.0.0").and(CompositeExpression.Helper.lt("2.0.0"));
+        assertEquals(VersionRange.valueOf(">=1.0.0 & <2.0.0"), VersionRange.of(expression));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownExpressions() {
+        VersionRange.of(version -> true);
+    }
+}
@@ -1,9 +1,15 @@
 package br.com.archbase.starter.core.auto.configuration;
 
+import br.com.archbase.ddd.infraestructure.persistence.jpa.repository.FullTextSearchStrategy;
+import br.com.archbase.ddd.infraestructure.persistence.jpa.repository.PostgresFullTextSearchStrategy;
+import br.com.archbase.ddd.infraestructure.persistence.jpa.repository.PostgresTrigramSearchStrategy;
+import br.com.archbase.ddd.infraestructure.persistence.jpa.repository.SimpleFilterPredicateFactory;
 import br.com.archbase.query.rsql.jpa.ArchbaseRSQLJPASupport;
 import br.com.archbase.query.rsql.common.RSQLCommonSupport;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
@@ -20,6 +26,25 @@ public class ArchbaseRSQLConfiguration {
     @Value("${archbase.rsql.max-page-size:1000}")
     private int maxPageSize;
 
+    /**
+     * Estratégia do modo {@code FULL_TEXT} da busca rápida: {@code none}, {@code postgres} (tsvector) ou
+     * {@code trigram} (pg_trgm). Um bean {@link FullTextSearchStrategy} tem precedência.
+     */
+    @Value("${archbase.search.full-text:none}")
+    private String fullTextSearch;
+
+    /**
+     * Configuração de busca textual do PostgreSQL usada por {@code postgres}, por exemplo {@code portuguese}.
+     */
+    @Value("${archbase.search.text-search-config:simple}")
+    private String textSearchConfig;
+
+    private final ObjectProvider<FullTextSearchStrategy> fullTextSearchStrategy;
+
+    public ArchbaseRSQLConfiguration(ObjectProvider<FullTextSearchStrategy> fullTextSearchStrategy) {
+        this.fullTextSearchStrategy = fullTextSearchStrategy;
+    }
+
     @Bean
     @ConditionalOnProperty(name = "archbase.rsql.enabled", matchIfMissing = true)
     public ArchbaseRSQLJPASupport rsqlSupport(ApplicationContext applicationContext) {
@@ -28,9 +53,21 @@ public class ArchbaseRSQLConfiguration {
         return support;
     }
 
+    @PostConstruct
+    public void configureFullTextSearch() {
+        FullTextSearchStrategy strategy = fullTextSearchStrategy.getIfAvailable(() -> switch (fullTextSearch.trim().toLowerCase()) {
+            case "postgres" -> new PostgresFullTextSearchStrategy(textSearchConfig);
+            case "trigram" -> new PostgresTrigramSearchStrategy();
+            case "none", "" -> null;
+            default -> throw new IllegalArgumentException("Valor inválido para archbase.search.full-text: " + fullTextSearch);
+        });
+        SimpleFilterPredicateFactory.setFullTextSearchStrategy(strategy);
+    }
+
     @PreDestroy
     public void clearRsqlGlobalState() {
         RSQLCommonSupport.clear();
+        SimpleFilterPredicateFactory.setFullTextSearchStrategy(null);
     }
 
 }
@@ -3,6 +3,7 @@ package br.com.archbase.starter.core.auto.configuration;
 import br.com.archbase.ddd.infraestructure.persistence.jpa.repository.CommonArchbaseJpaRepository;
 import br.com.archbase.resource.logger.aspect.SimpleArchbaseResourceAspect;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.persistence.autoconfigure.EntityScan;
@@ -49,9 +50,24 @@ public class ArchbaseServerMvcConfiguration implements WebMvcConfigurer, Reposit
         System.out.println("ArchbaseServerMvcConfiguration foi carregada");
     }
 
+    /**
+     * Aspecto de log dos controladores anotados com {@code @Logging}. Com
+     * {@code archbase.resource-logger.async.enabled=true} a serialização e o registro acontecem fora da
+     * thread da requisição.
+     */
     @Bean
-    public SimpleArchbaseResourceAspect genericControllerAspect() {
-        return new SimpleArchbaseResourceAspect();
+    public SimpleArchbaseResourceAspect genericControllerAspect(
+            @Value("${archbase.resource-logger.sample-rate:1.0}") double sampleRate,
+            @Value("${archbase.resource-logger.max-payload-length:" + SimpleArchbaseResourceAspect.DEFAULT_MAX_PAYLOAD_LENGTH + "}") int maxPayloadLength,
+            @Value("${archbase.resource-logger.async.enabled:false}") boolean asyncEnabled,
+            @Value("${archbase.resource-logger.async.buffer-size:8192}") int asyncBufferSize) {
+        SimpleArchbaseResourceAspect aspect = new SimpleArchbaseResourceAspect();
+        aspect.setDefaultSampleRate(sampleRate);
+        aspect.setMaxPayloadLength(maxPayloadLength);
+        if (asyncEnabled) {
+            aspect.enableAsyncLogging(asyncBufferSize);
+        }
+        return aspect;
     }
 
     @Bean
@@ -1,25 +1,63 @@
 package br.com.archbase.starter.core.auto.configuration;
 
+import br.com.archbase.multitenancy.async.ArchbaseTaskExecutorMetrics;
+import br.com.archbase.multitenancy.async.ArchbaseTaskExecutorProperties;
+import br.com.archbase.multitenancy.async.ArchbaseTaskExecutorStatistics;
+import br.com.archbase.multitenancy.async.ArchbaseTaskExecutors;
+import br.com.archbase.multitenancy.async.ArchbaseTenantAwareTaskDecorator;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.UUID;
-
+/**
+ * {@link TaskExecutor} padrão do Archbase, com o perfil de {@link ArchbaseTaskExecutorProperties}
+ * (threads virtuais ou pool de plataforma, por padrão 6/12 threads) e propagação de tenant, empresa,
+ * segurança e MDC.
+ */
 @Configuration
+@EnableConfigurationProperties(ArchbaseTaskExecutorProperties.class)
 public class ArchbaseThreadConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(TaskExecutor.class)
-    public TaskExecutor threadPoolTaskExecutor() {
+    public TaskExecutor threadPoolTaskExecutor(ArchbaseTaskExecutorProperties properties,
+                                               ObjectProvider<TaskDecorator> taskDecorator,
+                                               ArchbaseTaskExecutorStatistics archbaseTaskExecutorStatistics) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(6);
         executor.setMaxPoolSize(12);
         executor.setDaemon(true);
         executor.setThreadNamePrefix("archbase-task-executor");
-        executor.initialize();
-        return executor;
+        return ArchbaseTaskExecutors.create(properties, taskDecorator.getIfAvailable(ArchbaseTenantAwareTaskDecorator::new),
+                archbaseTaskExecutorStatistics, executor);
+    }
+
+    /**
+     * Estatísticas do executor padrão. Não é um {@link TaskDecorator}: a contagem é composta com o
+     * decorador de contexto dentro do próprio executor, sem concorrer com o {@code TaskDecorator} da aplicação.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ArchbaseTaskExecutorStatistics archbaseTaskExecutorStatistics() {
+        return new ArchbaseTaskExecutorStatistics();
+    }
+
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    static class TaskExecutorMetricsConfiguration {
+
+        @Bean
+        public MeterBinder archbaseTaskExecutorMetrics(ObjectProvider<TaskExecutor> taskExecutor,
+                                                       ArchbaseTaskExecutorStatistics archbaseTaskExecutorStatistics) {
+            return registry -> taskExecutor.ifUnique(executor -> new ArchbaseTaskExecutorMetrics(
+                    "archbase-task-executor", executor, archbaseTaskExecutorStatistics).bindTo(registry));
+        }
     }
-}
\ No newline at end of file
+}
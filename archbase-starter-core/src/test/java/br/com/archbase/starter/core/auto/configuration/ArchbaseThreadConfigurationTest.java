@@ -0,0 +1,68 @@
+package br.com.archbase.starter.core.auto.configuration;
+
+import br.com.archbase.ddd.context.ArchbaseTenantContext;
+import br.com.archbase.multitenancy.async.ArchbaseTaskExecutorStatistics;
+import br.com.archbase.multitenancy.async.ArchbaseTenantAwareTaskDecorator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchbaseThreadConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ArchbaseThreadConfiguration.class);
+
+    @AfterEach
+    void tearDown() {
+        ArchbaseTenantContext.clear();
+    }
+
+    @Test
+    void shouldKeepApplicationTaskDecoratorUniqueAndComposeStatistics() {
+        contextRunner
+                .withBean("tenantAwareTaskDecorator", TaskDecorator.class, ArchbaseTenantAwareTaskDecorator::new)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(TaskDecorator.class);
+                    assertThat(context).hasSingleBean(ArchbaseTaskExecutorStatistics.class);
+
+                    assertTenantAndStatisticsReachExecutor(context.getBean(TaskExecutor.class),
+                            context.getBean(ArchbaseTaskExecutorStatistics.class));
+                });
+    }
+
+    @Test
+    void shouldPropagateTenantWithoutApplicationTaskDecorator() {
+        contextRunner
+                .withPropertyValues("archbase.async.executor.type=VIRTUAL")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(TaskDecorator.class);
+
+                    assertTenantAndStatisticsReachExecutor(context.getBean(TaskExecutor.class),
+                            context.getBean(ArchbaseTaskExecutorStatistics.class));
+                });
+    }
+
+    private static void assertTenantAndStatisticsReachExecutor(TaskExecutor taskExecutor,
+                                                               ArchbaseTaskExecutorStatistics statistics) throws Exception {
+        AsyncTaskExecutor executor = (AsyncTaskExecutor) taskExecutor;
+        ArchbaseTenantContext.setTenantId("tenant-1");
+
+        String tenantId = executor.submit(ArchbaseTenantContext::getTenantId).get(5, TimeUnit.SECONDS);
+
+        assertThat(tenantId).isEqualTo("tenant-1");
+        assertThat(statistics.getSubmitted()).isEqualTo(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (statistics.getCompleted() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(statistics.getCompleted()).isEqualTo(1);
+    }
+}
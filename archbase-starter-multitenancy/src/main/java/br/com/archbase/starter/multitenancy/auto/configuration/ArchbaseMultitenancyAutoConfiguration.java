@@ -1,12 +1,17 @@
 package br.com.archbase.starter.multitenancy.auto.configuration;
 
+import br.com.archbase.multitenancy.async.ArchbaseTaskExecutorMetrics;
+import br.com.archbase.multitenancy.async.ArchbaseTaskExecutorProperties;
 import br.com.archbase.multitenancy.async.ArchbaseTenantAwareTaskDecorator;
 import br.com.archbase.multitenancy.async.AsyncConfig;
 import br.com.archbase.multitenancy.interceptor.ArchbaseTenantRequestInterceptor;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,6 +26,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @EnableAsync
 @ConditionalOnClass(CurrentTenantIdentifierResolver.class)
 @ConditionalOnProperty(prefix = "archbase.multitenancy", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ArchbaseTaskExecutorProperties.class)
 public class ArchbaseMultitenancyAutoConfiguration implements WebMvcConfigurer {
 
     // ROLE_INFRASTRUCTURE: evita os WARN do BeanPostProcessorChecker no Spring Boot 4 quando
@@ -35,8 +41,20 @@ public class ArchbaseMultitenancyAutoConfiguration implements WebMvcConfigurer {
     @Bean
     @ConditionalOnMissingBean(AsyncConfigurer.class)
     @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
-    public AsyncConfig asyncConfig() {
-        return new AsyncConfig();
+    public AsyncConfig asyncConfig(ArchbaseTaskExecutorProperties properties, ObjectProvider<TaskDecorator> taskDecorator) {
+        return new AsyncConfig(properties, taskDecorator.getIfAvailable(ArchbaseTenantAwareTaskDecorator::new));
+    }
+
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    static class AsyncExecutorMetricsConfiguration {
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        public MeterBinder archbaseAsyncExecutorMetrics(ObjectProvider<AsyncConfig> asyncConfig) {
+            return registry -> asyncConfig.ifAvailable(config -> new ArchbaseTaskExecutorMetrics(
+                    "async", config.getAsyncExecutor(), config.getStatistics()).bindTo(registry));
+        }
     }
 
     @Override